@@ -6,6 +6,7 @@ import org.workcraft.dom.math.MathConnection;
 import org.workcraft.dom.math.MathNode;
 import org.workcraft.dom.references.FileReference;
 import org.workcraft.dom.references.Identifier;
+import org.workcraft.dom.visual.NodeHelper;
 import org.workcraft.exceptions.InvalidConnectionException;
 import org.workcraft.plugins.circuit.observers.FunctionConsistencySupervisor;
 import org.workcraft.plugins.circuit.observers.IOTypeConsistencySupervisor;
@@ -18,11 +19,13 @@ import org.workcraft.utils.FileUtils;
 import org.workcraft.utils.Hierarchy;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 
 public class Circuit extends AbstractMathModel {
 
     private FileReference environment = null;
+    private final CircuitNetlist netlist = new CircuitNetlist(this);
 
     public Circuit() {
         this(null, null);
@@ -33,6 +36,11 @@ public class Circuit extends AbstractMathModel {
         new FunctionConsistencySupervisor().attach(getRoot());
         new ZeroDelayConsistencySupervisor(this).attach(getRoot());
         new IOTypeConsistencySupervisor(this).attach(getRoot());
+        netlist.attach(getRoot());
+    }
+
+    public CircuitNetlist getNetlist() {
+        return netlist;
     }
 
     @Override
@@ -56,35 +64,37 @@ public class Circuit extends AbstractMathModel {
     }
 
     public Collection<FunctionContact> getFunctionContacts() {
-        return Hierarchy.getDescendantsOfType(getRoot(), FunctionContact.class);
+        return new ArrayList<>(getNodesOfType(FunctionContact.class));
     }
 
     public Collection<FunctionComponent> getFunctionComponents() {
-        return Hierarchy.getDescendantsOfType(getRoot(), FunctionComponent.class);
+        return new ArrayList<>(getNodesOfType(FunctionComponent.class));
     }
 
     public Collection<Joint> getJoints() {
-        return Hierarchy.getDescendantsOfType(getRoot(), Joint.class);
+        return new ArrayList<>(getNodesOfType(Joint.class));
     }
 
     public Collection<Contact> getPorts() {
-        return Hierarchy.getDescendantsOfType(getRoot(), Contact.class, Contact::isPort);
+        return NodeHelper.filterByType(getNodesOfType(Contact.class), Contact.class, Contact::isPort);
     }
 
     public Collection<Contact> getPins() {
-        return Hierarchy.getDescendantsOfType(getRoot(), Contact.class, Contact::isPin);
+        return NodeHelper.filterByType(getNodesOfType(Contact.class), Contact.class, Contact::isPin);
     }
 
     public Collection<Contact> getInputPorts() {
-        return Hierarchy.getDescendantsOfType(getRoot(), Contact.class, contact -> contact.isPort() && contact.isInput());
+        return NodeHelper.filterByType(getNodesOfType(Contact.class), Contact.class,
+                contact -> contact.isPort() && contact.isInput());
     }
 
     public Collection<Contact> getOutputPorts() {
-        return Hierarchy.getDescendantsOfType(getRoot(), Contact.class, contact -> contact.isPort() && contact.isOutput());
+        return NodeHelper.filterByType(getNodesOfType(Contact.class), Contact.class,
+                contact -> contact.isPort() && contact.isOutput());
     }
 
     public Collection<Contact> getDrivers() {
-        return Hierarchy.getDescendantsOfType(getRoot(), Contact.class, Contact::isDriver);
+        return NodeHelper.filterByType(getNodesOfType(Contact.class), Contact.class, Contact::isDriver);
     }
 
     @Override
@@ -0,0 +1,351 @@
+package org.workcraft.plugins.circuit;
+
+import org.workcraft.dom.Node;
+import org.workcraft.dom.math.MathConnection;
+import org.workcraft.dom.math.MathNode;
+import org.workcraft.observation.HierarchyEvent;
+import org.workcraft.observation.PropertyChangedEvent;
+import org.workcraft.observation.StateEvent;
+import org.workcraft.observation.StateSupervisor;
+import org.workcraft.types.Pair;
+
+import java.util.*;
+
+/**
+ * Index of the nets of a circuit. The driver of a node, the contacts driven from a node, and the driver with its
+ * inversion through a zero delay component are traced on the first request and memorised. A driver is shared by
+ * all the nodes of its net, so tracing the drivers of all contacts takes linear time in total, and repeated requests
+ * for the contacts of a high-fanout net do not trace the net again. The index is dropped on any change of the
+ * hierarchy, and on the change of the properties that affect tracing (I/O type, function and zero delay).
+ */
+public class CircuitNetlist extends StateSupervisor {
+
+    // Markers of a node without a driver, and of a node whose trace fails with an exception
+    private static final Object NO_DRIVER = new Object();
+    private static final Object BAD_TRACE = new Object();
+
+    private static final class Index {
+        private final Map<MathNode, Object> opaqueDrivers = new HashMap<>();
+        private final Map<MathNode, Object> transparentDrivers = new HashMap<>();
+        private final Map<MathNode, Set<Contact>> opaqueDriven = new HashMap<>();
+        private final Map<MathNode, Set<Contact>> transparentDriven = new HashMap<>();
+        private final Map<Contact, Pair<Contact, Boolean>> driverAndInversions = new HashMap<>();
+        private final Map<Contact, Optional<Contact>> drivenOutputPorts = new HashMap<>();
+        private final Map<FunctionComponent, Boolean> zeroDelayComponents = new HashMap<>();
+        private Map<Contact, Contact> opaqueOutputPorts = null;
+        private Map<Contact, Contact> transparentOutputPorts = null;
+
+        private Map<MathNode, Object> getDrivers(boolean transparentZeroDelayComponents) {
+            return transparentZeroDelayComponents ? transparentDrivers : opaqueDrivers;
+        }
+
+        private Map<MathNode, Set<Contact>> getDriven(boolean transparentZeroDelayComponents) {
+            return transparentZeroDelayComponents ? transparentDriven : opaqueDriven;
+        }
+    }
+
+    private final Circuit circuit;
+    private Index index = null;
+
+    public CircuitNetlist(Circuit circuit) {
+        this.circuit = circuit;
+    }
+
+    private Index getIndex() {
+        Index result = index;
+        if (result == null) {
+            result = new Index();
+            index = result;
+        }
+        return result;
+    }
+
+    private void invalidate() {
+        index = null;
+    }
+
+    @Override
+    public void handleHierarchyEvent(HierarchyEvent e) {
+        invalidate();
+    }
+
+    @Override
+    public void handleEvent(StateEvent e) {
+        if (e instanceof PropertyChangedEvent) {
+            String propertyName = ((PropertyChangedEvent) e).getPropertyName();
+            if (Contact.PROPERTY_IO_TYPE.equals(propertyName)
+                    || FunctionContact.PROPERTY_FUNCTION.equals(propertyName)
+                    || FunctionComponent.PROPERTY_IS_ZERO_DELAY.equals(propertyName)) {
+
+                invalidate();
+            }
+        }
+    }
+
+    public Contact getDriver(MathNode curNode, boolean transparentZeroDelayComponents) {
+        MathNode node = (curNode instanceof MathConnection) ? ((MathConnection) curNode).getFirst() : curNode;
+        if (node == null) {
+            return null;
+        }
+        Index currentIndex = getIndex();
+        Map<MathNode, Object> drivers = currentIndex.getDrivers(transparentZeroDelayComponents);
+        Object result = drivers.get(node);
+        if (result == null) {
+            result = traceDriver(currentIndex, node, transparentZeroDelayComponents);
+        }
+        if (result == BAD_TRACE) {
+            // Trace again step by step to report the problem the same way as the first time
+            return findDriver(curNode, transparentZeroDelayComponents);
+        }
+        return (result == NO_DRIVER) ? null : (Contact) result;
+    }
+
+    private Object traceDriver(Index currentIndex, MathNode start, boolean transparentZeroDelayComponents) {
+        Map<MathNode, Object> drivers = currentIndex.getDrivers(transparentZeroDelayComponents);
+        // Drivers are traced through the chain of single presets, so all the visited nodes share the same result
+        List<MathNode> path = new ArrayList<>();
+        Set<MathNode> visited = new HashSet<>();
+        MathNode node = start;
+        Object result = null;
+        while (result == null) {
+            Object cachedResult = drivers.get(node);
+            if (cachedResult != null) {
+                result = cachedResult;
+            } else if (!visited.add(node)) {
+                result = NO_DRIVER;
+            } else {
+                path.add(node);
+                Collection<MathNode> preset = null;
+                if (node instanceof Joint) {
+                    preset = circuit.getPreset(node);
+                } else if (node instanceof Contact) {
+                    Contact contact = (Contact) node;
+                    Contact zeroDelayInput = transparentZeroDelayComponents
+                            ? getZeroDelayInput(currentIndex, contact) : null;
+
+                    if (zeroDelayInput != null) {
+                        preset = circuit.getPreset(zeroDelayInput);
+                    } else if (contact.isDriver()) {
+                        result = contact;
+                    } else {
+                        preset = circuit.getPreset(contact);
+                    }
+                } else {
+                    result = BAD_TRACE;
+                }
+                if (preset != null) {
+                    if (preset.isEmpty()) {
+                        result = NO_DRIVER;
+                    } else if (preset.size() > 1) {
+                        result = BAD_TRACE;
+                    } else {
+                        node = preset.iterator().next();
+                    }
+                }
+            }
+        }
+        for (MathNode pathNode : path) {
+            drivers.put(pathNode, result);
+        }
+        return result;
+    }
+
+    public Collection<Contact> getDriven(MathNode curNode, boolean transparentZeroDelayComponents) {
+        MathNode node = (curNode instanceof MathConnection) ? ((MathConnection) curNode).getSecond() : curNode;
+        if (node == null) {
+            return Collections.emptySet();
+        }
+        Index currentIndex = getIndex();
+        Map<MathNode, Set<Contact>> drivenMap = currentIndex.getDriven(transparentZeroDelayComponents);
+        Set<Contact> result = drivenMap.get(node);
+        if (result == null) {
+            result = Collections.unmodifiableSet(traceDriven(currentIndex, curNode, transparentZeroDelayComponents));
+            drivenMap.put(node, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the driver of the contact and whether it is inverted, skipping a zero delay buffer or inverter,
+     * or null if the contact has no driver.
+     */
+    public Pair<Contact, Boolean> getDriverAndInversion(Contact contact) {
+        Index currentIndex = getIndex();
+        Pair<Contact, Boolean> result = currentIndex.driverAndInversions.get(contact);
+        if (result == null) {
+            Contact driver = getDriver(contact, false);
+            if (driver == null) {
+                return null;
+            }
+            boolean inversion = false;
+            Node parent = driver.getParent();
+            if (parent instanceof FunctionComponent) {
+                FunctionComponent component = (FunctionComponent) parent;
+                if (component.getIsZeroDelay() && (component.isInverter() || component.isBuffer())) {
+                    Contact input = component.getFirstInput();
+                    driver = getDriver(input, false);
+                    inversion = component.isInverter();
+                }
+            }
+            result = Pair.of(driver, inversion);
+            currentIndex.driverAndInversions.put(contact, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the only output port driven by the contact through zero delay components, or null if there is none
+     * or more than one.
+     */
+    public Contact getDrivenOutputPort(Contact contact) {
+        Index currentIndex = getIndex();
+        Optional<Contact> result = currentIndex.drivenOutputPorts.get(contact);
+        if (result == null) {
+            Contact outputPort = null;
+            boolean multipleOutputPorts = false;
+            for (Contact driven : getDriven(contact, true)) {
+                if (driven.isPort() && driven.isOutput()) {
+                    if (outputPort != null) {
+                        multipleOutputPorts = true;
+                    }
+                    outputPort = driven;
+                }
+            }
+            result = Optional.ofNullable(multipleOutputPorts ? null : outputPort);
+            currentIndex.drivenOutputPorts.put(contact, result);
+        }
+        return result.orElse(null);
+    }
+
+    /**
+     * Returns the first output port of the circuit (in the order of {@link Circuit#getOutputPorts}) that has the
+     * given driver, or null if there is no such port.
+     */
+    public Contact getOutputPort(Contact driver, boolean transparentZeroDelayComponents) {
+        Index currentIndex = getIndex();
+        Map<Contact, Contact> outputPorts = transparentZeroDelayComponents
+                ? currentIndex.transparentOutputPorts : currentIndex.opaqueOutputPorts;
+
+        if (outputPorts == null) {
+            outputPorts = new HashMap<>();
+            for (Contact port : circuit.getOutputPorts()) {
+                Contact portDriver = getDriver(port, transparentZeroDelayComponents);
+                if (portDriver != null) {
+                    outputPorts.putIfAbsent(portDriver, port);
+                }
+            }
+            if (transparentZeroDelayComponents) {
+                currentIndex.transparentOutputPorts = outputPorts;
+            } else {
+                currentIndex.opaqueOutputPorts = outputPorts;
+            }
+        }
+        return outputPorts.get(driver);
+    }
+
+    private Contact getZeroDelayInput(Index currentIndex, Contact contact) {
+        Node parent = contact.getParent();
+        if (contact.isOutput() && (parent instanceof FunctionComponent)) {
+            FunctionComponent component = (FunctionComponent) parent;
+            if (isTransparentZeroDelay(currentIndex, component)) {
+                return component.getFirstInput();
+            }
+        }
+        return null;
+    }
+
+    private Contact getZeroDelayOutput(Index currentIndex, Contact contact) {
+        Node parent = contact.getParent();
+        if (contact.isInput() && (parent instanceof FunctionComponent)) {
+            FunctionComponent component = (FunctionComponent) parent;
+            if (isTransparentZeroDelay(currentIndex, component)) {
+                return component.getFirstOutput();
+            }
+        }
+        return null;
+    }
+
+    private static boolean isTransparentZeroDelay(Index currentIndex, FunctionComponent component) {
+        // Buffer and inverter checks evaluate the component function, so their result is memorised
+        return component.getIsZeroDelay() && currentIndex.zeroDelayComponents.computeIfAbsent(component,
+                c -> c.isBuffer() || c.isInverter());
+    }
+
+    private Contact findDriver(MathNode curNode, boolean transparentZeroDelayComponents) {
+        Index currentIndex = getIndex();
+        Contact result = null;
+        HashSet<MathNode> visited = new HashSet<>();
+        Queue<MathNode> queue = new LinkedList<>();
+        if (curNode instanceof MathConnection) {
+            queue.add(((MathConnection) curNode).getFirst());
+        } else if (curNode != null) {
+            queue.add(curNode);
+        }
+        while (!queue.isEmpty()) {
+            if (queue.size() != 1) {
+                throw new RuntimeException("Found more than one potential driver for '"
+                        + circuit.getNodeReference(curNode) + "'!");
+            }
+            MathNode node = queue.remove();
+            if (visited.contains(node)) {
+                continue;
+            }
+            visited.add(node);
+            if (node instanceof Joint) {
+                queue.addAll(circuit.getPreset(node));
+            } else if (node instanceof Contact) {
+                Contact contact = (Contact) node;
+                // Support for zero delay buffers and inverters.
+                Contact zeroDelayInput = transparentZeroDelayComponents ? getZeroDelayInput(currentIndex, contact) : null;
+                if (zeroDelayInput != null) {
+                    queue.addAll(circuit.getPreset(zeroDelayInput));
+                } else if (contact.isDriver()) {
+                    result = contact;
+                } else {
+                    queue.addAll(circuit.getPreset(contact));
+                }
+            } else {
+                throw new RuntimeException("Unexpected node '" + circuit.getNodeReference(node)
+                        + "' in the driver trace for node '" + circuit.getNodeReference(curNode) + "'!");
+            }
+        }
+        return result;
+    }
+
+    private Set<Contact> traceDriven(Index currentIndex, MathNode curNode, boolean transparentZeroDelayComponents) {
+        Set<Contact> result = new HashSet<>();
+        HashSet<MathNode> visited = new HashSet<>();
+        Queue<MathNode> queue = new LinkedList<>();
+        if (curNode instanceof MathConnection) {
+            queue.add(((MathConnection) curNode).getSecond());
+        } else if (curNode != null) {
+            queue.add(curNode);
+        }
+        while (!queue.isEmpty()) {
+            MathNode node = queue.remove();
+            if (visited.contains(node)) {
+                continue;
+            }
+            visited.add(node);
+            if (node instanceof Joint) {
+                queue.addAll(circuit.getPostset(node));
+            } else if (node instanceof Contact) {
+                Contact contact = (Contact) node;
+                // Support for zero delay buffers and inverters.
+                Contact zeroDelayOutput = transparentZeroDelayComponents ? getZeroDelayOutput(currentIndex, contact) : null;
+                if (zeroDelayOutput != null) {
+                    queue.addAll(circuit.getPostset(zeroDelayOutput));
+                } else if (contact.isDriven()) {
+                    result.add(contact);
+                } else {
+                    queue.addAll(circuit.getPostset(contact));
+                }
+            } else {
+                throw new RuntimeException("Unexpected node '" + circuit.getNodeReference(node)
+                        + "' in the driven trace for node '" + circuit.getNodeReference(curNode) + "'!");
+            }
+        }
+        return result;
+    }
+
+}
@@ -150,6 +150,10 @@ public class CircuitPlugin implements Plugin {
         ScriptableCommandUtils.registerCommand(CycleFreenessVerificationCommand.class, "checkCircuitCycles",
                 "check if the Circuit 'work' is free from cyclic paths");
 
+        // Random simulation
+        ScriptableCommandUtils.registerCommand(RandomSimulationVerificationCommand.class, "checkCircuitRandomSimulation",
+                "check the Circuit 'work' for hazards and conflicts by random simulation without environment");
+
         // Fork buffering
         ScriptableCommandUtils.registerCommand(BufferHighFanoutTransformationCommand.class, "transformCircuitBufferHighFanout",
                 "buffer forks with high fanout in the Circuit 'work'");
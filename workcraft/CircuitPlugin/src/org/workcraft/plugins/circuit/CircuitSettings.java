@@ -129,6 +129,9 @@ public class CircuitSettings extends AbstractModelSettings {
     // Forks
     private static final String keyForkHighFanout = prefix + ".forkHighFanout";
     private static final String keyForkBufferPattern = prefix + ".forkBufferPattern";
+    // Random simulation
+    private static final String keySimulationSequenceCount = prefix + ".simulationSequenceCount";
+    private static final String keySimulationSequenceLength = prefix + ".simulationSequenceLength";
 
     /*
      * Defaults
@@ -183,6 +186,9 @@ public class CircuitSettings extends AbstractModelSettings {
     // Forks
     private static final int defaultForkHighFanout = 4;
     private static final String defaultForkBufferPattern = "fork_x" + FORK_FUNOUT_PLACEHOLDER + "_";
+    // Random simulation
+    private static final int defaultSimulationSequenceCount = 4096;
+    private static final int defaultSimulationSequenceLength = 1000;
 
     /*
      * Variables
@@ -237,6 +243,9 @@ public class CircuitSettings extends AbstractModelSettings {
     // Forks
     private static Integer forkHighFanout = defaultForkHighFanout;
     private static String forkBufferPattern = defaultForkBufferPattern;
+    // Random simulation
+    private static int simulationSequenceCount = defaultSimulationSequenceCount;
+    private static int simulationSequenceLength = defaultSimulationSequenceLength;
 
     static {
         properties.add(PropertyHelper.createSeparatorProperty("Visualisation"));
@@ -512,6 +521,18 @@ public class CircuitSettings extends AbstractModelSettings {
                         + FORK_FUNOUT_PLACEHOLDER + " denotes fanout)",
                 CircuitSettings::setForkBufferPattern,
                 CircuitSettings::getForkBufferPattern));
+
+        properties.add(PropertyHelper.createSeparatorProperty("Random simulation"));
+
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                PropertyHelper.BULLET_PREFIX + "Number of random sequences (simulated by 64 at once)",
+                CircuitSettings::setSimulationSequenceCount,
+                CircuitSettings::getSimulationSequenceCount));
+
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                PropertyHelper.BULLET_PREFIX + "Maximum length of random sequence",
+                CircuitSettings::setSimulationSequenceLength,
+                CircuitSettings::getSimulationSequenceLength));
     }
 
     private static String getBaseRelativePath(File file) {
@@ -592,6 +613,9 @@ public class CircuitSettings extends AbstractModelSettings {
         // Forks
         setForkHighFanout(config.getInt(keyForkHighFanout, defaultForkHighFanout));
         setForkBufferPattern(config.getString(keyForkBufferPattern, defaultForkBufferPattern));
+        // Random simulation
+        setSimulationSequenceCount(config.getInt(keySimulationSequenceCount, defaultSimulationSequenceCount));
+        setSimulationSequenceLength(config.getInt(keySimulationSequenceLength, defaultSimulationSequenceLength));
     }
 
     @Override
@@ -646,6 +670,9 @@ public class CircuitSettings extends AbstractModelSettings {
         // Forks
         config.setInt(keyForkHighFanout, getForkHighFanout());
         config.set(keyForkBufferPattern, getForkBufferPattern());
+        // Random simulation
+        config.setInt(keySimulationSequenceCount, getSimulationSequenceCount());
+        config.setInt(keySimulationSequenceLength, getSimulationSequenceLength());
     }
 
     public static double getContactFontSize() {
@@ -1130,6 +1157,30 @@ public class CircuitSettings extends AbstractModelSettings {
         }
     }
 
+    public static int getSimulationSequenceCount() {
+        return simulationSequenceCount;
+    }
+
+    public static void setSimulationSequenceCount(int value) {
+        if (value < 1) {
+            DialogUtils.showError("Number of random sequences must be positive");
+        } else {
+            simulationSequenceCount = value;
+        }
+    }
+
+    public static int getSimulationSequenceLength() {
+        return simulationSequenceLength;
+    }
+
+    public static void setSimulationSequenceLength(int value) {
+        if (value < 1) {
+            DialogUtils.showError("Length of random sequence must be positive");
+        } else {
+            simulationSequenceLength = value;
+        }
+    }
+
     public static String getForkBufferName(int fanout) {
         String pattern = getForkBufferPattern();
         if ((pattern == null) || !pattern.contains(FORK_FUNOUT_PLACEHOLDER)) {
@@ -111,12 +111,16 @@ public class BinateImplementationVerificationCommand extends org.workcraft.comma
 
     private Collection<BinateData> getBinateData(Circuit circuit) {
         List<BinateData> result = new ArrayList<>();
+        BddManager bddManager = BddManager.getInstance();
         for (FunctionComponent component : circuit.getFunctionComponents()) {
             for (FunctionContact outputContact : component.getFunctionOutputs()) {
                 if (outputContact.isSequential()) continue;
                 BooleanFormula formula = CircuitUtils.getDriverFormula(circuit, outputContact.getSetFunction());
-                for (BooleanVariable variable : FormulaUtils.extractOrderedVariables(formula)) {
-                    if (new BddManager().isBinate(formula, variable)) {
+                // Order BDD variables by depth-first traversal of the gate fan-in
+                List<BooleanVariable> variables = FormulaUtils.extractOrderedVariables(formula);
+                bddManager.addVariables(variables);
+                for (BooleanVariable variable : variables) {
+                    if (bddManager.isBinate(formula, variable)) {
                         result.add(new BinateData(outputContact, formula, variable));
                     }
                 }
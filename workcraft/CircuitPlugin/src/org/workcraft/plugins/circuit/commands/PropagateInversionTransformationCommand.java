@@ -8,7 +8,7 @@ import org.workcraft.formula.BooleanFormula;
 import org.workcraft.formula.FormulaUtils;
 import org.workcraft.formula.visitors.BooleanComplementTransformer;
 import org.workcraft.formula.visitors.StringGenerator;
-import org.workcraft.formula.workers.CleverBooleanWorker;
+import org.workcraft.formula.workers.HashConsingBooleanWorker;
 import org.workcraft.plugins.circuit.*;
 import org.workcraft.plugins.circuit.utils.CircuitUtils;
 import org.workcraft.utils.Hierarchy;
@@ -107,7 +107,7 @@ public class PropagateInversionTransformationCommand extends AbstractTransformat
     private BooleanFormula propagateInversion(BooleanFormula formula) {
         BooleanFormula result = null;
         if (formula != null) {
-            result = FormulaUtils.invert(formula.accept(new BooleanComplementTransformer(CleverBooleanWorker.getInstance())));
+            result = FormulaUtils.invert(formula.accept(new BooleanComplementTransformer(HashConsingBooleanWorker.getInstance())));
         }
         return result;
     }
@@ -0,0 +1,91 @@
+package org.workcraft.plugins.circuit.commands;
+
+import org.workcraft.commands.AbstractVerificationCommand;
+import org.workcraft.commands.ScriptableCommand;
+import org.workcraft.dom.references.ReferenceHelper;
+import org.workcraft.gui.properties.PropertyHelper;
+import org.workcraft.plugins.circuit.Circuit;
+import org.workcraft.plugins.circuit.CircuitSettings;
+import org.workcraft.plugins.circuit.Contact;
+import org.workcraft.plugins.circuit.simulation.RandomSimulation;
+import org.workcraft.plugins.circuit.utils.VerificationUtils;
+import org.workcraft.utils.DialogUtils;
+import org.workcraft.utils.SortUtils;
+import org.workcraft.utils.TextUtils;
+import org.workcraft.utils.WorkspaceUtils;
+import org.workcraft.workspace.WorkspaceEntry;
+
+import java.util.Collection;
+import java.util.List;
+
+public class RandomSimulationVerificationCommand extends AbstractVerificationCommand
+        implements ScriptableCommand<Boolean> {
+
+    private static final String VERIFICATION_RESULT_TITLE = "Verification result";
+    private static final long SEED = 0;
+
+    @Override
+    public String getDisplayName() {
+        return "Hazards and conflicts by random simulation (without environment)";
+    }
+
+    @Override
+    public boolean isApplicableTo(WorkspaceEntry we) {
+        return WorkspaceUtils.isApplicable(we, Circuit.class);
+    }
+
+    @Override
+    public Position getPosition() {
+        return Position.BOTTOM_MIDDLE;
+    }
+
+    @Override
+    public void run(WorkspaceEntry we) {
+        execute(we);
+    }
+
+    @Override
+    public Boolean execute(WorkspaceEntry we) {
+        if (!isApplicableTo(we)) {
+            return null;
+        }
+        Circuit circuit = WorkspaceUtils.getAs(we, Circuit.class);
+        if (!VerificationUtils.checkBlackboxComponents(circuit)) {
+            return null;
+        }
+        RandomSimulation simulation = new RandomSimulation(circuit);
+        int sequenceCount = CircuitSettings.getSimulationSequenceCount();
+        simulation.run(sequenceCount, CircuitSettings.getSimulationSequenceLength(), SEED);
+
+        String summary = "\n\n" + PropertyHelper.BULLET_PREFIX + sequenceCount
+                + " random sequences, input changes only when the circuit is stable";
+
+        String reachabilityText = getItemsText(circuit, "Signal never rising", simulation.getNeverRisenSignals())
+                + getItemsText(circuit, "Signal never falling", simulation.getNeverFallenSignals());
+
+        String problemText = getItemsText(circuit, "Hazard", simulation.getHazardSignals())
+                + getItemsText(circuit, "Conflict of set and reset functions", simulation.getConflictSignals())
+                + getItemsText(circuit, "Not initialised by forced init pins", simulation.getUninitialisedSignals());
+
+        if (problemText.isEmpty()) {
+            DialogUtils.showInfo("No hazards or conflicts found by random simulation."
+                    + summary + reachabilityText, VERIFICATION_RESULT_TITLE);
+
+            return true;
+        }
+        DialogUtils.showWarning("Random simulation found problems in the circuit."
+                + summary + problemText + reachabilityText, VERIFICATION_RESULT_TITLE);
+
+        return false;
+    }
+
+    private String getItemsText(Circuit circuit, String message, Collection<Contact> contacts) {
+        if (contacts.isEmpty()) {
+            return "";
+        }
+        List<String> refs = ReferenceHelper.getReferenceList(circuit, contacts);
+        SortUtils.sortNatural(refs);
+        return "\n\n" + PropertyHelper.BULLET_PREFIX + TextUtils.wrapMessageWithItems(message, refs);
+    }
+
+}
@@ -4,8 +4,7 @@ import org.workcraft.Framework;
 import org.workcraft.commands.AbstractVerificationCommand;
 import org.workcraft.commands.ScriptableCommand;
 import org.workcraft.plugins.circuit.Circuit;
-import org.workcraft.plugins.circuit.VisualCircuit;
-import org.workcraft.plugins.circuit.stg.CircuitToStgConverter;
+import org.workcraft.plugins.circuit.stg.CircuitToMathStgConverter;
 import org.workcraft.plugins.mpsat_verification.tasks.RefinementTask;
 import org.workcraft.plugins.mpsat_verification.tasks.VerificationChainResultHandlingMonitor;
 import org.workcraft.plugins.mpsat_verification.utils.MpsatUtils;
@@ -47,10 +46,10 @@ public class RefinementVerificationCommand extends AbstractVerificationCommand
     }
 
     private VerificationChainResultHandlingMonitor queueTask(WorkspaceEntry we) {
-        VisualCircuit circuit = WorkspaceUtils.getAs(we, VisualCircuit.class);
-        CircuitToStgConverter converter = new CircuitToStgConverter(circuit);
-        Stg devStg = converter.getStg().getMathModel();
-        File envFile = circuit.getMathModel().getEnvironmentFile();
+        Circuit circuit = WorkspaceUtils.getAs(we, Circuit.class);
+        CircuitToMathStgConverter converter = new CircuitToMathStgConverter(circuit);
+        Stg devStg = converter.getStg();
+        File envFile = circuit.getEnvironmentFile();
 
         TaskManager manager = Framework.getInstance().getTaskManager();
         RefinementTask task = new RefinementTask(we, devStg, envFile, false, true, false);
@@ -7,7 +7,7 @@ import org.workcraft.dom.visual.VisualModel;
 import org.workcraft.dom.visual.VisualNode;
 import org.workcraft.formula.BooleanFormula;
 import org.workcraft.formula.FormulaUtils;
-import org.workcraft.formula.workers.CleverBooleanWorker;
+import org.workcraft.formula.workers.HashConsingBooleanWorker;
 import org.workcraft.plugins.circuit.*;
 import org.workcraft.utils.Hierarchy;
 import org.workcraft.utils.LogUtils;
@@ -128,12 +128,12 @@ public class ToggleBubbleTransformationCommand extends AbstractTransformationCom
                     BooleanFormula setFunction = dependantContact.getSetFunction();
                     BooleanFormula notContact = FormulaUtils.invert(contact);
                     if (setFunction != null) {
-                        BooleanFormula f = FormulaUtils.replace(setFunction, contact, notContact, CleverBooleanWorker.getInstance());
+                        BooleanFormula f = FormulaUtils.replace(setFunction, contact, notContact, HashConsingBooleanWorker.getInstance());
                         dependantContact.setSetFunction(f);
                     }
                     BooleanFormula resetFunction = dependantContact.getResetFunction();
                     if (resetFunction != null) {
-                        BooleanFormula f = FormulaUtils.replace(resetFunction, contact, notContact, CleverBooleanWorker.getInstance());
+                        BooleanFormula f = FormulaUtils.replace(resetFunction, contact, notContact, HashConsingBooleanWorker.getInstance());
                         dependantContact.setResetFunction(f);
                     }
                 }
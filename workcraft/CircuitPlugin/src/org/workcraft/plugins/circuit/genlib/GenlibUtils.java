@@ -89,25 +89,16 @@ public class GenlibUtils {
 
     public static Pair<Gate, Map<BooleanVariable, String>> findMapping(BooleanFormula formula, Library library) {
         if (library != null) {
-            for (Gate gate : library.getGatesOrderedBySize()) {
-                Map<BooleanVariable, String> mapping = findMapping(formula, gate);
-                if (mapping != null) {
-                    return Pair.of(gate, mapping);
-                }
+            LibraryIndex index = library.getIndex();
+            if (FormulaUtils.extractVariables(formula).size() <= LibraryIndex.MAX_INPUT_COUNT) {
+                return index.findMapping(formula);
             }
-        }
-        return null;
-    }
-
-    private static Map<BooleanVariable, String> findMapping(BooleanFormula formula, Gate gate) {
-        if (!gate.isSequential()) {
-            try {
-                BooleanFormula gateFormula = BooleanFormulaParser.parse(gate.function.formula);
-                Map<BooleanVariable, BooleanVariable> mapping = findMapping(formula, gateFormula);
+            for (Pair<Gate, BooleanFormula> wideGate : index.getWideGates()) {
+                Map<BooleanVariable, BooleanVariable> mapping = findMapping(formula, wideGate.getSecond());
                 if (mapping != null) {
-                    return mapping.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getLabel()));
+                    return Pair.of(wideGate.getFirst(), mapping.entrySet().stream()
+                            .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().getLabel())));
                 }
-            } catch (ParseException ignored) {
             }
         }
         return null;
@@ -117,7 +108,7 @@ public class GenlibUtils {
         List<BooleanVariable> firstVars = FormulaUtils.extractOrderedVariables(firstFormula);
         List<BooleanVariable> secondVars = FormulaUtils.extractOrderedVariables(secondFormula);
         if (firstVars.size() == secondVars.size()) {
-            BddManager bdd = new BddManager();
+            BddManager bdd = BddManager.getInstance();
             for (List<BooleanVariable> vars : generatePermutations(firstVars)) {
                 BooleanFormula mappedFormula = FormulaUtils.replace(firstFormula, vars, secondVars);
                 if (bdd.equal(mappedFormula, secondFormula)) {
@@ -6,6 +6,7 @@ import java.util.stream.Collectors;
 public class Library {
 
     private final LinkedHashMap<String, Gate> gates = new LinkedHashMap<>();
+    private LibraryIndex index = null;
 
     public Library() {
     }
@@ -16,6 +17,7 @@ public class Library {
 
     public final void add(Gate gate) {
         gates.put(gate.name, gate);
+        index = null;
     }
 
     public final void addAll(Collection<Gate> gates) {
@@ -26,6 +28,7 @@ public class Library {
 
     public void remove(String name) {
         gates.remove(name);
+        index = null;
     }
 
     public Gate get(String name) {
@@ -34,6 +37,7 @@ public class Library {
 
     public void clear() {
         gates.clear();
+        index = null;
     }
 
     public Set<String> getNames() {
@@ -46,4 +50,11 @@ public class Library {
                 .collect(Collectors.toList());
     }
 
+    public LibraryIndex getIndex() {
+        if (index == null) {
+            index = new LibraryIndex(this);
+        }
+        return index;
+    }
+
 }
@@ -0,0 +1,178 @@
+package org.workcraft.plugins.circuit.genlib;
+
+import org.workcraft.formula.BooleanFormula;
+import org.workcraft.formula.BooleanVariable;
+import org.workcraft.formula.FormulaUtils;
+import org.workcraft.formula.jj.BooleanFormulaParser;
+import org.workcraft.formula.jj.ParseException;
+import org.workcraft.formula.visitors.BitwiseEvaluator;
+import org.workcraft.types.Pair;
+
+import java.util.*;
+
+/**
+ * Index of combinational gates by the canonical form of their truth tables under input permutations. The truth
+ * table of a function with up to 6 inputs fits in one 64-bit word, and its canonical form is the smallest table
+ * over all the input orders. Two functions match under some input mapping if and only if their canonical tables
+ * are equal, so matching a function is a hash lookup and the mapping is composed of the two canonical orders.
+ * Gates with more inputs are kept with their parsed formulas for matching by BDD comparison.
+ */
+public class LibraryIndex {
+
+    public static final int MAX_INPUT_COUNT = 6;
+
+    private static final long[] VARIABLE_PATTERNS = {
+        0xAAAAAAAAAAAAAAAAL,
+        0xCCCCCCCCCCCCCCCCL,
+        0xF0F0F0F0F0F0F0F0L,
+        0xFF00FF00FF00FF00L,
+        0xFFFF0000FFFF0000L,
+        0xFFFFFFFF00000000L,
+    };
+
+    private static final List<List<int[]>> PERMUTATIONS = new ArrayList<>();
+
+    static {
+        for (int count = 0; count <= MAX_INPUT_COUNT; count++) {
+            List<int[]> permutations = new ArrayList<>();
+            generatePermutations(new int[count], new boolean[count], 0, permutations);
+            PERMUTATIONS.add(permutations);
+        }
+    }
+
+    private static final class CanonicalForm {
+        private final long truthTable;
+        // Input of the function at each position of the canonical order
+        private final int[] order;
+
+        private CanonicalForm(long truthTable, int[] order) {
+            this.truthTable = truthTable;
+            this.order = order;
+        }
+    }
+
+    private static final class Entry {
+        private final Gate gate;
+        // Gate pin at each position of the canonical order
+        private final String[] pins;
+
+        private Entry(Gate gate, String[] pins) {
+            this.gate = gate;
+            this.pins = pins;
+        }
+    }
+
+    private final Map<Pair<Integer, Long>, Entry> entries = new HashMap<>();
+    private final List<Pair<Gate, BooleanFormula>> wideGates = new ArrayList<>();
+
+    public LibraryIndex(Library library) {
+        for (Gate gate : library.getGatesOrderedBySize()) {
+            if (gate.isSequential()) {
+                continue;
+            }
+            BooleanFormula formula;
+            try {
+                formula = BooleanFormulaParser.parse(gate.function.formula);
+            } catch (ParseException e) {
+                continue;
+            }
+            List<BooleanVariable> variables = FormulaUtils.extractOrderedVariables(formula);
+            if (variables.size() > MAX_INPUT_COUNT) {
+                wideGates.add(Pair.of(gate, formula));
+            } else {
+                CanonicalForm canonicalForm = getCanonicalForm(formula, variables);
+                String[] pins = new String[variables.size()];
+                for (int i = 0; i < pins.length; i++) {
+                    pins[i] = variables.get(canonicalForm.order[i]).getLabel();
+                }
+                // Gates are visited by increasing size, so the smallest of the matching gates is kept
+                entries.putIfAbsent(Pair.of(pins.length, canonicalForm.truthTable), new Entry(gate, pins));
+            }
+        }
+    }
+
+    /**
+     * Returns the smallest gate implementing the formula with up to MAX_INPUT_COUNT variables, together with
+     * the gate pin for each variable, or null if there is no such gate.
+     */
+    public Pair<Gate, Map<BooleanVariable, String>> findMapping(BooleanFormula formula) {
+        List<BooleanVariable> variables = FormulaUtils.extractOrderedVariables(formula);
+        if (variables.size() > MAX_INPUT_COUNT) {
+            return null;
+        }
+        CanonicalForm canonicalForm = getCanonicalForm(formula, variables);
+        Entry entry = entries.get(Pair.of(variables.size(), canonicalForm.truthTable));
+        if (entry == null) {
+            return null;
+        }
+        Map<BooleanVariable, String> mapping = new HashMap<>();
+        for (int i = 0; i < entry.pins.length; i++) {
+            mapping.put(variables.get(canonicalForm.order[i]), entry.pins[i]);
+        }
+        return Pair.of(entry.gate, mapping);
+    }
+
+    /**
+     * Returns the combinational gates with more than MAX_INPUT_COUNT inputs, ordered by size, with their formulas.
+     */
+    public List<Pair<Gate, BooleanFormula>> getWideGates() {
+        return Collections.unmodifiableList(wideGates);
+    }
+
+    public static long getTruthTable(BooleanFormula formula, List<? extends BooleanVariable> variables) {
+        Map<BooleanVariable, Long> values = new HashMap<>();
+        for (int i = 0; i < variables.size(); i++) {
+            values.put(variables.get(i), VARIABLE_PATTERNS[i]);
+        }
+        return formula.accept(new BitwiseEvaluator(values)) & getMask(variables.size());
+    }
+
+    private static CanonicalForm getCanonicalForm(BooleanFormula formula, List<? extends BooleanVariable> variables) {
+        long truthTable = getTruthTable(formula, variables);
+        int count = variables.size();
+        long bestTruthTable = 0;
+        int[] bestOrder = null;
+        for (int[] order : PERMUTATIONS.get(count)) {
+            long permutedTruthTable = permute(truthTable, order);
+            if ((bestOrder == null) || (Long.compareUnsigned(permutedTruthTable, bestTruthTable) < 0)) {
+                bestTruthTable = permutedTruthTable;
+                bestOrder = order;
+            }
+        }
+        return new CanonicalForm(bestTruthTable, bestOrder);
+    }
+
+    private static long permute(long truthTable, int[] order) {
+        // Bit m of the result is the value of the function when its input order[i] equals bit i of m
+        long result = 0;
+        int size = 1 << order.length;
+        for (int m = 0; m < size; m++) {
+            int index = 0;
+            for (int i = 0; i < order.length; i++) {
+                index |= ((m >> i) & 1) << order[i];
+            }
+            result |= ((truthTable >>> index) & 1L) << m;
+        }
+        return result;
+    }
+
+    private static long getMask(int count) {
+        return count < MAX_INPUT_COUNT ? (1L << (1 << count)) - 1 : -1L;
+    }
+
+    private static void generatePermutations(int[] order, boolean[] used, int position, List<int[]> result) {
+        if (position == order.length) {
+            result.add(order.clone());
+        } else {
+            for (int i = 0; i < order.length; i++) {
+                if (!used[i]) {
+                    used[i] = true;
+                    order[position] = i;
+                    generatePermutations(order, used, position + 1, result);
+                    used[i] = false;
+                }
+            }
+        }
+    }
+
+}
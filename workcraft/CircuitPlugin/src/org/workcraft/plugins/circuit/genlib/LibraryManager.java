@@ -63,7 +63,10 @@ public final class LibraryManager {
                     genlibParser.disable_tracing();
                 }
                 LogUtils.logInfo("Reading gate library '" + file.getAbsolutePath() + "'.");
-                return genlibParser.parseGenlib();
+                Library result = genlibParser.parseGenlib();
+                // Index gate functions once, so that gate matching does not analyse the library on each call
+                result.getIndex();
+                return result;
             } catch (FileNotFoundException | org.workcraft.plugins.circuit.jj.genlib.ParseException e) {
                 LogUtils.logWarning("Could not parse the gate library '" + path + "'.");
             }
@@ -567,7 +567,7 @@ public abstract class AbstractVerilogImporter implements Importer {
             if ((aVar == null) || (bVar == null) || (seqVar == null)) {
                 return false;
             }
-            BddManager bddManager = new BddManager();
+            BddManager bddManager = BddManager.getInstance();
             return bddManager.equal(FormulaUtils.createMaj(aVar, bVar, seqVar), formula)
                     || bddManager.equal(FormulaUtils.createMaj(new Not(aVar), bVar, seqVar), formula)
                     || bddManager.equal(FormulaUtils.createMaj(aVar, new Not(bVar), seqVar), formula)
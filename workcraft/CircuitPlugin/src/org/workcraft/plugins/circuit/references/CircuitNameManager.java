@@ -70,6 +70,7 @@ public class CircuitNameManager extends DefaultNameManager {
     public void remove(Node node) {
         signalMap.removeValue(node);
         super.remove(node);
+        notifyChange();
     }
 
     @Override
@@ -127,6 +128,7 @@ public class CircuitNameManager extends DefaultNameManager {
 
     private void setSignalName(Node node, String name) {
         signalMap.put(Identifier.truncateNamespaceSeparator(name), node);
+        notifyChange();
     }
 
 }
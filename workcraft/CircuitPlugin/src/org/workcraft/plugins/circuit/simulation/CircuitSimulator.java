@@ -0,0 +1,509 @@
+package org.workcraft.plugins.circuit.simulation;
+
+import org.workcraft.formula.*;
+import org.workcraft.formula.visitors.BooleanVisitor;
+import org.workcraft.plugins.circuit.Circuit;
+import org.workcraft.plugins.circuit.Contact;
+import org.workcraft.plugins.circuit.FunctionContact;
+import org.workcraft.plugins.circuit.utils.CircuitUtils;
+import org.workcraft.types.Pair;
+import org.workcraft.utils.SortUtils;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Gate-level simulator of a circuit that runs 64 independent simulations at once, one per bit of the packed signal
+ * values. Signals are the drivers of the circuit except outputs of zero delay components, which are resolved to
+ * their input drivers (possibly inverted) at compile time. Set and reset functions of each gate output are compiled
+ * into straight-line bitwise code over the signal values. Input ports and environment pins are free to toggle, while
+ * a gate output is excited when it is low and its set function holds, or it is high and its reset function holds
+ * (the negation of the set function for combinational gates).
+ */
+public class CircuitSimulator {
+
+    public static final int LANE_COUNT = Long.SIZE;
+
+    private static final int OP_NOT = 0;
+    private static final int OP_AND = 1;
+    private static final int OP_OR = 2;
+    private static final int OP_XOR = 3;
+    private static final int OP_IFF = 4;
+    private static final int OP_IMPLY = 5;
+    private static final int OP_SIZE = 4;
+
+    private static final int NO_FUNCTION = -1;
+    private static final int MAX_STEP_ATTEMPTS = 2 * LANE_COUNT;
+
+    private final List<Contact> signals = new ArrayList<>();
+    private final Map<Contact, Integer> signalIndices = new HashMap<>();
+    private final boolean[] inputs;
+    private final boolean[] forced;
+    private final boolean[] initToOne;
+
+    // Straight-line code of all functions as (operation, destination, first operand, second operand) quadruples
+    private int[] code = new int[256];
+    private int codeSize = 0;
+    private final int[] codeStart;
+    private final int[] setResult;
+    private final int[] resetResult;
+    private final int[][] fanout;
+
+    // Registers hold signal values, then constants 0 and 1, then temporary values of the functions
+    private final long[] registers;
+    private final int zeroRegister;
+    private final int oneRegister;
+    private final long[] excitations;
+    private final long[] conflicts;
+
+    private final int[] inputSignals;
+
+    // Gate outputs excited in at least one simulation, kept as an array with the position of each signal in it
+    private final int[] excitedSignals;
+    private final int[] excitedPositions;
+    private int excitedCount = 0;
+
+    // Observations accumulated since the last clearing
+    private final long[] risenLanes;
+    private final long[] fallenLanes;
+    private final long[] disabledLanes;
+    private final long[] conflictLanes;
+
+    public CircuitSimulator(Circuit circuit) {
+        List<Contact> drivers = new ArrayList<>();
+        for (Contact contact : circuit.getDrivers()) {
+            if (!contact.isZeroDelayDriver()) {
+                drivers.add(contact);
+            }
+        }
+        SortUtils.sortNatural(drivers, circuit::getNodeReference);
+        for (Contact driver : drivers) {
+            signalIndices.put(driver, signals.size());
+            signals.add(driver);
+        }
+        int signalCount = signals.size();
+        inputs = new boolean[signalCount];
+        forced = new boolean[signalCount];
+        initToOne = new boolean[signalCount];
+        codeStart = new int[signalCount + 1];
+        setResult = new int[signalCount];
+        resetResult = new int[signalCount];
+        zeroRegister = signalCount;
+        oneRegister = signalCount + 1;
+
+        List<Set<Integer>> fanoutSets = new ArrayList<>();
+        for (int i = 0; i < signalCount; i++) {
+            fanoutSets.add(new HashSet<>());
+        }
+        int maxTemporaryCount = 0;
+        for (int i = 0; i < signalCount; i++) {
+            Contact signal = signals.get(i);
+            initToOne[i] = signal.getInitToOne();
+            forced[i] = signal.getForcedInit();
+            inputs[i] = signal.isPort() || signal.isEnvironmentPin();
+            codeStart[i] = codeSize;
+            setResult[i] = NO_FUNCTION;
+            resetResult[i] = NO_FUNCTION;
+            if (!inputs[i] && (signal instanceof FunctionContact)) {
+                FunctionContact contact = (FunctionContact) signal;
+                if (contact.getSetFunction() != null) {
+                    Compiler compiler = new Compiler(circuit, i, fanoutSets);
+                    setResult[i] = contact.getSetFunction().accept(compiler);
+                    if (contact.getResetFunction() != null) {
+                        resetResult[i] = contact.getResetFunction().accept(compiler);
+                    }
+                    maxTemporaryCount = Math.max(maxTemporaryCount, compiler.temporaryCount);
+                }
+            }
+        }
+        codeStart[signalCount] = codeSize;
+        inputSignals = IntStream.range(0, signalCount).filter(i -> inputs[i]).toArray();
+        fanout = new int[signalCount][];
+        for (int i = 0; i < signalCount; i++) {
+            fanout[i] = fanoutSets.get(i).stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+        registers = new long[signalCount + 2 + maxTemporaryCount];
+        registers[oneRegister] = -1L;
+        excitations = new long[signalCount];
+        conflicts = new long[signalCount];
+        excitedSignals = new int[signalCount];
+        excitedPositions = new int[signalCount];
+        Arrays.fill(excitedPositions, -1);
+        risenLanes = new long[signalCount];
+        fallenLanes = new long[signalCount];
+        disabledLanes = new long[signalCount];
+        conflictLanes = new long[signalCount];
+        reset();
+    }
+
+    private final class Compiler implements BooleanVisitor<Integer> {
+        private final Circuit circuit;
+        private final int signal;
+        private final List<Set<Integer>> fanoutSets;
+        private final Map<BooleanFormula, Integer> results = new HashMap<>();
+        private int temporaryCount = 0;
+
+        private Compiler(Circuit circuit, int signal, List<Set<Integer>> fanoutSets) {
+            this.circuit = circuit;
+            this.signal = signal;
+            this.fanoutSets = fanoutSets;
+        }
+
+        private int emit(int operation, int first, int second) {
+            int destination = oneRegister + 1 + temporaryCount++;
+            if (codeSize + OP_SIZE > code.length) {
+                code = Arrays.copyOf(code, 2 * code.length);
+            }
+            code[codeSize++] = operation;
+            code[codeSize++] = destination;
+            code[codeSize++] = first;
+            code[codeSize++] = second;
+            return destination;
+        }
+
+        private int visitBinary(BinaryBooleanFormula node, int operation) {
+            Integer result = results.get(node);
+            if (result == null) {
+                result = emit(operation, node.getX().accept(this), node.getY().accept(this));
+                results.put(node, result);
+            }
+            return result;
+        }
+
+        @Override
+        public Integer visit(Zero node) {
+            return zeroRegister;
+        }
+
+        @Override
+        public Integer visit(One node) {
+            return oneRegister;
+        }
+
+        @Override
+        public Integer visit(BooleanVariable variable) {
+            Integer result = results.get(variable);
+            if (result == null) {
+                result = compileVariable(variable);
+                results.put(variable, result);
+            }
+            return result;
+        }
+
+        private int compileVariable(BooleanVariable variable) {
+            if (!(variable instanceof Contact)) {
+                return "1".equals(variable.getLabel()) ? oneRegister : zeroRegister;
+            }
+            Contact contact = (Contact) variable;
+            Integer index = signalIndices.get(contact);
+            boolean inversion = false;
+            if (index == null) {
+                Pair<Contact, Boolean> driverAndInversion = CircuitUtils.findDriverAndInversionSkipZeroDelay(
+                        circuit, contact);
+
+                Contact driver = driverAndInversion == null ? null : driverAndInversion.getFirst();
+                index = driver == null ? null : signalIndices.get(driver);
+                if (index == null) {
+                    // Undriven input keeps its initial value
+                    return contact.getInitToOne() ? oneRegister : zeroRegister;
+                }
+                inversion = driverAndInversion.getSecond();
+            }
+            fanoutSets.get(index).add(signal);
+            return inversion ? emit(OP_NOT, index, index) : index;
+        }
+
+        @Override
+        public Integer visit(Not node) {
+            Integer result = results.get(node);
+            if (result == null) {
+                int operand = node.getX().accept(this);
+                result = emit(OP_NOT, operand, operand);
+                results.put(node, result);
+            }
+            return result;
+        }
+
+        @Override
+        public Integer visit(And node) {
+            return visitBinary(node, OP_AND);
+        }
+
+        @Override
+        public Integer visit(Or node) {
+            return visitBinary(node, OP_OR);
+        }
+
+        @Override
+        public Integer visit(Xor node) {
+            return visitBinary(node, OP_XOR);
+        }
+
+        @Override
+        public Integer visit(Iff node) {
+            return visitBinary(node, OP_IFF);
+        }
+
+        @Override
+        public Integer visit(Imply node) {
+            return visitBinary(node, OP_IMPLY);
+        }
+    }
+
+    private void execute(int signal) {
+        long[] r = registers;
+        int[] c = code;
+        for (int pc = codeStart[signal]; pc < codeStart[signal + 1]; pc += OP_SIZE) {
+            long x = r[c[pc + 2]];
+            long y = r[c[pc + 3]];
+            switch (c[pc]) {
+            case OP_NOT:
+                r[c[pc + 1]] = ~x;
+                break;
+            case OP_AND:
+                r[c[pc + 1]] = x & y;
+                break;
+            case OP_OR:
+                r[c[pc + 1]] = x | y;
+                break;
+            case OP_XOR:
+                r[c[pc + 1]] = x ^ y;
+                break;
+            case OP_IFF:
+                r[c[pc + 1]] = ~(x ^ y);
+                break;
+            default:
+                r[c[pc + 1]] = ~x | y;
+                break;
+            }
+        }
+    }
+
+    private void evaluate(int signal) {
+        long value = registers[signal];
+        if (inputs[signal]) {
+            excitations[signal] = -1L;
+            conflicts[signal] = 0;
+        } else if (setResult[signal] == NO_FUNCTION) {
+            excitations[signal] = 0;
+            conflicts[signal] = 0;
+        } else {
+            execute(signal);
+            long set = registers[setResult[signal]];
+            if (resetResult[signal] == NO_FUNCTION) {
+                excitations[signal] = value ^ set;
+                conflicts[signal] = 0;
+            } else {
+                long reset = registers[resetResult[signal]];
+                excitations[signal] = (~value & set) | (value & reset);
+                conflicts[signal] = set & reset;
+                conflictLanes[signal] |= conflicts[signal];
+            }
+        }
+        updateExcited(signal);
+    }
+
+    private void updateExcited(int signal) {
+        int position = excitedPositions[signal];
+        if ((excitations[signal] != 0) && !inputs[signal]) {
+            if (position < 0) {
+                excitedSignals[excitedCount] = signal;
+                excitedPositions[signal] = excitedCount++;
+            }
+        } else if (position >= 0) {
+            int last = excitedSignals[--excitedCount];
+            excitedSignals[position] = last;
+            excitedPositions[last] = position;
+            excitedPositions[signal] = -1;
+        }
+    }
+
+    private void evaluateAll() {
+        for (int i = 0; i < signals.size(); i++) {
+            evaluate(i);
+        }
+    }
+
+    /**
+     * Sets all the simulations to the initial state of the circuit.
+     */
+    public void reset() {
+        for (int i = 0; i < signals.size(); i++) {
+            registers[i] = initToOne[i] ? -1L : 0;
+        }
+        evaluateAll();
+    }
+
+    /**
+     * Sets forced init pins, input ports and environment pins to their initial values, and the other signals to random
+     * values different in each simulation, as before the reset of the circuit is complete.
+     */
+    public void resetForcedInit(Random random) {
+        for (int i = 0; i < signals.size(); i++) {
+            if (forced[i] || inputs[i]) {
+                registers[i] = initToOne[i] ? -1L : 0;
+            } else {
+                registers[i] = random.nextLong();
+            }
+        }
+        evaluateAll();
+    }
+
+    public int getSignalCount() {
+        return signals.size();
+    }
+
+    public Contact getSignal(int index) {
+        return signals.get(index);
+    }
+
+    /**
+     * Returns the index of the signal of the driver contact, or -1 if the contact is not a signal.
+     */
+    public int getSignalIndex(Contact contact) {
+        Integer result = signalIndices.get(contact);
+        return result == null ? -1 : result;
+    }
+
+    public boolean isInput(int signal) {
+        return inputs[signal];
+    }
+
+    public boolean isForcedInit(int signal) {
+        return forced[signal];
+    }
+
+    public boolean getInitToOne(int signal) {
+        return initToOne[signal];
+    }
+
+    public long getValues(int signal) {
+        return registers[signal];
+    }
+
+    /**
+     * Sets the values of the signal and updates the excitation of the signals depending on it.
+     */
+    public void setValues(int signal, long values) {
+        if (registers[signal] != values) {
+            registers[signal] = values;
+            evaluate(signal);
+            for (int driven : fanout[signal]) {
+                evaluate(driven);
+            }
+        }
+    }
+
+    /**
+     * Returns the simulations in which the signal is excited.
+     */
+    public long getExcitations(int signal) {
+        return excitations[signal];
+    }
+
+    /**
+     * Returns the simulations in which both set and reset functions of the signal hold.
+     */
+    public long getConflicts(int signal) {
+        return conflicts[signal];
+    }
+
+    /**
+     * Fires the signal in the given simulations where it is excited, and returns the simulations where it fired.
+     * Signals that get disabled by this in some simulations are recorded as hazards there.
+     */
+    public long fire(int signal, long lanes) {
+        long fired = lanes & excitations[signal];
+        if (fired != 0) {
+            registers[signal] ^= fired;
+            risenLanes[signal] |= fired & registers[signal];
+            fallenLanes[signal] |= fired & ~registers[signal];
+            evaluate(signal);
+            for (int driven : fanout[signal]) {
+                if (driven != signal) {
+                    long excitedBefore = excitations[driven];
+                    evaluate(driven);
+                    disabledLanes[driven] |= excitedBefore & ~excitations[driven] & fired;
+                }
+            }
+        }
+        return fired;
+    }
+
+    /**
+     * Fires one randomly chosen excited signal in each simulation where there is one, and returns the simulations
+     * where a signal fired. Input ports and environment pins toggle only in the simulations where no gate output is
+     * excited, i.e. the environment waits for the circuit to stabilise. Forced init pins can be held at their values,
+     * as during the reset of the circuit.
+     */
+    public long step(Random random, boolean holdInputs, boolean holdForcedInit) {
+        long stable = -1L;
+        for (int k = 0; k < excitedCount; k++) {
+            stable &= ~excitations[excitedSignals[k]];
+        }
+        long result = 0;
+        long free = ~stable;
+        for (int attempt = 0; (attempt < MAX_STEP_ATTEMPTS) && (free != 0) && (excitedCount > 0); attempt++) {
+            int signal = excitedSignals[random.nextInt(excitedCount)];
+            if (!holdForcedInit || !forced[signal]) {
+                // Random masks make each simulation choose its own signal among the excited ones
+                long fired = fire(signal, free & getRandomLanes(random, attempt));
+                result |= fired;
+                free &= ~fired;
+            }
+        }
+        if (!holdInputs && (inputSignals.length > 0)) {
+            free = stable;
+            for (int attempt = 0; (attempt < MAX_STEP_ATTEMPTS) && (free != 0); attempt++) {
+                int signal = inputSignals[random.nextInt(inputSignals.length)];
+                long fired = fire(signal, free & getRandomLanes(random, attempt));
+                result |= fired;
+                free &= ~fired;
+            }
+        }
+        return result;
+    }
+
+    private static long getRandomLanes(Random random, int attempt) {
+        return attempt < MAX_STEP_ATTEMPTS / 2 ? random.nextLong() : -1L;
+    }
+
+    /**
+     * Returns the number of gate outputs excited in at least one simulation.
+     */
+    public int getExcitedSignalCount() {
+        return excitedCount;
+    }
+
+    public long getRisenLanes(int signal) {
+        return risenLanes[signal];
+    }
+
+    public long getFallenLanes(int signal) {
+        return fallenLanes[signal];
+    }
+
+    /**
+     * Returns the simulations where the signal got disabled by another signal without firing.
+     */
+    public long getDisabledLanes(int signal) {
+        return disabledLanes[signal];
+    }
+
+    /**
+     * Returns the simulations where both set and reset functions of the signal held.
+     */
+    public long getConflictLanes(int signal) {
+        return conflictLanes[signal];
+    }
+
+    public void clearObservations() {
+        Arrays.fill(risenLanes, 0);
+        Arrays.fill(fallenLanes, 0);
+        Arrays.fill(disabledLanes, 0);
+        for (int i = 0; i < signals.size(); i++) {
+            conflictLanes[i] = conflicts[i];
+        }
+    }
+
+}
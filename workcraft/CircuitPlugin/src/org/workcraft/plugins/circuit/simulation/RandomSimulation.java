@@ -0,0 +1,132 @@
+package org.workcraft.plugins.circuit.simulation;
+
+import org.workcraft.plugins.circuit.Circuit;
+import org.workcraft.plugins.circuit.Contact;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs random sequences of the circuit by batches of 64 on the bit-parallel simulator and collects the gate outputs
+ * with hazards (disabled without firing), conflicts (both set and reset functions hold), the gate outputs that never
+ * rise or never fall, and the gate outputs that are not reliably initialised by forced init pins.
+ */
+public class RandomSimulation {
+
+    private final CircuitSimulator simulator;
+    private final List<Contact> hazardSignals = new ArrayList<>();
+    private final List<Contact> conflictSignals = new ArrayList<>();
+    private final List<Contact> neverRisenSignals = new ArrayList<>();
+    private final List<Contact> neverFallenSignals = new ArrayList<>();
+    private final List<Contact> uninitialisedSignals = new ArrayList<>();
+    private long stepCount = 0;
+
+    public RandomSimulation(Circuit circuit) {
+        this(new CircuitSimulator(circuit));
+    }
+
+    public RandomSimulation(CircuitSimulator simulator) {
+        this.simulator = simulator;
+    }
+
+    public void run(int sequenceCount, int sequenceLength, long seed) {
+        Random random = new Random(seed);
+        int signalCount = simulator.getSignalCount();
+        boolean[] hazards = new boolean[signalCount];
+        boolean[] conflicts = new boolean[signalCount];
+        boolean[] risen = new boolean[signalCount];
+        boolean[] fallen = new boolean[signalCount];
+        boolean[] uninitialised = new boolean[signalCount];
+        stepCount = 0;
+        int batchCount = (sequenceCount + CircuitSimulator.LANE_COUNT - 1) / CircuitSimulator.LANE_COUNT;
+        for (int batch = 0; batch < batchCount; batch++) {
+            simulator.reset();
+            simulator.clearObservations();
+            for (int step = 0; step < sequenceLength; step++) {
+                stepCount++;
+                if (simulator.step(random, false, false) == 0) {
+                    break;
+                }
+            }
+            for (int i = 0; i < signalCount; i++) {
+                hazards[i] |= simulator.getDisabledLanes(i) != 0;
+                conflicts[i] |= simulator.getConflictLanes(i) != 0;
+                risen[i] |= simulator.getRisenLanes(i) != 0;
+                fallen[i] |= simulator.getFallenLanes(i) != 0;
+            }
+
+            // Reset phase starts from random values of the signals that are not forced
+            simulator.resetForcedInit(random);
+            for (int step = 0; step < sequenceLength; step++) {
+                if (simulator.step(random, true, true) == 0) {
+                    break;
+                }
+            }
+            for (int i = 0; i < signalCount; i++) {
+                long initValues = simulator.getInitToOne(i) ? -1L : 0;
+                uninitialised[i] |= simulator.getValues(i) != initValues;
+            }
+        }
+        simulator.reset();
+
+        hazardSignals.clear();
+        conflictSignals.clear();
+        neverRisenSignals.clear();
+        neverFallenSignals.clear();
+        uninitialisedSignals.clear();
+        for (int i = 0; i < signalCount; i++) {
+            if (simulator.isInput(i)) {
+                continue;
+            }
+            Contact signal = simulator.getSignal(i);
+            if (hazards[i]) {
+                hazardSignals.add(signal);
+            }
+            if (conflicts[i]) {
+                conflictSignals.add(signal);
+            }
+            if ((batchCount > 0) && !risen[i]) {
+                neverRisenSignals.add(signal);
+            }
+            if ((batchCount > 0) && !fallen[i]) {
+                neverFallenSignals.add(signal);
+            }
+            if (uninitialised[i]) {
+                uninitialisedSignals.add(signal);
+            }
+        }
+    }
+
+    public CircuitSimulator getSimulator() {
+        return simulator;
+    }
+
+    /**
+     * Returns the number of simulation steps, each of them advancing 64 sequences at once.
+     */
+    public long getStepCount() {
+        return stepCount;
+    }
+
+    public List<Contact> getHazardSignals() {
+        return hazardSignals;
+    }
+
+    public List<Contact> getConflictSignals() {
+        return conflictSignals;
+    }
+
+    public List<Contact> getNeverRisenSignals() {
+        return neverRisenSignals;
+    }
+
+    public List<Contact> getNeverFallenSignals() {
+        return neverFallenSignals;
+    }
+
+    public List<Contact> getUninitialisedSignals() {
+        return uninitialisedSignals;
+    }
+
+}
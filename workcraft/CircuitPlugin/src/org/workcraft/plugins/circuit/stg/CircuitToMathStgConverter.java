@@ -0,0 +1,358 @@
+package org.workcraft.plugins.circuit.stg;
+
+import org.workcraft.dom.Node;
+import org.workcraft.dom.math.MathConnection;
+import org.workcraft.dom.math.MathNode;
+import org.workcraft.exceptions.InvalidConnectionException;
+import org.workcraft.formula.BooleanFormula;
+import org.workcraft.formula.FormulaUtils;
+import org.workcraft.formula.Literal;
+import org.workcraft.formula.dnf.DnfClause;
+import org.workcraft.formula.dnf.DnfGenerator;
+import org.workcraft.formula.visitors.StringGenerator;
+import org.workcraft.plugins.circuit.*;
+import org.workcraft.plugins.circuit.utils.CircuitUtils;
+import org.workcraft.plugins.stg.Signal;
+import org.workcraft.plugins.stg.SignalTransition;
+import org.workcraft.plugins.stg.Stg;
+import org.workcraft.plugins.stg.StgPlace;
+import org.workcraft.plugins.stg.converters.SignalStg;
+import org.workcraft.types.Pair;
+import org.workcraft.types.Triple;
+import org.workcraft.utils.LogUtils;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Converts a circuit into an STG at the level of math models. It produces the same places, transitions and arcs as
+ * {@link CircuitToStgConverter}, but skips the visual model with its layout, grouping and comments, which makes it
+ * a better fit for verification where the STG is only exported to a file. DNFs of the set and reset functions are
+ * generated for all drivers in parallel.
+ */
+public class CircuitToMathStgConverter {
+
+    private static final class SignalNodes {
+        private final StgPlace zero;
+        private final StgPlace one;
+        private final List<SignalTransition> riseList = new ArrayList<>();
+        private final List<SignalTransition> fallList = new ArrayList<>();
+
+        private SignalNodes(StgPlace zero, StgPlace one) {
+            this.zero = zero;
+            this.one = one;
+        }
+    }
+
+    private static final Comparator<DnfClause> CLAUSE_COMPARATOR = Comparator.comparing(StringGenerator::toString);
+
+    private final Circuit circuit;
+    private final Stg stg;
+    private final boolean expectFunctionForDriverPin;
+
+    private final Map<MathNode, Pair<Contact, Boolean>> nodeToDriverMap;
+    private final Map<Contact, SignalNodes> driverToStgMap;
+
+    public CircuitToMathStgConverter(Circuit circuit) {
+        this(circuit, true);
+    }
+
+    public CircuitToMathStgConverter(Circuit circuit, boolean expectFunctionForDriverPin) {
+        this.circuit = circuit;
+        this.stg = new Stg();
+        this.expectFunctionForDriverPin = expectFunctionForDriverPin;
+        stg.setTitle(circuit.getTitle());
+        List<Contact> drivers = identifyDrivers();
+        this.nodeToDriverMap = associateNodesToDrivers(drivers);
+        this.driverToStgMap = convertDriversToStgs(drivers);
+        connectDriverStgs(drivers);
+        if (CircuitSettings.getSimplifyStg()) {
+            // Remove redundant transitions (except the last ones for each phase)
+            simplifyDriverStgs(drivers);
+        }
+    }
+
+    public Stg getStg() {
+        return stg;
+    }
+
+    private List<Contact> identifyDrivers() {
+        // Linked set keeps the order of contacts, so the transition instances are numbered the same way every time
+        Set<Contact> result = new LinkedHashSet<>();
+        for (FunctionContact contact : circuit.getFunctionContacts()) {
+            Contact driver = CircuitUtils.findDriver(circuit, contact, true);
+            result.add(driver == null ? contact : driver);
+        }
+        return new ArrayList<>(result);
+    }
+
+    private Map<MathNode, Pair<Contact, Boolean>> associateNodesToDrivers(List<Contact> drivers) {
+        Map<MathNode, Pair<Contact, Boolean>> result = new HashMap<>();
+        Queue<Triple<MathNode, Contact, Boolean>> queue = new LinkedList<>();
+        for (Contact driver : drivers) {
+            queue.add(Triple.of(driver, driver, false));
+        }
+        while (!queue.isEmpty()) {
+            Triple<MathNode, Contact, Boolean> item = queue.remove();
+            MathNode currentNode = item.getFirst();
+            Contact driver = item.getSecond();
+            Boolean isInverted = item.getThird();
+            if (!result.containsKey(currentNode)) {
+                result.put(currentNode, Pair.of(driver, isInverted));
+                queue.addAll(propagateDriver(currentNode, driver, isInverted));
+            }
+        }
+        return result;
+    }
+
+    private Collection<Triple<MathNode, Contact, Boolean>> propagateDriver(
+            MathNode currentNode, Contact driver, Boolean isInverted) {
+
+        Collection<Triple<MathNode, Contact, Boolean>> result = new ArrayList<>();
+        if (currentNode instanceof Contact) {
+            Contact contact = (Contact) currentNode;
+            Node parent = contact.getParent();
+            // Support for zero delay buffers and inverters
+            if (contact.isInput() && (parent instanceof FunctionComponent)) {
+                FunctionComponent component = (FunctionComponent) parent;
+                if (component.getIsZeroDelay() && (component.isBuffer() || component.isInverter())) {
+                    FunctionContact outputContact = component.getGateOutput();
+                    result.add(Triple.of(outputContact, driver, component.isInverter() != isInverted));
+                }
+            }
+        }
+        // Propagate through connections
+        if (currentNode instanceof MathConnection) {
+            MathConnection connection = (MathConnection) currentNode;
+            result.add(Triple.of(connection.getSecond(), driver, isInverted));
+        } else {
+            for (MathConnection connection : circuit.getConnections(currentNode)) {
+                if (connection.getFirst() == currentNode) {
+                    result.add(Triple.of(connection, driver, isInverted));
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<Contact, SignalNodes> convertDriversToStgs(List<Contact> drivers) {
+        Map<Contact, SignalNodes> result = new HashMap<>();
+        for (Contact driver : drivers) {
+            Contact signal = CircuitUtils.findSignal(circuit, driver, true);
+            if (signal.isDriver() || signal.isPort()) {
+                boolean initToOne = CircuitUtils.findInitToOneFromDriver(circuit, signal);
+                String signalRef = CircuitUtils.getSignalReference(circuit, signal);
+
+                StgPlace zeroPlace = stg.createPlace(SignalStg.appendLowSuffix(signalRef), null);
+                zeroPlace.setTokens(initToOne ? 0 : 1);
+
+                StgPlace onePlace = stg.createPlace(SignalStg.appendHighSuffix(signalRef), null);
+                onePlace.setTokens(initToOne ? 1 : 0);
+
+                result.put(driver, new SignalNodes(zeroPlace, onePlace));
+            }
+        }
+        return result;
+    }
+
+    private void connectDriverStgs(List<Contact> drivers) {
+        // Warn about undefined set/reset functions, if they are expected
+        if (expectFunctionForDriverPin) {
+            for (Contact driver : drivers) {
+                if (driver.isPin() && !hasSetOrResetFunction(driver)) {
+                    String driverRef = circuit.getNodeReference(driver);
+                    LogUtils.logWarning("Driver pin '" + driverRef + "' does not have set/reset function " +
+                            "and is considered free running.");
+                }
+            }
+        }
+
+        // DNFs of different drivers are independent, so they are generated in parallel
+        Map<Contact, Pair<List<DnfClause>, List<DnfClause>>> driverToClausesMap = drivers.parallelStream()
+                .filter(driverToStgMap::containsKey)
+                .collect(Collectors.toMap(Function.identity(), this::generateSetResetClauses));
+
+        for (Contact driver : drivers) {
+            Pair<List<DnfClause>, List<DnfClause>> setResetClauses = driverToClausesMap.get(driver);
+            if (setResetClauses != null) {
+                Contact signal = CircuitUtils.findSignal(circuit, driver, true);
+                SignalNodes driverStg = driverToStgMap.get(driver);
+                createSignalStgTransitions(signal, driverStg, setResetClauses.getFirst(),
+                        SignalTransition.Direction.PLUS);
+
+                createSignalStgTransitions(signal, driverStg, setResetClauses.getSecond(),
+                        SignalTransition.Direction.MINUS);
+            }
+        }
+    }
+
+    private boolean hasSetOrResetFunction(Contact driver) {
+        if (driver instanceof FunctionContact) {
+            FunctionContact contact = (FunctionContact) driver;
+            return (contact.getSetFunction() != null) || (contact.getResetFunction() != null);
+        }
+        return false;
+    }
+
+    private Pair<List<DnfClause>, List<DnfClause>> generateSetResetClauses(Contact driver) {
+        BooleanFormula setFunc = null;
+        BooleanFormula resetFunc = null;
+        if (driver instanceof FunctionContact) {
+            setFunc = ((FunctionContact) driver).getSetFunction();
+            resetFunc = ((FunctionContact) driver).getResetFunction();
+        }
+        // Create complementary set/reset if only one of them is defined
+        if ((setFunc != null) && (resetFunc == null)) {
+            resetFunc = FormulaUtils.invert(setFunc);
+        } else if ((setFunc == null) && (resetFunc != null)) {
+            setFunc = FormulaUtils.invert(resetFunc);
+        }
+        return Pair.of(getSortedClauses(setFunc), getSortedClauses(resetFunc));
+    }
+
+    private List<DnfClause> getSortedClauses(BooleanFormula formula) {
+        // Clauses with the same string representation are merged, as in the visual converter
+        TreeSet<DnfClause> clauses = new TreeSet<>(CLAUSE_COMPARATOR);
+        clauses.addAll(DnfGenerator.generate(formula).getClauses());
+        return new ArrayList<>(clauses);
+    }
+
+    private void createSignalStgTransitions(Contact signal, SignalNodes driverStg, List<DnfClause> clauses,
+            SignalTransition.Direction direction) {
+
+        StgPlace predPlace = direction == SignalTransition.Direction.PLUS ? driverStg.zero : driverStg.one;
+        StgPlace succPlace = direction == SignalTransition.Direction.PLUS ? driverStg.one : driverStg.zero;
+        List<SignalTransition> transitions = direction == SignalTransition.Direction.PLUS
+                ? driverStg.riseList : driverStg.fallList;
+
+        String signalRef = CircuitUtils.getSignalReference(circuit, signal);
+        Signal.Type signalType = CircuitUtils.getSignalType(circuit, signal);
+        if (clauses.isEmpty()) {
+            SignalTransition transition = createSignalTransition(signalRef, signalType, direction);
+            transitions.add(transition);
+            connect(predPlace, transition);
+            connect(transition, succPlace);
+            connect(succPlace, transition);
+            return;
+        }
+        for (DnfClause clause : clauses) {
+            // In self-looped signals the read-arcs will clash with producing/consuming arcs:
+            // 1) a read-arc from a preset place is redundant (is superseded by a consuming arc);
+            // 2) a read-arc from a postset place makes the transition dead.
+            boolean isDeadTransition = false;
+            Set<StgPlace> placesToRead = new LinkedHashSet<>();
+            for (Literal literal : clause.getLiterals()) {
+                Pair<Contact, Boolean> sourceDriverAndInversion = nodeToDriverMap.get((Contact) literal.getVariable());
+                SignalNodes sourceDriverStg = driverToStgMap.get(sourceDriverAndInversion.getFirst());
+                if (sourceDriverStg != null) {
+                    boolean sourceInversion = sourceDriverAndInversion.getSecond();
+                    StgPlace place = (literal.getNegation() != sourceInversion)
+                            ? sourceDriverStg.zero : sourceDriverStg.one;
+
+                    if (place != predPlace) {
+                        placesToRead.add(place);
+                    }
+                    if (place == succPlace) {
+                        isDeadTransition = true;
+                    }
+                }
+            }
+
+            if (!isDeadTransition) {
+                SignalTransition transition = createSignalTransition(signalRef, signalType, direction);
+                transitions.add(transition);
+                // Create read-arcs
+                for (StgPlace place : placesToRead) {
+                    connect(place, transition);
+                    connect(transition, place);
+                }
+                // Create producing/consuming arcs
+                connect(predPlace, transition);
+                connect(transition, succPlace);
+            }
+        }
+    }
+
+    private SignalTransition createSignalTransition(String signalRef, Signal.Type signalType,
+            SignalTransition.Direction direction) {
+
+        SignalTransition transition = stg.createSignalTransition(signalRef, direction, null);
+        transition.setSignalType(signalType);
+        return transition;
+    }
+
+    private void connect(MathNode first, MathNode second) {
+        try {
+            stg.connect(first, second);
+        } catch (InvalidConnectionException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void simplifyDriverStgs(List<Contact> drivers) {
+        Set<MathNode> redundantTransitions = getDeadTransitions(drivers);
+        redundantTransitions.addAll(getDuplicateTransitions(drivers));
+        for (Contact driver : drivers) {
+            SignalNodes signalStg = driverToStgMap.get(driver);
+            if (signalStg != null) {
+                removeRedundantTransitionsExceptLastOne(signalStg.riseList, redundantTransitions);
+                removeRedundantTransitionsExceptLastOne(signalStg.fallList, redundantTransitions);
+            }
+        }
+    }
+
+    private void removeRedundantTransitionsExceptLastOne(List<SignalTransition> transitions,
+            Set<MathNode> redundantTransitions) {
+
+        if (transitions.size() > 1) {
+            Set<SignalTransition> unneededTransitions = new LinkedHashSet<>(transitions);
+            unneededTransitions.retainAll(redundantTransitions);
+            if (unneededTransitions.size() == transitions.size()) {
+                unneededTransitions.remove(transitions.get(transitions.size() - 1));
+            }
+            transitions.removeAll(unneededTransitions);
+            stg.remove(unneededTransitions);
+        }
+    }
+
+    private Set<MathNode> getDeadTransitions(List<Contact> drivers) {
+        Set<MathNode> result = new HashSet<>();
+        for (Contact driver : drivers) {
+            SignalNodes signalStg = driverToStgMap.get(driver);
+            if (signalStg != null) {
+                Set<MathNode> deadPostset = new HashSet<>(stg.getPostset(signalStg.zero));
+                deadPostset.retainAll(stg.getPostset(signalStg.one));
+                result.addAll(deadPostset);
+            }
+        }
+        return result;
+    }
+
+    private Set<MathNode> getDuplicateTransitions(List<Contact> drivers) {
+        Set<MathNode> result = new HashSet<>();
+        for (Contact driver : drivers) {
+            SignalNodes signalStg = driverToStgMap.get(driver);
+            if (signalStg != null) {
+                result.addAll(getDuplicates(signalStg.riseList));
+                result.addAll(getDuplicates(signalStg.fallList));
+            }
+        }
+        return result;
+    }
+
+    private Set<SignalTransition> getDuplicates(List<SignalTransition> transitions) {
+        Set<SignalTransition> result = new HashSet<>();
+        for (SignalTransition t1 : transitions) {
+            if (result.contains(t1)) continue;
+            for (SignalTransition t2 : transitions) {
+                if (t1 == t2) continue;
+                if (stg.getPreset(t1).equals(stg.getPreset(t2)) && stg.getPostset(t1).equals(stg.getPostset(t2))) {
+                    result.add(t2);
+                }
+            }
+        }
+        return result;
+    }
+
+}
@@ -3,8 +3,8 @@ package org.workcraft.plugins.circuit.tasks;
 import org.workcraft.Framework;
 import org.workcraft.dom.references.ReferenceHelper;
 import org.workcraft.gui.properties.PropertyHelper;
-import org.workcraft.plugins.circuit.VisualCircuit;
-import org.workcraft.plugins.circuit.stg.CircuitToStgConverter;
+import org.workcraft.plugins.circuit.Circuit;
+import org.workcraft.plugins.circuit.stg.CircuitToMathStgConverter;
 import org.workcraft.plugins.circuit.utils.ArbitrationUtils;
 import org.workcraft.plugins.circuit.utils.ScanUtils;
 import org.workcraft.plugins.mpsat_verification.presets.VerificationParameters;
@@ -56,15 +56,15 @@ public class CheckTask implements Task<VerificationChainOutput> {
         VerificationParameters preparationParameters = ReachUtils.getToolchainPreparationParameters();
         try {
             // Common variables
-            VisualCircuit circuit = WorkspaceUtils.getAs(we, VisualCircuit.class);
-            File envFile = circuit.getMathModel().getEnvironmentFile();
+            Circuit circuit = WorkspaceUtils.getAs(we, Circuit.class);
+            File envFile = circuit.getEnvironmentFile();
             LinkedList<Pair<String, String>> exceptionPairs = new LinkedList<>();
-            exceptionPairs.addAll(ArbitrationUtils.getMutexGrantPersistencyExceptions(circuit.getMathModel()));
-            exceptionPairs.addAll(ArbitrationUtils.getWaitPersistencyExceptions(circuit.getMathModel(), false));
+            exceptionPairs.addAll(ArbitrationUtils.getMutexGrantPersistencyExceptions(circuit));
+            exceptionPairs.addAll(ArbitrationUtils.getWaitPersistencyExceptions(circuit, false));
 
             // Load device STG
-            CircuitToStgConverter converter = new CircuitToStgConverter(circuit);
-            Stg devStg = converter.getStg().getMathModel();
+            CircuitToMathStgConverter converter = new CircuitToMathStgConverter(circuit);
+            Stg devStg = converter.getStg();
             // Expose mutex grants as outputs in the device STG (store the original signal type to apply in composition STG)
             Map<String, Signal.Type> originalMutexGrantTypes = new HashMap<>();
             exposeMutexGrants(devStg, exceptionPairs, originalMutexGrantTypes);
@@ -256,7 +256,7 @@ public class CheckTask implements Task<VerificationChainOutput> {
 
                 // Check for persistency (if requested)
                 if (checkPersistency) {
-                    Set<String> skipSignals = ScanUtils.getScanoutAndAuxiliarySignals(circuit.getMathModel());
+                    Set<String> skipSignals = ScanUtils.getScanoutAndAuxiliarySignals(circuit);
                     List<String> orderedSkipSignals = SortUtils.getSortedNatural(skipSignals);
 
                     VerificationParameters persistencyParameters = ReachUtils.getOutputPersistencyParameters(
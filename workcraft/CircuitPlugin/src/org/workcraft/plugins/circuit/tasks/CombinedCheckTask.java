@@ -1,8 +1,8 @@
 package org.workcraft.plugins.circuit.tasks;
 
 import org.workcraft.Framework;
-import org.workcraft.plugins.circuit.VisualCircuit;
-import org.workcraft.plugins.circuit.stg.CircuitToStgConverter;
+import org.workcraft.plugins.circuit.Circuit;
+import org.workcraft.plugins.circuit.stg.CircuitToMathStgConverter;
 import org.workcraft.plugins.mpsat_verification.presets.VerificationParameters;
 import org.workcraft.plugins.mpsat_verification.tasks.CombinedChainOutput;
 import org.workcraft.plugins.mpsat_verification.tasks.MpsatOutput;
@@ -49,12 +49,12 @@ public class CombinedCheckTask implements Task<CombinedChainOutput> {
 
             }
             // Common variables
-            VisualCircuit circuit = WorkspaceUtils.getAs(we, VisualCircuit.class);
-            File envFile = circuit.getMathModel().getEnvironmentFile();
+            Circuit circuit = WorkspaceUtils.getAs(we, Circuit.class);
+            File envFile = circuit.getEnvironmentFile();
 
             // Load device STG
-            CircuitToStgConverter converter = new CircuitToStgConverter(circuit);
-            Stg devStg = converter.getStg().getMathModel();
+            CircuitToMathStgConverter converter = new CircuitToMathStgConverter(circuit);
+            Stg devStg = converter.getStg();
 
             // Load environment STG
             Stg envStg = StgUtils.loadOrImportStg(envFile);
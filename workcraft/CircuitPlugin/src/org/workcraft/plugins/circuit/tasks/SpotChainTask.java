@@ -1,8 +1,8 @@
 package org.workcraft.plugins.circuit.tasks;
 
 import org.workcraft.Framework;
-import org.workcraft.plugins.circuit.VisualCircuit;
-import org.workcraft.plugins.circuit.stg.CircuitToStgConverter;
+import org.workcraft.plugins.circuit.Circuit;
+import org.workcraft.plugins.circuit.stg.CircuitToMathStgConverter;
 import org.workcraft.plugins.mpsat_temporal.tasks.*;
 import org.workcraft.plugins.mpsat_temporal.utils.SpotUtils;
 import org.workcraft.plugins.pcomp.tasks.PcompOutput;
@@ -68,12 +68,12 @@ public class SpotChainTask implements Task<SpotChainOutput> {
             monitor.progressUpdate(0.1);
 
             // Common variables
-            VisualCircuit circuit = WorkspaceUtils.getAs(we, VisualCircuit.class);
-            File envFile = circuit.getMathModel().getEnvironmentFile();
+            Circuit circuit = WorkspaceUtils.getAs(we, Circuit.class);
+            File envFile = circuit.getEnvironmentFile();
 
             // Load device STG
-            CircuitToStgConverter converter = new CircuitToStgConverter(circuit);
-            Stg devStg = converter.getStg().getMathModel();
+            CircuitToMathStgConverter converter = new CircuitToMathStgConverter(circuit);
+            Stg devStg = converter.getStg();
 
             // Load environment STG
             Stg envStg = StgUtils.loadOrImportStg(envFile);
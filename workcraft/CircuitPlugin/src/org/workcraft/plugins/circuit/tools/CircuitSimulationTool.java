@@ -3,6 +3,7 @@ package org.workcraft.plugins.circuit.tools;
 import org.workcraft.dom.Container;
 import org.workcraft.dom.Node;
 import org.workcraft.dom.math.MathModel;
+import org.workcraft.dom.math.MathNode;
 import org.workcraft.dom.visual.*;
 import org.workcraft.gui.events.GraphEditorMouseEvent;
 import org.workcraft.gui.tools.Decoration;
@@ -10,6 +11,7 @@ import org.workcraft.gui.tools.Decorator;
 import org.workcraft.gui.tools.GraphEditor;
 import org.workcraft.plugins.builtin.settings.SimulationDecorationSettings;
 import org.workcraft.plugins.circuit.*;
+import org.workcraft.plugins.circuit.simulation.CircuitSimulator;
 import org.workcraft.plugins.circuit.stg.CircuitToStgConverter;
 import org.workcraft.plugins.circuit.utils.CircuitUtils;
 import org.workcraft.plugins.petri.Place;
@@ -27,15 +29,74 @@ import java.awt.*;
 import java.awt.event.MouseEvent;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.Map;
 
 public class CircuitSimulationTool extends StgSimulationTool {
 
     private CircuitToStgConverter converter;
+    private VisualCircuit circuit;
+    // Compiled circuit for excitation queries, its state is loaded from the STG marking on demand
+    private CircuitSimulator simulator;
+    private boolean isSimulatorStateValid;
 
     @Override
     public void generateUnderlyingModel(WorkspaceEntry we) {
-        VisualCircuit circuit = WorkspaceUtils.getAs(we, VisualCircuit.class);
+        circuit = WorkspaceUtils.getAs(we, VisualCircuit.class);
         converter = new CircuitToStgConverter(circuit);
+        simulator = new CircuitSimulator(circuit.getMathModel());
+        isSimulatorStateValid = false;
+    }
+
+    @Override
+    public void writeUnderlyingModelState(Map<? extends MathNode, Integer> state) {
+        isSimulatorStateValid = false;
+        super.writeUnderlyingModelState(state);
+    }
+
+    @Override
+    public boolean fire(String ref) {
+        isSimulatorStateValid = false;
+        return super.fire(ref);
+    }
+
+    @Override
+    public boolean unfire(String ref) {
+        isSimulatorStateValid = false;
+        return super.unfire(ref);
+    }
+
+    private void updateSimulatorState() {
+        if (!isSimulatorStateValid) {
+            for (int signal = 0; signal < simulator.getSignalCount(); signal++) {
+                VisualContact contact = circuit.getVisualComponent(simulator.getSignal(signal), VisualContact.class);
+                SignalStg signalStg = contact == null ? null : converter.getSignalStg(contact);
+                if (signalStg != null) {
+                    boolean isOne = signalStg.one.getReferencedComponent().getTokens() > 0;
+                    simulator.setValues(signal, isOne ? -1L : 0);
+                }
+            }
+            isSimulatorStateValid = true;
+        }
+    }
+
+    private boolean isExcitedContact(VisualContact contact) {
+        if ((simulator == null) || !contact.isDriver()) {
+            return false;
+        }
+        Circuit mathCircuit = circuit.getMathModel();
+        Contact driver = contact.getReferencedComponent();
+        if (driver.isZeroDelayDriver()) {
+            Pair<Contact, Boolean> driverAndInversion = CircuitUtils.findDriverAndInversionSkipZeroDelay(
+                    mathCircuit, driver);
+
+            driver = driverAndInversion == null ? null : driverAndInversion.getFirst();
+        }
+        int signal = driver == null ? -1 : simulator.getSignalIndex(driver);
+        if (signal < 0) {
+            return false;
+        }
+        updateSimulatorState();
+        return simulator.getExcitations(signal) != 0;
     }
 
     @Override
@@ -89,8 +150,7 @@ public class CircuitSimulationTool extends StgSimulationTool {
         HashSet<VisualContact> excitedOutputs = new HashSet<>();
         if (!component.getIsZeroDelay()) {
             for (VisualContact output: component.getVisualOutputs()) {
-                HashSet<SignalTransition> excitedTransitions = getContactExcitedTransitions(output);
-                if (!excitedTransitions.isEmpty()) {
+                if (isExcitedContact(output)) {
                     excitedOutputs.add(output);
                 }
             }
@@ -144,9 +204,7 @@ public class CircuitSimulationTool extends StgSimulationTool {
         boolean result = false;
         for (Node node : container.getChildren()) {
             if (node instanceof VisualContact) {
-                VisualContact contact = (VisualContact) node;
-                HashSet<SignalTransition> transitions = getContactExcitedTransitions(contact);
-                result = !transitions.isEmpty();
+                result = isExcitedContact((VisualContact) node);
             } else if (node instanceof Container) {
                 result = isContainerExcited(model, (Container) node);
             }
@@ -233,7 +291,7 @@ public class CircuitSimulationTool extends StgSimulationTool {
         boolean isInverting = signalStgAndInversion.getSecond();
         final boolean isOne = (signalStg.one.getReferencedComponent().getTokens() == 1) != isInverting;
         final boolean isZero = (signalStg.zero.getReferencedComponent().getTokens() == 1) != isInverting;
-        final boolean isExcited = !getContactExcitedTransitions(contact).isEmpty() && !isZeroDelay;
+        final boolean isExcited = !isZeroDelay && isExcitedContact(contact);
         final boolean isSuggested = isExcited && signalStg.contains(traceCurrentNode);
         return new StateDecoration() {
             @Override
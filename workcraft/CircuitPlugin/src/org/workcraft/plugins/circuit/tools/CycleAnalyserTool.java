@@ -12,6 +12,7 @@ import org.workcraft.gui.events.GraphEditorMouseEvent;
 import org.workcraft.gui.layouts.WrapLayout;
 import org.workcraft.gui.tools.*;
 import org.workcraft.interop.Format;
+import org.workcraft.observation.StateObserver;
 import org.workcraft.plugins.builtin.settings.AnalysisDecorationSettings;
 import org.workcraft.plugins.circuit.*;
 import org.workcraft.plugins.circuit.interop.SdcFormat;
@@ -33,6 +34,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Function;
 
 public class CycleAnalyserTool extends AbstractGraphEditorTool {
@@ -41,6 +44,8 @@ public class CycleAnalyserTool extends AbstractGraphEditorTool {
     private static final String WARNING_PREFIX = WARNING_SYMBOL + ' ';
 
     private CycleState cycleState = null;
+    private final Set<Contact> pathBreakerContacts = new HashSet<>();
+    private StateObserver workspaceObserver = null;
     private final DriverPinTable driverPinTable = new DriverPinTable();
     private final DrivenPinTable drivenPinTable = new DrivenPinTable();
 
@@ -220,13 +225,17 @@ public class CycleAnalyserTool extends AbstractGraphEditorTool {
         Circuit circuit = (Circuit) editor.getModel().getMathModel();
         CircuitUtils.correctInitialState(circuit);
         updateState(editor);
-        editor.getWorkspaceEntry().addObserver(e -> updateState(editor));
+        workspaceObserver = e -> updateState(editor);
+        editor.getWorkspaceEntry().addObserver(workspaceObserver);
     }
 
     @Override
     public void deactivated(final GraphEditor editor) {
         super.deactivated(editor);
+        editor.getWorkspaceEntry().removeObserver(workspaceObserver);
+        workspaceObserver = null;
         cycleState = null;
+        pathBreakerContacts.clear();
     }
 
     @Override
@@ -239,7 +248,13 @@ public class CycleAnalyserTool extends AbstractGraphEditorTool {
 
     private void updateState(final GraphEditor editor) {
         Circuit circuit = (Circuit) editor.getModel().getMathModel();
-        cycleState = new CycleState(circuit);
+        // Path breaker toggled by the tool is analysed incrementally, any other change requires full analysis
+        if ((cycleState != null) && (cycleState.getCircuit() == circuit) && !pathBreakerContacts.isEmpty()) {
+            cycleState.updatePathBreaker(pathBreakerContacts);
+        } else {
+            cycleState = new CycleState(circuit);
+        }
+        pathBreakerContacts.clear();
         driverPinTable.refresh();
         drivenPinTable.refresh();
         // Enable write SDC constraints button if there are path breaker input pins
@@ -267,7 +282,7 @@ public class CycleAnalyserTool extends AbstractGraphEditorTool {
             if ((contact != null) && contact.isPin() && !contact.isZeroDelayDriver()) {
                 FunctionContact mathContact = ((VisualFunctionContact) contact).getReferencedComponent();
                 editor.getWorkspaceEntry().saveMemento();
-                mathContact.setPathBreaker(!mathContact.getPathBreaker());
+                togglePathBreaker(mathContact);
                 processed = true;
             }
         }
@@ -276,6 +291,11 @@ public class CycleAnalyserTool extends AbstractGraphEditorTool {
         }
     }
 
+    private void togglePathBreaker(Contact contact) {
+        pathBreakerContacts.add(contact);
+        contact.setPathBreaker(!contact.getPathBreaker());
+    }
+
     @Override
     public Decorator getDecorator(final GraphEditor editor) {
         return node -> {
@@ -354,7 +374,7 @@ public class CycleAnalyserTool extends AbstractGraphEditorTool {
                 public void mouseClicked(MouseEvent e) {
                     Contact contact = cycleState.getDriverPin(getSelectedRow());
                     if (contact != null) {
-                        contact.setPathBreaker(!contact.getPathBreaker());
+                        togglePathBreaker(contact);
                     }
                 }
             });
@@ -411,7 +431,7 @@ public class CycleAnalyserTool extends AbstractGraphEditorTool {
                 public void mouseClicked(MouseEvent e) {
                     Contact contact = cycleState.getDrivenPin(getSelectedRow());
                     if (contact != null) {
-                        contact.setPathBreaker(!contact.getPathBreaker());
+                        togglePathBreaker(contact);
                     }
                 }
             });
@@ -11,6 +11,7 @@ import org.workcraft.gui.controls.FlatHeaderRenderer;
 import org.workcraft.gui.events.GraphEditorMouseEvent;
 import org.workcraft.gui.layouts.WrapLayout;
 import org.workcraft.gui.tools.*;
+import org.workcraft.observation.StateObserver;
 import org.workcraft.plugins.builtin.settings.AnalysisDecorationSettings;
 import org.workcraft.plugins.builtin.settings.VisualCommonSettings;
 import org.workcraft.plugins.circuit.*;
@@ -34,6 +35,8 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.function.Function;
 
 public class InitialisationAnalyserTool extends AbstractGraphEditorTool {
@@ -42,6 +45,8 @@ public class InitialisationAnalyserTool extends AbstractGraphEditorTool {
     private static final String WARNING_PREFIX = WARNING_SYMBOL + ' ';
 
     private InitialisationState initState = null;
+    private final Set<Contact> forcedInitContacts = new HashSet<>();
+    private StateObserver workspaceObserver = null;
     private final PortTable portTable = new PortTable();
     private final PinTable pinTable = new PinTable();
 
@@ -204,13 +209,17 @@ public class InitialisationAnalyserTool extends AbstractGraphEditorTool {
         Circuit circuit = (Circuit) editor.getModel().getMathModel();
         CircuitUtils.correctInitialState(circuit);
         updateState(editor);
-        editor.getWorkspaceEntry().addObserver(e -> updateState(editor));
+        workspaceObserver = e -> updateState(editor);
+        editor.getWorkspaceEntry().addObserver(workspaceObserver);
     }
 
     @Override
     public void deactivated(final GraphEditor editor) {
         super.deactivated(editor);
+        editor.getWorkspaceEntry().removeObserver(workspaceObserver);
+        workspaceObserver = null;
         initState = null;
+        forcedInitContacts.clear();
     }
 
     @Override
@@ -223,7 +232,13 @@ public class InitialisationAnalyserTool extends AbstractGraphEditorTool {
 
     private void updateState(final GraphEditor editor) {
         Circuit circuit = (Circuit) editor.getModel().getMathModel();
-        initState = new InitialisationState(circuit);
+        // Forced init toggled by the tool is propagated incrementally, any other change requires full propagation
+        if ((initState != null) && (initState.getCircuit() == circuit) && !forcedInitContacts.isEmpty()) {
+            initState.updateForcedInit(forcedInitContacts);
+        } else {
+            initState = new InitialisationState(circuit);
+        }
+        forcedInitContacts.clear();
         portTable.refresh();
         pinTable.refresh();
     }
@@ -247,7 +262,7 @@ public class InitialisationAnalyserTool extends AbstractGraphEditorTool {
 
             if ((contact != null) && contact.isDriver() && !contact.isZeroDelayPin()) {
                 editor.getWorkspaceEntry().saveMemento();
-                contact.getReferencedComponent().setForcedInit(!contact.getReferencedComponent().getForcedInit());
+                toggleForcedInit(contact.getReferencedComponent());
                 processed = true;
             }
         }
@@ -256,6 +271,11 @@ public class InitialisationAnalyserTool extends AbstractGraphEditorTool {
         }
     }
 
+    private void toggleForcedInit(Contact contact) {
+        forcedInitContacts.add(contact);
+        contact.setForcedInit(!contact.getForcedInit());
+    }
+
     @Override
     public Decorator getDecorator(final GraphEditor editor) {
         return node -> {
@@ -411,7 +431,7 @@ public class InitialisationAnalyserTool extends AbstractGraphEditorTool {
                 public void mouseClicked(MouseEvent e) {
                     Contact contact = initState.getDriverPort(getSelectedRow());
                     if (contact != null) {
-                        contact.setForcedInit(!contact.getForcedInit());
+                        toggleForcedInit(contact);
                     }
                 }
             });
@@ -503,7 +523,7 @@ public class InitialisationAnalyserTool extends AbstractGraphEditorTool {
                 public void mouseClicked(MouseEvent e) {
                     Contact contact = initState.getDriverPin(getSelectedRow());
                     if (contact != null) {
-                        contact.setForcedInit(!contact.getForcedInit());
+                        toggleForcedInit(contact);
                     }
                 }
             });
@@ -61,21 +61,7 @@ public final class CircuitUtils {
     }
 
     public static Pair<Contact, Boolean> findDriverAndInversionSkipZeroDelay(Circuit circuit, Contact contact) {
-        Contact driver = CircuitUtils.findDriver(circuit, contact, false);
-        if (driver == null) {
-            return null;
-        }
-        boolean inversion = false;
-        Node parent = driver.getParent();
-        if (parent instanceof FunctionComponent) {
-            FunctionComponent component = (FunctionComponent) parent;
-            if (component.getIsZeroDelay() && (component.isInverter() || component.isBuffer())) {
-                Contact input = component.getFirstInput();
-                driver = CircuitUtils.findDriver(circuit, input, false);
-                inversion = component.isInverter();
-            }
-        }
-        return Pair.of(driver, inversion);
+        return circuit.getNetlist().getDriverAndInversion(contact);
     }
 
     public static boolean findInitToOneFromDriver(VisualCircuit circuit, VisualContact contact) {
@@ -93,56 +79,7 @@ public final class CircuitUtils {
     }
 
     public static Contact findDriver(Circuit circuit, MathNode curNode, boolean transparentZeroDelayComponents) {
-        Contact result = null;
-        HashSet<MathNode> visited = new HashSet<>();
-        Queue<MathNode> queue = new LinkedList<>();
-        if (curNode instanceof MathConnection) {
-            queue.add(((MathConnection) curNode).getFirst());
-        } else if (curNode != null) {
-            queue.add(curNode);
-        }
-        while (!queue.isEmpty()) {
-            if (queue.size() != 1) {
-                throw new RuntimeException("Found more than one potential driver for '"
-                        + circuit.getNodeReference(curNode) + "'!");
-            }
-            MathNode node = queue.remove();
-            if (visited.contains(node)) {
-                continue;
-            }
-            visited.add(node);
-            if (node instanceof Joint) {
-                queue.addAll(circuit.getPreset(node));
-            } else if (node instanceof Contact) {
-                Contact contact = (Contact) node;
-                // Support for zero delay buffers and inverters.
-                Contact zeroDelayInput = transparentZeroDelayComponents ? findZeroDelayInput(contact) : null;
-                if (zeroDelayInput != null) {
-                    queue.addAll(circuit.getPreset(zeroDelayInput));
-                } else if (contact.isDriver()) {
-                    result = contact;
-                } else {
-                    // Is it necessary to check that (node == curNode) before adding preset to queue?
-                    queue.addAll(circuit.getPreset(contact));
-                }
-            } else {
-                throw new RuntimeException("Unexpected node '" + circuit.getNodeReference(node)
-                + "' in the driver trace for node '" + circuit.getNodeReference(curNode) + "'!");
-            }
-        }
-        return result;
-    }
-
-    private static Contact findZeroDelayInput(Contact contact) {
-        Contact zeroDelayInput = null;
-        Node parent = contact.getParent();
-        if (contact.isOutput() && (parent instanceof FunctionComponent)) {
-            FunctionComponent component = (FunctionComponent) parent;
-            if (component.getIsZeroDelay() && (component.isBuffer() || component.isInverter())) {
-                zeroDelayInput = component.getFirstInput();
-            }
-        }
-        return zeroDelayInput;
+        return circuit.getNetlist().getDriver(curNode, transparentZeroDelayComponents);
     }
 
     public static Set<VisualContact> findDriven(VisualCircuit circuit, VisualContact contact) {
@@ -155,40 +92,7 @@ public final class CircuitUtils {
     }
 
     public static Collection<Contact> findDriven(Circuit circuit, MathNode curNode, boolean transparentZeroDelayComponents) {
-        Set<Contact> result = new HashSet<>();
-        HashSet<MathNode> visited = new HashSet<>();
-        Queue<MathNode> queue = new LinkedList<>();
-        if (curNode instanceof MathConnection) {
-            queue.add(((MathConnection) curNode).getSecond());
-        } else if (curNode != null) {
-            queue.add(curNode);
-        }
-        while (!queue.isEmpty()) {
-            MathNode node = queue.remove();
-            if (visited.contains(node)) {
-                continue;
-            }
-            visited.add(node);
-            if (node instanceof Joint) {
-                queue.addAll(circuit.getPostset(node));
-            } else if (node instanceof Contact) {
-                Contact contact = (Contact) node;
-                // Support for zero delay buffers and inverters.
-                Contact zeroDelayOutput = transparentZeroDelayComponents ? findZeroDelayOutput(contact) : null;
-                if (zeroDelayOutput != null) {
-                    queue.addAll(circuit.getPostset(zeroDelayOutput));
-                } else if (contact.isDriven()) {
-                    result.add(contact);
-                } else {
-                    // Is it necessary to check that (node == curNode) before adding postset to queue?
-                    queue.addAll(circuit.getPostset(contact));
-                }
-            } else {
-                throw new RuntimeException("Unexpected node '" + circuit.getNodeReference(node)
-                + "' in the driven trace for node '" + circuit.getNodeReference(curNode) + "'!");
-            }
-        }
-        return result;
+        return circuit.getNetlist().getDriven(curNode, transparentZeroDelayComponents);
     }
 
     public static Pair<Integer, Boolean> calcFanout(VisualCircuit circuit, VisualContact contact) {
@@ -243,29 +147,16 @@ public final class CircuitUtils {
         return null;
     }
 
-    private static Contact findZeroDelayOutput(Contact contact) {
-        Contact zeroDelayOutput = null;
-        Node parent = contact.getParent();
-        if (contact.isInput() && (parent instanceof FunctionComponent)) {
-            FunctionComponent component = (FunctionComponent) parent;
-            if (component.getIsZeroDelay() && (component.isBuffer() || component.isInverter())) {
-                zeroDelayOutput = component.getFirstOutput();
-            }
-        }
-        return zeroDelayOutput;
-    }
-
     public static Contact findSignal(Circuit circuit, Contact contact, boolean transparentZeroDelayComponents) {
         Contact driver = findDriver(circuit, contact, transparentZeroDelayComponents);
         if (driver == null) {
             return contact;
         }
-        for (Contact signal : circuit.getOutputPorts()) {
-            if (driver == CircuitUtils.findDriver(circuit, signal, transparentZeroDelayComponents)) {
-                // FIXME: Set initial state of output port from driver, so signal.getInitToOne() returns correct state
-                signal.setInitToOne(driver.getInitToOne());
-                return signal;
-            }
+        Contact signal = circuit.getNetlist().getOutputPort(driver, transparentZeroDelayComponents);
+        if (signal != null) {
+            // FIXME: Set initial state of output port from driver, so signal.getInitToOne() returns correct state
+            signal.setInitToOne(driver.getInitToOne());
+            return signal;
         }
         return driver;
     }
@@ -307,20 +198,7 @@ public final class CircuitUtils {
     }
 
     public static Contact getDrivenOutputPort(Circuit circuit, Contact contact) {
-        Contact result = null;
-        boolean multipleOutputPorts = false;
-        for (Contact driven : findDriven(circuit, contact, true)) {
-            if (driven.isPort() && driven.isOutput()) {
-                if (result != null) {
-                    multipleOutputPorts = true;
-                }
-                result = driven;
-            }
-        }
-        if (multipleOutputPorts) {
-            result = null;
-        }
-        return result;
+        return circuit.getNetlist().getDrivenOutputPort(contact);
     }
 
     public static Signal.Type getSignalType(VisualCircuit circuit, VisualContact contact) {
@@ -5,12 +5,10 @@ import org.workcraft.plugins.circuit.Circuit;
 import org.workcraft.plugins.circuit.Contact;
 import org.workcraft.plugins.circuit.FunctionComponent;
 import org.workcraft.plugins.circuit.FunctionContact;
+import org.workcraft.utils.DirectedGraphUtils;
 import org.workcraft.utils.SortUtils;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 public class CycleState {
@@ -18,65 +16,311 @@ public class CycleState {
     private final Circuit circuit;
     private final List<Contact> driverPins;
     public final List<Contact> drivenPins;
-    private final Set<Contact> cycleContacts;
-    private final Set<FunctionComponent> cycleComponents;
+    private final Set<Contact> cycleContacts = new HashSet<>();
+    private final Set<FunctionComponent> cycleComponents = new HashSet<>();
+    // Graph of output pins to their unbroken path driver pins, its reverse, and its strongly connected components
+    private final Map<Contact, Set<Contact>> graph = new HashMap<>();
+    private final Map<Contact, Set<Contact>> reverseGraph = new HashMap<>();
+    private final Map<Contact, Set<Contact>> vertexToScc = new HashMap<>();
 
     public CycleState(Circuit circuit) {
         this.circuit = circuit;
+        for (FunctionComponent component : circuit.getFunctionComponents()) {
+            Set<Contact> drivers = getUnbrokenPathDriverPins(component);
+            for (Contact output : component.getOutputs()) {
+                if (!output.getPathBreaker()) {
+                    addVertex(output);
+                    for (Contact driver : drivers) {
+                        addEdge(driver, output);
+                    }
+                }
+            }
+        }
+        updateSccs(DirectedGraphUtils.project(graph, graph.keySet()));
+        for (FunctionComponent component : circuit.getFunctionComponents()) {
+            updateComponent(component);
+        }
+        // Driver and driven pins
+        driverPins = new ArrayList<>();
+        drivenPins = new ArrayList<>();
+        for (FunctionComponent component : circuit.getFunctionComponents()) {
+            if (!component.getIsZeroDelay()) {
+                driverPins.addAll(component.getOutputs());
+            }
+            drivenPins.addAll(component.getInputs());
+        }
+        SortUtils.sortNatural(driverPins, circuit::getNodeReference);
+        SortUtils.sortNatural(drivenPins, circuit::getNodeReference);
+    }
 
-        cycleContacts = CycleUtils.getCycledDrivers(circuit);
-        // Add components to "cycle" set if they have pins on a cycle
-        cycleComponents = new HashSet<>();
-        for (Contact contact : cycleContacts) {
+    public Circuit getCircuit() {
+        return circuit;
+    }
+
+    // Update the state after the path breaker of the given contacts changed, only revisiting the driver graph around
+    // their components and the strongly connected components that may split or merge because of it
+    public void updatePathBreaker(Collection<? extends Contact> contacts) {
+        Set<FunctionComponent> changedComponents = new HashSet<>();
+        for (Contact contact : contacts) {
             Node parent = contact.getParent();
             if (parent instanceof FunctionComponent) {
-                cycleComponents.add((FunctionComponent) parent);
+                changedComponents.add((FunctionComponent) parent);
+                changedComponents.addAll(getFanoutComponents((FunctionComponent) parent));
             }
         }
-        // Add zero delay gates and their pins to "cycle"sets if they are between components on a cycle
-        for (FunctionComponent component : circuit.getFunctionComponents()) {
-            if (component.getIsZeroDelay()) {
-                boolean inputOnCycle = false;
-                boolean outputOnCycle = false;
-                for (Contact input : component.getInputs()) {
-                    Contact driver = CycleUtils.findUnbrokenPathDriverPin(circuit, input);
-                    if (driver != null) {
-                        inputOnCycle |= cycleComponents.contains(driver.getParent());
+        Map<Contact, Set<Contact>> newDriversMap = new HashMap<>();
+        for (FunctionComponent component : changedComponents) {
+            Set<Contact> drivers = getUnbrokenPathDriverPins(component);
+            for (Contact output : component.getOutputs()) {
+                newDriversMap.put(output, output.getPathBreaker() ? null : drivers);
+            }
+        }
+        // Remove edges and vertices first, then split the strongly connected components they belonged to
+        Map<Contact, Boolean> loopedBefore = new HashMap<>();
+        Set<Set<Contact>> splitSccs = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<Contact, Set<Contact>> entry : newDriversMap.entrySet()) {
+            Contact output = entry.getKey();
+            Set<Contact> oldDrivers = graph.get(output);
+            if (oldDrivers != null) {
+                Set<Contact> newDrivers = entry.getValue();
+                for (Contact driver : new ArrayList<>(oldDrivers)) {
+                    if ((newDrivers == null) || !newDrivers.contains(driver)) {
+                        Set<Contact> scc = vertexToScc.get(output);
+                        if ((scc == vertexToScc.get(driver)) && splitSccs.add(scc)) {
+                            rememberLooped(scc, loopedBefore);
+                        }
+                        removeEdge(driver, output);
                     }
                 }
-                for (Contact output : component.getOutputs()) {
-                    for (Contact driven : CycleUtils.findUnbrokenPathDrivenPins(circuit, output)) {
-                        outputOnCycle |= cycleComponents.contains(driven.getParent());
+                if (newDrivers == null) {
+                    removeVertex(output);
+                }
+            }
+        }
+        for (Set<Contact> scc : splitSccs) {
+            Set<Contact> vertices = scc.stream().filter(graph::containsKey).collect(Collectors.toSet());
+            updateSccs(DirectedGraphUtils.project(graph, vertices));
+        }
+        // Then add vertices and edges, merging the strongly connected components on new cycles
+        for (Map.Entry<Contact, Set<Contact>> entry : newDriversMap.entrySet()) {
+            Contact output = entry.getKey();
+            if ((entry.getValue() != null) && !graph.containsKey(output)) {
+                addVertex(output);
+                vertexToScc.put(output, new HashSet<>(Collections.singleton(output)));
+            }
+        }
+        for (Map.Entry<Contact, Set<Contact>> entry : newDriversMap.entrySet()) {
+            Contact output = entry.getKey();
+            Set<Contact> newDrivers = entry.getValue();
+            if (newDrivers != null) {
+                for (Contact driver : newDrivers) {
+                    if (!graph.get(output).contains(driver)) {
+                        addEdge(driver, output);
+                        mergeSccs(driver, output, loopedBefore);
                     }
                 }
-                if (inputOnCycle && outputOnCycle) {
+            }
+        }
+        // Re-evaluate the components whose cycle status may depend on the vertices that changed their cycle status
+        Set<FunctionComponent> affectedComponents = new HashSet<>(changedComponents);
+        for (Map.Entry<Contact, Boolean> entry : loopedBefore.entrySet()) {
+            Contact vertex = entry.getKey();
+            Node parent = vertex.getParent();
+            if ((entry.getValue() != isLooped(vertex)) && (parent instanceof FunctionComponent)) {
+                affectedComponents.add((FunctionComponent) parent);
+            }
+        }
+        Set<FunctionComponent> dependentComponents = new HashSet<>(affectedComponents);
+        for (FunctionComponent component : affectedComponents) {
+            dependentComponents.addAll(getFanoutComponents(component));
+            dependentComponents.addAll(getZeroDelayFaninComponents(component));
+        }
+        for (FunctionComponent component : dependentComponents) {
+            updateComponent(component);
+        }
+    }
+
+    private Set<Contact> getUnbrokenPathDriverPins(FunctionComponent component) {
+        Set<Contact> result = new HashSet<>();
+        for (Contact input : component.getInputs()) {
+            Contact driver = CycleUtils.findUnbrokenPathDriverPin(circuit, input);
+            if (driver != null) {
+                result.add(driver);
+            }
+        }
+        return result;
+    }
+
+    private void addVertex(Contact vertex) {
+        graph.put(vertex, new HashSet<>());
+    }
+
+    private void removeVertex(Contact vertex) {
+        graph.remove(vertex);
+        Set<Contact> scc = vertexToScc.remove(vertex);
+        if (scc != null) {
+            scc.remove(vertex);
+        }
+    }
+
+    private void addEdge(Contact driver, Contact output) {
+        graph.get(output).add(driver);
+        reverseGraph.computeIfAbsent(driver, k -> new HashSet<>()).add(output);
+    }
+
+    private void removeEdge(Contact driver, Contact output) {
+        graph.get(output).remove(driver);
+        Set<Contact> outputs = reverseGraph.get(driver);
+        if (outputs != null) {
+            outputs.remove(output);
+        }
+    }
+
+    private void updateSccs(Map<Contact, Set<Contact>> subgraph) {
+        for (Set<Contact> scc : DirectedGraphUtils.findStronglyConnectedComponents(subgraph)) {
+            for (Contact vertex : scc) {
+                vertexToScc.put(vertex, scc);
+            }
+        }
+    }
+
+    // New edge from driver to output closes cycles through the vertices that are both reachable from the output
+    // and co-reachable to the driver, so their components are merged into one
+    private void mergeSccs(Contact driver, Contact output, Map<Contact, Boolean> loopedBefore) {
+        Set<Contact> driverScc = vertexToScc.get(driver);
+        Set<Contact> outputScc = vertexToScc.get(output);
+        if ((driverScc != null) && (driverScc != outputScc)) {
+            Set<Contact> reachableVertices = collectReachableVertices(output, reverseGraph, null);
+            if (reachableVertices.contains(driver)) {
+                Set<Contact> scc = collectReachableVertices(driver, graph, reachableVertices);
+                rememberLooped(scc, loopedBefore);
+                for (Contact vertex : scc) {
+                    vertexToScc.put(vertex, scc);
+                }
+            }
+        }
+    }
+
+    private void rememberLooped(Set<Contact> vertices, Map<Contact, Boolean> loopedBefore) {
+        for (Contact vertex : vertices) {
+            loopedBefore.putIfAbsent(vertex, isLooped(vertex));
+        }
+    }
+
+    private Set<Contact> collectReachableVertices(Contact vertex, Map<Contact, Set<Contact>> adjacency,
+            Set<Contact> restriction) {
+
+        Set<Contact> result = new HashSet<>();
+        Queue<Contact> queue = new ArrayDeque<>();
+        queue.add(vertex);
+        while (!queue.isEmpty()) {
+            Contact curVertex = queue.remove();
+            if (graph.containsKey(curVertex) && ((restriction == null) || restriction.contains(curVertex))
+                    && result.add(curVertex)) {
+
+                queue.addAll(adjacency.getOrDefault(curVertex, Collections.emptySet()));
+            }
+        }
+        return result;
+    }
+
+    private boolean isLooped(Contact vertex) {
+        Set<Contact> scc = vertexToScc.get(vertex);
+        return (scc != null) && ((scc.size() > 1) || graph.get(vertex).contains(vertex));
+    }
+
+    private boolean hasLoopedOutput(Node node) {
+        if (node instanceof FunctionComponent) {
+            for (Contact output : ((FunctionComponent) node).getOutputs()) {
+                if (isLooped(output)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void updateComponent(FunctionComponent component) {
+        cycleComponents.remove(component);
+        cycleContacts.removeAll(component.getContacts());
+        if (component.getIsZeroDelay()) {
+            // Zero delay gates and their pins are on a cycle if they are between components on a cycle
+            boolean inputOnCycle = false;
+            boolean outputOnCycle = false;
+            for (Contact input : component.getInputs()) {
+                Contact driver = CycleUtils.findUnbrokenPathDriverPin(circuit, input);
+                if (driver != null) {
+                    inputOnCycle |= hasLoopedOutput(driver.getParent());
+                }
+            }
+            for (Contact output : component.getOutputs()) {
+                for (Contact driven : CycleUtils.findUnbrokenPathDrivenPins(circuit, output)) {
+                    outputOnCycle |= hasLoopedOutput(driven.getParent());
+                }
+            }
+            if (inputOnCycle && outputOnCycle) {
+                cycleComponents.add(component);
+                cycleContacts.addAll(component.getContacts());
+            }
+        } else {
+            for (Contact output : component.getOutputs()) {
+                if (isLooped(output)) {
                     cycleComponents.add(component);
-                    cycleContacts.addAll(component.getContacts());
+                    cycleContacts.add(output);
+                }
+            }
+            // Input pins of a component on a cycle are on the cycle if they are driven by other cycled pins
+            if (cycleComponents.contains(component)) {
+                for (Contact input : component.getInputs()) {
+                    if (!input.getPathBreaker()) {
+                        Contact driver = CycleUtils.findUnbrokenPathDriverPin(circuit, input);
+                        if ((driver != null) && isLooped(driver)) {
+                            cycleContacts.add(input);
+                        }
+                    }
                 }
             }
         }
-        // Extend the set of cycled pins by input pins in cycled components that are driven by other cycled pins
-        for (FunctionComponent component : circuit.getFunctionComponents()) {
-            for (Contact contact : component.getInputs()) {
-                if (!contact.getPathBreaker() && cycleComponents.contains(component)) {
-                    Contact driver = CycleUtils.findUnbrokenPathDriverPin(circuit, contact);
-                    if (cycleContacts.contains(driver)) {
-                        cycleContacts.add(contact);
+    }
+
+    // Components driven by the component, including those behind zero delay components
+    private Set<FunctionComponent> getFanoutComponents(FunctionComponent component) {
+        Set<FunctionComponent> result = new HashSet<>();
+        collectFanoutComponents(component, result);
+        return result;
+    }
+
+    private void collectFanoutComponents(FunctionComponent component, Set<FunctionComponent> result) {
+        for (Contact output : component.getOutputs()) {
+            for (Contact driven : CircuitUtils.findDriven(circuit, output, false)) {
+                Node parent = driven.getParent();
+                if (parent instanceof FunctionComponent) {
+                    FunctionComponent drivenComponent = (FunctionComponent) parent;
+                    if (result.add(drivenComponent) && drivenComponent.getIsZeroDelay()) {
+                        collectFanoutComponents(drivenComponent, result);
                     }
                 }
             }
         }
-        // Driver and driven pins
-        driverPins = new ArrayList<>();
-        drivenPins = new ArrayList<>();
-        for (FunctionComponent component : circuit.getFunctionComponents()) {
-            if (!component.getIsZeroDelay()) {
-                driverPins.addAll(component.getOutputs());
+    }
+
+    // Zero delay components that drive the component, directly or via other zero delay components
+    private Set<FunctionComponent> getZeroDelayFaninComponents(FunctionComponent component) {
+        Set<FunctionComponent> result = new HashSet<>();
+        collectZeroDelayFaninComponents(component, result);
+        return result;
+    }
+
+    private void collectZeroDelayFaninComponents(FunctionComponent component, Set<FunctionComponent> result) {
+        for (Contact input : component.getInputs()) {
+            Contact driver = CircuitUtils.findDriver(circuit, input, false);
+            if ((driver != null) && driver.isZeroDelayPin()) {
+                FunctionComponent zeroComponent = (FunctionComponent) driver.getParent();
+                if (result.add(zeroComponent)) {
+                    collectZeroDelayFaninComponents(zeroComponent, result);
+                }
             }
-            drivenPins.addAll(component.getInputs());
         }
-        SortUtils.sortNatural(driverPins, circuit::getNodeReference);
-        SortUtils.sortNatural(drivenPins, circuit::getNodeReference);
     }
 
     public String getContactReference(FunctionContact contact) {
@@ -120,15 +364,15 @@ public class CycleState {
     }
 
     public Set<Contact> getCycleDriverPins() {
-        Set<Contact> result = new HashSet<>(cycleContacts);
-        result.retainAll(driverPins);
-        return result;
+        return driverPins.stream()
+                .filter(cycleContacts::contains)
+                .collect(Collectors.toSet());
     }
 
     public Set<Contact> getCycleDrivenPins() {
-        Set<Contact> result = new HashSet<>(cycleContacts);
-        result.retainAll(drivenPins);
-        return result;
+        return drivenPins.stream()
+                .filter(cycleContacts::contains)
+                .collect(Collectors.toSet());
     }
 
     public boolean isRedundantPathBreaker(FunctionContact contact) {
@@ -54,17 +54,20 @@ public final class CycleUtils {
     public static Set<Contact> tagPathBreakerAutoDiscard(Circuit circuit) {
         Set<Contact> result = new HashSet<>();
         boolean progress = true;
-        int initCount = getCycledDrivers(circuit).size();
+        CycleState cycleState = new CycleState(circuit);
+        int initCount = cycleState.getCycleDriverPins().size();
         while (progress) {
             progress = false;
             for (Contact contact : getPathBreakerDrivers(circuit)) {
                 contact.setPathBreaker(false);
-                int curCount = getCycledDrivers(circuit).size();
+                cycleState.updatePathBreaker(Collections.singleton(contact));
+                int curCount = cycleState.getCycleDriverPins().size();
                 if (curCount == initCount) {
                     result.add(contact);
                     progress = true;
                 } else {
                     contact.setPathBreaker(true);
+                    cycleState.updatePathBreaker(Collections.singleton(contact));
                 }
             }
         }
@@ -139,7 +139,7 @@ public class ExpressionUtils {
                     if (heuristicFormula == null) {
                         resultFormula = exactFormula;
                     } else {
-                        BddManager bdd = new BddManager();
+                        BddManager bdd = BddManager.getInstance();
                         resultFormula = bdd.equal(heuristicFormula, exactFormula) ? heuristicFormula : exactFormula;
                     }
                 }
@@ -12,8 +12,8 @@ import org.workcraft.formula.*;
 import org.workcraft.formula.jj.ParseException;
 import org.workcraft.formula.visitors.StringGenerator;
 import org.workcraft.formula.workers.BooleanWorker;
-import org.workcraft.formula.workers.CleverBooleanWorker;
 import org.workcraft.formula.workers.DumbBooleanWorker;
+import org.workcraft.formula.workers.HashConsingBooleanWorker;
 import org.workcraft.plugins.circuit.*;
 import org.workcraft.plugins.circuit.genlib.Gate;
 import org.workcraft.plugins.circuit.genlib.GateInterface;
@@ -32,7 +32,7 @@ import java.util.stream.Collectors;
 public final class GateUtils {
 
     private static final BooleanWorker DUMB_WORKER = DumbBooleanWorker.getInstance();
-    private static final BooleanWorker CLEVER_WORKER = CleverBooleanWorker.getInstance();
+    private static final BooleanWorker HASH_CONSING_WORKER = HashConsingBooleanWorker.getInstance();
 
     private GateUtils() {
     }
@@ -302,7 +302,7 @@ public final class GateUtils {
             Pair<List<BooleanVariable>, List<BooleanFormula>> varAssignment = getVariableAssignment(circuit, component);
             for (FunctionContact contact : contacts) {
                 BooleanFormula setFunction = FormulaUtils.replace(contact.getSetFunction(),
-                        varAssignment.getFirst(), varAssignment.getSecond(), CLEVER_WORKER);
+                        varAssignment.getFirst(), varAssignment.getSecond(), HASH_CONSING_WORKER);
 
                 boolean isOne = One.getInstance().equals(setFunction);
                 contact.setInitToOne(isOne);
@@ -314,11 +314,11 @@ public final class GateUtils {
         Pair<List<BooleanVariable>, List<BooleanFormula>> varAssignment = getVariableAssignment(circuit, component);
         for (FunctionContact output : component.getFunctionOutputs()) {
             BooleanFormula setFunction = FormulaUtils.replace(output.getSetFunction(),
-                    varAssignment.getFirst(), varAssignment.getSecond(), CLEVER_WORKER);
+                    varAssignment.getFirst(), varAssignment.getSecond(), HASH_CONSING_WORKER);
 
             if ((setFunction != null) && (One.getInstance().equals(setFunction) != output.getInitToOne())) {
                 BooleanFormula resetFunction = FormulaUtils.replace(output.getResetFunction(),
-                        varAssignment.getFirst(), varAssignment.getSecond(), CLEVER_WORKER);
+                        varAssignment.getFirst(), varAssignment.getSecond(), HASH_CONSING_WORKER);
 
                 if ((resetFunction == null) || (One.getInstance().equals(resetFunction) == output.getInitToOne())) {
                     return true;
@@ -5,7 +5,7 @@ import org.workcraft.dom.math.MathConnection;
 import org.workcraft.dom.math.MathNode;
 import org.workcraft.formula.*;
 import org.workcraft.formula.workers.BooleanWorker;
-import org.workcraft.formula.workers.CleverBooleanWorker;
+import org.workcraft.formula.workers.HashConsingBooleanWorker;
 import org.workcraft.plugins.circuit.Circuit;
 import org.workcraft.plugins.circuit.Contact;
 import org.workcraft.plugins.circuit.FunctionComponent;
@@ -17,7 +17,7 @@ import java.util.stream.Collectors;
 
 public class InitialisationState {
 
-    private static final BooleanWorker WORKER = CleverBooleanWorker.getInstance();
+    private static final BooleanWorker WORKER = HashConsingBooleanWorker.getInstance();
 
     private final Circuit circuit;
     public final List<Contact> driverPorts = new ArrayList<>();
@@ -41,14 +41,92 @@ public class InitialisationState {
 
         Queue<MathConnection> queue = new LinkedList<>();
         for (FunctionContact contact : circuit.getFunctionContacts()) {
-            if (contact.isDriver() && isForcedOrConstant(contact)) {
-                Set<MathNode> initSet = contact.getInitToOne() ? highSet : lowSet;
-                if (initSet.add(contact)) {
-                    queue.addAll(circuit.getConnections(contact));
+            addForcedOrConstant(contact, queue);
+        }
+        propagate(queue);
+        problematicSet.addAll(ResetUtils.getProblematicPins(circuit));
+    }
+
+    // Update the state after the forced init of the given contacts changed, only re-propagating through their fanout
+    // cone as initialisation of the nodes outside of it does not depend on these contacts
+    public void updateForcedInit(Collection<? extends Contact> contacts) {
+        Set<MathNode> cone = getFanoutCone(contacts);
+        highSet.removeAll(cone);
+        lowSet.removeAll(cone);
+        conflictSet.removeAll(cone);
+
+        Queue<MathConnection> queue = new LinkedList<>();
+        Set<FunctionComponent> components = new HashSet<>();
+        for (MathNode node : cone) {
+            if (node instanceof FunctionContact) {
+                FunctionContact contact = (FunctionContact) node;
+                addForcedOrConstant(contact, queue);
+                Node parent = contact.getParent();
+                if (contact.isOutput() && (parent instanceof FunctionComponent)) {
+                    components.add((FunctionComponent) parent);
                 }
             }
         }
+        // Components in the cone are re-evaluated from their input pins initialised outside of the cone
+        for (FunctionComponent component : components) {
+            if (component.getFunctionInputs().stream().anyMatch(contact -> chooseNodeLevelSet(contact) != null)) {
+                propagateValuesToOutputs(circuit, component, queue);
+            }
+        }
+        propagate(queue);
 
+        for (Contact contact : contacts) {
+            problematicSet.remove(contact);
+            if ((contact instanceof FunctionContact) && contact.isOutput()
+                    && (contact.getParent() instanceof FunctionComponent)
+                    && ResetUtils.isProblematicPin(circuit, (FunctionContact) contact)) {
+
+                problematicSet.add(contact);
+            }
+        }
+    }
+
+    private Set<MathNode> getFanoutCone(Collection<? extends Contact> contacts) {
+        Set<MathNode> result = new HashSet<>();
+        Queue<MathNode> queue = new LinkedList<>(contacts);
+        while (!queue.isEmpty()) {
+            MathNode node = queue.remove();
+            if (result.add(node)) {
+                // Functions of output pins may depend on other output pins of the same component
+                Node nodeParent = node.getParent();
+                if ((node instanceof Contact) && ((Contact) node).isOutput()
+                        && (nodeParent instanceof FunctionComponent)) {
+
+                    queue.addAll(((FunctionComponent) nodeParent).getOutputs());
+                }
+                for (MathConnection connection : circuit.getConnections(node)) {
+                    if (connection.getFirst() == node) {
+                        result.add(connection);
+                        MathNode toNode = connection.getSecond();
+                        Node parent = toNode.getParent();
+                        if (parent instanceof FunctionComponent) {
+                            result.add(toNode);
+                            queue.addAll(((FunctionComponent) parent).getOutputs());
+                        } else {
+                            queue.add(toNode);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void addForcedOrConstant(FunctionContact contact, Queue<MathConnection> queue) {
+        if (contact.isDriver() && isForcedOrConstant(contact)) {
+            Set<MathNode> initSet = contact.getInitToOne() ? highSet : lowSet;
+            if (initSet.add(contact)) {
+                queue.addAll(circuit.getConnections(contact));
+            }
+        }
+    }
+
+    private void propagate(Queue<MathConnection> queue) {
         while (!queue.isEmpty()) {
             MathConnection connection = queue.remove();
             MathNode fromNode = connection.getFirst();
@@ -70,7 +148,6 @@ public class InitialisationState {
                 }
             }
         }
-        problematicSet.addAll(ResetUtils.getProblematicPins(circuit));
     }
 
     private boolean isForcedOrConstant(FunctionContact contact) {
@@ -160,6 +237,10 @@ public class InitialisationState {
         return isConflict(contact) || (!isLow(contact) && !isHigh(contact) && isProblematic(contact));
     }
 
+    public Circuit getCircuit() {
+        return circuit;
+    }
+
     public String getContactReference(Contact contact) {
         return circuit.getNodeReference(contact);
     }
@@ -8,8 +8,8 @@ import org.workcraft.dom.visual.connections.VisualConnection;
 import org.workcraft.exceptions.InvalidConnectionException;
 import org.workcraft.formula.*;
 import org.workcraft.formula.workers.BooleanWorker;
-import org.workcraft.formula.workers.CleverBooleanWorker;
 import org.workcraft.formula.workers.DumbBooleanWorker;
+import org.workcraft.formula.workers.HashConsingBooleanWorker;
 import org.workcraft.gui.Toolbox;
 import org.workcraft.gui.properties.PropertyHelper;
 import org.workcraft.plugins.circuit.*;
@@ -30,7 +30,7 @@ import java.util.stream.Stream;
 public final class ResetUtils {
 
     private static final BooleanWorker DUMB_WORKER = DumbBooleanWorker.getInstance();
-    private static final BooleanWorker CLEVER_WORKER = CleverBooleanWorker.getInstance();
+    private static final BooleanWorker HASH_CONSING_WORKER = HashConsingBooleanWorker.getInstance();
     private static final String VERIFICATION_RESULT_TITLE = "Verification result";
 
     private ResetUtils() {
@@ -52,22 +52,7 @@ public final class ResetUtils {
         HashSet<Contact> result = new HashSet<>();
         for (FunctionComponent component : circuit.getFunctionComponents()) {
             for (FunctionContact outputContact : component.getFunctionOutputs()) {
-                if (outputContact.getForcedInit()) continue;
-                LinkedList<BooleanVariable> variables = new LinkedList<>();
-                LinkedList<BooleanFormula> values = new LinkedList<>();
-                for (FunctionContact contact : component.getFunctionContacts()) {
-                    if (contact == outputContact) continue;
-                    Pair<Contact, Boolean> pair = CircuitUtils.findDriverAndInversionSkipZeroDelay(circuit, contact);
-                    if (pair == null) continue;
-                    Contact driver = pair.getFirst();
-                    if ((driver != null) && (driver != outputContact)) {
-                        variables.add(contact);
-                        boolean inverting = pair.getSecond();
-                        BooleanFormula value = (driver.getInitToOne() != inverting) ? One.getInstance() : Zero.getInstance();
-                        values.add(value);
-                    }
-                }
-                if (isProblematicPin(outputContact, variables, values)) {
+                if (isProblematicPin(circuit, outputContact)) {
                     result.add(outputContact);
                 }
             }
@@ -75,14 +60,36 @@ public final class ResetUtils {
         return result;
     }
 
+    public static boolean isProblematicPin(Circuit circuit, FunctionContact outputContact) {
+        if (outputContact.getForcedInit()) {
+            return false;
+        }
+        FunctionComponent component = (FunctionComponent) outputContact.getParent();
+        LinkedList<BooleanVariable> variables = new LinkedList<>();
+        LinkedList<BooleanFormula> values = new LinkedList<>();
+        for (FunctionContact contact : component.getFunctionContacts()) {
+            if (contact == outputContact) continue;
+            Pair<Contact, Boolean> pair = CircuitUtils.findDriverAndInversionSkipZeroDelay(circuit, contact);
+            if (pair == null) continue;
+            Contact driver = pair.getFirst();
+            if ((driver != null) && (driver != outputContact)) {
+                variables.add(contact);
+                boolean inverting = pair.getSecond();
+                BooleanFormula value = (driver.getInitToOne() != inverting) ? One.getInstance() : Zero.getInstance();
+                values.add(value);
+            }
+        }
+        return isProblematicPin(outputContact, variables, values);
+    }
+
     private static boolean isProblematicPin(FunctionContact contact,
             LinkedList<BooleanVariable> variables, LinkedList<BooleanFormula> values) {
 
         if (contact.getForcedInit()) {
             return false;
         }
-        BooleanFormula setFunction = FormulaUtils.replace(contact.getSetFunction(), variables, values, CLEVER_WORKER);
-        BooleanFormula resetFunction = FormulaUtils.replace(contact.getResetFunction(), variables, values, CLEVER_WORKER);
+        BooleanFormula setFunction = FormulaUtils.replace(contact.getSetFunction(), variables, values, HASH_CONSING_WORKER);
+        BooleanFormula resetFunction = FormulaUtils.replace(contact.getResetFunction(), variables, values, HASH_CONSING_WORKER);
         if ((setFunction == null) && (resetFunction == null)) {
             return false;
         }
@@ -140,13 +147,15 @@ public final class ResetUtils {
 
     private static Set<Contact> simplifyForcedInit(Circuit circuit, Collection<? extends Contact> contacts) {
         Set<Contact> result = new HashSet<>();
+        InitialisationState initState = new InitialisationState(circuit);
         for (Contact contact : contacts) {
             contact.setForcedInit(false);
-            InitialisationState initState = new InitialisationState(circuit);
+            initState.updateForcedInit(Collections.singleton(contact));
             if (initState.isInitialisedPin(contact)) {
                 result.add(contact);
             } else {
                 contact.setForcedInit(true);
+                initState.updateForcedInit(Collections.singleton(contact));
             }
         }
         return result;
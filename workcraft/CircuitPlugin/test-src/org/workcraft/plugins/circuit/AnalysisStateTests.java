@@ -0,0 +1,164 @@
+package org.workcraft.plugins.circuit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.workcraft.Framework;
+import org.workcraft.dom.math.MathConnection;
+import org.workcraft.exceptions.DeserialisationException;
+import org.workcraft.plugins.circuit.utils.CircuitUtils;
+import org.workcraft.plugins.circuit.utils.CycleState;
+import org.workcraft.plugins.circuit.utils.CycleUtils;
+import org.workcraft.plugins.circuit.utils.InitialisationState;
+import org.workcraft.utils.Hierarchy;
+import org.workcraft.utils.PackageUtils;
+import org.workcraft.utils.WorkspaceUtils;
+import org.workcraft.workspace.WorkspaceEntry;
+
+import java.net.URL;
+import java.util.*;
+import java.util.stream.Collectors;
+
+class AnalysisStateTests {
+
+    private static final int TOGGLE_COUNT = 100;
+
+    @BeforeAll
+    static void init() {
+        final Framework framework = Framework.getInstance();
+        framework.init();
+    }
+
+    @Test
+    void testCycleTmIncrementalAnalysis() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "cycle-tm.circuit.work");
+        testIncrementalAnalysis(workName);
+    }
+
+    @Test
+    void testChargeTmIncrementalAnalysis() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "charge-tm.circuit.work");
+        testIncrementalAnalysis(workName);
+    }
+
+    @Test
+    void testVmeTmIncrementalAnalysis() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "vme-tm.circuit.work");
+        testIncrementalAnalysis(workName);
+    }
+
+    @Test
+    void testDlatchTmIncrementalAnalysis() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "dlatch-tm.circuit.work");
+        testIncrementalAnalysis(workName);
+    }
+
+    @Test
+    void testCelementDecomposedTmIncrementalAnalysis() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "celement-decomposed-tm.circuit.work");
+        testIncrementalAnalysis(workName);
+    }
+
+    @Test
+    void testScanBufsInvsBoxesIncrementalAnalysis() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "scan-bufs_invs_boxes.circuit.work");
+        testIncrementalAnalysis(workName);
+    }
+
+    @Test
+    void testBusHierIncrementalAnalysis() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "bus-hier.circuit.work");
+        testIncrementalAnalysis(workName);
+    }
+
+    @Test
+    void testConstIncrementalAnalysis() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "const.circuit.work");
+        testIncrementalAnalysis(workName);
+    }
+
+    @Test
+    void testExcitedIncrementalAnalysis() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "excited.circuit.work");
+        testIncrementalAnalysis(workName);
+    }
+
+    private void testIncrementalAnalysis(String workName) throws DeserialisationException {
+        final Framework framework = Framework.getInstance();
+        final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+        URL url = classLoader.getResource(workName);
+        WorkspaceEntry we = framework.loadWork(url.getFile());
+        Circuit circuit = WorkspaceUtils.getAs(we, Circuit.class);
+        CircuitUtils.correctInitialState(circuit);
+
+        List<Contact> pins = new ArrayList<>(Hierarchy.getDescendantsOfType(circuit.getRoot(),
+                Contact.class, Contact::isPin));
+
+        List<Contact> drivers = new ArrayList<>(Hierarchy.getDescendantsOfType(circuit.getRoot(),
+                Contact.class, Contact::isDriver));
+
+        pins.sort(Comparator.comparing(circuit::getNodeReference));
+        drivers.sort(Comparator.comparing(circuit::getNodeReference));
+
+        CycleState cycleState = new CycleState(circuit);
+        InitialisationState initState = new InitialisationState(circuit);
+        Random random = new Random(0);
+        for (int i = 0; i < TOGGLE_COUNT; i++) {
+            Contact pin = pins.get(random.nextInt(pins.size()));
+            pin.setPathBreaker(!pin.getPathBreaker());
+            cycleState.updatePathBreaker(Collections.singleton(pin));
+            assertCycleStateEquals(circuit, new CycleState(circuit), cycleState);
+
+            Contact driver = drivers.get(random.nextInt(drivers.size()));
+            driver.setForcedInit(!driver.getForcedInit());
+            initState.updateForcedInit(Collections.singleton(driver));
+            assertInitialisationStateEquals(circuit, new InitialisationState(circuit), initState);
+        }
+        // Simultaneous changes of several contacts
+        Set<Contact> breakerPins = pins.stream().filter(pin -> random.nextBoolean()).collect(Collectors.toSet());
+        breakerPins.forEach(pin -> pin.setPathBreaker(!pin.getPathBreaker()));
+        cycleState.updatePathBreaker(breakerPins);
+        assertCycleStateEquals(circuit, new CycleState(circuit), cycleState);
+
+        Set<Contact> forcedDrivers = drivers.stream().filter(pin -> random.nextBoolean()).collect(Collectors.toSet());
+        forcedDrivers.forEach(pin -> pin.setForcedInit(!pin.getForcedInit()));
+        initState.updateForcedInit(forcedDrivers);
+        assertInitialisationStateEquals(circuit, new InitialisationState(circuit), initState);
+
+        framework.closeWork(we);
+    }
+
+    private void assertCycleStateEquals(Circuit circuit, CycleState expected, CycleState actual) {
+        for (Contact contact : circuit.getFunctionContacts()) {
+            String ref = circuit.getNodeReference(contact);
+            Assertions.assertEquals(expected.isInCycle(contact), actual.isInCycle(contact), ref);
+        }
+        for (FunctionComponent component : circuit.getFunctionComponents()) {
+            String ref = circuit.getNodeReference(component);
+            Assertions.assertEquals(expected.isInCycle(component), actual.isInCycle(component), ref);
+        }
+        Set<Contact> cycleDrivers = CycleUtils.getCycledDrivers(circuit);
+        Assertions.assertEquals(cycleDrivers, actual.getCycleDriverPins());
+        Assertions.assertEquals(expected.getCycleDrivenPins(), actual.getCycleDrivenPins());
+    }
+
+    private void assertInitialisationStateEquals(Circuit circuit, InitialisationState expected,
+            InitialisationState actual) {
+
+        for (Contact contact : circuit.getFunctionContacts()) {
+            String ref = circuit.getNodeReference(contact);
+            Assertions.assertEquals(expected.isHigh(contact), actual.isHigh(contact), ref);
+            Assertions.assertEquals(expected.isLow(contact), actual.isLow(contact), ref);
+            Assertions.assertEquals(expected.isConflict(contact), actual.isConflict(contact), ref);
+            Assertions.assertEquals(expected.isProblematic(contact), actual.isProblematic(contact), ref);
+        }
+        for (MathConnection connection : Hierarchy.getDescendantsOfType(circuit.getRoot(), MathConnection.class)) {
+            Assertions.assertEquals(expected.isHigh(connection), actual.isHigh(connection));
+            Assertions.assertEquals(expected.isLow(connection), actual.isLow(connection));
+            Assertions.assertEquals(expected.isConflict(connection), actual.isConflict(connection));
+        }
+        Assertions.assertEquals(expected.getUninitialisedPins(), actual.getUninitialisedPins());
+        Assertions.assertEquals(expected.getProblematicPins(), actual.getProblematicPins());
+    }
+
+}
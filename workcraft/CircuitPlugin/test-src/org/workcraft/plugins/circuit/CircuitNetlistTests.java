@@ -0,0 +1,119 @@
+package org.workcraft.plugins.circuit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.workcraft.Framework;
+import org.workcraft.dom.visual.VisualNode;
+import org.workcraft.exceptions.InvalidConnectionException;
+import org.workcraft.formula.Not;
+import org.workcraft.plugins.circuit.utils.CircuitUtils;
+import org.workcraft.types.Pair;
+
+import java.util.Set;
+
+class CircuitNetlistTests {
+
+    private VisualCircuit circuit;
+    private Contact inPort;
+    private Contact outPort;
+    private FunctionComponent inverter;
+    private Contact inverterInput;
+    private Contact inverterOutput;
+    private Contact gate1Input;
+    private Contact gate1Output;
+    private Contact gate2Input;
+    private VisualCircuitConnection forkConnection;
+
+    @BeforeAll
+    static void init() {
+        final Framework framework = Framework.getInstance();
+        framework.init();
+    }
+
+    // Input port is forked to a zero delay inverter and to the second gate, the inverter drives the first gate,
+    // and the first gate drives the output port
+    private void createCircuit() throws InvalidConnectionException {
+        circuit = new VisualCircuit(new Circuit());
+        VisualContact visualInPort = circuit.getOrCreatePort("in", Contact.IOType.INPUT);
+        VisualContact visualOutPort = circuit.getOrCreatePort("out", Contact.IOType.OUTPUT);
+        VisualFunctionComponent visualInverter = circuit.createFunctionComponent(null);
+        VisualFunctionComponent visualGate1 = circuit.createFunctionComponent(null);
+        VisualFunctionComponent visualGate2 = circuit.createFunctionComponent(null);
+
+        VisualCircuitConnection inverterConnection = circuit.connect(visualInPort, visualInverter, null);
+        forkConnection = circuit.connect(inverterConnection, visualGate2, null);
+        VisualCircuitConnection gate1Connection = circuit.connect(visualInverter, visualGate1, null);
+        VisualCircuitConnection outConnection = circuit.connect(visualGate1, visualOutPort, null);
+
+        inPort = visualInPort.getReferencedComponent();
+        outPort = visualOutPort.getReferencedComponent();
+        inverter = visualInverter.getReferencedComponent();
+        inverterInput = getContact(inverterConnection.getSecond());
+        inverterOutput = getContact(gate1Connection.getFirst());
+        gate1Input = getContact(gate1Connection.getSecond());
+        gate1Output = getContact(outConnection.getFirst());
+        gate2Input = getContact(forkConnection.getSecond());
+
+        ((FunctionContact) inverterOutput).setSetFunction(new Not(inverterInput));
+        inverter.setIsZeroDelay(true);
+    }
+
+    private static Contact getContact(VisualNode node) {
+        return ((VisualContact) node).getReferencedComponent();
+    }
+
+    @Test
+    void testDriver() throws InvalidConnectionException {
+        createCircuit();
+        Circuit mathCircuit = circuit.getMathModel();
+        Assertions.assertEquals(inPort, CircuitUtils.findDriver(mathCircuit, inPort, false));
+        Assertions.assertEquals(inPort, CircuitUtils.findDriver(mathCircuit, gate2Input, false));
+        Assertions.assertEquals(inverterOutput, CircuitUtils.findDriver(mathCircuit, gate1Input, false));
+        Assertions.assertEquals(inPort, CircuitUtils.findDriver(mathCircuit, gate1Input, true));
+        Assertions.assertEquals(gate1Output, CircuitUtils.findDriver(mathCircuit, outPort, true));
+
+        Pair<Contact, Boolean> driverAndInversion = CircuitUtils.findDriverAndInversionSkipZeroDelay(
+                mathCircuit, gate1Input);
+
+        Assertions.assertEquals(inPort, driverAndInversion.getFirst());
+        Assertions.assertTrue(driverAndInversion.getSecond());
+    }
+
+    @Test
+    void testDriven() throws InvalidConnectionException {
+        createCircuit();
+        Circuit mathCircuit = circuit.getMathModel();
+        Assertions.assertEquals(Set.of(inverterInput, gate2Input),
+                Set.copyOf(CircuitUtils.findDriven(mathCircuit, inPort, false)));
+
+        Assertions.assertEquals(Set.of(gate1Input, gate2Input),
+                Set.copyOf(CircuitUtils.findDriven(mathCircuit, inPort, true)));
+
+        Assertions.assertEquals(outPort, CircuitUtils.getDrivenOutputPort(mathCircuit, gate1Output));
+        Assertions.assertEquals(outPort, CircuitUtils.findSignal(mathCircuit, gate1Output, true));
+    }
+
+    @Test
+    void testInvalidation() throws InvalidConnectionException {
+        createCircuit();
+        Circuit mathCircuit = circuit.getMathModel();
+        Assertions.assertEquals(2, CircuitUtils.findDriven(mathCircuit, inPort, false).size());
+        Assertions.assertEquals(inPort, CircuitUtils.findDriver(mathCircuit, gate2Input, false));
+
+        circuit.remove(forkConnection);
+        Assertions.assertEquals(Set.of(inverterInput),
+                Set.copyOf(CircuitUtils.findDriven(mathCircuit, inPort, false)));
+
+        Assertions.assertNull(CircuitUtils.findDriver(mathCircuit, gate2Input, false));
+
+        inverter.setIsZeroDelay(false);
+        Assertions.assertEquals(inverterOutput, CircuitUtils.findDriver(mathCircuit, gate1Input, true));
+        Pair<Contact, Boolean> driverAndInversion = CircuitUtils.findDriverAndInversionSkipZeroDelay(
+                mathCircuit, gate1Input);
+
+        Assertions.assertEquals(inverterOutput, driverAndInversion.getFirst());
+        Assertions.assertFalse(driverAndInversion.getSecond());
+    }
+
+}
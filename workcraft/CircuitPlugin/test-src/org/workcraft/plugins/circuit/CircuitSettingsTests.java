@@ -159,6 +159,13 @@ class CircuitSettingsTests {
 
         Assertions.assertEquals(Config.toString(CircuitSettings.getForkBufferPattern()),
                 framework.getConfigVar(prefix + ".forkBufferPattern", false));
+
+        // Random simulation
+        Assertions.assertEquals(Config.toString(CircuitSettings.getSimulationSequenceCount()),
+                framework.getConfigVar(prefix + ".simulationSequenceCount", false));
+
+        Assertions.assertEquals(Config.toString(CircuitSettings.getSimulationSequenceLength()),
+                framework.getConfigVar(prefix + ".simulationSequenceLength", false));
     }
 
 }
@@ -0,0 +1,184 @@
+package org.workcraft.plugins.circuit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.workcraft.Framework;
+import org.workcraft.exceptions.InvalidConnectionException;
+import org.workcraft.formula.And;
+import org.workcraft.formula.Not;
+import org.workcraft.plugins.circuit.simulation.CircuitSimulator;
+import org.workcraft.plugins.circuit.simulation.RandomSimulation;
+
+import java.util.List;
+
+class CircuitSimulatorTests {
+
+    @BeforeAll
+    static void init() {
+        final Framework framework = Framework.getInstance();
+        framework.init();
+    }
+
+    private static FunctionContact createPort(Circuit circuit, String name, Contact.IOType ioType) {
+        FunctionContact port = new FunctionContact(ioType);
+        circuit.add(port);
+        circuit.setName(port, name);
+        return port;
+    }
+
+    private static FunctionComponent createComponent(Circuit circuit, String name) {
+        FunctionComponent component = new FunctionComponent();
+        circuit.add(component);
+        circuit.setName(component, name);
+        return component;
+    }
+
+    private static FunctionContact createPin(Circuit circuit, FunctionComponent component, String name,
+            Contact.IOType ioType) {
+
+        FunctionContact pin = new FunctionContact(ioType);
+        component.add(pin);
+        circuit.setName(pin, name);
+        return pin;
+    }
+
+    // Input port drives an inverter, and an AND gate of the port and the inverter output drives the output port
+    private static Circuit createGlitchCircuit(boolean zeroDelay) throws InvalidConnectionException {
+        Circuit circuit = new Circuit();
+        FunctionContact inPort = createPort(circuit, "in", Contact.IOType.INPUT);
+        FunctionContact outPort = createPort(circuit, "out", Contact.IOType.OUTPUT);
+
+        FunctionComponent inverter = createComponent(circuit, "inv");
+        FunctionContact inverterInput = createPin(circuit, inverter, "I", Contact.IOType.INPUT);
+        FunctionContact inverterOutput = createPin(circuit, inverter, "ON", Contact.IOType.OUTPUT);
+        inverterOutput.setSetFunctionQuiet(new Not(inverterInput));
+        inverterOutput.setInitToOne(true);
+
+        FunctionComponent gate = createComponent(circuit, "and");
+        FunctionContact gateInputA = createPin(circuit, gate, "A", Contact.IOType.INPUT);
+        FunctionContact gateInputB = createPin(circuit, gate, "B", Contact.IOType.INPUT);
+        FunctionContact gateOutput = createPin(circuit, gate, "O", Contact.IOType.OUTPUT);
+        gateOutput.setSetFunctionQuiet(new And(gateInputA, gateInputB));
+
+        circuit.connect(inPort, inverterInput);
+        circuit.connect(inPort, gateInputA);
+        circuit.connect(inverterOutput, gateInputB);
+        circuit.connect(gateOutput, outPort);
+        inverter.setIsZeroDelay(zeroDelay);
+        return circuit;
+    }
+
+    // C-element of two input ports, one of them initially high, with the given forced init of its output
+    private static Circuit createCelementCircuit(boolean forcedInit) throws InvalidConnectionException {
+        Circuit circuit = new Circuit();
+        FunctionContact aPort = createPort(circuit, "a", Contact.IOType.INPUT);
+        FunctionContact bPort = createPort(circuit, "b", Contact.IOType.INPUT);
+        FunctionContact cPort = createPort(circuit, "c", Contact.IOType.OUTPUT);
+        aPort.setInitToOne(true);
+        aPort.setForcedInit(true);
+        bPort.setForcedInit(true);
+
+        FunctionComponent celement = createComponent(circuit, "cel");
+        FunctionContact inputA = createPin(circuit, celement, "A", Contact.IOType.INPUT);
+        FunctionContact inputB = createPin(circuit, celement, "B", Contact.IOType.INPUT);
+        FunctionContact output = createPin(circuit, celement, "Q", Contact.IOType.OUTPUT);
+        output.setSetFunctionQuiet(new And(inputA, inputB));
+        output.setResetFunctionQuiet(new And(new Not(inputA), new Not(inputB)));
+        output.setForcedInit(forcedInit);
+
+        circuit.connect(aPort, inputA);
+        circuit.connect(bPort, inputB);
+        circuit.connect(output, cPort);
+        return circuit;
+    }
+
+    @Test
+    void testExcitation() throws InvalidConnectionException {
+        Circuit circuit = createGlitchCircuit(false);
+        CircuitSimulator simulator = new CircuitSimulator(circuit);
+        Assertions.assertEquals(3, simulator.getSignalCount());
+        int in = simulator.getSignalIndex((Contact) circuit.getNodeByReference("in"));
+        int inv = simulator.getSignalIndex((Contact) circuit.getNodeByReference("inv.ON"));
+        int and = simulator.getSignalIndex((Contact) circuit.getNodeByReference("and.O"));
+        Assertions.assertTrue(simulator.isInput(in));
+        Assertions.assertEquals(0, simulator.getExcitedSignalCount());
+
+        simulator.fire(in, 1L);
+        Assertions.assertEquals(1L, simulator.getValues(in));
+        Assertions.assertEquals(1L, simulator.getExcitations(inv));
+        Assertions.assertEquals(1L, simulator.getExcitations(and));
+        Assertions.assertEquals(2, simulator.getExcitedSignalCount());
+
+        simulator.fire(inv, -1L);
+        Assertions.assertEquals(0L, simulator.getExcitations(and));
+        Assertions.assertEquals(1L, simulator.getDisabledLanes(and));
+        Assertions.assertEquals(1L, simulator.getFallenLanes(inv));
+
+        simulator.reset();
+        simulator.clearObservations();
+        Assertions.assertEquals(0, simulator.getExcitedSignalCount());
+        Assertions.assertEquals(0L, simulator.getDisabledLanes(and));
+    }
+
+    @Test
+    void testZeroDelay() throws InvalidConnectionException {
+        Circuit circuit = createGlitchCircuit(true);
+        CircuitSimulator simulator = new CircuitSimulator(circuit);
+        Assertions.assertEquals(2, simulator.getSignalCount());
+        Assertions.assertEquals(-1, simulator.getSignalIndex((Contact) circuit.getNodeByReference("inv.ON")));
+
+        // AND of a signal and its negation through a zero delay inverter is never excited
+        RandomSimulation simulation = new RandomSimulation(simulator);
+        simulation.run(256, 100, 0);
+        Assertions.assertTrue(simulation.getHazardSignals().isEmpty());
+        Assertions.assertEquals(List.of(circuit.getNodeByReference("and.O")), simulation.getNeverRisenSignals());
+        Assertions.assertEquals(List.of(circuit.getNodeByReference("and.O")), simulation.getNeverFallenSignals());
+    }
+
+    @Test
+    void testHazard() throws InvalidConnectionException {
+        Circuit circuit = createGlitchCircuit(false);
+        RandomSimulation simulation = new RandomSimulation(circuit);
+        simulation.run(256, 100, 0);
+        Assertions.assertEquals(List.of(circuit.getNodeByReference("and.O")), simulation.getHazardSignals());
+        Assertions.assertTrue(simulation.getConflictSignals().isEmpty());
+        Assertions.assertTrue(simulation.getNeverRisenSignals().isEmpty());
+        Assertions.assertTrue(simulation.getUninitialisedSignals().isEmpty());
+    }
+
+    @Test
+    void testInitialisation() throws InvalidConnectionException {
+        Circuit circuit = createCelementCircuit(false);
+        RandomSimulation simulation = new RandomSimulation(circuit);
+        simulation.run(256, 100, 0);
+        Assertions.assertTrue(simulation.getHazardSignals().isEmpty());
+        Assertions.assertTrue(simulation.getConflictSignals().isEmpty());
+        Assertions.assertTrue(simulation.getNeverRisenSignals().isEmpty());
+        Assertions.assertTrue(simulation.getNeverFallenSignals().isEmpty());
+        Assertions.assertEquals(List.of(circuit.getNodeByReference("cel.Q")), simulation.getUninitialisedSignals());
+
+        circuit = createCelementCircuit(true);
+        simulation = new RandomSimulation(circuit);
+        simulation.run(256, 100, 0);
+        Assertions.assertTrue(simulation.getUninitialisedSignals().isEmpty());
+    }
+
+    @Test
+    void testConflict() throws InvalidConnectionException {
+        Circuit circuit = createCelementCircuit(true);
+        FunctionContact output = (FunctionContact) circuit.getNodeByReference("cel.Q");
+        FunctionContact inputA = (FunctionContact) circuit.getNodeByReference("cel.A");
+        output.setResetFunctionQuiet(new Not(inputA));
+        output.setSetFunctionQuiet(inputA);
+        RandomSimulation simulation = new RandomSimulation(circuit);
+        simulation.run(256, 100, 0);
+        Assertions.assertTrue(simulation.getConflictSignals().isEmpty());
+
+        output.setResetFunctionQuiet(inputA);
+        simulation = new RandomSimulation(circuit);
+        simulation.run(256, 100, 0);
+        Assertions.assertEquals(List.of(output), simulation.getConflictSignals());
+    }
+
+}
@@ -5,12 +5,17 @@ import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.workcraft.Framework;
+import org.workcraft.dom.references.ReferenceHelper;
 import org.workcraft.exceptions.DeserialisationException;
 import org.workcraft.plugins.circuit.commands.CircuitToStgConversionCommand;
 import org.workcraft.plugins.circuit.commands.CircuitToStgWithEnvironmentConversionCommand;
+import org.workcraft.plugins.circuit.stg.CircuitToMathStgConverter;
+import org.workcraft.plugins.circuit.stg.CircuitToStgConverter;
 import org.workcraft.plugins.pcomp.PcompSettings;
 import org.workcraft.plugins.stg.Signal;
+import org.workcraft.plugins.stg.SignalTransition;
 import org.workcraft.plugins.stg.Stg;
+import org.workcraft.plugins.stg.StgPlace;
 import org.workcraft.utils.BackendUtils;
 import org.workcraft.utils.DesktopApi;
 import org.workcraft.utils.PackageUtils;
@@ -19,8 +24,7 @@ import org.workcraft.workspace.WorkspaceEntry;
 
 import java.io.IOException;
 import java.net.URL;
-import java.util.HashSet;
-import java.util.Set;
+import java.util.*;
 
 class ConversionCommandTests {
 
@@ -101,4 +105,54 @@ class ConversionCommandTests {
         framework.closeWork(dstWe);
     }
 
+    @Test
+    void testMathConversion() throws DeserialisationException {
+        List<String> workNames = Arrays.asList("buffer.circuit.work", "celement.circuit.work",
+                "vme-tm.circuit.work", "dlatch-tm.circuit.work", "charge-tm.circuit.work",
+                "bus-hier.circuit.work", "mutex-buf.circuit.work");
+
+        for (String name : workNames) {
+            testMathConversion(PackageUtils.getPackagePath(getClass(), name));
+        }
+    }
+
+    private void testMathConversion(String workName) throws DeserialisationException {
+        final Framework framework = Framework.getInstance();
+        final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+        URL srcUrl = classLoader.getResource(workName);
+
+        WorkspaceEntry srcWe = framework.loadWork(srcUrl.getFile());
+        VisualCircuit srcCircuit = WorkspaceUtils.getAs(srcWe, VisualCircuit.class);
+
+        Stg visualPathStg = new CircuitToStgConverter(srcCircuit).getStg().getMathModel();
+        Stg mathPathStg = new CircuitToMathStgConverter(srcCircuit.getMathModel()).getStg();
+
+        Assertions.assertEquals(getPlaceDescriptions(visualPathStg), getPlaceDescriptions(mathPathStg), workName);
+        Assertions.assertEquals(getTransitionDescriptions(visualPathStg), getTransitionDescriptions(mathPathStg),
+                workName);
+
+        framework.closeWork(srcWe);
+    }
+
+    private List<String> getPlaceDescriptions(Stg stg) {
+        List<String> result = new ArrayList<>();
+        for (StgPlace place : stg.getPlaces()) {
+            result.add(stg.getNodeReference(place) + " " + place.getTokens());
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    private List<String> getTransitionDescriptions(Stg stg) {
+        List<String> result = new ArrayList<>();
+        for (SignalTransition transition : stg.getSignalTransitions()) {
+            Set<String> preset = new TreeSet<>(ReferenceHelper.getReferenceList(stg, stg.getPreset(transition)));
+            Set<String> postset = new TreeSet<>(ReferenceHelper.getReferenceList(stg, stg.getPostset(transition)));
+            result.add(stg.getSignalReference(transition) + transition.getDirection() + " "
+                    + transition.getSignalType() + " " + preset + " " + postset);
+        }
+        Collections.sort(result);
+        return result;
+    }
+
 }
@@ -6,18 +6,23 @@ import org.junit.jupiter.api.Test;
 import org.workcraft.Framework;
 import org.workcraft.formula.BooleanFormula;
 import org.workcraft.formula.BooleanVariable;
+import org.workcraft.formula.FormulaUtils;
 import org.workcraft.formula.jj.BooleanFormulaParser;
 import org.workcraft.formula.jj.ParseException;
 import org.workcraft.formula.visitors.StringGenerator;
+import org.workcraft.plugins.circuit.genlib.Function;
 import org.workcraft.plugins.circuit.genlib.Gate;
 import org.workcraft.plugins.circuit.genlib.GenlibUtils;
 import org.workcraft.plugins.circuit.genlib.Library;
+import org.workcraft.plugins.circuit.genlib.LibraryIndex;
 import org.workcraft.plugins.circuit.genlib.LibraryManager;
 import org.workcraft.types.Pair;
 import org.workcraft.utils.BackendUtils;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -84,6 +89,49 @@ class GenlibUtilsTests {
         }
     }
 
+    @Test
+    void testIndexedMapping() throws ParseException {
+        Library gateLibrary = new Library(Arrays.asList(
+                new Gate("NAND2", 2.0, new Function("ON", "!(A*B)"), null, true),
+                new Gate("OAI21", 3.0, new Function("ON", "!((A1+A2)*B)"), null, true),
+                new Gate("AOI32", 5.0, new Function("ON", "!(A1*A2*A3+B1*B2)"), null, true),
+                new Gate("AO222", 7.0, new Function("O", "A1*A2+B1*B2+C1*C2"), null, true),
+                new Gate("NAND2_BIG", 4.0, new Function("ON", "!(A*B)"), null, true),
+                new Gate("MUX2", 4.0, new Function("O", "S*I1+!S*I0"), null, true)));
+
+        checkIndexedMapping("!(x*y)", gateLibrary, "NAND2");
+        checkIndexedMapping("!x+!y", gateLibrary, "NAND2");
+        checkIndexedMapping("!(c*(b+a))", gateLibrary, "OAI21");
+        checkIndexedMapping("!(e*b+c*a*d)", gateLibrary, "AOI32");
+        checkIndexedMapping("a*!c+b*c", gateLibrary, "MUX2");
+        checkIndexedMapping("f*e+d*c+b*a", gateLibrary, "AO222");
+        checkIndexedMapping("a*b*c", gateLibrary, null);
+        checkIndexedMapping("!(a*b+c)", gateLibrary, null);
+    }
+
+    private void checkIndexedMapping(String func, Library gateLibrary, String expGateName) throws ParseException {
+        BooleanFormula formula = BooleanFormulaParser.parse(func);
+        Pair<Gate, Map<BooleanVariable, String>> mapping = GenlibUtils.findMapping(formula, gateLibrary);
+        if (expGateName == null) {
+            Assertions.assertNull(mapping);
+        } else {
+            Assertions.assertNotNull(mapping);
+            Gate gate = mapping.getFirst();
+            Assertions.assertEquals(expGateName, gate.name);
+            BooleanFormula gateFormula = BooleanFormulaParser.parse(gate.function.formula);
+            List<BooleanVariable> gateVars = FormulaUtils.extractOrderedVariables(gateFormula);
+            List<BooleanVariable> vars = new ArrayList<>();
+            List<BooleanVariable> pinVars = new ArrayList<>();
+            for (Map.Entry<BooleanVariable, String> entry : mapping.getSecond().entrySet()) {
+                vars.add(entry.getKey());
+                pinVars.add(gateVars.stream().filter(v -> v.getLabel().equals(entry.getValue())).findFirst().orElseThrow());
+            }
+            BooleanFormula mappedFormula = FormulaUtils.replace(formula, vars, pinVars);
+            Assertions.assertEquals(LibraryIndex.getTruthTable(gateFormula, gateVars),
+                    LibraryIndex.getTruthTable(mappedFormula, gateVars));
+        }
+    }
+
     @Test
     void testPinCount() {
         Library gateLibrary = LibraryManager.getLibrary();
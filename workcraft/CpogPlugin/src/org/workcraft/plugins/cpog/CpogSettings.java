@@ -14,7 +14,8 @@ public class CpogSettings extends AbstractModelSettings {
 
     public enum SatSolver {
         MINISAT("MiniSat"),
-        CLASP("Clasp");
+        CLASP("Clasp"),
+        BUILTIN("Built-in CDCL");
 
         public final String name;
 
@@ -38,6 +39,7 @@ public class CpogSettings extends AbstractModelSettings {
     private static final String keySatSolver = prefix + ".satSolver";
     private static final String keyClaspCommand = prefix + ".claspCommand";
     private static final String keyMinisatCommand = prefix + ".minisatCommand";
+    private static final String keyIncrementalOptimisation = prefix + ".incrementalOptimisation";
 
     private static final String defaultScencoCommand = BackendUtils.getToolPath("ScEnco", "scenco");
     private static final String defaultEspressoCommand = BackendUtils.getToolPath("Espresso", "espresso");
@@ -46,6 +48,7 @@ public class CpogSettings extends AbstractModelSettings {
     private static final SatSolver defaultSatSolver = SatSolver.CLASP;
     private static final String defaultClaspCommand = DesktopApi.getOs().isWindows() ? "tools\\clasp\\clasp.exe" : "clasp";
     private static final String defaultMinisatCommand = DesktopApi.getOs().isWindows() ? "tools\\minisat\\minisat.exe" : "minisat";
+    private static final boolean defaultIncrementalOptimisation = false;
 
     private static String scencoCommand = defaultScencoCommand;
     private static String espressoCommand = defaultEspressoCommand;
@@ -54,6 +57,7 @@ public class CpogSettings extends AbstractModelSettings {
     private static SatSolver satSolver = defaultSatSolver;
     private static String claspCommand = defaultClaspCommand;
     private static String minisatCommand = defaultMinisatCommand;
+    private static boolean incrementalOptimisation = defaultIncrementalOptimisation;
 
     static {
         properties.add(new PropertyDeclaration<>(String.class,
@@ -90,6 +94,11 @@ public class CpogSettings extends AbstractModelSettings {
                 "MiniSat solver command",
                 CpogSettings::setMinisatCommand,
                 CpogSettings::getMinisatCommand));
+
+        properties.add(new PropertyDeclaration<>(Boolean.class,
+                "Minimise circuit of SAT-based encoding incrementally (built-in solver)",
+                CpogSettings::setIncrementalOptimisation,
+                CpogSettings::getIncrementalOptimisation));
     }
 
     @Override
@@ -101,6 +110,7 @@ public class CpogSettings extends AbstractModelSettings {
         setSatSolver(config.getEnum(keySatSolver, SatSolver.class, defaultSatSolver));
         setClaspCommand(config.getString(keyClaspCommand, defaultClaspCommand));
         setMinisatCommand(config.getString(keyMinisatCommand, defaultMinisatCommand));
+        setIncrementalOptimisation(config.getBoolean(keyIncrementalOptimisation, defaultIncrementalOptimisation));
     }
 
     @Override
@@ -112,6 +122,7 @@ public class CpogSettings extends AbstractModelSettings {
         config.setEnum(keySatSolver, getSatSolver());
         config.set(keyClaspCommand, getClaspCommand());
         config.set(keyMinisatCommand, getMinisatCommand());
+        config.setBoolean(keyIncrementalOptimisation, getIncrementalOptimisation());
     }
 
     @Override
@@ -180,4 +191,12 @@ public class CpogSettings extends AbstractModelSettings {
         minisatCommand = value;
     }
 
+    public static boolean getIncrementalOptimisation() {
+        return incrementalOptimisation;
+    }
+
+    public static void setIncrementalOptimisation(boolean value) {
+        incrementalOptimisation = value;
+    }
+
 }
@@ -0,0 +1,136 @@
+package org.workcraft.plugins.cpog.sat;
+
+import org.workcraft.formula.BooleanVariable;
+import org.workcraft.formula.Literal;
+import org.workcraft.formula.cnf.Cnf;
+import org.workcraft.formula.cnf.CnfClause;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Built-in CDCL solver for the CNF of Boolean variables. The solver keeps its state between the calls of solve,
+ * so clauses added later and assumptions of each call are checked incrementally.
+ */
+public class CdclCnfSolver {
+
+    private static final class BooleanSolutionImplementation implements BooleanSolution {
+        private final Map<BooleanVariable, Boolean> results;
+
+        private BooleanSolutionImplementation(Map<BooleanVariable, Boolean> results) {
+            this.results = results;
+        }
+
+        @Override
+        public Collection<BooleanVariable> getVariables() {
+            return results.keySet();
+        }
+
+        @Override
+        public boolean getSolution(BooleanVariable variable) {
+            Boolean result = results.get(variable);
+            if (result == null) {
+                throw new RuntimeException("No solution for variable: " + variable.getLabel());
+            }
+            return result;
+        }
+    }
+
+    private final CdclSolver solver = new CdclSolver();
+    private final Map<BooleanVariable, Integer> numbers = new HashMap<>();
+    private final List<BooleanVariable> variables = new ArrayList<>();
+
+    public CdclCnfSolver() {
+    }
+
+    public CdclCnfSolver(Cnf cnf) {
+        addClauses(cnf);
+    }
+
+    public int getNumber(BooleanVariable variable) {
+        Integer result = numbers.get(variable);
+        if (result == null) {
+            result = solver.newVariable();
+            numbers.put(variable, result);
+            variables.add(variable);
+        }
+        return result;
+    }
+
+    public int getNumber(Literal literal) {
+        int number = getNumber(literal.getVariable());
+        return literal.getNegation() ? -number : number;
+    }
+
+    public boolean addClauses(Cnf cnf) {
+        boolean result = true;
+        for (CnfClause clause : cnf.getClauses()) {
+            result &= addClause(clause);
+        }
+        return result;
+    }
+
+    public boolean addClause(CnfClause clause) {
+        return addClause(clause, null);
+    }
+
+    /**
+     * Adds the clauses so that they only hold if the activation literal is true, i.e. when solving under it
+     * as an assumption. The clauses are retracted for good by adding the negated activation literal.
+     */
+    public boolean addClauses(Cnf cnf, Literal activation) {
+        boolean result = true;
+        for (CnfClause clause : cnf.getClauses()) {
+            result &= addClause(clause, activation);
+        }
+        return result;
+    }
+
+    private boolean addClause(CnfClause clause, Literal activation) {
+        List<Literal> literals = clause.getLiterals();
+        int size = literals.size();
+        int[] dimacsLiterals = new int[activation == null ? size : size + 1];
+        for (int i = 0; i < size; i++) {
+            dimacsLiterals[i] = getNumber(literals.get(i));
+        }
+        if (activation != null) {
+            dimacsLiterals[size] = -getNumber(activation);
+        }
+        return solver.addClause(dimacsLiterals);
+    }
+
+    public CdclSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Returns the solution for all the variables of the added clauses, or null if there is no solution under
+     * the assumptions.
+     */
+    public BooleanSolution solve(Literal... assumptions) {
+        return solve(variables, assumptions);
+    }
+
+    /**
+     * Returns the solution for the given variables, or null if there is no solution under the assumptions.
+     */
+    public BooleanSolution solve(Collection<? extends BooleanVariable> solutionVariables, Literal... assumptions) {
+        int[] dimacsAssumptions = new int[assumptions.length];
+        for (int i = 0; i < assumptions.length; i++) {
+            dimacsAssumptions[i] = getNumber(assumptions[i]);
+        }
+        if (!solver.solve(dimacsAssumptions)) {
+            return null;
+        }
+        Map<BooleanVariable, Boolean> results = new HashMap<>();
+        for (BooleanVariable variable : solutionVariables) {
+            Integer number = numbers.get(variable);
+            results.put(variable, (number != null) && solver.getValue(number));
+        }
+        return new BooleanSolutionImplementation(results);
+    }
+
+}
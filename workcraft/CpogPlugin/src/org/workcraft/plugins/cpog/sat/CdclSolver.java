@@ -0,0 +1,575 @@
+package org.workcraft.plugins.cpog.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Conflict-driven clause learning SAT solver with two watched literals, VSIDS branching with phase saving,
+ * Luby restarts and activity-based reduction of learnt clauses. Variables are numbered from 1 and literals are
+ * given in DIMACS style, i.e. a negative number stands for the negation of the variable. The solver is incremental:
+ * clauses can be added between the calls of solve, learnt clauses are kept, and each call can be restricted by
+ * assumptions, which is how a sequence of tightening bounds is checked without rebuilding the problem.
+ */
+public class CdclSolver {
+
+    private static final double VAR_DECAY = 0.95;
+    private static final double CLAUSE_DECAY = 0.999;
+    private static final double RESCALE_LIMIT = 1e100;
+    private static final int RESTART_INTERVAL = 100;
+    private static final int MIN_LEARNT_LIMIT = 2000;
+    private static final double LEARNT_LIMIT_GROWTH = 1.1;
+
+    private static final int TRUE = 1;
+    private static final int FALSE = -1;
+    private static final int UNDEFINED = 0;
+
+    private static final class Clause {
+        private final int[] lits;
+        private final boolean learnt;
+        private double activity;
+        private boolean removed;
+
+        Clause(int[] lits, boolean learnt) {
+            this.lits = lits;
+            this.learnt = learnt;
+        }
+    }
+
+    private static final class ClauseList {
+        private Clause[] items = new Clause[4];
+        private int size;
+
+        void add(Clause clause) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+            }
+            items[size++] = clause;
+        }
+    }
+
+    private int varCount = 0;
+    // Literal of variable v (numbered from 0) is 2v if positive and 2v+1 if negative
+    private int[] litValues = new int[0];
+    private int[] levels = new int[0];
+    private Clause[] reasons = new Clause[0];
+    private boolean[] seen = new boolean[0];
+    private boolean[] polarities = new boolean[0];
+    private double[] activities = new double[0];
+    private ClauseList[] watches = new ClauseList[0];
+
+    private int[] trail = new int[0];
+    private int trailSize = 0;
+    private int[] trailLimits = new int[0];
+    private int decisionLevel = 0;
+    private int propagationHead = 0;
+
+    private int[] heap = new int[0];
+    private int heapSize = 0;
+    private int[] heapIndices = new int[0];
+
+    private final List<Clause> clauses = new ArrayList<>();
+    private final List<Clause> learnts = new ArrayList<>();
+    private double varIncrement = 1.0;
+    private double clauseIncrement = 1.0;
+    private double learntLimit = 0.0;
+    private long conflictCount = 0;
+    private boolean ok = true;
+    private boolean[] model = null;
+
+    public int newVariable() {
+        int v = varCount++;
+        if (v == levels.length) {
+            int capacity = Math.max(16, 2 * v);
+            litValues = Arrays.copyOf(litValues, 2 * capacity);
+            levels = Arrays.copyOf(levels, capacity);
+            reasons = Arrays.copyOf(reasons, capacity);
+            seen = Arrays.copyOf(seen, capacity);
+            polarities = Arrays.copyOf(polarities, capacity);
+            activities = Arrays.copyOf(activities, capacity);
+            watches = Arrays.copyOf(watches, 2 * capacity);
+            trail = Arrays.copyOf(trail, capacity);
+            trailLimits = Arrays.copyOf(trailLimits, capacity);
+            heap = Arrays.copyOf(heap, capacity);
+            heapIndices = Arrays.copyOf(heapIndices, capacity);
+        }
+        watches[2 * v] = new ClauseList();
+        watches[2 * v + 1] = new ClauseList();
+        // Negative phase is tried first, as in MiniSat
+        polarities[v] = true;
+        heapIndices[v] = -1;
+        heapInsert(v);
+        return varCount;
+    }
+
+    public int getVariableCount() {
+        return varCount;
+    }
+
+    public long getConflictCount() {
+        return conflictCount;
+    }
+
+    /**
+     * Returns false if the solver is known to be unsatisfiable regardless of the assumptions.
+     */
+    public boolean isOk() {
+        return ok;
+    }
+
+    private int toLit(int dimacsLiteral) {
+        int v = Math.abs(dimacsLiteral) - 1;
+        if (dimacsLiteral == 0) {
+            throw new IllegalArgumentException("Literal 0 is not a variable");
+        }
+        while (v >= varCount) {
+            newVariable();
+        }
+        return dimacsLiteral > 0 ? 2 * v : 2 * v + 1;
+    }
+
+    /**
+     * Adds a clause of DIMACS literals and returns false if the problem became unsatisfiable.
+     */
+    public boolean addClause(int... dimacsLiterals) {
+        if (!ok) {
+            return false;
+        }
+        int[] lits = new int[dimacsLiterals.length];
+        for (int i = 0; i < lits.length; i++) {
+            lits[i] = toLit(dimacsLiterals[i]);
+        }
+        Arrays.sort(lits);
+        int size = 0;
+        int previous = -1;
+        for (int lit : lits) {
+            if ((litValues[lit] == TRUE) || (lit == (previous ^ 1))) {
+                // Clause is satisfied at the top level or is a tautology
+                return true;
+            }
+            if ((lit != previous) && (litValues[lit] != FALSE)) {
+                lits[size++] = lit;
+                previous = lit;
+            }
+        }
+        if (size == 0) {
+            ok = false;
+        } else if (size == 1) {
+            enqueue(lits[0], null);
+            ok = propagate() == null;
+        } else {
+            Clause clause = new Clause(Arrays.copyOf(lits, size), false);
+            attach(clause);
+            clauses.add(clause);
+        }
+        return ok;
+    }
+
+    /**
+     * Checks satisfiability of the clauses under the assumed DIMACS literals. The model of a satisfiable problem
+     * is available via getValue until the next call.
+     */
+    public boolean solve(int... assumptions) {
+        model = null;
+        if (!ok) {
+            return false;
+        }
+        int[] assumedLits = new int[assumptions.length];
+        for (int i = 0; i < assumptions.length; i++) {
+            assumedLits[i] = toLit(assumptions[i]);
+        }
+        learntLimit = Math.max(learntLimit, Math.max(MIN_LEARNT_LIMIT, clauses.size() / 3.0));
+        int status = UNDEFINED;
+        for (int restart = 0; status == UNDEFINED; restart++) {
+            status = search(luby(restart) * RESTART_INTERVAL, assumedLits);
+        }
+        if (status == TRUE) {
+            model = new boolean[varCount];
+            for (int v = 0; v < varCount; v++) {
+                model[v] = litValues[2 * v] == TRUE;
+            }
+        }
+        cancelUntil(0);
+        return status == TRUE;
+    }
+
+    public boolean getValue(int variable) {
+        if (model == null) {
+            throw new IllegalStateException("No model is available");
+        }
+        int v = variable - 1;
+        // Variables created after the last solve are unconstrained
+        return (v < model.length) && model[v];
+    }
+
+    private int search(long conflictLimit, int[] assumedLits) {
+        long conflicts = 0;
+        while (true) {
+            Clause conflict = propagate();
+            if (conflict != null) {
+                conflicts++;
+                conflictCount++;
+                if (decisionLevel == 0) {
+                    ok = false;
+                    return FALSE;
+                }
+                int[] learnt = analyze(conflict);
+                cancelUntil(learnt.length == 1 ? 0 : levels[learnt[1] >> 1]);
+                if (learnt.length == 1) {
+                    enqueue(learnt[0], null);
+                } else {
+                    Clause clause = new Clause(learnt, true);
+                    attach(clause);
+                    learnts.add(clause);
+                    bumpClause(clause);
+                    enqueue(learnt[0], clause);
+                }
+                varIncrement /= VAR_DECAY;
+                clauseIncrement /= CLAUSE_DECAY;
+            } else {
+                if (conflicts >= conflictLimit) {
+                    cancelUntil(0);
+                    return UNDEFINED;
+                }
+                if (learnts.size() - trailSize >= learntLimit) {
+                    reduceLearnts();
+                }
+                int next = -1;
+                while (decisionLevel < assumedLits.length) {
+                    int lit = assumedLits[decisionLevel];
+                    if (litValues[lit] == TRUE) {
+                        // Assumption already holds, so its decision level is left empty
+                        newDecisionLevel();
+                    } else if (litValues[lit] == FALSE) {
+                        return FALSE;
+                    } else {
+                        next = lit;
+                        break;
+                    }
+                }
+                if (next < 0) {
+                    next = pickBranchLit();
+                    if (next < 0) {
+                        return TRUE;
+                    }
+                }
+                newDecisionLevel();
+                enqueue(next, null);
+            }
+        }
+    }
+
+    private static long luby(int x) {
+        // Finite subsequence that contains index x, and its size
+        int size = 1;
+        int seq = 0;
+        while (size < x + 1) {
+            seq++;
+            size = 2 * size + 1;
+        }
+        while (size - 1 != x) {
+            size = (size - 1) >> 1;
+            seq--;
+            x = x % size;
+        }
+        return 1L << seq;
+    }
+
+    private void attach(Clause clause) {
+        watches[clause.lits[0] ^ 1].add(clause);
+        watches[clause.lits[1] ^ 1].add(clause);
+    }
+
+    private void enqueue(int lit, Clause reason) {
+        int v = lit >> 1;
+        litValues[lit] = TRUE;
+        litValues[lit ^ 1] = FALSE;
+        levels[v] = decisionLevel;
+        reasons[v] = reason;
+        trail[trailSize++] = lit;
+    }
+
+    private void newDecisionLevel() {
+        if (decisionLevel == trailLimits.length) {
+            // Assumptions that already hold may add more levels than there are variables
+            trailLimits = Arrays.copyOf(trailLimits, 2 * decisionLevel + 1);
+        }
+        trailLimits[decisionLevel++] = trailSize;
+    }
+
+    private void cancelUntil(int level) {
+        if (decisionLevel > level) {
+            int limit = trailLimits[level];
+            for (int i = trailSize - 1; i >= limit; i--) {
+                int lit = trail[i];
+                int v = lit >> 1;
+                litValues[lit] = UNDEFINED;
+                litValues[lit ^ 1] = UNDEFINED;
+                reasons[v] = null;
+                polarities[v] = (lit & 1) != 0;
+                if (heapIndices[v] < 0) {
+                    heapInsert(v);
+                }
+            }
+            trailSize = limit;
+            propagationHead = limit;
+            decisionLevel = level;
+        }
+    }
+
+    /**
+     * Propagates the enqueued literals and returns a conflicting clause or null if there is no conflict.
+     * Clause watched by a literal is kept in the watch list of its negation, so the clauses to visit are the ones
+     * watching the literal that has just become false.
+     */
+    private Clause propagate() {
+        while (propagationHead < trailSize) {
+            int lit = trail[propagationHead++];
+            int falseLit = lit ^ 1;
+            ClauseList watchList = watches[lit];
+            Clause[] items = watchList.items;
+            int count = watchList.size;
+            int i = 0;
+            int j = 0;
+            while (i < count) {
+                Clause clause = items[i++];
+                if (clause.removed) {
+                    continue;
+                }
+                int[] lits = clause.lits;
+                if (lits[0] == falseLit) {
+                    lits[0] = lits[1];
+                    lits[1] = falseLit;
+                }
+                int first = lits[0];
+                if (litValues[first] == TRUE) {
+                    items[j++] = clause;
+                    continue;
+                }
+                boolean moved = false;
+                for (int k = 2; k < lits.length; k++) {
+                    if (litValues[lits[k]] != FALSE) {
+                        lits[1] = lits[k];
+                        lits[k] = falseLit;
+                        watches[lits[1] ^ 1].add(clause);
+                        moved = true;
+                        break;
+                    }
+                }
+                if (moved) {
+                    continue;
+                }
+                items[j++] = clause;
+                if (litValues[first] == FALSE) {
+                    while (i < count) {
+                        items[j++] = items[i++];
+                    }
+                    watchList.size = j;
+                    propagationHead = trailSize;
+                    return clause;
+                }
+                enqueue(first, clause);
+            }
+            watchList.size = j;
+        }
+        return null;
+    }
+
+    /**
+     * Derives the first-UIP clause of the conflict. The asserting literal is at index 0 and a literal of the
+     * backjump level is at index 1.
+     */
+    private int[] analyze(Clause conflict) {
+        int[] learnt = new int[decisionLevel + 16];
+        int size = 1;
+        int pathCount = 0;
+        int lit = -1;
+        int index = trailSize - 1;
+        Clause clause = conflict;
+        do {
+            if (clause.learnt) {
+                bumpClause(clause);
+            }
+            int[] lits = clause.lits;
+            for (int k = (lit < 0) ? 0 : 1; k < lits.length; k++) {
+                int q = lits[k];
+                int v = q >> 1;
+                if (!seen[v] && (levels[v] > 0)) {
+                    bumpVar(v);
+                    seen[v] = true;
+                    if (levels[v] >= decisionLevel) {
+                        pathCount++;
+                    } else {
+                        if (size == learnt.length) {
+                            learnt = Arrays.copyOf(learnt, 2 * size);
+                        }
+                        learnt[size++] = q;
+                    }
+                }
+            }
+            while (!seen[trail[index] >> 1]) {
+                index--;
+            }
+            lit = trail[index--];
+            clause = reasons[lit >> 1];
+            seen[lit >> 1] = false;
+            pathCount--;
+        } while (pathCount > 0);
+        learnt[0] = lit ^ 1;
+
+        // Literals implied by other literals of the clause are redundant
+        int[] result = new int[size];
+        result[0] = learnt[0];
+        int kept = 1;
+        for (int i = 1; i < size; i++) {
+            int v = learnt[i] >> 1;
+            if ((reasons[v] == null) || !isRedundant(reasons[v])) {
+                result[kept++] = learnt[i];
+            }
+        }
+        for (int i = 1; i < size; i++) {
+            seen[learnt[i] >> 1] = false;
+        }
+        result = Arrays.copyOf(result, kept);
+        if (result.length > 1) {
+            int maxIndex = 1;
+            for (int i = 2; i < result.length; i++) {
+                if (levels[result[i] >> 1] > levels[result[maxIndex] >> 1]) {
+                    maxIndex = i;
+                }
+            }
+            int tmp = result[1];
+            result[1] = result[maxIndex];
+            result[maxIndex] = tmp;
+        }
+        return result;
+    }
+
+    private boolean isRedundant(Clause reason) {
+        int[] lits = reason.lits;
+        for (int k = 1; k < lits.length; k++) {
+            int v = lits[k] >> 1;
+            if (!seen[v] && (levels[v] > 0)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int pickBranchLit() {
+        while (heapSize > 0) {
+            int v = heapRemoveMax();
+            if (litValues[2 * v] == UNDEFINED) {
+                return polarities[v] ? 2 * v + 1 : 2 * v;
+            }
+        }
+        return -1;
+    }
+
+    private void bumpVar(int v) {
+        activities[v] += varIncrement;
+        if (activities[v] > RESCALE_LIMIT) {
+            for (int i = 0; i < varCount; i++) {
+                activities[i] /= RESCALE_LIMIT;
+            }
+            varIncrement /= RESCALE_LIMIT;
+        }
+        if (heapIndices[v] >= 0) {
+            heapUp(heapIndices[v]);
+        }
+    }
+
+    private void bumpClause(Clause clause) {
+        clause.activity += clauseIncrement;
+        if (clause.activity > RESCALE_LIMIT) {
+            for (Clause learnt : learnts) {
+                learnt.activity /= RESCALE_LIMIT;
+            }
+            clauseIncrement /= RESCALE_LIMIT;
+        }
+    }
+
+    /**
+     * Removes the less active half of the learnt clauses, except binary clauses and reasons of current
+     * assignments. Removed clauses are dropped from the watch lists when these are visited.
+     */
+    private void reduceLearnts() {
+        learnts.sort(Comparator.comparingDouble(clause -> clause.activity));
+        int half = learnts.size() / 2;
+        List<Clause> keptLearnts = new ArrayList<>(learnts.size() - half);
+        for (int i = 0; i < learnts.size(); i++) {
+            Clause clause = learnts.get(i);
+            if ((i < half) && (clause.lits.length > 2) && !isLocked(clause)) {
+                clause.removed = true;
+            } else {
+                keptLearnts.add(clause);
+            }
+        }
+        learnts.clear();
+        learnts.addAll(keptLearnts);
+        learntLimit *= LEARNT_LIMIT_GROWTH;
+    }
+
+    private boolean isLocked(Clause clause) {
+        int first = clause.lits[0];
+        return (reasons[first >> 1] == clause) && (litValues[first] == TRUE);
+    }
+
+    private void heapInsert(int v) {
+        heapIndices[v] = heapSize;
+        heap[heapSize++] = v;
+        heapUp(heapSize - 1);
+    }
+
+    private int heapRemoveMax() {
+        int result = heap[0];
+        heapIndices[result] = -1;
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapIndices[heap[0]] = 0;
+            heapDown(0);
+        }
+        return result;
+    }
+
+    private void heapUp(int index) {
+        int v = heap[index];
+        while (index > 0) {
+            int parentIndex = (index - 1) >> 1;
+            int parent = heap[parentIndex];
+            if (activities[parent] >= activities[v]) {
+                break;
+            }
+            heap[index] = parent;
+            heapIndices[parent] = index;
+            index = parentIndex;
+        }
+        heap[index] = v;
+        heapIndices[v] = index;
+    }
+
+    private void heapDown(int index) {
+        int v = heap[index];
+        while (true) {
+            int childIndex = 2 * index + 1;
+            if (childIndex >= heapSize) {
+                break;
+            }
+            if ((childIndex + 1 < heapSize) && (activities[heap[childIndex + 1]] > activities[heap[childIndex]])) {
+                childIndex++;
+            }
+            int child = heap[childIndex];
+            if (activities[child] <= activities[v]) {
+                break;
+            }
+            heap[index] = child;
+            heapIndices[child] = index;
+            index = childIndex;
+        }
+        heap[index] = v;
+        heapIndices[v] = index;
+    }
+
+}
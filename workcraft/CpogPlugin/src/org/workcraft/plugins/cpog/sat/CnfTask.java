@@ -1,22 +1,33 @@
 package org.workcraft.plugins.cpog.sat;
 
 import org.workcraft.formula.BooleanVariable;
+import org.workcraft.formula.cnf.Cnf;
 
 import java.util.Map;
 
 public class CnfTask {
 
-    private final String body;
+    private final Cnf cnf;
     private final Map<String, BooleanVariable> vars;
+    private String body = null;
 
-    public CnfTask(String body, Map<String, BooleanVariable> vars) {
-        this.body = body;
+    public CnfTask(Cnf cnf, Map<String, BooleanVariable> vars) {
+        this.cnf = cnf;
         this.vars = vars;
     }
 
+    public Cnf getCnf() {
+        return cnf;
+    }
+
     public String getBody() {
+        // DIMACS text is only needed for external solvers, so it is printed on demand
+        if (body == null) {
+            body = MiniSatCnfPrinter.print(cnf);
+        }
         return body;
     }
+
     public Map<String, BooleanVariable> getVars() {
         return vars;
     }
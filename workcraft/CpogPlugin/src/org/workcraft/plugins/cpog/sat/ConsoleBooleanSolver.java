@@ -1,15 +1,38 @@
 package org.workcraft.plugins.cpog.sat;
 
+import org.workcraft.formula.FreeVariable;
+import org.workcraft.formula.Literal;
+import org.workcraft.formula.cnf.CnfClause;
 import org.workcraft.plugins.cpog.CpogSettings;
 
 public class ConsoleBooleanSolver {
 
+    // Built-in solver is kept between tasks, so the clauses it learns for one task may speed up the next ones
+    private CdclCnfSolver builtinSolver = null;
+    private int taskCount = 0;
+
     public BooleanSolution solve(CnfTask task) {
+        if (CpogSettings.getSatSolver() == CpogSettings.SatSolver.BUILTIN) {
+            return solveBuiltin(task);
+        }
         String cnf = task.getBody();
         String solution = solve(cnf);
         return SolutionReader.readSolution(task, solution);
     }
 
+    private BooleanSolution solveBuiltin(CnfTask task) {
+        if (builtinSolver == null) {
+            builtinSolver = new CdclCnfSolver();
+        }
+        // Clauses of the task are guarded by its own activation literal and retracted once it is solved
+        Literal activation = new Literal(new FreeVariable("task" + taskCount++));
+        builtinSolver.addClauses(task.getCnf(), activation);
+        // Solution is limited to the named variables, the same as for external solvers
+        BooleanSolution result = builtinSolver.solve(task.getVars().values(), activation);
+        builtinSolver.addClause(new CnfClause(new Literal(activation.getVariable(), true)));
+        return result;
+    }
+
     private String solve(String cnf) {
         switch (CpogSettings.getSatSolver()) {
         case CLASP:
@@ -0,0 +1,148 @@
+package org.workcraft.plugins.cpog.sat;
+
+import org.workcraft.formula.BooleanFormula;
+import org.workcraft.formula.BooleanVariable;
+import org.workcraft.formula.FreeVariable;
+import org.workcraft.formula.Literal;
+import org.workcraft.plugins.cpog.encoding.Encoding;
+import org.workcraft.plugins.cpog.encoding.onehot.OneHotIntBooleanFormula;
+import org.workcraft.plugins.cpog.encoding.onehot.OneHotNumberProvider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.workcraft.plugins.cpog.encoding.CnfOperations.literal;
+import static org.workcraft.plugins.cpog.encoding.CnfOperations.not;
+import static org.workcraft.plugins.cpog.encoding.CnfOperations.or;
+
+/**
+ * Finds the encoding whose decoder needs the smallest number of derived variables (gates). The SAT problem is
+ * generated only once for the largest number of gates and is solved by a single instance of the built-in solver,
+ * so the clauses learnt for one bound are reused for the next ones.
+ *
+ * Each gate gets a variable telling whether it is selected by a model function or by another gate, and a gate may
+ * only be used if the preceding one is used. Any decoder can be renumbered to satisfy this, hence the number of gates
+ * is bounded by assuming that the first gate above the bound is not used, and the first unsatisfiable bound proves
+ * the previous solution optimal.
+ */
+public class IncrementalOptimiser {
+
+    private int derivedVariableCount = -1;
+    private int iterationCount = 0;
+
+    public Encoding solve(String[] scenarios, BooleanVariable[] variables, int derivedVariables) {
+        Optimiser<OneHotIntBooleanFormula> optimiser = new Optimiser<>(new OneHotNumberProvider());
+        OptimisationTask<BooleanFormula> task = optimiser.getFormula(scenarios, variables, derivedVariables);
+        CdclCnfSolver solver = new CdclCnfSolver(new CleverCnfGenerator().getCnf(task.getTask()).getCnf());
+        List<BooleanVariable> usedVariables = addUsedVariables(solver, optimiser, derivedVariables);
+        addArgumentOrder(solver, optimiser);
+        addEncodingOrder(solver, task.getEncodingVars());
+
+        derivedVariableCount = -1;
+        iterationCount = 0;
+        BooleanSolution bestSolution = null;
+        Literal[] assumptions = new Literal[0];
+        while (true) {
+            iterationCount++;
+            BooleanSolution solution = solver.solve(assumptions);
+            if (solution == null) {
+                break;
+            }
+            bestSolution = solution;
+            derivedVariableCount = 0;
+            while ((derivedVariableCount < derivedVariables)
+                    && solution.getSolution(usedVariables.get(derivedVariableCount))) {
+                derivedVariableCount++;
+            }
+            if (derivedVariableCount == 0) {
+                break;
+            }
+            assumptions = new Literal[]{not(usedVariables.get(derivedVariableCount - 1))};
+        }
+        return SolutionPrettifier.prettifySolution(task, bestSolution);
+    }
+
+    private static List<BooleanVariable> addUsedVariables(CdclCnfSolver solver,
+            Optimiser<OneHotIntBooleanFormula> optimiser, int derivedVariables) {
+
+        List<OneHotIntBooleanFormula> derivedNumbers = optimiser.getDerivedNumbers();
+        List<OneHotIntBooleanFormula> numbers = new ArrayList<>(optimiser.getFunctionNumbers());
+        numbers.addAll(derivedNumbers);
+        // Derived variables follow the free and forced ones
+        int offset = optimiser.getParameterCount();
+
+        List<BooleanVariable> result = new ArrayList<>();
+        for (int i = 0; i < derivedVariables; i++) {
+            BooleanVariable used = new FreeVariable("f" + i + "_used");
+            List<Literal> selections = new ArrayList<>();
+            selections.add(not(used));
+            for (OneHotIntBooleanFormula number : numbers) {
+                if (offset + i < number.getRange()) {
+                    BooleanVariable selection = number.get(offset + i);
+                    solver.addClause(or(not(selection), literal(used)));
+                    selections.add(literal(selection));
+                }
+            }
+            solver.addClause(or(selections.toArray(new Literal[0])));
+            if (i > 0) {
+                solver.addClause(or(not(used), literal(result.get(i - 1))));
+            }
+            // Arguments of an unused gate are fixed, so the solver does not search through them
+            for (int k = 2 * i; k < 2 * i + 2; k++) {
+                solver.addClause(or(literal(used), literal(derivedNumbers.get(k).get(0))));
+            }
+            result.add(used);
+        }
+        return result;
+    }
+
+    private static void addArgumentOrder(CdclCnfSolver solver, Optimiser<OneHotIntBooleanFormula> optimiser) {
+        // Arguments of a gate are interchangeable, so the first one is not allowed to follow the second one
+        List<OneHotIntBooleanFormula> numbers = optimiser.getDerivedNumbers();
+        for (int k = 0; k + 1 < numbers.size(); k += 2) {
+            OneHotIntBooleanFormula first = numbers.get(k);
+            OneHotIntBooleanFormula second = numbers.get(k + 1);
+            for (int i = 0; i < first.getRange(); i++) {
+                for (int j = 0; (j < i) && (j < second.getRange()); j++) {
+                    solver.addClause(or(not(first.get(i)), not(second.get(j))));
+                }
+            }
+        }
+    }
+
+    private static void addEncodingOrder(CdclCnfSolver solver, BooleanFormula[][] encodingVars) {
+        // Encoding variables are interchangeable, so their codes over the scenarios are lexicographically ordered
+        int variableCount = encodingVars.length > 0 ? encodingVars[0].length : 0;
+        for (int j = 0; j + 1 < variableCount; j++) {
+            Literal equalPrefix = Literal.ONE;
+            for (int i = 0; i < encodingVars.length; i++) {
+                if (!(encodingVars[i][j] instanceof BooleanVariable)
+                        || !(encodingVars[i][j + 1] instanceof BooleanVariable)) {
+                    continue;
+                }
+                Literal a = literal((BooleanVariable) encodingVars[i][j]);
+                Literal b = literal((BooleanVariable) encodingVars[i][j + 1]);
+                Literal nextEqualPrefix = literal(new FreeVariable("x" + j + "_s" + i + "_eq"));
+                solver.addClause(or(not(equalPrefix), not(a), b));
+                solver.addClause(or(not(equalPrefix), a, b, nextEqualPrefix));
+                solver.addClause(or(not(equalPrefix), not(a), not(b), nextEqualPrefix));
+                equalPrefix = nextEqualPrefix;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of derived variables used by the last found encoding, or -1 if there was no encoding.
+     */
+    public int getDerivedVariableCount() {
+        return derivedVariableCount;
+    }
+
+    /**
+     * Returns the number of calls of the solver made to find the last encoding.
+     */
+    public int getIterationCount() {
+        return iterationCount;
+    }
+
+}
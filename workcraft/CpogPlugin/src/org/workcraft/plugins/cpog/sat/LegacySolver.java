@@ -7,6 +7,7 @@ import org.workcraft.plugins.cpog.encoding.Encoding;
 public class LegacySolver<T> {
     private final SatProblemGenerator<? extends T> problemGenerator;
     private final CnfGenerator<? super T> cnfConverter;
+    private final ConsoleBooleanSolver satSolver = new ConsoleBooleanSolver();
 
     public LegacySolver(SatProblemGenerator<? extends T> problemGenerator,
             CnfGenerator<? super T> simpleCnfTaskProvider) {
@@ -26,7 +27,7 @@ public class LegacySolver<T> {
 
         OptimisationTask<? extends T> task = problemGenerator.getFormula(scenarios, vars, derivedVars);
 
-        BooleanSolution solution = new ConsoleBooleanSolver().solve(cnfConverter.getCnf(task.getTask()));
+        BooleanSolution solution = satSolver.solve(cnfConverter.getCnf(task.getTask()));
         return SolutionPrettifier.prettifySolution(task, solution);
     }
 }
@@ -14,6 +14,9 @@ public class Optimiser<T> implements SatProblemGenerator<BooleanFormula> {
 
     private NumberProvider<T> numberProvider;
     private int[] levels;
+    private final List<T> functionNumbers = new ArrayList<>();
+    private final List<T> derivedNumbers = new ArrayList<>();
+    private int parameterCount = 0;
 
     private BooleanFormula generateBinaryFunction(BooleanFormula[] vars, int funcId) {
         return generateBinaryFunction(vars, vars, funcId);
@@ -23,6 +26,8 @@ public class Optimiser<T> implements SatProblemGenerator<BooleanFormula> {
         BooleanFormula isIff = Zero.getInstance(); //*/new FV("f" + funcId + "_isIff");
         T var1Number = generateInt("f" + funcId + "_v1_", arg1.length);
         T var2Number = generateInt("f" + funcId + "_v2_", arg2.length);
+        derivedNumbers.add(var1Number);
+        derivedNumbers.add(var2Number);
 
         BooleanFormula noNegate1 = new FreeVariable("f" + funcId + "_v1_plain");
         BooleanFormula noNegate2 = new FreeVariable("f" + funcId + "_v2_plain");
@@ -133,6 +138,31 @@ public class Optimiser<T> implements SatProblemGenerator<BooleanFormula> {
         return FormulaUtils.replace(where, what, with, WORKER);
     }
 
+    /**
+     * Returns the numbers that select the variable of each model function in the generated formulas. The variables
+     * are indexed in the order of the free variables, the forced variables, and then the derived variables.
+     */
+    public List<T> getFunctionNumbers() {
+        return Collections.unmodifiableList(functionNumbers);
+    }
+
+    /**
+     * Returns the numbers that select the arguments of derived variables in the generated formulas. Without levels,
+     * both arguments of a derived variable are selected from all the preceding variables in the same order as for
+     * the model functions.
+     */
+    public List<T> getDerivedNumbers() {
+        return Collections.unmodifiableList(derivedNumbers);
+    }
+
+    /**
+     * Returns the number of free and forced variables in the last generated formulas, i.e. the index of the first
+     * derived variable.
+     */
+    public int getParameterCount() {
+        return parameterCount;
+    }
+
     /**
      * Produces the SAT problem for finding the optimal encoding given the scenarios.
      * @param scenarios
@@ -150,6 +180,7 @@ public class Optimiser<T> implements SatProblemGenerator<BooleanFormula> {
 
         List<BooleanFormula> parameters = new ArrayList<>(Arrays.asList(variables));
         parameters.addAll(forcedParams);
+        parameterCount = parameters.size();
 
         // Generate functions
         List<BooleanFormula> allVariables = generateFunctions(parameters, derivedVariables);
@@ -162,6 +193,7 @@ public class Optimiser<T> implements SatProblemGenerator<BooleanFormula> {
         //Try to match existing model functions with newly generated functions.
         for (int i = 0; i < functionCount; i++) {
             T varId = generateInt("model_f" + i + "_", allVariables.size());
+            functionNumbers.add(varId);
             BooleanFormula plain = new FreeVariable("model_f" + i + "_plain");
 
             BooleanFormula value = WORKER.iff(plain, numberProvider.select(allVariables.toArray(new BooleanFormula[0]), varId));
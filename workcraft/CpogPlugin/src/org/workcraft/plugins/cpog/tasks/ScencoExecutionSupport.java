@@ -17,9 +17,11 @@ import org.workcraft.plugins.cpog.encoding.onehot.OneHotIntBooleanFormula;
 import org.workcraft.plugins.cpog.encoding.onehot.OneHotNumberProvider;
 import org.workcraft.plugins.cpog.sat.CleverCnfGenerator;
 import org.workcraft.plugins.cpog.sat.DefaultSolver;
+import org.workcraft.plugins.cpog.sat.IncrementalOptimiser;
 import org.workcraft.plugins.cpog.sat.Optimiser;
 import org.workcraft.utils.DialogUtils;
 import org.workcraft.utils.Geometry;
+import org.workcraft.utils.LogUtils;
 
 import java.awt.geom.Point2D;
 import java.io.*;
@@ -513,7 +515,16 @@ public class ScencoExecutionSupport {
                 return solution;
             }
 
-            solution = solverCnf.solve(instance, vars, derivedVariables);
+            if (CpogSettings.getIncrementalOptimisation()) {
+                IncrementalOptimiser optimiser = new IncrementalOptimiser();
+                solution = optimiser.solve(instance, vars, derivedVariables);
+                if (solution != null) {
+                    LogUtils.logInfo("SAT-based encoding needs " + optimiser.getDerivedVariableCount()
+                            + " gates (" + optimiser.getIterationCount() + " solver calls)");
+                }
+            } else {
+                solution = solverCnf.solve(instance, vars, derivedVariables);
+            }
 
         } catch (Exception e) {
             DialogUtils.showError(e.getMessage());
@@ -37,6 +37,9 @@ class CpogSettingsTests {
 
         Assertions.assertEquals(Config.toString(CpogSettings.getMinisatCommand()),
                 framework.getConfigVar(prefix + ".minisatCommand", false));
+
+        Assertions.assertEquals(Config.toString(CpogSettings.getIncrementalOptimisation()),
+                framework.getConfigVar(prefix + ".incrementalOptimisation", false));
     }
 
 }
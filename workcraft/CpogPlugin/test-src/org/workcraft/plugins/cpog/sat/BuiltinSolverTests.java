@@ -0,0 +1,40 @@
+package org.workcraft.plugins.cpog.sat;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.workcraft.formula.BooleanFormula;
+import org.workcraft.plugins.cpog.CpogSettings;
+import org.workcraft.plugins.cpog.encoding.onehot.OneHotNumberProvider;
+
+// Test methods are defined in the base SolverTests class
+@SuppressWarnings("PMD.TestClassWithoutTestCases")
+class BuiltinSolverTests extends SolverTests {
+
+    private static CpogSettings.SatSolver savedSatSolver;
+
+    @BeforeAll
+    static void setSatSolver() {
+        savedSatSolver = CpogSettings.getSatSolver();
+        CpogSettings.setSatSolver(CpogSettings.SatSolver.BUILTIN);
+    }
+
+    @AfterAll
+    static void restoreSatSolver() {
+        CpogSettings.setSatSolver(savedSatSolver);
+    }
+
+    @Override
+    protected LegacySolver<BooleanFormula> createSolver() {
+        return new LegacySolver<>(
+                new Optimiser<>(new OneHotNumberProvider()),
+                new CleverCnfGenerator());
+    }
+
+    @Override
+    protected LegacySolver<BooleanFormula> createSolver(int[] levels) {
+        return new LegacySolver<>(
+                new Optimiser<>(new OneHotNumberProvider(), levels),
+                new CleverCnfGenerator());
+    }
+
+}
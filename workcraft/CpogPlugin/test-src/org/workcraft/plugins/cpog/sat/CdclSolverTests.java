@@ -0,0 +1,146 @@
+package org.workcraft.plugins.cpog.sat;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.formula.BooleanVariable;
+import org.workcraft.formula.FreeVariable;
+import org.workcraft.formula.Literal;
+import org.workcraft.formula.cnf.Cnf;
+import org.workcraft.formula.cnf.CnfClause;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+class CdclSolverTests {
+
+    @Test
+    void testSimple() {
+        CdclSolver solver = new CdclSolver();
+        Assertions.assertTrue(solver.addClause(1, 2));
+        Assertions.assertTrue(solver.addClause(-1, 2));
+        Assertions.assertTrue(solver.solve());
+        Assertions.assertTrue(solver.getValue(2));
+        Assertions.assertTrue(solver.addClause(1, -2));
+        Assertions.assertTrue(solver.solve());
+        Assertions.assertTrue(solver.getValue(1));
+        solver.addClause(-1, -2);
+        Assertions.assertFalse(solver.solve());
+        Assertions.assertFalse(solver.isOk());
+    }
+
+    @Test
+    void testAssumptions() {
+        CdclSolver solver = new CdclSolver();
+        solver.addClause(1, 2, 3);
+        solver.addClause(-1, -2);
+        Assertions.assertTrue(solver.solve(-1, -3));
+        Assertions.assertTrue(solver.getValue(2));
+        Assertions.assertFalse(solver.solve(-1, -2, -3));
+        // Failure under assumptions does not make the problem unsatisfiable
+        Assertions.assertTrue(solver.isOk());
+        Assertions.assertTrue(solver.solve(1));
+        Assertions.assertTrue(solver.getValue(1));
+        Assertions.assertFalse(solver.getValue(2));
+    }
+
+    @Test
+    void testPigeonhole() {
+        // Pigeons cannot be put in fewer holes, so that no hole has two pigeons
+        for (int holes = 1; holes <= 6; holes++) {
+            Assertions.assertFalse(createPigeonholeSolver(holes + 1, holes).solve());
+            Assertions.assertTrue(createPigeonholeSolver(holes, holes).solve());
+        }
+    }
+
+    private CdclSolver createPigeonholeSolver(int pigeons, int holes) {
+        CdclSolver solver = new CdclSolver();
+        for (int p = 0; p < pigeons; p++) {
+            int[] clause = new int[holes];
+            for (int h = 0; h < holes; h++) {
+                clause[h] = p * holes + h + 1;
+            }
+            solver.addClause(clause);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p1 = 0; p1 < pigeons; p1++) {
+                for (int p2 = p1 + 1; p2 < pigeons; p2++) {
+                    solver.addClause(-(p1 * holes + h + 1), -(p2 * holes + h + 1));
+                }
+            }
+        }
+        return solver;
+    }
+
+    @Test
+    void testRandom3Sat() {
+        Random random = new Random(1);
+        int varCount = 12;
+        for (int iteration = 0; iteration < 200; iteration++) {
+            // Clause to variable ratio around 4.26 gives a mix of satisfiable and unsatisfiable problems
+            int clauseCount = 40 + random.nextInt(30);
+            List<int[]> clauses = new ArrayList<>();
+            CdclSolver solver = new CdclSolver();
+            for (int i = 0; i < clauseCount; i++) {
+                int[] clause = new int[3];
+                for (int j = 0; j < clause.length; j++) {
+                    int v = random.nextInt(varCount) + 1;
+                    clause[j] = random.nextBoolean() ? v : -v;
+                }
+                clauses.add(clause);
+                solver.addClause(clause);
+            }
+            boolean sat = solver.solve();
+            Assertions.assertEquals(isSatisfiable(clauses, varCount), sat);
+            if (sat) {
+                for (int[] clause : clauses) {
+                    Assertions.assertTrue(isSatisfied(clause, solver::getValue));
+                }
+            }
+        }
+    }
+
+    private boolean isSatisfiable(List<int[]> clauses, int varCount) {
+        for (int assignment = 0; assignment < (1 << varCount); assignment++) {
+            final int bits = assignment;
+            boolean satisfied = true;
+            for (int[] clause : clauses) {
+                if (!isSatisfied(clause, v -> ((bits >> (v - 1)) & 1) != 0)) {
+                    satisfied = false;
+                    break;
+                }
+            }
+            if (satisfied) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSatisfied(int[] clause, IntPredicate value) {
+        for (int literal : clause) {
+            if (value.test(Math.abs(literal)) == (literal > 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void testCnfSolver() {
+        BooleanVariable a = new FreeVariable("a");
+        BooleanVariable b = new FreeVariable("b");
+        Cnf cnf = new Cnf(new CnfClause(new Literal(a), new Literal(b)),
+                new CnfClause(new Literal(a, true), new Literal(b, true)));
+
+        CdclCnfSolver solver = new CdclCnfSolver(cnf);
+        BooleanSolution solution = solver.solve(new Literal(a));
+        Assertions.assertNotNull(solution);
+        Assertions.assertTrue(solution.getSolution(a));
+        Assertions.assertFalse(solution.getSolution(b));
+        Assertions.assertNull(solver.solve(new Literal(a, true), new Literal(b, true)));
+        Assertions.assertNotNull(solver.solve());
+    }
+
+}
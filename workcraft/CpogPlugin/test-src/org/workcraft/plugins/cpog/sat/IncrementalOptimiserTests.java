@@ -0,0 +1,120 @@
+package org.workcraft.plugins.cpog.sat;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.workcraft.formula.BooleanFormula;
+import org.workcraft.formula.BooleanVariable;
+import org.workcraft.formula.FreeVariable;
+import org.workcraft.plugins.cpog.CpogSettings;
+import org.workcraft.plugins.cpog.encoding.Encoding;
+import org.workcraft.plugins.cpog.encoding.onehot.OneHotIntBooleanFormula;
+import org.workcraft.plugins.cpog.encoding.onehot.OneHotNumberProvider;
+
+class IncrementalOptimiserTests {
+
+    private static final int MAX_DERIVED = 5;
+
+    // Encoding suites of SolverTests, ForcedVarsSolverTests and MaxCpogTest
+    private static final String[][] SCENARIOS = {
+        {"110", "101", "011"},
+        {"000", "011", "101", "110"},
+        {"a", "b"},
+        {"a", "1"},
+        {"0", "a"},
+        {"0", "1", "a"},
+        {"0", "1", "a", "A"},
+        {"-0001", "00011", "11111", "10111", "1z1ZZ"},
+    };
+    private static final int[] FREE = {2, 2, 1, 1, 1, 2, 2, 3};
+
+    private static CpogSettings.SatSolver savedSatSolver;
+
+    @BeforeAll
+    static void setSatSolver() {
+        savedSatSolver = CpogSettings.getSatSolver();
+        CpogSettings.setSatSolver(CpogSettings.SatSolver.BUILTIN);
+    }
+
+    @AfterAll
+    static void restoreSatSolver() {
+        CpogSettings.setSatSolver(savedSatSolver);
+    }
+
+    @Test
+    void testSmall() {
+        testSolve(SCENARIOS[0], 2, 3, 1);
+        testSolve(SCENARIOS[0], 3, 3, 0);
+        testSolve(SCENARIOS[0], 1, 3, -1);
+    }
+
+    @Test
+    void testForcedVars() {
+        testSolve(SCENARIOS[2], 1, 4, 3);
+        testSolve(SCENARIOS[2], 1, 2, -1);
+        testSolve(SCENARIOS[5], 2, 4, 2);
+        testSolve(SCENARIOS[6], 2, 4, 3);
+    }
+
+    @Test
+    void testMaxCpog() {
+        testSolve(SCENARIOS[7], 3, 4, 4);
+    }
+
+    @Test
+    void testRestartedSolver() {
+        // Minimum found by one incremental solver is the same as the one found by solving each bound from scratch
+        for (int i = 0; i < SCENARIOS.length; i++) {
+            IncrementalOptimiser optimiser = new IncrementalOptimiser();
+            Encoding encoding = optimiser.solve(SCENARIOS[i], createVariables(FREE[i]), MAX_DERIVED);
+
+            int derived = -1;
+            for (int bound = MAX_DERIVED; bound >= 0; bound--) {
+                if (createSolver().solve(SCENARIOS[i], FREE[i], bound) == null) {
+                    break;
+                }
+                derived = bound;
+            }
+
+            Assertions.assertEquals(derived < 0, encoding == null);
+            Assertions.assertEquals(derived, optimiser.getDerivedVariableCount());
+        }
+    }
+
+    @Test
+    void testParameterCount() {
+        // Derived variables follow the free and forced ones, and the first gate selects its arguments among them
+        Optimiser<OneHotIntBooleanFormula> optimiser = new Optimiser<>(new OneHotNumberProvider());
+        optimiser.getFormula(SCENARIOS[6], createVariables(2), 3);
+        Assertions.assertEquals(3, optimiser.getParameterCount());
+        Assertions.assertEquals(3, optimiser.getDerivedNumbers().get(0).getRange());
+        Assertions.assertEquals(6, optimiser.getFunctionNumbers().get(0).getRange());
+    }
+
+    private void testSolve(String[] scenarios, int free, int maxDerived, int expectedDerived) {
+        IncrementalOptimiser optimiser = new IncrementalOptimiser();
+        Encoding encoding = optimiser.solve(scenarios, createVariables(free), maxDerived);
+        Assertions.assertEquals(expectedDerived, optimiser.getDerivedVariableCount());
+        if (expectedDerived < 0) {
+            Assertions.assertNull(encoding);
+        } else {
+            Assertions.assertNotNull(encoding);
+            Assertions.assertEquals(scenarios.length, encoding.getCode().length);
+            Assertions.assertEquals(scenarios[0].length(), encoding.getFormulas().length);
+        }
+    }
+
+    private static BooleanVariable[] createVariables(int count) {
+        BooleanVariable[] result = new BooleanVariable[count];
+        for (int i = 0; i < count; i++) {
+            result[i] = new FreeVariable("v" + i);
+        }
+        return result;
+    }
+
+    private static LegacySolver<BooleanFormula> createSolver() {
+        return new LegacySolver<>(new Optimiser<>(new OneHotNumberProvider()), new CleverCnfGenerator());
+    }
+
+}
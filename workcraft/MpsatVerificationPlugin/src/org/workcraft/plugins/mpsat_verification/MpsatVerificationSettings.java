@@ -1,11 +1,13 @@
 package org.workcraft.plugins.mpsat_verification;
 
 import org.workcraft.Config;
+import org.workcraft.Framework;
 import org.workcraft.gui.properties.PropertyDeclaration;
 import org.workcraft.gui.properties.PropertyDescriptor;
 import org.workcraft.plugins.builtin.settings.AbstractToolSettings;
 import org.workcraft.plugins.mpsat_verification.presets.VerificationParameters.SolutionMode;
 import org.workcraft.plugins.mpsat_verification.tasks.CompositionOutputInterpreter.ConformationReportStyle;
+import org.workcraft.tasks.ExternalProcessCache;
 import org.workcraft.utils.BackendUtils;
 
 import java.io.File;
@@ -19,12 +21,15 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
     private static final String COMMAND_64BIT_DIRECTORY = "UnfoldingTools64";
     private static final String COMMAND_REGEX = "^(?<prefix>.*[\\\\/])" + COMMAND_DIRECTORY + "(?<suffix>[\\\\/].+)$";
     private static final String COMMAND_64BIT_REPLACEMENT = "${prefix}" + COMMAND_64BIT_DIRECTORY + "${suffix}";
+    private static final String RESULT_CACHE_DIRECTORY_NAME = "mpsat";
+    private static final long MEGABYTE = 1024 * 1024;
 
     private static final LinkedList<PropertyDescriptor> properties = new LinkedList<>();
     private static final String prefix = "Tools.mpsatVerification";
 
     private static final String keyCommand = prefix + ".command";
     private static final String keyThreadCount = prefix + ".threadCount";
+    private static final String keyParallelism = prefix + ".parallelism";
     private static final String keyReplicateSelfloopPlaces = prefix + ".replicateSelfloopPlaces";
     private static final String keySolutionMode = prefix + ".solutionMode";
     private static final String keyArgs = prefix + ".args";
@@ -34,9 +39,12 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
     private static final String keyDebugReach = prefix + ".debugReach";
     private static final String keyDebugCores = prefix + ".debugCores";
     private static final String keyConformationReportStyle = prefix + ".conformationReportStyle";
+    private static final String keyUseResultCache = prefix + ".useResultCache";
+    private static final String keyResultCacheSize = prefix + ".resultCacheSize";
 
     private static final String defaultCommand = BackendUtils.getToolPath(COMMAND_DIRECTORY, "mpsat");
     private static final int defaultThreadCount = 8;
+    private static final int defaultParallelism = 0;
     private static final boolean defaultReplicateSelfloopPlaces = true;
     private static final SolutionMode defaultSolutionMode = SolutionMode.MINIMUM_COST;
     private static final String defaultArgs = "";
@@ -46,9 +54,12 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
     private static final Boolean defaultDebugReach = false;
     private static final Boolean defaultDebugCores = false;
     private static final ConformationReportStyle defaultConformationReportStyle = ConformationReportStyle.TABLE;
+    private static final Boolean defaultUseResultCache = false;
+    private static final int defaultResultCacheSize = 256;
 
     private static String command = defaultCommand;
     private static int threadCount = defaultThreadCount;
+    private static int parallelism = defaultParallelism;
     private static boolean replicateSelfloopPlaces = defaultReplicateSelfloopPlaces;
     private static SolutionMode solutionMode = defaultSolutionMode;
     private static String args = defaultArgs;
@@ -58,6 +69,9 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
     private static Boolean debugReach = defaultDebugReach;
     private static Boolean debugCores = defaultDebugCores;
     private static ConformationReportStyle conformationReportStyle = defaultConformationReportStyle;
+    private static Boolean useResultCache = defaultUseResultCache;
+    private static int resultCacheSize = defaultResultCacheSize;
+    private static ExternalProcessCache resultCache = null;
 
     static {
         commandProperty = new PropertyDeclaration<>(String.class,
@@ -72,6 +86,11 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
                 MpsatVerificationSettings::setThreadCount,
                 MpsatVerificationSettings::getThreadCount));
 
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                "Number of properties checked in parallel (0 for automatic)",
+                MpsatVerificationSettings::setParallelism,
+                MpsatVerificationSettings::getParallelism));
+
         properties.add(new PropertyDeclaration<>(Boolean.class,
                 "Replicate places with multiple self-loops for unfolding (-l parameter)",
                 MpsatVerificationSettings::setReplicateSelfloopPlaces,
@@ -116,6 +135,16 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
                 "Report style for conformation violation",
                 MpsatVerificationSettings::setConformationReportStyle,
                 MpsatVerificationSettings::getConformationReportStyle));
+
+        properties.add(new PropertyDeclaration<>(Boolean.class,
+                "Reuse results of identical MPSat runs",
+                MpsatVerificationSettings::setUseResultCache,
+                MpsatVerificationSettings::getUseResultCache));
+
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                "Size limit of the result cache (MB)",
+                MpsatVerificationSettings::setResultCacheSize,
+                MpsatVerificationSettings::getResultCacheSize));
     }
 
     @Override
@@ -127,6 +156,7 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
     public void load(Config config) {
         setCommand(config.getString(keyCommand, defaultCommand));
         setThreadCount(config.getInt(keyThreadCount, defaultThreadCount));
+        setParallelism(config.getInt(keyParallelism, defaultParallelism));
         setReplicateSelfloopPlaces(config.getBoolean(keyReplicateSelfloopPlaces, defaultReplicateSelfloopPlaces));
         setSolutionMode(config.getEnum(keySolutionMode, SolutionMode.class, defaultSolutionMode));
         setArgs(config.getString(keyArgs, defaultArgs));
@@ -136,12 +166,15 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
         setDebugReach(config.getBoolean(keyDebugReach, defaultDebugReach));
         setDebugCores(config.getBoolean(keyDebugCores, defaultDebugCores));
         setConformationReportStyle(config.getEnum(keyConformationReportStyle, ConformationReportStyle.class, defaultConformationReportStyle));
+        setUseResultCache(config.getBoolean(keyUseResultCache, defaultUseResultCache));
+        setResultCacheSize(config.getInt(keyResultCacheSize, defaultResultCacheSize));
     }
 
     @Override
     public void save(Config config) {
         config.set(keyCommand, getCommand());
         config.setInt(keyThreadCount, getThreadCount());
+        config.setInt(keyParallelism, getParallelism());
         config.setBoolean(keyReplicateSelfloopPlaces, getReplicateSelfloopPlaces());
         config.setEnum(keySolutionMode, getSolutionMode());
         config.set(keyArgs, getArgs());
@@ -151,6 +184,8 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
         config.setBoolean(keyDebugReach, getDebugReach());
         config.setBoolean(keyDebugCores, getDebugCores());
         config.setEnum(keyConformationReportStyle, getConformationReportStyle());
+        config.setBoolean(keyUseResultCache, getUseResultCache());
+        config.setInt(keyResultCacheSize, getResultCacheSize());
     }
 
     @Override
@@ -189,6 +224,16 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
         }
     }
 
+    public static int getParallelism() {
+        return parallelism;
+    }
+
+    public static void setParallelism(int value) {
+        if (value >= 0) {
+            parallelism = value;
+        }
+    }
+
     public static boolean getReplicateSelfloopPlaces() {
         return replicateSelfloopPlaces;
     }
@@ -265,4 +310,37 @@ public class MpsatVerificationSettings extends AbstractToolSettings {
         return conformationReportStyle;
     }
 
+    public static Boolean getUseResultCache() {
+        return useResultCache;
+    }
+
+    public static void setUseResultCache(Boolean value) {
+        useResultCache = value;
+    }
+
+    public static int getResultCacheSize() {
+        return resultCacheSize;
+    }
+
+    public static void setResultCacheSize(int value) {
+        if (value >= 0) {
+            resultCacheSize = value;
+        }
+    }
+
+    /**
+     * Returns the cache for MPSat results, or null if reuse of the results is disabled.
+     */
+    public static synchronized ExternalProcessCache getResultCache() {
+        if (!useResultCache) {
+            return null;
+        }
+        long sizeLimit = resultCacheSize * MEGABYTE;
+        if ((resultCache == null) || (resultCache.getSizeLimit() != sizeLimit)) {
+            File directory = new File(Framework.CACHE_DIRECTORY_PATH, RESULT_CACHE_DIRECTORY_NAME);
+            resultCache = new ExternalProcessCache(directory, sizeLimit);
+        }
+        return resultCache;
+    }
+
 }
@@ -1,6 +1,7 @@
 package org.workcraft.plugins.mpsat_verification.tasks;
 
 import org.workcraft.Framework;
+import org.workcraft.plugins.mpsat_verification.MpsatVerificationSettings;
 import org.workcraft.plugins.mpsat_verification.presets.VerificationParameters;
 import org.workcraft.plugins.mpsat_verification.utils.MpsatUtils;
 import org.workcraft.plugins.petri.PetriModel;
@@ -8,12 +9,16 @@ import org.workcraft.plugins.stg.interop.StgFormat;
 import org.workcraft.plugins.stg.utils.StgUtils;
 import org.workcraft.tasks.*;
 import org.workcraft.utils.FileUtils;
+import org.workcraft.utils.LogUtils;
+import org.workcraft.utils.TextUtils;
 import org.workcraft.utils.WorkspaceUtils;
 import org.workcraft.workspace.WorkspaceEntry;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class CombinedChainTask implements Task<CombinedChainOutput> {
 
@@ -94,23 +99,145 @@ public class CombinedChainTask implements Task<CombinedChainOutput> {
 
         File unfoldingFile = payload.getMpsatResult().getPayload().getUnfoldingFile();
         File netFile = new File(directory, NET_FILE_NAME);
+        PropertyChecks checks = new PropertyChecks(unfoldingFile, netFile, directory, monitor);
+        checks.start();
         ArrayList<Result<? extends MpsatOutput>> mpsatResultList = new ArrayList<>(verificationParametersList.size());
-        for (VerificationParameters verificationParameters : verificationParametersList) {
-            MpsatTask mpsatTask = new MpsatTask(unfoldingFile, netFile, verificationParameters, directory);
-            Result<? extends MpsatOutput>  mpsatResult = Framework.getInstance().getTaskManager().execute(
-                    mpsatTask, "Running verification [MPSat]", new SubtaskMonitor<>(monitor));
-
+        for (int index = 0; index < verificationParametersList.size(); index++) {
+            Result<? extends MpsatOutput> mpsatResult = checks.getResult(index);
             mpsatResultList.add(mpsatResult);
-
             // Return results at the first failure or property violation
-            boolean inversePredicate = verificationParameters.isInversePredicate();
-            if (!mpsatResult.isSuccess() || (mpsatResult.getPayload().hasSolutions() == inversePredicate)) {
+            if (isFailureOrViolation(index, mpsatResult)) {
+                checks.finish();
                 return new Result<>(mpsatResult.getOutcome(), payload.applyMpsatResultList(mpsatResultList));
             }
         }
+        checks.finish();
         return Result.success(payload.applyMpsatResultList(mpsatResultList));
     }
 
+    private boolean isFailureOrViolation(int index, Result<? extends MpsatOutput> mpsatResult) {
+        boolean inversePredicate = verificationParametersList.get(index).isInversePredicate();
+        return !mpsatResult.isSuccess() || (mpsatResult.getPayload().hasSolutions() == inversePredicate);
+    }
+
+    private static int getParallelism() {
+        // Additional parameters are requested by a dialog for each check, so the checks are run one by one
+        if (MpsatVerificationSettings.getAdvancedMode()) {
+            return 1;
+        }
+        int parallelism = MpsatVerificationSettings.getParallelism();
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Independent checks of the properties on the shared unfolding prefix, which are run concurrently up to the
+     * parallelism limit. Only the first failure or violation in the list order is reported, therefore the checks
+     * following a found violation are cancelled (or not started).
+     */
+    private final class PropertyChecks {
+        private final File unfoldingFile;
+        private final File netFile;
+        private final File directory;
+        private final ProgressMonitor<?> monitor;
+        private final int parallelism;
+        private final List<CompletableFuture<Result<? extends MpsatOutput>>> results = new ArrayList<>();
+        private final long[] durations;
+        private final AtomicInteger nextIndex = new AtomicInteger();
+        private final AtomicInteger violationIndex;
+
+        PropertyChecks(File unfoldingFile, File netFile, File directory, ProgressMonitor<?> monitor) {
+            this.unfoldingFile = unfoldingFile;
+            this.netFile = netFile;
+            this.directory = directory;
+            this.monitor = monitor;
+            int count = verificationParametersList.size();
+            parallelism = Math.max(1, Math.min(getParallelism(), count));
+            for (int index = 0; index < count; index++) {
+                results.add(new CompletableFuture<>());
+            }
+            durations = new long[count];
+            violationIndex = new AtomicInteger(count);
+        }
+
+        void start() {
+            for (int i = 0; i < parallelism; i++) {
+                startNext();
+            }
+        }
+
+        private void startNext() {
+            int index;
+            while ((index = nextIndex.getAndIncrement()) < results.size()) {
+                if (isCancelled(index)) {
+                    results.get(index).complete(Result.cancel());
+                } else {
+                    submit(index);
+                    break;
+                }
+            }
+        }
+
+        private boolean isCancelled(int index) {
+            return (index > violationIndex.get()) || monitor.isCancelRequested();
+        }
+
+        private void submit(int index) {
+            VerificationParameters verificationParameters = verificationParametersList.get(index);
+            File checkDirectory = directory;
+            if (parallelism > 1) {
+                // Separate directories prevent clashes of the assertion and solution files of concurrent checks
+                checkDirectory = new File(directory, "property" + index);
+                checkDirectory.mkdir();
+            }
+            MpsatTask mpsatTask = new MpsatTask(unfoldingFile, netFile, verificationParameters, checkDirectory);
+            Task<MpsatOutput> timedTask = taskMonitor -> {
+                long startTime = System.currentTimeMillis();
+                try {
+                    return mpsatTask.run(taskMonitor);
+                } finally {
+                    durations[index] = System.currentTimeMillis() - startTime;
+                }
+            };
+            SubtaskMonitor<MpsatOutput> subtaskMonitor = new SubtaskMonitor<>(monitor) {
+                @Override
+                public boolean isCancelRequested() {
+                    return isCancelled(index);
+                }
+            };
+            Framework.getInstance().getTaskManager()
+                    .submit(timedTask, "Running verification [MPSat]", subtaskMonitor)
+                    .whenComplete((result, exception) -> {
+                        Result<? extends MpsatOutput> mpsatResult = (exception == null) ? result
+                                : Result.exception(exception);
+
+                        if (isFailureOrViolation(index, mpsatResult)) {
+                            violationIndex.accumulateAndGet(index, Math::min);
+                        }
+                        results.get(index).complete(mpsatResult);
+                        startNext();
+                    });
+        }
+
+        Result<? extends MpsatOutput> getResult(int index) {
+            return results.get(index).join();
+        }
+
+        void finish() {
+            // Cancel the remaining checks and wait for them, so their processes do not outlive the chain
+            violationIndex.accumulateAndGet(-1, Math::min);
+            for (int index = 0; index < results.size(); index++) {
+                Result<? extends MpsatOutput> result = results.get(index).join();
+                if (!result.isCancel()) {
+                    String description = verificationParametersList.get(index).getDescription();
+                    String propertyName = (description == null) || description.isEmpty()
+                            ? "Property #" + (index + 1) : TextUtils.truncateLine(description);
+
+                    LogUtils.logInfo(String.format("%s checked in %.3fs", propertyName, durations[index] / 1000.0));
+                }
+            }
+        }
+    }
+
     private Result<? extends CombinedChainOutput> runExtraTask(CombinedChainOutput payload,
             ProgressMonitor<? super CombinedChainOutput> monitor) {
 
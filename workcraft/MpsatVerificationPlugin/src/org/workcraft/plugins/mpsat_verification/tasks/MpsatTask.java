@@ -2,6 +2,7 @@ package org.workcraft.plugins.mpsat_verification.tasks;
 
 import org.workcraft.plugins.mpsat_verification.MpsatVerificationSettings;
 import org.workcraft.plugins.mpsat_verification.presets.VerificationParameters;
+import org.workcraft.plugins.mpsat_verification.utils.MpsatUtils;
 import org.workcraft.plugins.stg.Stg;
 import org.workcraft.plugins.stg.utils.ToggleUtils;
 import org.workcraft.plugins.stg.utils.StgUtils;
@@ -97,7 +98,8 @@ public class MpsatTask implements Task<MpsatOutput> {
 
         boolean printStdout = MpsatVerificationSettings.getPrintStdout();
         boolean printStderr = MpsatVerificationSettings.getPrintStderr();
-        ExternalProcessTask task = new ExternalProcessTask(command, directory, printStdout, printStderr);
+        ExternalProcessTask processTask = new ExternalProcessTask(command, directory, printStdout, printStderr);
+        Task<ExternalProcessOutput> task = MpsatUtils.getCachedTask(processTask, solutionsFile);
         SubtaskMonitor<? super ExternalProcessOutput> subtaskMonitor = new SubtaskMonitor<>(monitor);
         Result<? extends ExternalProcessOutput> result = task.run(subtaskMonitor);
 
@@ -1,6 +1,7 @@
 package org.workcraft.plugins.mpsat_verification.tasks;
 
 import org.workcraft.plugins.mpsat_verification.MpsatVerificationSettings;
+import org.workcraft.plugins.mpsat_verification.utils.MpsatUtils;
 import org.workcraft.tasks.*;
 import org.workcraft.utils.ExecutableUtils;
 import org.workcraft.utils.TextUtils;
@@ -55,7 +56,8 @@ public class MpsatUnfoldingTask implements Task<MpsatOutput> {
 
         boolean printStdout = MpsatVerificationSettings.getPrintStdout();
         boolean printStderr = MpsatVerificationSettings.getPrintStderr();
-        ExternalProcessTask task = new ExternalProcessTask(command, directory, printStdout, printStderr);
+        ExternalProcessTask processTask = new ExternalProcessTask(command, directory, printStdout, printStderr);
+        Task<ExternalProcessOutput> task = MpsatUtils.getCachedTask(processTask, unfoldingFile);
         SubtaskMonitor<? super ExternalProcessOutput> subtaskMonitor = new SubtaskMonitor<>(monitor);
         Result<? extends ExternalProcessOutput> result = task.run(subtaskMonitor);
 
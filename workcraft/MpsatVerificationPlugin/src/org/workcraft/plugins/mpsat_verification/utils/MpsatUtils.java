@@ -4,24 +4,37 @@ import org.workcraft.Framework;
 import org.workcraft.dom.references.ReferenceHelper;
 import org.workcraft.gui.controls.CodePanel;
 import org.workcraft.gui.properties.PropertyHelper;
+import org.workcraft.plugins.mpsat_verification.MpsatVerificationSettings;
 import org.workcraft.plugins.mpsat_verification.presets.VerificationParameters;
 import org.workcraft.plugins.mpsat_verification.tasks.MpsatSyntaxCheckTask;
 import org.workcraft.plugins.stg.Mutex;
 import org.workcraft.plugins.stg.Stg;
 import org.workcraft.plugins.stg.StgPlace;
 import org.workcraft.plugins.stg.utils.MutexUtils;
-import org.workcraft.tasks.ExternalProcessOutput;
-import org.workcraft.tasks.Result;
-import org.workcraft.tasks.TaskManager;
+import org.workcraft.tasks.*;
 import org.workcraft.utils.*;
 import org.workcraft.workspace.WorkspaceEntry;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 
 public class MpsatUtils {
 
+    /**
+     * Wraps the MPSat process task, so its result is reused if an identical run has been cached.
+     * Only the runs with return code 0 or 1 (i.e. the property holds or is violated) are cached.
+     */
+    public static Task<ExternalProcessOutput> getCachedTask(ExternalProcessTask task, File outputFile) {
+        ExternalProcessCache cache = MpsatVerificationSettings.getResultCache();
+        if (cache == null) {
+            return task;
+        }
+        return new CachedExternalProcessTask(cache, task, Collections.singletonList(outputFile),
+                returnCode -> (returnCode == 0) || (returnCode == 1));
+    }
+
     public static String getToolchainDescription(String title) {
         String result = "MPSat tool chain";
         if ((title != null) && !title.isEmpty()) {
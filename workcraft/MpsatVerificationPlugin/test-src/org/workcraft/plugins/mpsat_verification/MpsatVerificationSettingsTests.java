@@ -26,6 +26,9 @@ class MpsatVerificationSettingsTests {
         Assertions.assertEquals(Config.toString(MpsatVerificationSettings.getThreadCount()),
                 framework.getConfigVar(prefix + ".threadCount", false));
 
+        Assertions.assertEquals(Config.toString(MpsatVerificationSettings.getParallelism()),
+                framework.getConfigVar(prefix + ".parallelism", false));
+
         Assertions.assertEquals(Config.toString(MpsatVerificationSettings.getReplicateSelfloopPlaces()),
                 framework.getConfigVar(prefix + ".replicateSelfloopPlaces", false));
 
@@ -52,6 +55,12 @@ class MpsatVerificationSettingsTests {
 
         Assertions.assertEquals(Config.toString(MpsatVerificationSettings.getConformationReportStyle()),
                 framework.getConfigVar(prefix + ".conformationReportStyle", false));
+
+        Assertions.assertEquals(Config.toString(MpsatVerificationSettings.getUseResultCache()),
+                framework.getConfigVar(prefix + ".useResultCache", false));
+
+        Assertions.assertEquals(Config.toString(MpsatVerificationSettings.getResultCacheSize()),
+                framework.getConfigVar(prefix + ".resultCacheSize", false));
     }
 
 }
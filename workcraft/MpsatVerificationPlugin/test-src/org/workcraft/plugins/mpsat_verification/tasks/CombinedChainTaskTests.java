@@ -0,0 +1,131 @@
+package org.workcraft.plugins.mpsat_verification.tasks;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.workcraft.Framework;
+import org.workcraft.exceptions.DeserialisationException;
+import org.workcraft.plugins.mpsat_verification.MpsatVerificationSettings;
+import org.workcraft.plugins.mpsat_verification.presets.VerificationMode;
+import org.workcraft.plugins.mpsat_verification.presets.VerificationParameters;
+import org.workcraft.tasks.BasicProgressMonitor;
+import org.workcraft.tasks.Result;
+import org.workcraft.utils.DesktopApi;
+import org.workcraft.utils.FileUtils;
+import org.workcraft.utils.PackageUtils;
+import org.workcraft.workspace.WorkspaceEntry;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+
+class CombinedChainTaskTests {
+
+    // Stub of MPSat: the REACH file of a check tells whether the property holds or is violated,
+    // and for how many seconds the check takes
+    private static final String STUB_MPSAT_SCRIPT = "#!/bin/sh\n"
+            + "for arg; do\n"
+            + "  last=\"$arg\"\n"
+            + "  case \"$arg\" in -F=*) reach=\"${arg#-F=}\";; esac\n"
+            + "done\n"
+            + "if [ \"$1\" = \"-Up\" ]; then\n"
+            + "  echo unfolding > \"$last\"\n"
+            + "  exit 0\n"
+            + "fi\n"
+            + "set -- $(cat \"$reach\")\n"
+            + "sleep \"$2\"\n"
+            + "if [ \"$1\" = \"violate\" ]; then\n"
+            + "  echo '<result execution_successful=\"true\"><solution><trace/></solution></result>' > \"$last\"\n"
+            + "else\n"
+            + "  echo '<result execution_successful=\"true\"/>' > \"$last\"\n"
+            + "fi\n";
+
+    private static String savedCommand;
+    private static Boolean savedAdvancedMode;
+    private static Boolean savedUseResultCache;
+    private static int savedParallelism;
+
+    @BeforeAll
+    static void init() throws IOException {
+        final Framework framework = Framework.getInstance();
+        framework.init();
+        savedCommand = MpsatVerificationSettings.getCommand();
+        savedAdvancedMode = MpsatVerificationSettings.getAdvancedMode();
+        savedUseResultCache = MpsatVerificationSettings.getUseResultCache();
+        savedParallelism = MpsatVerificationSettings.getParallelism();
+
+        Assumptions.assumeFalse(DesktopApi.getOs().isWindows());
+        File directory = FileUtils.createTempDirectory();
+        FileUtils.deleteOnExitRecursively(directory);
+        File stubMpsat = new File(directory, "mpsat");
+        FileUtils.writeAllText(stubMpsat, STUB_MPSAT_SCRIPT);
+        Assumptions.assumeTrue(stubMpsat.setExecutable(true));
+        MpsatVerificationSettings.setCommand(stubMpsat.getAbsolutePath());
+        MpsatVerificationSettings.setAdvancedMode(false);
+        MpsatVerificationSettings.setUseResultCache(false);
+    }
+
+    @AfterAll
+    static void finish() {
+        // Restore the settings changed by the stub MPSat and the tests
+        MpsatVerificationSettings.setCommand(savedCommand);
+        MpsatVerificationSettings.setAdvancedMode(savedAdvancedMode);
+        MpsatVerificationSettings.setUseResultCache(savedUseResultCache);
+        MpsatVerificationSettings.setParallelism(savedParallelism);
+    }
+
+    @Test
+    void testFirstViolationReported() throws DeserialisationException {
+        MpsatVerificationSettings.setParallelism(2);
+        // The second violation is found first, but the first violation in the list order is reported
+        List<Result<? extends MpsatOutput>> mpsatResults = verify("hold 0", "violate 0.5", "violate 0", "hold 0");
+        Assertions.assertEquals(2, mpsatResults.size());
+        Assertions.assertFalse(mpsatResults.get(0).getPayload().hasSolutions());
+        Assertions.assertTrue(mpsatResults.get(1).getPayload().hasSolutions());
+    }
+
+    @Test
+    void testRemainingChecksCancelled() throws DeserialisationException {
+        MpsatVerificationSettings.setParallelism(3);
+        long startTime = System.currentTimeMillis();
+        List<Result<? extends MpsatOutput>> mpsatResults = verify("hold 0", "violate 0.2", "hold 30", "hold 30");
+        Assertions.assertTrue(System.currentTimeMillis() - startTime < 20000);
+        Assertions.assertEquals(2, mpsatResults.size());
+        Assertions.assertTrue(mpsatResults.get(1).getPayload().hasSolutions());
+    }
+
+    @Test
+    void testAllPropertiesHold() throws DeserialisationException {
+        for (int parallelism = 1; parallelism <= 3; parallelism++) {
+            MpsatVerificationSettings.setParallelism(parallelism);
+            List<Result<? extends MpsatOutput>> mpsatResults = verify("hold 0.1", "hold 0", "hold 0.2");
+            Assertions.assertEquals(3, mpsatResults.size());
+            for (Result<? extends MpsatOutput> mpsatResult : mpsatResults) {
+                Assertions.assertTrue(mpsatResult.isSuccess());
+                Assertions.assertFalse(mpsatResult.getPayload().hasSolutions());
+            }
+        }
+    }
+
+    private List<Result<? extends MpsatOutput>> verify(String... expressions) throws DeserialisationException {
+        final Framework framework = Framework.getInstance();
+        String workName = PackageUtils.getPackagePath(MpsatVerificationSettings.class, "charge.stg.work");
+
+        URL url = ClassLoader.getSystemClassLoader().getResource(workName);
+        WorkspaceEntry we = framework.loadWork(url.getFile());
+        List<VerificationParameters> verificationParametersList = new ArrayList<>();
+        for (String expression : expressions) {
+            verificationParametersList.add(new VerificationParameters(expression, VerificationMode.REACHABILITY,
+                    0, VerificationParameters.SolutionMode.MINIMUM_COST, 0, expression, true));
+        }
+        CombinedChainTask task = new CombinedChainTask(we, verificationParametersList);
+        Result<? extends CombinedChainOutput> result = task.run(new BasicProgressMonitor<>());
+        framework.closeWork(we);
+        return result.getPayload().getMpsatResultList();
+    }
+
+}
@@ -8,8 +8,8 @@ import org.workcraft.dom.math.MathNode;
 import org.workcraft.exceptions.InvalidConnectionException;
 import org.workcraft.serialisation.References;
 import org.workcraft.types.MultiSet;
-import org.workcraft.utils.Hierarchy;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
@@ -50,17 +50,17 @@ public class Petri extends AbstractMathModel implements PetriModel {
 
     @Override
     public final Collection<Place> getPlaces() {
-        return Hierarchy.getDescendantsOfType(getRoot(), Place.class);
+        return new ArrayList<>(getNodesOfType(Place.class));
     }
 
     @Override
     public final Collection<Transition> getTransitions() {
-        return Hierarchy.getDescendantsOfType(getRoot(), Transition.class);
+        return new ArrayList<>(getNodesOfType(Transition.class));
     }
 
     @Override
     public final Collection<MathConnection> getConnections() {
-        return Hierarchy.getDescendantsOfType(getRoot(), MathConnection.class);
+        return new ArrayList<>(getNodesOfType(MathConnection.class));
     }
 
     @Override
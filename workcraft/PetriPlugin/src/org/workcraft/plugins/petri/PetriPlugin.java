@@ -28,6 +28,7 @@ public class PetriPlugin implements Plugin {
         final Framework framework = Framework.getInstance();
         final PluginManager pm = framework.getPluginManager();
         pm.registerModelDescriptor(PetriDescriptor.class);
+        pm.registerSettings(PetriSettings.class);
 
         pm.registerXmlSerialiser(ReadArcSerialiser.class);
         pm.registerXmlDeserialiser(ReadArcDeserialiser.class);
@@ -53,6 +54,11 @@ public class PetriPlugin implements Plugin {
 
         ScriptableCommandUtils.registerCommand(PetriStatisticsCommand.class, "statPetri",
                 "advanced complexity estimates for the Petri net 'work'");
+        ScriptableCommandUtils.registerCommand(ReachabilityStatisticsCommand.class, "statPetriReachability",
+                "reachability graph statistics (states, arcs, deadlocks, max tokens per place) for the Petri net (or derived model, e.g.STG) 'work'");
+
+        ScriptableCommandUtils.registerCommand(ReachabilityDeadlockVerificationCommand.class, "checkPetriDeadlockFreeness",
+                "check the Petri net (or derived model, e.g.STG) 'work' for deadlock freeness by in-process state space exploration");
     }
 
     private void initCompatibilityManager() {
@@ -0,0 +1,148 @@
+package org.workcraft.plugins.petri;
+
+import org.workcraft.Config;
+import org.workcraft.gui.properties.PropertyDeclaration;
+import org.workcraft.gui.properties.PropertyDescriptor;
+import org.workcraft.plugins.builtin.settings.AbstractModelSettings;
+import org.workcraft.plugins.petri.engine.ReachabilityExplorer.SearchOrder;
+
+import java.util.LinkedList;
+import java.util.List;
+
+public class PetriSettings extends AbstractModelSettings {
+
+    private static final LinkedList<PropertyDescriptor> properties = new LinkedList<>();
+    private static final String prefix = "PetriSettings";
+
+    private static final String keyReachabilitySearchOrder = prefix + ".reachabilitySearchOrder";
+    private static final String keyReachabilityStateLimit = prefix + ".reachabilityStateLimit";
+    private static final String keyReachabilityTokenLimit = prefix + ".reachabilityTokenLimit";
+    private static final String keyReachabilityTimeout = prefix + ".reachabilityTimeout";
+    private static final String keyReachabilityReduction = prefix + ".reachabilityReduction";
+    private static final String keyReachabilityThreadCount = prefix + ".reachabilityThreadCount";
+
+    private static final SearchOrder defaultReachabilitySearchOrder = SearchOrder.BREADTH_FIRST;
+    private static final int defaultReachabilityStateLimit = 10_000_000;
+    private static final int defaultReachabilityTokenLimit = 255;
+    private static final int defaultReachabilityTimeout = 60;
+    private static final boolean defaultReachabilityReduction = true;
+    private static final int defaultReachabilityThreadCount = 0;
+
+    private static SearchOrder reachabilitySearchOrder = defaultReachabilitySearchOrder;
+    private static int reachabilityStateLimit = defaultReachabilityStateLimit;
+    private static int reachabilityTokenLimit = defaultReachabilityTokenLimit;
+    private static int reachabilityTimeout = defaultReachabilityTimeout;
+    private static boolean reachabilityReduction = defaultReachabilityReduction;
+    private static int reachabilityThreadCount = defaultReachabilityThreadCount;
+
+    static {
+        properties.add(new PropertyDeclaration<>(SearchOrder.class,
+                "Search order for reachability analysis (depth-first is always single-threaded)",
+                PetriSettings::setReachabilitySearchOrder,
+                PetriSettings::getReachabilitySearchOrder));
+
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                "Maximum number of states for reachability analysis (0 for unlimited)",
+                PetriSettings::setReachabilityStateLimit,
+                PetriSettings::getReachabilityStateLimit));
+
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                "Maximum number of tokens per place for reachability analysis",
+                PetriSettings::setReachabilityTokenLimit,
+                PetriSettings::getReachabilityTokenLimit));
+
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                "Timeout for reachability analysis in seconds (0 for unlimited)",
+                PetriSettings::setReachabilityTimeout,
+                PetriSettings::getReachabilityTimeout));
+
+        properties.add(new PropertyDeclaration<>(Boolean.class,
+                "Use stubborn set reduction for in-process verification",
+                PetriSettings::setReachabilityReduction,
+                PetriSettings::getReachabilityReduction));
+
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                "Number of threads for breadth-first reachability analysis (0 for all processors)",
+                PetriSettings::setReachabilityThreadCount,
+                PetriSettings::getReachabilityThreadCount));
+    }
+
+    @Override
+    public List<PropertyDescriptor> getDescriptors() {
+        return properties;
+    }
+
+    @Override
+    public void load(Config config) {
+        setReachabilitySearchOrder(config.getEnum(keyReachabilitySearchOrder, SearchOrder.class, defaultReachabilitySearchOrder));
+        setReachabilityStateLimit(config.getInt(keyReachabilityStateLimit, defaultReachabilityStateLimit));
+        setReachabilityTokenLimit(config.getInt(keyReachabilityTokenLimit, defaultReachabilityTokenLimit));
+        setReachabilityTimeout(config.getInt(keyReachabilityTimeout, defaultReachabilityTimeout));
+        setReachabilityReduction(config.getBoolean(keyReachabilityReduction, defaultReachabilityReduction));
+        setReachabilityThreadCount(config.getInt(keyReachabilityThreadCount, defaultReachabilityThreadCount));
+    }
+
+    @Override
+    public void save(Config config) {
+        config.setEnum(keyReachabilitySearchOrder, getReachabilitySearchOrder());
+        config.setInt(keyReachabilityStateLimit, getReachabilityStateLimit());
+        config.setInt(keyReachabilityTokenLimit, getReachabilityTokenLimit());
+        config.setInt(keyReachabilityTimeout, getReachabilityTimeout());
+        config.setBoolean(keyReachabilityReduction, getReachabilityReduction());
+        config.setInt(keyReachabilityThreadCount, getReachabilityThreadCount());
+    }
+
+    @Override
+    public String getName() {
+        return "Petri net";
+    }
+
+    public static SearchOrder getReachabilitySearchOrder() {
+        return reachabilitySearchOrder;
+    }
+
+    public static void setReachabilitySearchOrder(SearchOrder value) {
+        reachabilitySearchOrder = value;
+    }
+
+    public static int getReachabilityStateLimit() {
+        return reachabilityStateLimit;
+    }
+
+    public static void setReachabilityStateLimit(int value) {
+        reachabilityStateLimit = Math.max(0, value);
+    }
+
+    public static int getReachabilityTokenLimit() {
+        return reachabilityTokenLimit;
+    }
+
+    public static void setReachabilityTokenLimit(int value) {
+        reachabilityTokenLimit = Math.max(1, value);
+    }
+
+    public static int getReachabilityTimeout() {
+        return reachabilityTimeout;
+    }
+
+    public static void setReachabilityTimeout(int value) {
+        reachabilityTimeout = Math.max(0, value);
+    }
+
+    public static boolean getReachabilityReduction() {
+        return reachabilityReduction;
+    }
+
+    public static void setReachabilityReduction(boolean value) {
+        reachabilityReduction = value;
+    }
+
+    public static int getReachabilityThreadCount() {
+        return reachabilityThreadCount;
+    }
+
+    public static void setReachabilityThreadCount(int value) {
+        reachabilityThreadCount = Math.max(0, value);
+    }
+
+}
@@ -0,0 +1,62 @@
+package org.workcraft.plugins.petri.commands;
+
+import org.workcraft.commands.AbstractVerificationCommand;
+import org.workcraft.commands.ScriptableCommand;
+import org.workcraft.plugins.petri.PetriModel;
+import org.workcraft.plugins.petri.PetriSettings;
+import org.workcraft.plugins.petri.engine.AbstractReachabilityExplorer;
+import org.workcraft.plugins.petri.engine.CompiledNet;
+import org.workcraft.plugins.petri.engine.ReachabilityResult;
+import org.workcraft.plugins.petri.utils.ReachabilityUtils;
+import org.workcraft.traces.Trace;
+import org.workcraft.utils.DialogUtils;
+import org.workcraft.utils.WorkspaceUtils;
+import org.workcraft.workspace.WorkspaceEntry;
+
+public class ReachabilityDeadlockVerificationCommand extends AbstractVerificationCommand
+        implements ScriptableCommand<Boolean> {
+
+    private static final String TITLE = "Verification result";
+
+    @Override
+    public String getDisplayName() {
+        return "Deadlock freeness [explicit state]";
+    }
+
+    @Override
+    public boolean isApplicableTo(WorkspaceEntry we) {
+        return WorkspaceUtils.isApplicable(we, PetriModel.class);
+    }
+
+    @Override
+    public void run(WorkspaceEntry we) {
+        execute(we);
+    }
+
+    @Override
+    public Boolean execute(WorkspaceEntry we) {
+        if (!isApplicableTo(we)) {
+            return null;
+        }
+        PetriModel net = WorkspaceUtils.getAs(we, PetriModel.class);
+        CompiledNet compiledNet = new CompiledNet(net);
+        AbstractReachabilityExplorer explorer = ReachabilityUtils.createExplorer(compiledNet);
+        explorer.setReduction(PetriSettings.getReachabilityReduction());
+        explorer.setStopAtDeadlock(true);
+        ReachabilityResult result = explorer.explore();
+
+        if (result.getStatus() == ReachabilityResult.Status.DEADLOCK_FOUND) {
+            Trace trace = compiledNet.getTrace(result.getTrace());
+            DialogUtils.showWarning("The model has a deadlock after the following trace:\n" + trace, TITLE);
+            return false;
+        }
+        if (result.isComplete()) {
+            DialogUtils.showInfo("The model is deadlock-free.", TITLE);
+            return true;
+        }
+        DialogUtils.showWarning("Deadlock freeness is inconclusive as exploration stopped ("
+                + result.getStatus() + ") after " + result.getStateCount() + " states.", TITLE);
+        return null;
+    }
+
+}
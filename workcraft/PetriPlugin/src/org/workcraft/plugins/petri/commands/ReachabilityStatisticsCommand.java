@@ -0,0 +1,62 @@
+package org.workcraft.plugins.petri.commands;
+
+import org.workcraft.commands.AbstractStatisticsCommand;
+import org.workcraft.plugins.petri.PetriModel;
+import org.workcraft.plugins.petri.engine.AbstractReachabilityExplorer;
+import org.workcraft.plugins.petri.engine.CompiledNet;
+import org.workcraft.plugins.petri.engine.ReachabilityResult;
+import org.workcraft.plugins.petri.utils.ReachabilityUtils;
+import org.workcraft.utils.SortUtils;
+import org.workcraft.utils.WorkspaceUtils;
+import org.workcraft.workspace.WorkspaceEntry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReachabilityStatisticsCommand extends AbstractStatisticsCommand {
+
+    @Override
+    public String getDisplayName() {
+        return "Reachability graph analysis";
+    }
+
+    @Override
+    public boolean isApplicableTo(WorkspaceEntry we) {
+        return WorkspaceUtils.isApplicable(we, PetriModel.class);
+    }
+
+    @Override
+    public String getStatistics(WorkspaceEntry we) {
+        PetriModel net = WorkspaceUtils.getAs(we, PetriModel.class);
+        CompiledNet compiledNet = new CompiledNet(net);
+        AbstractReachabilityExplorer explorer = ReachabilityUtils.createExplorer(compiledNet);
+        ReachabilityResult result = explorer.explore();
+
+        int[] maxTokens = result.getMaxTokens();
+        int bound = 0;
+        List<String> placeRefs = new ArrayList<>();
+        for (int p = 0; p < compiledNet.getPlaceCount(); p++) {
+            placeRefs.add(net.getNodeReference(compiledNet.getPlace(p)));
+            bound = Math.max(bound, maxTokens[p]);
+        }
+        List<Integer> placeIds = new ArrayList<>();
+        for (int p = 0; p < compiledNet.getPlaceCount(); p++) {
+            placeIds.add(p);
+        }
+        SortUtils.sortNatural(placeIds, placeRefs::get);
+        StringBuilder placeBounds = new StringBuilder();
+        for (int p : placeIds) {
+            placeBounds.append("\n    * ").append(placeRefs.get(p)).append(" -  ").append(maxTokens[p]);
+        }
+
+        return "Reachability graph analysis:"
+                + "\n  Exploration -  " + result.getStatus()
+                + "\n  State count -  " + result.getStateCount()
+                + "\n  Arc count -  " + result.getArcCount()
+                + "\n  Deadlock count -  " + result.getDeadlockCount()
+                + "\n  Max tokens in a place -  " + bound
+                + "\n  Max tokens per place:" + placeBounds
+                + '\n';
+    }
+
+}
@@ -0,0 +1,114 @@
+package org.workcraft.plugins.petri.engine;
+
+import java.util.function.Predicate;
+
+/**
+ * Common limits and queries of explicit-state explorers of a compiled net.
+ */
+public abstract class AbstractReachabilityExplorer {
+
+    private final CompiledNet net;
+    private int stateLimit = Integer.MAX_VALUE;
+    private int tokenLimit = 255;
+    private long timeout = 0;
+    private boolean useReduction = false;
+    private boolean stopAtDeadlock = false;
+    private Predicate<int[]> target = null;
+    private int[] targetPlaces = null;
+
+    public AbstractReachabilityExplorer(CompiledNet net) {
+        this.net = net;
+    }
+
+    public CompiledNet getNet() {
+        return net;
+    }
+
+    /**
+     * Maximum number of states to discover, non-positive value for no limit.
+     */
+    public void setStateLimit(int value) {
+        stateLimit = value > 0 ? value : Integer.MAX_VALUE;
+    }
+
+    public int getStateLimit() {
+        return stateLimit;
+    }
+
+    /**
+     * Maximum number of tokens in a place; exploration stops if it is exceeded.
+     */
+    public void setTokenLimit(int value) {
+        tokenLimit = Math.max(1, value);
+    }
+
+    public int getTokenLimit() {
+        return tokenLimit;
+    }
+
+    /**
+     * Exploration time limit in milliseconds, non-positive value for no limit.
+     */
+    public void setTimeout(long value) {
+        timeout = value;
+    }
+
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Use stubborn set partial order reduction.
+     */
+    public void setReduction(boolean value) {
+        useReduction = value;
+    }
+
+    public boolean getReduction() {
+        return useReduction;
+    }
+
+    /**
+     * Stop at the first deadlock and report a trace leading to it.
+     */
+    public void setStopAtDeadlock(boolean value) {
+        stopAtDeadlock = value;
+    }
+
+    public boolean getStopAtDeadlock() {
+        return stopAtDeadlock;
+    }
+
+    /**
+     * Search for a marking satisfying the predicate, which may only depend on the given places
+     * (ids of the compiled net). Exploration stops at the first such marking and reports a trace
+     * leading to it. Pass null predicate to clear the target.
+     */
+    public void setTarget(Predicate<int[]> predicate, int[] places) {
+        target = predicate;
+        targetPlaces = predicate == null ? null : places.clone();
+    }
+
+    public Predicate<int[]> getTarget() {
+        return target;
+    }
+
+    public int[] getTargetPlaces() {
+        return targetPlaces;
+    }
+
+    /**
+     * Creates stubborn set reduction for the net if it is enabled, or returns null otherwise.
+     */
+    protected StubbornSetReduction createReduction() {
+        if (!useReduction) {
+            return null;
+        }
+        StubbornSetReduction result = new StubbornSetReduction(net);
+        result.setVisiblePlaces(targetPlaces);
+        return result;
+    }
+
+    public abstract ReachabilityResult explore();
+
+}
@@ -0,0 +1,402 @@
+package org.workcraft.plugins.petri.engine;
+
+import org.workcraft.dom.math.MathConnection;
+import org.workcraft.dom.math.MathNode;
+import org.workcraft.plugins.petri.PetriModel;
+import org.workcraft.plugins.petri.Place;
+import org.workcraft.plugins.petri.Transition;
+import org.workcraft.traces.Trace;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of a Petri net structure where places and transitions are
+ * packed into dense integer identifiers and arcs are stored in compressed sparse
+ * row (CSR) arrays. Markings are plain int[] vectors indexed by place id, so
+ * that enabledness checks, firing and unfiring neither allocate nor touch the
+ * model nodes.
+ *
+ * Pairs of consuming and producing arcs of the same weight between a place and
+ * a transition (this is how read-arcs are represented in the math model) are
+ * compiled into read arcs: the weight is tested but neither consumed nor produced.
+ * Pairs of different weights are kept as separate consuming and producing arcs,
+ * so that enabledness is still tested against the whole consumed weight.
+ */
+public final class CompiledNet {
+
+    private final PetriModel model;
+    private final List<Place> places;
+    private final List<Transition> transitions;
+    private final Map<Place, Integer> placeIds;
+    private final Map<Transition, Integer> transitionIds;
+    private final int[] initialMarking;
+
+    // Per-transition arcs: consumed, produced and tested places with weights
+    private final int[] preStart;
+    private final int[] prePlaces;
+    private final int[] preWeights;
+    private final int[] postStart;
+    private final int[] postPlaces;
+    private final int[] postWeights;
+    private final int[] readStart;
+    private final int[] readPlaces;
+    private final int[] readWeights;
+
+    // Per-place adjacency: transitions depending on (readers) and changing (writers) the place marking
+    private final int[] readerStart;
+    private final int[] readerTransitions;
+    private final int[] writerStart;
+    private final int[] writerTransitions;
+
+    public CompiledNet(PetriModel net) {
+        model = net;
+        places = new ArrayList<>(net.getPlaces());
+        transitions = new ArrayList<>(net.getTransitions());
+        placeIds = new HashMap<>();
+        for (int p = 0; p < places.size(); p++) {
+            placeIds.put(places.get(p), p);
+        }
+        transitionIds = new HashMap<>();
+        for (int t = 0; t < transitions.size(); t++) {
+            transitionIds.put(transitions.get(t), t);
+        }
+
+        initialMarking = new int[places.size()];
+        for (int p = 0; p < places.size(); p++) {
+            initialMarking[p] = places.get(p).getTokens();
+        }
+
+        int transitionCount = transitions.size();
+        preStart = new int[transitionCount + 1];
+        postStart = new int[transitionCount + 1];
+        readStart = new int[transitionCount + 1];
+        IntList preList = new IntList();
+        IntList postList = new IntList();
+        IntList readList = new IntList();
+        for (int t = 0; t < transitionCount; t++) {
+            Transition transition = transitions.get(t);
+            Map<Integer, Integer> consumed = new LinkedHashMap<>();
+            Map<Integer, Integer> produced = new LinkedHashMap<>();
+            for (MathConnection connection : net.getConnections(transition)) {
+                if (connection.getSecond() == transition) {
+                    countArc(consumed, connection.getFirst());
+                }
+                if (connection.getFirst() == transition) {
+                    countArc(produced, connection.getSecond());
+                }
+            }
+            for (Map.Entry<Integer, Integer> entry : consumed.entrySet()) {
+                int p = entry.getKey();
+                int consumeWeight = entry.getValue();
+                if (consumeWeight == produced.getOrDefault(p, 0)) {
+                    readList.add(p, consumeWeight);
+                } else {
+                    preList.add(p, consumeWeight);
+                }
+            }
+            for (Map.Entry<Integer, Integer> entry : produced.entrySet()) {
+                int p = entry.getKey();
+                int produceWeight = entry.getValue();
+                if (produceWeight != consumed.getOrDefault(p, 0)) {
+                    postList.add(p, produceWeight);
+                }
+            }
+            preStart[t + 1] = preList.size();
+            postStart[t + 1] = postList.size();
+            readStart[t + 1] = readList.size();
+        }
+        prePlaces = preList.getItems();
+        preWeights = preList.getWeights();
+        postPlaces = postList.getItems();
+        postWeights = postList.getWeights();
+        readPlaces = readList.getItems();
+        readWeights = readList.getWeights();
+
+        int placeCount = places.size();
+        readerStart = new int[placeCount + 1];
+        writerStart = new int[placeCount + 1];
+        readerTransitions = invert(placeCount, preStart, prePlaces, readStart, readPlaces, readerStart);
+        writerTransitions = invert(placeCount, preStart, prePlaces, postStart, postPlaces, writerStart);
+    }
+
+    private void countArc(Map<Integer, Integer> counts, MathNode node) {
+        Integer p = placeIds.get(node);
+        if (p != null) {
+            counts.merge(p, 1, Integer::sum);
+        }
+    }
+
+    private static int[] invert(int placeCount, int[] start1, int[] items1, int[] start2, int[] items2, int[] resultStart) {
+        int transitionCount = start1.length - 1;
+        int[] count = new int[placeCount];
+        for (int t = 0; t < transitionCount; t++) {
+            for (int i = start1[t]; i < start1[t + 1]; i++) {
+                count[items1[i]]++;
+            }
+            for (int i = start2[t]; i < start2[t + 1]; i++) {
+                count[items2[i]]++;
+            }
+        }
+        for (int p = 0; p < placeCount; p++) {
+            resultStart[p + 1] = resultStart[p] + count[p];
+        }
+        int[] fill = Arrays.copyOf(resultStart, placeCount);
+        int[] result = new int[resultStart[placeCount]];
+        for (int t = 0; t < transitionCount; t++) {
+            for (int i = start1[t]; i < start1[t + 1]; i++) {
+                result[fill[items1[i]]++] = t;
+            }
+            for (int i = start2[t]; i < start2[t + 1]; i++) {
+                result[fill[items2[i]]++] = t;
+            }
+        }
+        return result;
+    }
+
+    public int getPlaceCount() {
+        return places.size();
+    }
+
+    public int getTransitionCount() {
+        return transitions.size();
+    }
+
+    public Place getPlace(int p) {
+        return places.get(p);
+    }
+
+    public Transition getTransition(int t) {
+        return transitions.get(t);
+    }
+
+    public List<Place> getPlaces() {
+        return Collections.unmodifiableList(places);
+    }
+
+    public List<Transition> getTransitions() {
+        return Collections.unmodifiableList(transitions);
+    }
+
+    public int getPlaceId(Place place) {
+        Integer result = placeIds.get(place);
+        return result == null ? -1 : result;
+    }
+
+    public int getTransitionId(Transition transition) {
+        Integer result = transitionIds.get(transition);
+        return result == null ? -1 : result;
+    }
+
+    public int[] getInitialMarking() {
+        return initialMarking.clone();
+    }
+
+    /**
+     * Reads the current marking from the places of the model this net was compiled from.
+     */
+    public int[] getCurrentMarking() {
+        int[] result = new int[places.size()];
+        for (int p = 0; p < places.size(); p++) {
+            result[p] = places.get(p).getTokens();
+        }
+        return result;
+    }
+
+    /**
+     * Writes the marking back to the places of the model this net was compiled from.
+     */
+    public void applyMarking(int[] marking) {
+        for (int p = 0; p < places.size(); p++) {
+            places.get(p).setTokens(marking[p]);
+        }
+    }
+
+    /**
+     * Converts a sequence of transition ids into a trace of transition references of the model.
+     */
+    public Trace getTrace(int[] transitionIds) {
+        Trace result = new Trace();
+        for (int t : transitionIds) {
+            result.add(model.getNodeReference(transitions.get(t)));
+        }
+        return result;
+    }
+
+    public boolean isEnabled(int[] marking, int t) {
+        for (int i = preStart[t]; i < preStart[t + 1]; i++) {
+            if (marking[prePlaces[i]] < preWeights[i]) {
+                return false;
+            }
+        }
+        for (int i = readStart[t]; i < readStart[t + 1]; i++) {
+            if (marking[readPlaces[i]] < readWeights[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Fires the transition in place; the transition is assumed to be enabled.
+     */
+    public void fire(int[] marking, int t) {
+        for (int i = preStart[t]; i < preStart[t + 1]; i++) {
+            marking[prePlaces[i]] -= preWeights[i];
+        }
+        for (int i = postStart[t]; i < postStart[t + 1]; i++) {
+            marking[postPlaces[i]] += postWeights[i];
+        }
+    }
+
+    public boolean isUnfireEnabled(int[] marking, int t) {
+        for (int i = postStart[t]; i < postStart[t + 1]; i++) {
+            if (marking[postPlaces[i]] < postWeights[i]) {
+                return false;
+            }
+        }
+        for (int i = readStart[t]; i < readStart[t + 1]; i++) {
+            if (marking[readPlaces[i]] < readWeights[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reverts firing of the transition in place; the transition is assumed to be unfire-enabled.
+     */
+    public void unfire(int[] marking, int t) {
+        for (int i = postStart[t]; i < postStart[t + 1]; i++) {
+            marking[postPlaces[i]] -= postWeights[i];
+        }
+        for (int i = preStart[t]; i < preStart[t + 1]; i++) {
+            marking[prePlaces[i]] += preWeights[i];
+        }
+    }
+
+    /**
+     * Stores ids of transitions enabled in the marking into the result array and returns their count.
+     */
+    public int getEnabledTransitions(int[] marking, int[] result) {
+        int count = 0;
+        for (int t = 0; t < transitions.size(); t++) {
+            if (isEnabled(marking, t)) {
+                result[count++] = t;
+            }
+        }
+        return count;
+    }
+
+    public int getPresetStart(int t) {
+        return preStart[t];
+    }
+
+    public int getPresetEnd(int t) {
+        return preStart[t + 1];
+    }
+
+    public int getPresetPlace(int i) {
+        return prePlaces[i];
+    }
+
+    public int getPresetWeight(int i) {
+        return preWeights[i];
+    }
+
+    public int getPostsetStart(int t) {
+        return postStart[t];
+    }
+
+    public int getPostsetEnd(int t) {
+        return postStart[t + 1];
+    }
+
+    public int getPostsetPlace(int i) {
+        return postPlaces[i];
+    }
+
+    public int getPostsetWeight(int i) {
+        return postWeights[i];
+    }
+
+    public int getReadsetStart(int t) {
+        return readStart[t];
+    }
+
+    public int getReadsetEnd(int t) {
+        return readStart[t + 1];
+    }
+
+    public int getReadsetPlace(int i) {
+        return readPlaces[i];
+    }
+
+    public int getReadsetWeight(int i) {
+        return readWeights[i];
+    }
+
+    /**
+     * Transitions that consume or test tokens of the place, i.e. whose enabledness depends on its marking.
+     */
+    public int getReaderStart(int p) {
+        return readerStart[p];
+    }
+
+    public int getReaderEnd(int p) {
+        return readerStart[p + 1];
+    }
+
+    public int getReaderTransition(int i) {
+        return readerTransitions[i];
+    }
+
+    /**
+     * Transitions that change the number of tokens in the place by consuming or producing them.
+     */
+    public int getWriterStart(int p) {
+        return writerStart[p];
+    }
+
+    public int getWriterEnd(int p) {
+        return writerStart[p + 1];
+    }
+
+    public int getWriterTransition(int i) {
+        return writerTransitions[i];
+    }
+
+    private static final class IntList {
+        private int[] items = new int[16];
+        private int[] weights = new int[16];
+        private int size = 0;
+
+        void add(int item, int weight) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            items[size] = item;
+            weights[size] = weight;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] getItems() {
+            return Arrays.copyOf(items, size);
+        }
+
+        int[] getWeights() {
+            return Arrays.copyOf(weights, size);
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package org.workcraft.plugins.petri.engine;
+
+import org.workcraft.exceptions.ArgumentException;
+
+/**
+ * Packs int[] markings into a fixed number of long words using the same number
+ * of bits for each place. Packed markings are suitable as keys of marking
+ * stores as they can be compared and hashed word by word.
+ */
+public final class MarkingPacker {
+
+    private final int placeCount;
+    private final int bitsPerPlace;
+    private final int placesPerWord;
+    private final int wordCount;
+    private final long mask;
+
+    public MarkingPacker(int placeCount, int maxTokens) {
+        if (maxTokens < 1) {
+            throw new ArgumentException("Maximum number of tokens must be positive.");
+        }
+        this.placeCount = placeCount;
+        this.bitsPerPlace = Math.min(Long.SIZE - 1, Integer.SIZE - Integer.numberOfLeadingZeros(maxTokens));
+        this.placesPerWord = Long.SIZE / bitsPerPlace;
+        this.wordCount = Math.max(1, (placeCount + placesPerWord - 1) / placesPerWord);
+        this.mask = (1L << bitsPerPlace) - 1;
+    }
+
+    public int getPlaceCount() {
+        return placeCount;
+    }
+
+    public int getBitsPerPlace() {
+        return bitsPerPlace;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int getMaxTokens() {
+        return (int) Math.min(Integer.MAX_VALUE, mask);
+    }
+
+    /**
+     * Packs the marking into words [offset, offset + getWordCount()) of the destination array.
+     * Returns false (leaving the destination partially written) if some place exceeds the token bound.
+     */
+    public boolean pack(int[] marking, long[] dst, int offset) {
+        int p = 0;
+        for (int w = 0; w < wordCount; w++) {
+            long word = 0;
+            for (int shift = 0; (shift + bitsPerPlace <= Long.SIZE) && (p < placeCount); shift += bitsPerPlace, p++) {
+                int tokens = marking[p];
+                if ((tokens < 0) || (tokens > mask)) {
+                    return false;
+                }
+                word |= ((long) tokens) << shift;
+            }
+            dst[offset + w] = word;
+        }
+        return true;
+    }
+
+    public void unpack(long[] src, int offset, int[] marking) {
+        int p = 0;
+        for (int w = 0; w < wordCount; w++) {
+            long word = src[offset + w];
+            for (int shift = 0; (shift + bitsPerPlace <= Long.SIZE) && (p < placeCount); shift += bitsPerPlace, p++) {
+                marking[p] = (int) ((word >>> shift) & mask);
+            }
+        }
+    }
+
+    public int getTokens(long[] src, int offset, int p) {
+        int w = p / placesPerWord;
+        int shift = (p % placesPerWord) * bitsPerPlace;
+        return (int) ((src[offset + w] >>> shift) & mask);
+    }
+
+}
@@ -0,0 +1,188 @@
+package org.workcraft.plugins.petri.engine;
+
+import org.workcraft.exceptions.ArgumentException;
+
+import java.util.Arrays;
+
+/**
+ * Set of packed markings with dense state ids assigned in insertion order.
+ * Markings are kept back-to-back in large long[] arenas (no per-state objects)
+ * and indexed by an open-addressing hash table of state ids with linear probing.
+ */
+public final class MarkingStore {
+
+    private static final int ARENA_WORDS = 1 << 20;
+    private static final int INITIAL_ARENA_STATES = 64;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final int MAX_SIZE = MAX_CAPACITY / 4 * 3;
+
+    private final int wordCount;
+    private final int statesPerArena;
+    private long[][] arenas = new long[4][];
+    private int size = 0;
+    // Slots hold state id + 1, so that zero marks an empty slot
+    private int[] table;
+    private int mask;
+
+    public MarkingStore(int wordCount) {
+        this(wordCount, 1024);
+    }
+
+    public MarkingStore(int wordCount, int expectedSize) {
+        if (wordCount < 1) {
+            throw new ArgumentException("Marking must occupy at least one word.");
+        }
+        this.wordCount = wordCount;
+        this.statesPerArena = Math.max(1, ARENA_WORDS / wordCount);
+        int capacity = 16;
+        while ((capacity < 2L * expectedSize) && (capacity < MAX_CAPACITY)) {
+            capacity <<= 1;
+        }
+        table = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    public int getWordCount() {
+        return wordCount;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds the marking stored in words [offset, offset + getWordCount()) of the source array.
+     * Returns the id of the new state, or -(id + 1) if the marking is already in the store.
+     */
+    public int add(long[] src, int offset) {
+        return add(src, offset, hash(src, offset, wordCount));
+    }
+
+    /**
+     * Same as {@link #add(long[], int)} for a marking whose {@link #hash} is already known.
+     */
+    int add(long[] src, int offset, long hash) {
+        int slot = (int) hash & mask;
+        while (true) {
+            int entry = table[slot];
+            if (entry == 0) {
+                break;
+            }
+            if (matches(entry - 1, src, offset)) {
+                return -entry;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (size == MAX_SIZE) {
+            throw new ArgumentException("Marking store is full.");
+        }
+        int id = size++;
+        store(id, src, offset);
+        table[slot] = id + 1;
+        if ((size > (table.length >> 1)) && (table.length < MAX_CAPACITY)) {
+            rehash(table.length << 1);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the id of the marking, or -1 if it is not in the store.
+     */
+    public int find(long[] src, int offset) {
+        return find(src, offset, hash(src, offset, wordCount));
+    }
+
+    int find(long[] src, int offset, long hash) {
+        int slot = (int) hash & mask;
+        while (true) {
+            int entry = table[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            if (matches(entry - 1, src, offset)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Copies the packed marking of the state into the destination array starting from the offset.
+     */
+    public void get(int id, long[] dst, int offset) {
+        long[] arena = arenas[id / statesPerArena];
+        System.arraycopy(arena, (id % statesPerArena) * wordCount, dst, offset, wordCount);
+    }
+
+    public long getMemoryUsage() {
+        long result = (long) table.length * Integer.BYTES;
+        for (long[] arena : arenas) {
+            if (arena != null) {
+                result += (long) arena.length * Long.BYTES;
+            }
+        }
+        return result;
+    }
+
+    private boolean matches(int id, long[] src, int offset) {
+        long[] arena = arenas[id / statesPerArena];
+        int pos = (id % statesPerArena) * wordCount;
+        for (int w = 0; w < wordCount; w++) {
+            if (arena[pos + w] != src[offset + w]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void store(int id, long[] src, int offset) {
+        int arenaIndex = id / statesPerArena;
+        if (arenaIndex == arenas.length) {
+            arenas = Arrays.copyOf(arenas, arenas.length * 2);
+        }
+        long[] arena = arenas[arenaIndex];
+        int pos = (id % statesPerArena) * wordCount;
+        if (arena == null) {
+            arena = new long[Math.min(statesPerArena, INITIAL_ARENA_STATES) * wordCount];
+            arenas[arenaIndex] = arena;
+        } else if (pos == arena.length) {
+            // Arenas grow gradually, so that many small stores do not reserve full arenas
+            arena = Arrays.copyOf(arena, Math.min(statesPerArena * wordCount, arena.length * 2));
+            arenas[arenaIndex] = arena;
+        }
+        System.arraycopy(src, offset, arena, pos, wordCount);
+    }
+
+    private void rehash(int capacity) {
+        int[] newTable = new int[capacity];
+        int newMask = capacity - 1;
+        for (int id = 0; id < size; id++) {
+            long[] arena = arenas[id / statesPerArena];
+            int slot = (int) hash(arena, (id % statesPerArena) * wordCount, wordCount) & newMask;
+            while (newTable[slot] != 0) {
+                slot = (slot + 1) & newMask;
+            }
+            newTable[slot] = id + 1;
+        }
+        table = newTable;
+        mask = newMask;
+    }
+
+    /**
+     * Hash of a packed marking; the table slot is taken from its low bits, so that
+     * high bits remain available for partitioning markings between several stores.
+     */
+    static long hash(long[] src, int offset, int wordCount) {
+        long h = wordCount;
+        for (int w = 0; w < wordCount; w++) {
+            h = (h ^ src[offset + w]) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 29;
+        }
+        // Final avalanche (MurmurHash3 finaliser) so that low bits depend on all words
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
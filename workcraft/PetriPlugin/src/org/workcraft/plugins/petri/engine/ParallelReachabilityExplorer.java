@@ -0,0 +1,457 @@
+package org.workcraft.plugins.petri.engine;
+
+import org.workcraft.plugins.petri.engine.ReachabilityResult.Status;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+
+/**
+ * Breadth-first exploration of the reachability graph of a compiled net on several threads.
+ * Each level of the search is processed in two phases on a work-stealing {@link ForkJoinPool}:
+ * first, the frontier is split into fixed-size chunks whose states are expanded independently,
+ * looking up successors in the (read-only at this point) markings of the previous levels;
+ * then the new successors are inserted into a marking set partitioned into segments by hash,
+ * each segment being filled by a single thread in the order of chunks, so no locking is needed.
+ *
+ * As the order of insertion does not depend on thread scheduling, discovered states, their
+ * parents and the reported traces (shortest in the number of fired transitions) are the same
+ * for any number of threads. The target predicate may be called from several threads at once.
+ * The state limit is checked between levels, so the number of discovered states may exceed it.
+ */
+public class ParallelReachabilityExplorer extends AbstractReachabilityExplorer {
+
+    private static final int SEGMENT_BITS = 8;
+    private static final int SEGMENT_COUNT = 1 << SEGMENT_BITS;
+    private static final int SEGMENT_MASK = SEGMENT_COUNT - 1;
+    // State key packs the id within a segment and the segment index into a non-negative int
+    private static final int MAX_SEGMENT_SIZE = Integer.MAX_VALUE >> SEGMENT_BITS;
+    private static final int CHUNK_SIZE = 256;
+
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public ParallelReachabilityExplorer(CompiledNet net) {
+        super(net);
+    }
+
+    /**
+     * Number of worker threads, non-positive value for the number of available processors.
+     */
+    public void setParallelism(int value) {
+        parallelism = value > 0 ? value : Runtime.getRuntime().availableProcessors();
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public ReachabilityResult explore() {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return new Exploration(pool).run();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int getKey(int segment, int id) {
+        return (id << SEGMENT_BITS) | segment;
+    }
+
+    private static int getSegment(int key) {
+        return key & SEGMENT_MASK;
+    }
+
+    private static int getId(int key) {
+        return key >>> SEGMENT_BITS;
+    }
+
+    private final class Exploration {
+        private final ForkJoinPool pool;
+        private final CompiledNet net;
+        private final MarkingPacker packer;
+        private final int wordCount;
+        private final Segment[] segments = new Segment[SEGMENT_COUNT];
+        private final StubbornSetReduction reduction;
+        private final Predicate<int[]> target;
+        private final long endTime;
+        private final ConcurrentLinkedQueue<Worker> workers = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<Worker> worker = ThreadLocal.withInitial(this::createWorker);
+        private Chunk[] chunks = new Chunk[0];
+        private volatile boolean isTimeout = false;
+
+        Exploration(ForkJoinPool pool) {
+            this.pool = pool;
+            net = getNet();
+            packer = new MarkingPacker(net.getPlaceCount(), getTokenLimit());
+            wordCount = packer.getWordCount();
+            for (int s = 0; s < SEGMENT_COUNT; s++) {
+                segments[s] = new Segment(s, wordCount);
+            }
+            reduction = createReduction();
+            target = getTarget();
+            long timeout = getTimeout();
+            endTime = timeout > 0 ? System.currentTimeMillis() + timeout : Long.MAX_VALUE;
+        }
+
+        private Worker createWorker() {
+            Worker result = new Worker(net, wordCount, reduction);
+            workers.add(result);
+            return result;
+        }
+
+        private int getMarkingSegment(long hash) {
+            return (int) (hash >>> (Long.SIZE - SEGMENT_BITS));
+        }
+
+        ReachabilityResult run() {
+            long startTime = System.currentTimeMillis();
+            int[] marking = net.getInitialMarking();
+            int[] maxTokens = marking.clone();
+            long[] packed = new long[wordCount];
+            if (!packer.pack(marking, packed, 0)) {
+                return new ReachabilityResult(Status.TOKEN_LIMIT, 0, 0, 0, maxTokens, null, 0);
+            }
+            Segment initialSegment = segments[getMarkingSegment(MarkingStore.hash(packed, 0, wordCount))];
+            int initialKey = getKey(initialSegment.index, initialSegment.store.add(packed, 0));
+            initialSegment.setParent(getId(initialKey), -1, -1);
+            if ((target != null) && target.test(marking)) {
+                return new ReachabilityResult(Status.TARGET_FOUND, 1, 0, 0, maxTokens, new int[0], 0);
+            }
+
+            int[] frontier = new int[]{initialKey};
+            int frontierSize = 1;
+            int stateCount = 1;
+            long arcCount = 0;
+            int deadlockCount = 0;
+            int witness = -1;
+            Status status = Status.COMPLETE;
+            while (frontierSize > 0) {
+                int chunkCount = (frontierSize + CHUNK_SIZE - 1) / CHUNK_SIZE;
+                if (chunks.length < chunkCount) {
+                    int oldLength = chunks.length;
+                    chunks = Arrays.copyOf(chunks, Math.max(chunkCount, oldLength * 2));
+                    for (int c = oldLength; c < chunks.length; c++) {
+                        chunks[c] = new Chunk(wordCount);
+                    }
+                }
+                int[] levelFrontier = frontier;
+                int levelSize = frontierSize;
+                pool.invoke(new RangeTask(0, chunkCount, c -> expand(chunks[c], levelFrontier,
+                        c * CHUNK_SIZE, Math.min(levelSize, (c + 1) * CHUNK_SIZE))));
+
+                boolean isTokenLimit = false;
+                int deadlockKey = -1;
+                for (int c = 0; c < chunkCount; c++) {
+                    Chunk chunk = chunks[c];
+                    arcCount += chunk.arcCount;
+                    deadlockCount += chunk.deadlockCount;
+                    isTokenLimit |= chunk.isTokenLimit;
+                    if (deadlockKey < 0) {
+                        deadlockKey = chunk.deadlockKey;
+                    }
+                }
+                if (isTimeout) {
+                    status = Status.TIMEOUT;
+                    break;
+                }
+                if (isTokenLimit) {
+                    status = Status.TOKEN_LIMIT;
+                    break;
+                }
+                if (getStopAtDeadlock() && (deadlockKey >= 0)) {
+                    status = Status.DEADLOCK_FOUND;
+                    witness = deadlockKey;
+                    break;
+                }
+
+                pool.invoke(new RangeTask(0, SEGMENT_COUNT, s -> insert(segments[s], chunkCount)));
+
+                frontierSize = 0;
+                stateCount = 0;
+                for (Segment segment : segments) {
+                    frontierSize += segment.addedCount;
+                    stateCount += segment.store.size();
+                    if (segment.isFull) {
+                        status = Status.STATE_LIMIT;
+                    }
+                    if ((witness < 0) && (segment.targetKey >= 0)) {
+                        witness = segment.targetKey;
+                        status = Status.TARGET_FOUND;
+                    }
+                }
+                if (status != Status.COMPLETE) {
+                    break;
+                }
+                frontier = new int[frontierSize];
+                int pos = 0;
+                for (Segment segment : segments) {
+                    System.arraycopy(segment.added, 0, frontier, pos, segment.addedCount);
+                    pos += segment.addedCount;
+                }
+                if (stateCount >= getStateLimit()) {
+                    status = Status.STATE_LIMIT;
+                    break;
+                }
+                if (System.currentTimeMillis() > endTime) {
+                    status = Status.TIMEOUT;
+                    break;
+                }
+            }
+            for (Worker w : workers) {
+                for (int p = 0; p < maxTokens.length; p++) {
+                    maxTokens[p] = Math.max(maxTokens[p], w.maxTokens[p]);
+                }
+            }
+            long time = System.currentTimeMillis() - startTime;
+            int[] trace = witness < 0 ? null : getTrace(witness);
+            return new ReachabilityResult(status, stateCount, arcCount, deadlockCount, maxTokens, trace, time);
+        }
+
+        private void expand(Chunk chunk, int[] frontier, int from, int to) {
+            chunk.clear();
+            if (isTimeout || (System.currentTimeMillis() > endTime)) {
+                isTimeout = true;
+                return;
+            }
+            Worker w = worker.get();
+            for (int i = from; i < to; i++) {
+                int key = frontier[i];
+                segments[getSegment(key)].store.get(getId(key), w.packed, 0);
+                packer.unpack(w.packed, 0, w.marking);
+                int enabledCount = net.getEnabledTransitions(w.marking, w.enabled);
+                if (enabledCount == 0) {
+                    chunk.deadlockCount++;
+                    if (chunk.deadlockKey < 0) {
+                        chunk.deadlockKey = key;
+                    }
+                    continue;
+                }
+                int[] fired = w.enabled;
+                int firedCount = enabledCount;
+                if (w.reduction != null) {
+                    fired = w.fired;
+                    firedCount = w.reduction.getStubbornSet(w.marking, w.enabled, enabledCount, fired);
+                }
+                for (int j = 0; j < firedCount; j++) {
+                    int t = fired[j];
+                    net.fire(w.marking, t);
+                    if (!packer.pack(w.marking, w.packed, 0)) {
+                        chunk.isTokenLimit = true;
+                        return;
+                    }
+                    chunk.arcCount++;
+                    long hash = MarkingStore.hash(w.packed, 0, wordCount);
+                    int segment = getMarkingSegment(hash);
+                    if (segments[segment].store.find(w.packed, 0, hash) < 0) {
+                        w.updateMaxTokens();
+                        chunk.add(w.packed, hash, segment, key, t);
+                    } else if ((target != null) && (firedCount < enabledCount)) {
+                        // Cycle proviso: every cycle of the reduced graph has an edge to a state of the same
+                        // or earlier level, i.e. already stored, so fully expanding such states is sufficient.
+                        firedCount = StubbornSetReduction.appendIgnored(w.enabled, enabledCount, fired, firedCount);
+                    }
+                    net.unfire(w.marking, t);
+                }
+            }
+            chunk.sortBySegment();
+        }
+
+        private void insert(Segment segment, int chunkCount) {
+            segment.addedCount = 0;
+            segment.targetKey = -1;
+            Worker w = worker.get();
+            int s = segment.index;
+            for (int c = 0; c < chunkCount; c++) {
+                Chunk chunk = chunks[c];
+                for (int k = chunk.segmentStart[s]; k < chunk.segmentStart[s + 1]; k++) {
+                    int e = chunk.order[k];
+                    if (segment.store.size() > MAX_SEGMENT_SIZE) {
+                        segment.isFull = true;
+                        return;
+                    }
+                    int id = segment.store.add(chunk.words, e * wordCount, chunk.hashes[e]);
+                    if (id >= 0) {
+                        int key = getKey(s, id);
+                        segment.setParent(id, chunk.parents[e], chunk.transitions[e]);
+                        segment.addToFrontier(key);
+                        if ((target != null) && (segment.targetKey < 0)) {
+                            packer.unpack(chunk.words, e * wordCount, w.marking);
+                            if (target.test(w.marking)) {
+                                segment.targetKey = key;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        private int[] getTrace(int key) {
+            int length = 0;
+            for (int cur = key; segments[getSegment(cur)].parents[getId(cur)] >= 0;
+                    cur = segments[getSegment(cur)].parents[getId(cur)]) {
+                length++;
+            }
+            int[] result = new int[length];
+            for (int cur = key; length > 0; cur = segments[getSegment(cur)].parents[getId(cur)]) {
+                result[--length] = segments[getSegment(cur)].parentTransitions[getId(cur)];
+            }
+            return result;
+        }
+    }
+
+    private static final class Segment {
+        private final int index;
+        private final MarkingStore store;
+        private int[] parents = new int[16];
+        private int[] parentTransitions = new int[16];
+        private int[] added = new int[16];
+        private int addedCount = 0;
+        private int targetKey = -1;
+        private boolean isFull = false;
+
+        Segment(int index, int wordCount) {
+            this.index = index;
+            store = new MarkingStore(wordCount);
+        }
+
+        void setParent(int id, int parentKey, int transition) {
+            if (id >= parents.length) {
+                parents = Arrays.copyOf(parents, Math.max(id + 1, parents.length * 2));
+                parentTransitions = Arrays.copyOf(parentTransitions, parents.length);
+            }
+            parents[id] = parentKey;
+            parentTransitions[id] = transition;
+        }
+
+        void addToFrontier(int key) {
+            if (addedCount == added.length) {
+                added = Arrays.copyOf(added, addedCount * 2);
+            }
+            added[addedCount++] = key;
+        }
+    }
+
+    /**
+     * Successors found when expanding a chunk of the frontier, with their parents and segments.
+     */
+    private static final class Chunk {
+        private final int wordCount;
+        private long[] words;
+        private long[] hashes = new long[64];
+        private int[] segments = new int[64];
+        private int[] parents = new int[64];
+        private int[] transitions = new int[64];
+        private int[] order = new int[64];
+        private final int[] segmentStart = new int[SEGMENT_COUNT + 1];
+        private int count;
+        private long arcCount;
+        private int deadlockCount;
+        private int deadlockKey;
+        private boolean isTokenLimit;
+
+        Chunk(int wordCount) {
+            this.wordCount = wordCount;
+            words = new long[64 * wordCount];
+        }
+
+        void clear() {
+            count = 0;
+            arcCount = 0;
+            deadlockCount = 0;
+            deadlockKey = -1;
+            isTokenLimit = false;
+            Arrays.fill(segmentStart, 0);
+        }
+
+        void add(long[] packed, long hash, int segment, int parent, int transition) {
+            if (count == segments.length) {
+                int capacity = count * 2;
+                words = Arrays.copyOf(words, capacity * wordCount);
+                hashes = Arrays.copyOf(hashes, capacity);
+                segments = Arrays.copyOf(segments, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                transitions = Arrays.copyOf(transitions, capacity);
+                order = new int[capacity];
+            }
+            System.arraycopy(packed, 0, words, count * wordCount, wordCount);
+            hashes[count] = hash;
+            segments[count] = segment;
+            parents[count] = parent;
+            transitions[count] = transition;
+            count++;
+        }
+
+        /**
+         * Stable counting sort of successors by segment.
+         */
+        void sortBySegment() {
+            for (int e = 0; e < count; e++) {
+                segmentStart[segments[e] + 1]++;
+            }
+            for (int s = 0; s < SEGMENT_COUNT; s++) {
+                segmentStart[s + 1] += segmentStart[s];
+            }
+            int[] fill = Arrays.copyOf(segmentStart, SEGMENT_COUNT);
+            for (int e = 0; e < count; e++) {
+                order[fill[segments[e]]++] = e;
+            }
+        }
+    }
+
+    /**
+     * Per-thread working arrays.
+     */
+    private static final class Worker {
+        private final int[] marking;
+        private final long[] packed;
+        private final int[] enabled;
+        private final int[] fired;
+        private final int[] maxTokens;
+        private final StubbornSetReduction reduction;
+
+        Worker(CompiledNet net, int wordCount, StubbornSetReduction reduction) {
+            marking = new int[net.getPlaceCount()];
+            packed = new long[wordCount];
+            enabled = new int[net.getTransitionCount()];
+            fired = new int[net.getTransitionCount()];
+            maxTokens = new int[net.getPlaceCount()];
+            this.reduction = reduction == null ? null : new StubbornSetReduction(reduction);
+        }
+
+        void updateMaxTokens() {
+            for (int p = 0; p < marking.length; p++) {
+                if (marking[p] > maxTokens[p]) {
+                    maxTokens[p] = marking[p];
+                }
+            }
+        }
+    }
+
+    private static final class RangeTask extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer action;
+
+        RangeTask(int from, int to, IntConsumer action) {
+            this.from = from;
+            this.to = to;
+            this.action = action;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                action.accept(from);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new RangeTask(from, mid, action), new RangeTask(mid, to, action));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+package org.workcraft.plugins.petri.engine;
+
+import org.workcraft.plugins.petri.engine.ReachabilityResult.Status;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Explicit-state exploration of the reachability graph of a compiled net.
+ * Markings are packed and kept in a {@link MarkingStore}, so memory per state
+ * is a few words and exploration does not create objects per state.
+ * In breadth-first order the store itself serves as the queue, as state ids
+ * are allocated in the order of discovery.
+ */
+public class ReachabilityExplorer extends AbstractReachabilityExplorer {
+
+    public enum SearchOrder {
+        BREADTH_FIRST("Breadth-first"),
+        DEPTH_FIRST("Depth-first");
+
+        private final String name;
+
+        SearchOrder(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private static final int TIMEOUT_CHECK_INTERVAL = 1024;
+
+    private SearchOrder searchOrder = SearchOrder.BREADTH_FIRST;
+
+    public ReachabilityExplorer(CompiledNet net) {
+        super(net);
+    }
+
+    public void setSearchOrder(SearchOrder value) {
+        searchOrder = value;
+    }
+
+    @Override
+    public ReachabilityResult explore() {
+        CompiledNet net = getNet();
+        long timeout = getTimeout();
+        int stateLimit = getStateLimit();
+        boolean stopAtDeadlock = getStopAtDeadlock();
+        Predicate<int[]> target = getTarget();
+        long startTime = System.currentTimeMillis();
+        long endTime = timeout > 0 ? startTime + timeout : Long.MAX_VALUE;
+        int placeCount = net.getPlaceCount();
+        MarkingPacker packer = new MarkingPacker(placeCount, getTokenLimit());
+        MarkingStore store = new MarkingStore(packer.getWordCount());
+        long[] packed = new long[packer.getWordCount()];
+        int[] marking = net.getInitialMarking();
+        int[] maxTokens = marking.clone();
+        int transitionCount = net.getTransitionCount();
+        int[] enabled = new int[transitionCount];
+        StubbornSetReduction reduction = createReduction();
+        int[] fired = reduction == null ? enabled : new int[transitionCount];
+        boolean isTracing = stopAtDeadlock || (target != null);
+        int[] parents = isTracing ? new int[1024] : null;
+        int[] parentTransitions = isTracing ? new int[1024] : null;
+        int[] stack = new int[1024];
+        int stackSize = 0;
+        long arcCount = 0;
+        int deadlockCount = 0;
+        int witness = -1;
+        Status status = Status.COMPLETE;
+
+        if (!packer.pack(marking, packed, 0)) {
+            return new ReachabilityResult(Status.TOKEN_LIMIT, 0, 0, 0, maxTokens, null, 0);
+        }
+        store.add(packed, 0);
+        if ((target != null) && target.test(marking)) {
+            return new ReachabilityResult(Status.TARGET_FOUND, 1, 0, 0, maxTokens, new int[0], 0);
+        }
+        if (searchOrder == SearchOrder.DEPTH_FIRST) {
+            stack[stackSize++] = 0;
+        }
+        int next = 0;
+        int expandedCount = 0;
+        exploration:
+        while ((searchOrder == SearchOrder.BREADTH_FIRST) ? next < store.size() : stackSize > 0) {
+            int id = (searchOrder == SearchOrder.BREADTH_FIRST) ? next++ : stack[--stackSize];
+            if ((++expandedCount % TIMEOUT_CHECK_INTERVAL == 0) && (System.currentTimeMillis() > endTime)) {
+                status = Status.TIMEOUT;
+                break;
+            }
+            store.get(id, packed, 0);
+            packer.unpack(packed, 0, marking);
+            int enabledCount = net.getEnabledTransitions(marking, enabled);
+            if (enabledCount == 0) {
+                deadlockCount++;
+                if (stopAtDeadlock) {
+                    status = Status.DEADLOCK_FOUND;
+                    witness = id;
+                    break;
+                }
+            }
+            int firedCount = enabledCount;
+            if (reduction != null) {
+                firedCount = reduction.getStubbornSet(marking, enabled, enabledCount, fired);
+            }
+            for (int i = 0; i < firedCount; i++) {
+                int t = fired[i];
+                net.fire(marking, t);
+                if (!packer.pack(marking, packed, 0)) {
+                    status = Status.TOKEN_LIMIT;
+                    break exploration;
+                }
+                arcCount++;
+                int successor = store.add(packed, 0);
+                if (successor >= 0) {
+                    for (int p = 0; p < placeCount; p++) {
+                        if (marking[p] > maxTokens[p]) {
+                            maxTokens[p] = marking[p];
+                        }
+                    }
+                    if (isTracing) {
+                        if (successor == parents.length) {
+                            parents = Arrays.copyOf(parents, successor * 2);
+                            parentTransitions = Arrays.copyOf(parentTransitions, successor * 2);
+                        }
+                        parents[successor] = id;
+                        parentTransitions[successor] = t;
+                    }
+                    if ((target != null) && target.test(marking)) {
+                        status = Status.TARGET_FOUND;
+                        witness = successor;
+                        break exploration;
+                    }
+                    if (searchOrder == SearchOrder.DEPTH_FIRST) {
+                        if (stackSize == stack.length) {
+                            stack = Arrays.copyOf(stack, stackSize * 2);
+                        }
+                        stack[stackSize++] = successor;
+                    }
+                    if (store.size() >= stateLimit) {
+                        status = Status.STATE_LIMIT;
+                        break exploration;
+                    }
+                } else if ((target != null) && (firedCount < enabledCount)) {
+                    // Cycle proviso: every cycle of the reduced graph contains an edge to an earlier
+                    // discovered state, so fully expanding such states prevents ignoring the target.
+                    firedCount = StubbornSetReduction.appendIgnored(enabled, enabledCount, fired, firedCount);
+                }
+                net.unfire(marking, t);
+            }
+        }
+        long time = System.currentTimeMillis() - startTime;
+        int[] trace = witness < 0 ? null : getTrace(parents, parentTransitions, witness);
+        return new ReachabilityResult(status, store.size(), arcCount, deadlockCount, maxTokens, trace, time);
+    }
+
+    private static int[] getTrace(int[] parents, int[] parentTransitions, int id) {
+        int length = 0;
+        for (int cur = id; cur != 0; cur = parents[cur]) {
+            length++;
+        }
+        int[] result = new int[length];
+        for (int cur = id; cur != 0; cur = parents[cur]) {
+            result[--length] = parentTransitions[cur];
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.workcraft.plugins.petri.engine;
+
+public class ReachabilityResult {
+
+    public enum Status {
+        COMPLETE("complete"),
+        STATE_LIMIT("state limit reached"),
+        TOKEN_LIMIT("token limit exceeded"),
+        TIMEOUT("timeout"),
+        DEADLOCK_FOUND("deadlock found"),
+        TARGET_FOUND("target found");
+
+        private final String name;
+
+        Status(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    private final Status status;
+    private final int stateCount;
+    private final long arcCount;
+    private final int deadlockCount;
+    private final int[] maxTokens;
+    private final int[] trace;
+    private final long time;
+
+    public ReachabilityResult(Status status, int stateCount, long arcCount, int deadlockCount, int[] maxTokens,
+            int[] trace, long time) {
+        this.status = status;
+        this.stateCount = stateCount;
+        this.arcCount = arcCount;
+        this.deadlockCount = deadlockCount;
+        this.maxTokens = maxTokens;
+        this.trace = trace;
+        this.time = time;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isComplete() {
+        return status == Status.COMPLETE;
+    }
+
+    public int getStateCount() {
+        return stateCount;
+    }
+
+    public long getArcCount() {
+        return arcCount;
+    }
+
+    public int getDeadlockCount() {
+        return deadlockCount;
+    }
+
+    /**
+     * Maximum number of tokens observed in each place (indexed by place id of the compiled net).
+     */
+    public int[] getMaxTokens() {
+        return maxTokens;
+    }
+
+    /**
+     * Transition ids (of the compiled net) leading from the initial marking to the found deadlock
+     * or target marking, or null if exploration did not stop at such a marking.
+     */
+    public int[] getTrace() {
+        return trace;
+    }
+
+    /**
+     * Exploration time in milliseconds.
+     */
+    public long getTime() {
+        return time;
+    }
+
+}
@@ -0,0 +1,279 @@
+package org.workcraft.plugins.petri.engine;
+
+import java.util.Arrays;
+
+/**
+ * Stubborn set partial order reduction for explicit-state exploration of a compiled net.
+ * Only a subset of enabled transitions is fired in each marking, which is sufficient to
+ * preserve all reachable deadlocks. If visible places are set, then the transitions changing
+ * them are treated as visible, and together with a cycle proviso in the explorer this also
+ * preserves reachability of markings satisfying a predicate over these places.
+ *
+ * Dependency relations between transitions are precomputed once from the net structure,
+ * so computing a stubborn set is a closure over integer arrays with no allocation.
+ */
+public final class StubbornSetReduction {
+
+    private final CompiledNet net;
+
+    // Transitions that may disable (or be disabled by) each transition when both are enabled
+    private final int[] dependentStart;
+    private final int[] dependentTransitions;
+
+    // Transitions that increase the number of tokens in each place
+    private final int[] producerStart;
+    private final int[] producerTransitions;
+
+    private boolean[] isVisible = null;
+    private int[] visibleTransitions = new int[0];
+
+    private final int[] stamp;
+    private int generation = 0;
+    private final int[] closure;
+
+    public StubbornSetReduction(CompiledNet net) {
+        this.net = net;
+        int placeCount = net.getPlaceCount();
+        int transitionCount = net.getTransitionCount();
+
+        producerStart = new int[placeCount + 1];
+        int[] producerCount = new int[placeCount];
+        int[] consumerStart = new int[placeCount + 1];
+        int[] consumerCount = new int[placeCount];
+        for (int t = 0; t < transitionCount; t++) {
+            for (int i = net.getPostsetStart(t); i < net.getPostsetEnd(t); i++) {
+                producerCount[net.getPostsetPlace(i)]++;
+            }
+            for (int i = net.getPresetStart(t); i < net.getPresetEnd(t); i++) {
+                consumerCount[net.getPresetPlace(i)]++;
+            }
+        }
+        for (int p = 0; p < placeCount; p++) {
+            producerStart[p + 1] = producerStart[p] + producerCount[p];
+            consumerStart[p + 1] = consumerStart[p] + consumerCount[p];
+        }
+        producerTransitions = new int[producerStart[placeCount]];
+        int[] consumerTransitions = new int[consumerStart[placeCount]];
+        int[] producerFill = Arrays.copyOf(producerStart, placeCount);
+        int[] consumerFill = Arrays.copyOf(consumerStart, placeCount);
+        for (int t = 0; t < transitionCount; t++) {
+            for (int i = net.getPostsetStart(t); i < net.getPostsetEnd(t); i++) {
+                producerTransitions[producerFill[net.getPostsetPlace(i)]++] = t;
+            }
+            for (int i = net.getPresetStart(t); i < net.getPresetEnd(t); i++) {
+                consumerTransitions[consumerFill[net.getPresetPlace(i)]++] = t;
+            }
+        }
+
+        // Enabled transitions t and u are dependent if one consumes tokens from a place the other consumes or tests
+        stamp = new int[transitionCount];
+        closure = new int[transitionCount];
+        dependentStart = new int[transitionCount + 1];
+        int[] dependents = new int[16];
+        int dependentCount = 0;
+        for (int t = 0; t < transitionCount; t++) {
+            int mark = nextGeneration();
+            stamp[t] = mark;
+            for (int i = net.getPresetStart(t); i < net.getPresetEnd(t); i++) {
+                int p = net.getPresetPlace(i);
+                for (int j = net.getReaderStart(p); j < net.getReaderEnd(p); j++) {
+                    int u = net.getReaderTransition(j);
+                    if (stamp[u] != mark) {
+                        stamp[u] = mark;
+                        if (dependentCount == dependents.length) {
+                            dependents = Arrays.copyOf(dependents, dependentCount * 2);
+                        }
+                        dependents[dependentCount++] = u;
+                    }
+                }
+            }
+            for (int i = net.getReadsetStart(t); i < net.getReadsetEnd(t); i++) {
+                int p = net.getReadsetPlace(i);
+                for (int j = consumerStart[p]; j < consumerStart[p + 1]; j++) {
+                    int u = consumerTransitions[j];
+                    if (stamp[u] != mark) {
+                        stamp[u] = mark;
+                        if (dependentCount == dependents.length) {
+                            dependents = Arrays.copyOf(dependents, dependentCount * 2);
+                        }
+                        dependents[dependentCount++] = u;
+                    }
+                }
+            }
+            dependentStart[t + 1] = dependentCount;
+        }
+        dependentTransitions = Arrays.copyOf(dependents, dependentCount);
+    }
+
+    /**
+     * Creates a reduction sharing the precomputed relations and visible transitions of the given one,
+     * but with its own working arrays, so that each thread of a parallel explorer can have its own copy.
+     */
+    public StubbornSetReduction(StubbornSetReduction other) {
+        net = other.net;
+        dependentStart = other.dependentStart;
+        dependentTransitions = other.dependentTransitions;
+        producerStart = other.producerStart;
+        producerTransitions = other.producerTransitions;
+        isVisible = other.isVisible;
+        visibleTransitions = other.visibleTransitions;
+        stamp = new int[other.stamp.length];
+        closure = new int[other.closure.length];
+    }
+
+    /**
+     * Sets places observed by a target predicate; transitions changing their marking become visible.
+     * Pass null to preserve deadlocks only.
+     */
+    public void setVisiblePlaces(int[] places) {
+        if (places == null) {
+            isVisible = null;
+            visibleTransitions = new int[0];
+            return;
+        }
+        isVisible = new boolean[net.getTransitionCount()];
+        int count = 0;
+        for (int p : places) {
+            for (int i = net.getWriterStart(p); i < net.getWriterEnd(p); i++) {
+                int t = net.getWriterTransition(i);
+                if (!isVisible[t]) {
+                    isVisible[t] = true;
+                    count++;
+                }
+            }
+        }
+        visibleTransitions = new int[count];
+        count = 0;
+        for (int t = 0; t < isVisible.length; t++) {
+            if (isVisible[t]) {
+                visibleTransitions[count++] = t;
+            }
+        }
+    }
+
+    public boolean isVisible(int t) {
+        return (isVisible != null) && isVisible[t];
+    }
+
+    /**
+     * Stores the enabled transitions of a stubborn set for the marking into the result array and returns
+     * their count. The result is a subsequence of the enabled transitions (in the same order), and it is
+     * empty only if there are no enabled transitions. Closures of all enabled transitions are tried
+     * and the one with the fewest enabled transitions is chosen.
+     */
+    public int getStubbornSet(int[] marking, int[] enabled, int enabledCount, int[] result) {
+        int resultCount = enabledCount;
+        System.arraycopy(enabled, 0, result, 0, enabledCount);
+        for (int i = 0; (i < enabledCount) && (resultCount > 1); i++) {
+            int mark = computeClosure(marking, enabled[i], resultCount);
+            if (mark != 0) {
+                resultCount = 0;
+                for (int j = 0; j < enabledCount; j++) {
+                    int t = enabled[j];
+                    if (stamp[t] == mark) {
+                        result[resultCount++] = t;
+                    }
+                }
+            }
+        }
+        return resultCount;
+    }
+
+    /**
+     * Appends the enabled transitions missing from a stubborn set (a subsequence of the enabled ones)
+     * and returns the new size, so that the state is fully expanded.
+     */
+    static int appendIgnored(int[] enabled, int enabledCount, int[] fired, int firedCount) {
+        int result = firedCount;
+        int j = 0;
+        for (int i = 0; i < enabledCount; i++) {
+            if ((j < firedCount) && (fired[j] == enabled[i])) {
+                j++;
+            } else {
+                fired[result++] = enabled[i];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Computes the stubborn closure of the seed transition. Returns the stamp marking the closure members,
+     * or 0 if the closure is abandoned for containing at least bestCount enabled transitions.
+     */
+    private int computeClosure(int[] marking, int seed, int bestCount) {
+        int mark = nextGeneration();
+        int size = 0;
+        int enabledCount = 0;
+        boolean hasVisible = false;
+        stamp[seed] = mark;
+        closure[size++] = seed;
+        for (int head = 0; head < size; head++) {
+            int t = closure[head];
+            if (net.isEnabled(marking, t)) {
+                if (++enabledCount >= bestCount) {
+                    return 0;
+                }
+                for (int i = dependentStart[t]; i < dependentStart[t + 1]; i++) {
+                    int u = dependentTransitions[i];
+                    if (stamp[u] != mark) {
+                        stamp[u] = mark;
+                        closure[size++] = u;
+                    }
+                }
+                if (!hasVisible && isVisible(t)) {
+                    hasVisible = true;
+                    for (int u : visibleTransitions) {
+                        if (stamp[u] != mark) {
+                            stamp[u] = mark;
+                            closure[size++] = u;
+                        }
+                    }
+                }
+            } else {
+                int p = getScapegoatPlace(marking, t);
+                for (int i = producerStart[p]; i < producerStart[p + 1]; i++) {
+                    int u = producerTransitions[i];
+                    if (stamp[u] != mark) {
+                        stamp[u] = mark;
+                        closure[size++] = u;
+                    }
+                }
+            }
+        }
+        return mark;
+    }
+
+    /**
+     * Chooses an insufficiently marked place of a disabled transition with the fewest producers.
+     */
+    private int getScapegoatPlace(int[] marking, int t) {
+        int result = -1;
+        int resultProducers = Integer.MAX_VALUE;
+        for (int i = net.getPresetStart(t); i < net.getPresetEnd(t); i++) {
+            int p = net.getPresetPlace(i);
+            int producers = producerStart[p + 1] - producerStart[p];
+            if ((marking[p] < net.getPresetWeight(i)) && (producers < resultProducers)) {
+                result = p;
+                resultProducers = producers;
+            }
+        }
+        for (int i = net.getReadsetStart(t); i < net.getReadsetEnd(t); i++) {
+            int p = net.getReadsetPlace(i);
+            int producers = producerStart[p + 1] - producerStart[p];
+            if ((marking[p] < net.getReadsetWeight(i)) && (producers < resultProducers)) {
+                result = p;
+                resultProducers = producers;
+            }
+        }
+        return result;
+    }
+
+    private int nextGeneration() {
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(stamp, 0);
+            generation = 0;
+        }
+        return ++generation;
+    }
+
+}
@@ -0,0 +1,36 @@
+package org.workcraft.plugins.petri.utils;
+
+import org.workcraft.plugins.petri.PetriSettings;
+import org.workcraft.plugins.petri.engine.AbstractReachabilityExplorer;
+import org.workcraft.plugins.petri.engine.CompiledNet;
+import org.workcraft.plugins.petri.engine.ParallelReachabilityExplorer;
+import org.workcraft.plugins.petri.engine.ReachabilityExplorer;
+import org.workcraft.plugins.petri.engine.ReachabilityExplorer.SearchOrder;
+
+public class ReachabilityUtils {
+
+    /**
+     * Creates an explorer of the net configured according to the Petri net settings: a parallel breadth-first one,
+     * or a single-threaded one if a single thread or the depth-first search order is chosen, as only breadth-first
+     * search is parallelised.
+     */
+    public static AbstractReachabilityExplorer createExplorer(CompiledNet net) {
+        AbstractReachabilityExplorer result;
+        int threadCount = PetriSettings.getReachabilityThreadCount();
+        SearchOrder searchOrder = PetriSettings.getReachabilitySearchOrder();
+        if ((threadCount == 1) || (searchOrder != SearchOrder.BREADTH_FIRST)) {
+            ReachabilityExplorer explorer = new ReachabilityExplorer(net);
+            explorer.setSearchOrder(searchOrder);
+            result = explorer;
+        } else {
+            ParallelReachabilityExplorer explorer = new ParallelReachabilityExplorer(net);
+            explorer.setParallelism(threadCount);
+            result = explorer;
+        }
+        result.setStateLimit(PetriSettings.getReachabilityStateLimit());
+        result.setTokenLimit(PetriSettings.getReachabilityTokenLimit());
+        result.setTimeout(PetriSettings.getReachabilityTimeout() * 1000L);
+        return result;
+    }
+
+}
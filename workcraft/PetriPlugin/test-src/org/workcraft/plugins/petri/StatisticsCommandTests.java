@@ -7,6 +7,7 @@ import org.workcraft.Framework;
 import org.workcraft.exceptions.DeserialisationException;
 import org.workcraft.plugins.builtin.commands.BasicStatisticsCommand;
 import org.workcraft.plugins.petri.commands.PetriStatisticsCommand;
+import org.workcraft.plugins.petri.commands.ReachabilityStatisticsCommand;
 import org.workcraft.utils.PackageUtils;
 import org.workcraft.workspace.WorkspaceEntry;
 
@@ -49,6 +50,29 @@ class StatisticsCommandTests {
                         "    * Pure -  false\n");
     }
 
+    @Test
+    void testReachabilityStatisticsCommand() throws DeserialisationException {
+        final Framework framework = Framework.getInstance();
+        final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+        String workName = PackageUtils.getPackagePath(getClass(), "basic.pn.work");
+        URL url = classLoader.getResource(workName);
+        WorkspaceEntry we = framework.loadWork(url.getFile());
+
+        ReachabilityStatisticsCommand command = new ReachabilityStatisticsCommand();
+        Assertions.assertEquals("Reachability graph analysis:\n" +
+                "  Exploration -  complete\n" +
+                "  State count -  2\n" +
+                "  Arc count -  3\n" +
+                "  Deadlock count -  0\n" +
+                "  Max tokens in a place -  1\n" +
+                "  Max tokens per place:\n" +
+                "    * p0 -  1\n" +
+                "    * p1 -  1\n" +
+                "    * p2 -  1\n", command.execute(we));
+
+        framework.closeWork(we);
+    }
+
     private void testPetriStatisticsCommands(String workName, String expectedBasicStatistics, String expectedAdvancedStatistics)
             throws DeserialisationException {
 
@@ -0,0 +1,117 @@
+package org.workcraft.plugins.petri.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.exceptions.InvalidConnectionException;
+import org.workcraft.plugins.petri.Petri;
+import org.workcraft.plugins.petri.Place;
+import org.workcraft.plugins.petri.Transition;
+
+class CompiledNetTests {
+
+    @Test
+    void testFireUnfire() throws InvalidConnectionException {
+        Petri petri = new Petri();
+        Place p1 = petri.createPlace("p1", null);
+        Place p2 = petri.createPlace("p2", null);
+        Place p3 = petri.createPlace("p3", null);
+        Transition t1 = petri.createTransition("t1", null);
+        Transition t2 = petri.createTransition("t2", null);
+        p1.setTokens(1);
+        p3.setTokens(1);
+        // t1 consumes from p1, produces into p2 and reads p3
+        petri.connect(p1, t1);
+        petri.connect(t1, p2);
+        petri.connect(p3, t1);
+        petri.connect(t1, p3);
+        // t2 consumes two tokens from p2 and produces one into p1
+        petri.connect(p2, t2);
+        petri.connect(p2, t2);
+        petri.connect(t2, p1);
+
+        CompiledNet net = new CompiledNet(petri);
+        Assertions.assertEquals(3, net.getPlaceCount());
+        Assertions.assertEquals(2, net.getTransitionCount());
+
+        int i1 = net.getTransitionId(t1);
+        int i2 = net.getTransitionId(t2);
+        Assertions.assertEquals(1, net.getReadsetEnd(i1) - net.getReadsetStart(i1));
+        Assertions.assertEquals(1, net.getPresetEnd(i2) - net.getPresetStart(i2));
+        Assertions.assertEquals(2, net.getPresetWeight(net.getPresetStart(i2)));
+
+        int[] marking = net.getInitialMarking();
+        Assertions.assertTrue(net.isEnabled(marking, i1));
+        Assertions.assertFalse(net.isEnabled(marking, i2));
+        Assertions.assertEquals(petri.isEnabled(t1), net.isEnabled(marking, i1));
+        Assertions.assertEquals(petri.isEnabled(t2), net.isEnabled(marking, i2));
+
+        net.fire(marking, i1);
+        Assertions.assertEquals(0, marking[net.getPlaceId(p1)]);
+        Assertions.assertEquals(1, marking[net.getPlaceId(p2)]);
+        Assertions.assertEquals(1, marking[net.getPlaceId(p3)]);
+        Assertions.assertFalse(net.isEnabled(marking, i2));
+
+        Assertions.assertTrue(net.isUnfireEnabled(marking, i1));
+        net.unfire(marking, i1);
+        Assertions.assertArrayEquals(net.getInitialMarking(), marking);
+
+        // Model tokens are not affected until the marking is explicitly applied
+        Assertions.assertEquals(1, p1.getTokens());
+        marking[net.getPlaceId(p2)] = 2;
+        net.applyMarking(marking);
+        Assertions.assertEquals(2, p2.getTokens());
+        Assertions.assertTrue(petri.isEnabled(t2));
+        Assertions.assertTrue(net.isEnabled(net.getCurrentMarking(), i2));
+    }
+
+    @Test
+    void testUnequalArcWeights() throws InvalidConnectionException {
+        Petri petri = new Petri();
+        Place p = petri.createPlace("p", null);
+        Transition t = petri.createTransition("t", null);
+        p.setTokens(1);
+        // t consumes two tokens from p and produces one back, which is not a read arc
+        petri.connect(p, t);
+        petri.connect(p, t);
+        petri.connect(t, p);
+
+        CompiledNet net = new CompiledNet(petri);
+        int i = net.getTransitionId(t);
+        Assertions.assertEquals(0, net.getReadsetEnd(i) - net.getReadsetStart(i));
+
+        int[] marking = net.getInitialMarking();
+        Assertions.assertFalse(net.isEnabled(marking, i));
+        Assertions.assertEquals(petri.isEnabled(t), net.isEnabled(marking, i));
+
+        marking[net.getPlaceId(p)] = 2;
+        Assertions.assertTrue(net.isEnabled(marking, i));
+        net.fire(marking, i);
+        Assertions.assertEquals(1, marking[net.getPlaceId(p)]);
+        Assertions.assertTrue(net.isUnfireEnabled(marking, i));
+        net.unfire(marking, i);
+        Assertions.assertEquals(2, marking[net.getPlaceId(p)]);
+
+        marking[net.getPlaceId(p)] = 0;
+        Assertions.assertFalse(net.isUnfireEnabled(marking, i));
+    }
+
+    @Test
+    void testMarkingPacker() {
+        MarkingPacker packer = new MarkingPacker(40, 3);
+        Assertions.assertEquals(2, packer.getBitsPerPlace());
+        Assertions.assertEquals(2, packer.getWordCount());
+        int[] marking = new int[40];
+        for (int p = 0; p < marking.length; p++) {
+            marking[p] = p % 4;
+        }
+        long[] packed = new long[packer.getWordCount()];
+        Assertions.assertTrue(packer.pack(marking, packed, 0));
+        int[] unpacked = new int[40];
+        packer.unpack(packed, 0, unpacked);
+        Assertions.assertArrayEquals(marking, unpacked);
+        Assertions.assertEquals(3, packer.getTokens(packed, 0, 35));
+        marking[7] = 4;
+        Assertions.assertFalse(packer.pack(marking, packed, 0));
+    }
+
+}
@@ -0,0 +1,132 @@
+package org.workcraft.plugins.petri.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.exceptions.InvalidConnectionException;
+import org.workcraft.plugins.petri.Petri;
+import org.workcraft.plugins.petri.Place;
+import org.workcraft.plugins.petri.Transition;
+import org.workcraft.traces.Trace;
+
+import java.util.Random;
+
+class ParallelReachabilityExplorerTests {
+
+    @Test
+    void testConcurrentCycles() throws InvalidConnectionException {
+        CompiledNet net = new CompiledNet(ReachabilityExplorerTests.createConcurrentCycles(12));
+        ReachabilityResult sequentialResult = new ReachabilityExplorer(net).explore();
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            ParallelReachabilityExplorer explorer = new ParallelReachabilityExplorer(net);
+            explorer.setParallelism(parallelism);
+            ReachabilityResult result = explorer.explore();
+            Assertions.assertEquals(ReachabilityResult.Status.COMPLETE, result.getStatus());
+            Assertions.assertEquals(sequentialResult.getStateCount(), result.getStateCount());
+            Assertions.assertEquals(sequentialResult.getArcCount(), result.getArcCount());
+            Assertions.assertEquals(0, result.getDeadlockCount());
+            Assertions.assertArrayEquals(sequentialResult.getMaxTokens(), result.getMaxTokens());
+        }
+    }
+
+    @Test
+    void testDeterministicTrace() throws InvalidConnectionException {
+        // Independent two-step pipelines, with the only deadlock when all of them are complete
+        Petri petri = new Petri();
+        for (int i = 0; i < 10; i++) {
+            Place p0 = petri.createPlace("p" + i + "_0", null);
+            Place p1 = petri.createPlace("p" + i + "_1", null);
+            Place p2 = petri.createPlace("p" + i + "_2", null);
+            Transition t0 = petri.createTransition("t" + i + "_0", null);
+            Transition t1 = petri.createTransition("t" + i + "_1", null);
+            p0.setTokens(1);
+            petri.connect(p0, t0);
+            petri.connect(t0, p1);
+            petri.connect(p1, t1);
+            petri.connect(t1, p2);
+        }
+        CompiledNet net = new CompiledNet(petri);
+        Trace expectedTrace = null;
+        for (int parallelism = 1; parallelism <= 4; parallelism++) {
+            ParallelReachabilityExplorer explorer = new ParallelReachabilityExplorer(net);
+            explorer.setParallelism(parallelism);
+            explorer.setStopAtDeadlock(true);
+            ReachabilityResult result = explorer.explore();
+            Assertions.assertEquals(ReachabilityResult.Status.DEADLOCK_FOUND, result.getStatus());
+            Assertions.assertEquals(59049, result.getStateCount());
+            Assertions.assertEquals(20, result.getTrace().length);
+            Trace trace = net.getTrace(result.getTrace());
+            if (expectedTrace == null) {
+                expectedTrace = trace;
+            }
+            Assertions.assertEquals(expectedTrace, trace);
+        }
+    }
+
+    @Test
+    void testRandomNets() throws InvalidConnectionException {
+        Random random = new Random(7);
+        for (int n = 0; n < 100; n++) {
+            Petri petri = new Petri();
+            Place[] places = new Place[8];
+            for (int i = 0; i < places.length; i++) {
+                places[i] = petri.createPlace(null, null);
+                places[i].setTokens(random.nextInt(3) == 0 ? 1 : 0);
+            }
+            for (int i = 0; i < 8; i++) {
+                Transition transition = petri.createTransition(null, null);
+                petri.connect(places[random.nextInt(places.length)], transition);
+                if (random.nextBoolean()) {
+                    petri.connect(places[random.nextInt(places.length)], transition);
+                }
+                petri.connect(transition, places[random.nextInt(places.length)]);
+                if (random.nextBoolean()) {
+                    petri.connect(transition, places[random.nextInt(places.length)]);
+                }
+            }
+            CompiledNet net = new CompiledNet(petri);
+            ReachabilityExplorer sequentialExplorer = new ReachabilityExplorer(net);
+            sequentialExplorer.setTokenLimit(3);
+            ReachabilityResult sequentialResult = sequentialExplorer.explore();
+            if (!sequentialResult.isComplete()) {
+                continue;
+            }
+            ParallelReachabilityExplorer explorer = new ParallelReachabilityExplorer(net);
+            explorer.setTokenLimit(3);
+            explorer.setParallelism(3);
+            ReachabilityResult result = explorer.explore();
+            Assertions.assertEquals(sequentialResult.getStateCount(), result.getStateCount());
+            Assertions.assertEquals(sequentialResult.getArcCount(), result.getArcCount());
+            Assertions.assertEquals(sequentialResult.getDeadlockCount(), result.getDeadlockCount());
+
+            int p = random.nextInt(places.length);
+            sequentialExplorer.setTarget(marking -> marking[p] > 1, new int[]{p});
+            explorer.setTarget(marking -> marking[p] > 1, new int[]{p});
+            ReachabilityResult sequentialTargetResult = sequentialExplorer.explore();
+            ReachabilityResult targetResult = explorer.explore();
+            Assertions.assertEquals(sequentialTargetResult.getStatus(), targetResult.getStatus());
+            if (targetResult.getStatus() == ReachabilityResult.Status.TARGET_FOUND) {
+                // Both searches are breadth-first without reduction, so both traces are shortest
+                int length = sequentialTargetResult.getTrace().length;
+                Assertions.assertEquals(length, targetResult.getTrace().length);
+                assertTargetTrace(net, targetResult.getTrace(), p);
+
+                // Reduction preserves reachability of the target, but its trace may be longer
+                explorer.setReduction(true);
+                ReachabilityResult reducedResult = explorer.explore();
+                Assertions.assertEquals(ReachabilityResult.Status.TARGET_FOUND, reducedResult.getStatus());
+                Assertions.assertTrue(reducedResult.getTrace().length >= length);
+                assertTargetTrace(net, reducedResult.getTrace(), p);
+            }
+        }
+    }
+
+    private static void assertTargetTrace(CompiledNet net, int[] trace, int p) {
+        int[] marking = net.getInitialMarking();
+        for (int t : trace) {
+            Assertions.assertTrue(net.isEnabled(marking, t));
+            net.fire(marking, t);
+        }
+        Assertions.assertTrue(marking[p] > 1);
+    }
+
+}
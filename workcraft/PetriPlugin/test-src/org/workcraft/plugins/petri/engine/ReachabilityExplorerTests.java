@@ -0,0 +1,195 @@
+package org.workcraft.plugins.petri.engine;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.exceptions.InvalidConnectionException;
+import org.workcraft.plugins.petri.Petri;
+import org.workcraft.plugins.petri.Place;
+import org.workcraft.plugins.petri.Transition;
+
+import java.util.Random;
+
+class ReachabilityExplorerTests {
+
+    static Petri createConcurrentCycles(int count) throws InvalidConnectionException {
+        Petri petri = new Petri();
+        for (int i = 0; i < count; i++) {
+            Place p0 = petri.createPlace("p" + i + "_0", null);
+            Place p1 = petri.createPlace("p" + i + "_1", null);
+            Transition t0 = petri.createTransition("t" + i + "_0", null);
+            Transition t1 = petri.createTransition("t" + i + "_1", null);
+            p0.setTokens(1);
+            petri.connect(p0, t0);
+            petri.connect(t0, p1);
+            petri.connect(p1, t1);
+            petri.connect(t1, p0);
+        }
+        return petri;
+    }
+
+    @Test
+    void testConcurrentCycles() throws InvalidConnectionException {
+        CompiledNet net = new CompiledNet(createConcurrentCycles(10));
+        for (ReachabilityExplorer.SearchOrder searchOrder : ReachabilityExplorer.SearchOrder.values()) {
+            ReachabilityExplorer explorer = new ReachabilityExplorer(net);
+            explorer.setSearchOrder(searchOrder);
+            ReachabilityResult result = explorer.explore();
+            Assertions.assertEquals(ReachabilityResult.Status.COMPLETE, result.getStatus());
+            Assertions.assertEquals(1024, result.getStateCount());
+            Assertions.assertEquals(10 * 1024, result.getArcCount());
+            Assertions.assertEquals(0, result.getDeadlockCount());
+            for (int tokens : result.getMaxTokens()) {
+                Assertions.assertEquals(1, tokens);
+            }
+        }
+    }
+
+    @Test
+    void testStateLimit() throws InvalidConnectionException {
+        ReachabilityExplorer explorer = new ReachabilityExplorer(new CompiledNet(createConcurrentCycles(10)));
+        explorer.setStateLimit(100);
+        ReachabilityResult result = explorer.explore();
+        Assertions.assertEquals(ReachabilityResult.Status.STATE_LIMIT, result.getStatus());
+        Assertions.assertEquals(100, result.getStateCount());
+    }
+
+    @Test
+    void testDeadlockAndTokenLimit() throws InvalidConnectionException {
+        Petri petri = new Petri();
+        Place p1 = petri.createPlace("p1", null);
+        Place p2 = petri.createPlace("p2", null);
+        Transition t1 = petri.createTransition("t1", null);
+        Transition t2 = petri.createTransition("t2", null);
+        p1.setTokens(3);
+        petri.connect(p1, t1);
+        petri.connect(t1, p2);
+        // t2 is a source transition that keeps producing tokens into p1
+        petri.connect(t2, p1);
+        ReachabilityExplorer explorer = new ReachabilityExplorer(new CompiledNet(petri));
+        explorer.setTokenLimit(7);
+        ReachabilityResult result = explorer.explore();
+        Assertions.assertEquals(ReachabilityResult.Status.TOKEN_LIMIT, result.getStatus());
+
+        petri.remove(t2);
+        result = new ReachabilityExplorer(new CompiledNet(petri)).explore();
+        Assertions.assertEquals(ReachabilityResult.Status.COMPLETE, result.getStatus());
+        Assertions.assertEquals(4, result.getStateCount());
+        Assertions.assertEquals(3, result.getArcCount());
+        Assertions.assertEquals(1, result.getDeadlockCount());
+        Assertions.assertArrayEquals(new int[]{3, 3}, result.getMaxTokens());
+    }
+
+    @Test
+    void testMarkingStore() {
+        MarkingStore store = new MarkingStore(3, 4);
+        long[] marking = new long[3];
+        for (int i = 0; i < 100000; i++) {
+            marking[0] = i;
+            marking[2] = i % 7;
+            Assertions.assertEquals(i, store.add(marking, 0));
+        }
+        Assertions.assertEquals(100000, store.size());
+        marking[0] = 12345;
+        marking[2] = 12345 % 7;
+        Assertions.assertEquals(-12345 - 1, store.add(marking, 0));
+        Assertions.assertEquals(12345, store.find(marking, 0));
+        marking[1] = 1;
+        Assertions.assertEquals(-1, store.find(marking, 0));
+        long[] copy = new long[4];
+        store.get(777, copy, 1);
+        Assertions.assertArrayEquals(new long[]{0, 777, 0, 777 % 7}, copy);
+    }
+
+    @Test
+    void testStubbornSetDeadlock() throws InvalidConnectionException {
+        Petri petri = new Petri();
+        for (int i = 0; i < 12; i++) {
+            Place p0 = petri.createPlace("p" + i + "_0", null);
+            Place p1 = petri.createPlace("p" + i + "_1", null);
+            Transition t = petri.createTransition("t" + i, null);
+            p0.setTokens(1);
+            petri.connect(p0, t);
+            petri.connect(t, p1);
+        }
+        CompiledNet net = new CompiledNet(petri);
+        ReachabilityResult fullResult = new ReachabilityExplorer(net).explore();
+        Assertions.assertEquals(4096, fullResult.getStateCount());
+        Assertions.assertEquals(1, fullResult.getDeadlockCount());
+
+        ReachabilityExplorer explorer = new ReachabilityExplorer(net);
+        explorer.setReduction(true);
+        ReachabilityResult result = explorer.explore();
+        Assertions.assertEquals(ReachabilityResult.Status.COMPLETE, result.getStatus());
+        Assertions.assertEquals(13, result.getStateCount());
+        Assertions.assertEquals(1, result.getDeadlockCount());
+
+        explorer.setStopAtDeadlock(true);
+        result = explorer.explore();
+        Assertions.assertEquals(ReachabilityResult.Status.DEADLOCK_FOUND, result.getStatus());
+        Assertions.assertEquals(12, result.getTrace().length);
+    }
+
+    @Test
+    void testStubbornSetTarget() throws InvalidConnectionException {
+        Petri petri = createConcurrentCycles(10);
+        CompiledNet net = new CompiledNet(petri);
+        ReachabilityExplorer explorer = new ReachabilityExplorer(net);
+        explorer.setReduction(true);
+        ReachabilityResult result = explorer.explore();
+        Assertions.assertEquals(ReachabilityResult.Status.COMPLETE, result.getStatus());
+        Assertions.assertTrue(result.getStateCount() < 1024);
+
+        int p = net.getPlaceId((Place) petri.getNodeByReference("p9_1"));
+        explorer.setTarget(marking -> marking[p] > 0, new int[]{p});
+        result = explorer.explore();
+        Assertions.assertEquals(ReachabilityResult.Status.TARGET_FOUND, result.getStatus());
+        int[] marking = net.getInitialMarking();
+        for (int t : result.getTrace()) {
+            Assertions.assertTrue(net.isEnabled(marking, t));
+            net.fire(marking, t);
+        }
+        Assertions.assertEquals(1, marking[p]);
+    }
+
+    @Test
+    void testStubbornSetRandomNets() throws InvalidConnectionException {
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            Petri petri = new Petri();
+            Place[] places = new Place[6];
+            for (int i = 0; i < places.length; i++) {
+                places[i] = petri.createPlace(null, null);
+                places[i].setTokens(random.nextInt(4) == 0 ? 1 : 0);
+            }
+            for (int i = 0; i < 6; i++) {
+                Transition transition = petri.createTransition(null, null);
+                petri.connect(places[random.nextInt(places.length)], transition);
+                if (random.nextBoolean()) {
+                    petri.connect(places[random.nextInt(places.length)], transition);
+                }
+                petri.connect(transition, places[random.nextInt(places.length)]);
+                if (random.nextBoolean()) {
+                    petri.connect(transition, places[random.nextInt(places.length)]);
+                }
+            }
+            CompiledNet net = new CompiledNet(petri);
+            ReachabilityExplorer fullExplorer = new ReachabilityExplorer(net);
+            fullExplorer.setTokenLimit(3);
+            ReachabilityResult fullResult = fullExplorer.explore();
+            if (!fullResult.isComplete()) {
+                continue;
+            }
+            ReachabilityExplorer explorer = new ReachabilityExplorer(net);
+            explorer.setTokenLimit(3);
+            explorer.setReduction(true);
+            ReachabilityResult result = explorer.explore();
+            Assertions.assertEquals(fullResult.getDeadlockCount(), result.getDeadlockCount());
+
+            int p = random.nextInt(places.length);
+            fullExplorer.setTarget(marking -> marking[p] > 1, new int[]{p});
+            explorer.setTarget(marking -> marking[p] > 1, new int[]{p});
+            Assertions.assertEquals(fullExplorer.explore().getStatus(), explorer.explore().getStatus());
+        }
+    }
+
+}
@@ -16,8 +16,10 @@ import org.workcraft.utils.WorkspaceUtils;
 import org.workcraft.workspace.WorkspaceEntry;
 
 import javax.swing.*;
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -90,14 +92,20 @@ public class WriteSgConversionTask implements Task<WriteSgConversionOutput> {
                 writeSgOptions.add("-bin");
             }
 
+            // State graph can be huge, so it is streamed to a file rather than kept in memory
+            File sgFile = FileUtils.createTempFile("sg-", ".sg");
+            sgFile.deleteOnExit();
             while (true) {
-                WriteSgTask writeSgTask = new WriteSgTask(writeSgOptions, petriFile, null, null);
+                WriteSgTask writeSgTask = new WriteSgTask(writeSgOptions, petriFile, null, null, sgFile);
                 Result<? extends ExternalProcessOutput> result = taskManager.execute(
                         writeSgTask, "Building state graph", subtaskMonitor);
 
                 ExternalProcessOutput output = result.getPayload();
                 if (result.isSuccess()) {
-                    Fst fst = SgImporter.deserialiseFst(new ByteArrayInputStream(output.getStdout()));
+                    Fst fst;
+                    try (InputStream is = new BufferedInputStream(new FileInputStream(sgFile))) {
+                        fst = SgImporter.deserialiseFst(is);
+                    }
                     return Result.success(new WriteSgConversionOutput(output, fst));
                 }
 
@@ -17,6 +17,7 @@ public class WriteSgTask implements Task<ExternalProcessOutput>, ExternalProcess
     private final File inputFile;
     private final File outputFile;
     private final File directory;
+    private final File stdoutFile;
 
     private ProgressMonitor<? super ExternalProcessOutput> monitor;
 
@@ -24,10 +25,19 @@ public class WriteSgTask implements Task<ExternalProcessOutput>, ExternalProcess
     private final DataAccumulator stderrAccum = new DataAccumulator();
 
     public WriteSgTask(List<String> options, File inputFile, File outputFile, File directory) {
+        this(options, inputFile, outputFile, directory, null);
+    }
+
+    /**
+     * If stdoutFile is not null, then the standard output of petrify (e.g. the state graph when no outputFile
+     * is given) is streamed to that file instead of being kept in memory.
+     */
+    public WriteSgTask(List<String> options, File inputFile, File outputFile, File directory, File stdoutFile) {
         this.options = options;
         this.inputFile = inputFile;
         this.outputFile = outputFile;
         this.directory = directory;
+        this.stdoutFile = stdoutFile;
     }
 
     @Override
@@ -58,7 +68,7 @@ public class WriteSgTask implements Task<ExternalProcessOutput>, ExternalProcess
             command.add(outputFile.getAbsolutePath());
         }
 
-        ExternalProcessTask task = new ExternalProcessTask(command, directory);
+        ExternalProcessTask task = new ExternalProcessTask(command, directory, false, false, stdoutFile);
         Result<? extends ExternalProcessOutput> result = task.run(monitor);
         if (!result.isSuccess()) {
             return result;
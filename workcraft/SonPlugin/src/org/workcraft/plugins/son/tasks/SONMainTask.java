@@ -5,9 +5,9 @@ import org.workcraft.plugins.son.*;
 import org.workcraft.plugins.son.algorithm.BSONAlg;
 import org.workcraft.plugins.son.elements.TransitionNode;
 import org.workcraft.plugins.son.util.Before;
+import org.workcraft.tasks.ComputingTask;
 import org.workcraft.tasks.ProgressMonitor;
 import org.workcraft.tasks.Result;
-import org.workcraft.tasks.Task;
 import org.workcraft.utils.WorkspaceUtils;
 import org.workcraft.workspace.WorkspaceEntry;
 
@@ -16,7 +16,7 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 
-public class SONMainTask implements Task<VerificationResult> {
+public class SONMainTask implements ComputingTask<VerificationResult> {
 
     private final WorkspaceEntry we;
     private final Logger logger = Logger.getLogger(this.getClass().getName());
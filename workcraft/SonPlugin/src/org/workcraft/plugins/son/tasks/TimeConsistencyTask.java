@@ -15,16 +15,16 @@ import org.workcraft.plugins.son.exception.TimeEstimationException;
 import org.workcraft.plugins.son.exception.TimeOutOfBoundsException;
 import org.workcraft.plugins.son.gui.TimeConsistencyDialog.Granularity;
 import org.workcraft.plugins.son.util.Interval;
+import org.workcraft.tasks.ComputingTask;
 import org.workcraft.tasks.ProgressMonitor;
 import org.workcraft.tasks.Result;
-import org.workcraft.tasks.Task;
 import org.workcraft.utils.WorkspaceUtils;
 import org.workcraft.workspace.WorkspaceEntry;
 
 import java.awt.*;
 import java.util.*;
 
-public class TimeConsistencyTask implements Task<VerificationResult> {
+public class TimeConsistencyTask implements ComputingTask<VerificationResult> {
 
     private final SON net;
     private final Logger logger = Logger.getLogger(this.getClass().getName());
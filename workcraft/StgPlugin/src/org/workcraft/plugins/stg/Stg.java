@@ -12,6 +12,7 @@ import org.workcraft.dom.math.MathNode;
 import org.workcraft.dom.references.FileReference;
 import org.workcraft.dom.references.Identifier;
 import org.workcraft.dom.references.NameManager;
+import org.workcraft.dom.visual.NodeHelper;
 import org.workcraft.exceptions.InvalidConnectionException;
 import org.workcraft.exceptions.NotFoundException;
 import org.workcraft.plugins.petri.Petri;
@@ -28,6 +29,7 @@ import org.workcraft.utils.Hierarchy;
 import org.workcraft.utils.SetUtils;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -43,7 +45,7 @@ public class Stg extends AbstractMathModel implements StgModel {
 
     public Stg(Container root, References refs) {
         super(root, new StgReferenceManager(refs));
-        new SignalTypeConsistencySupervisor(this).attach(getRoot());
+        new SignalTypeConsistencySupervisor().attach(getRoot());
     }
 
     @Override
@@ -117,37 +119,37 @@ public class Stg extends AbstractMathModel implements StgModel {
 
     @Override
     public final Collection<SignalTransition> getSignalTransitions() {
-        return Hierarchy.getDescendantsOfType(getRoot(), SignalTransition.class);
+        return new ArrayList<>(getNodesOfType(SignalTransition.class));
     }
 
     @Override
     public final Collection<StgPlace> getPlaces() {
-        return Hierarchy.getDescendantsOfType(getRoot(), StgPlace.class);
+        return new ArrayList<>(getNodesOfType(StgPlace.class));
     }
 
     @Override
     public final Collection<StgPlace> getMutexPlaces() {
-        return Hierarchy.getDescendantsOfType(getRoot(), StgPlace.class, StgPlace::isMutex);
+        return NodeHelper.filterByType(getNodesOfType(StgPlace.class), StgPlace.class, StgPlace::isMutex);
     }
 
     @Override
     public final Collection<MathConnection> getConnections() {
-        return Hierarchy.getDescendantsOfType(getRoot(), MathConnection.class);
+        return new ArrayList<>(getNodesOfType(MathConnection.class));
     }
 
     @Override
     public final Collection<Transition> getTransitions() {
-        return Hierarchy.getDescendantsOfType(getRoot(), Transition.class);
+        return new ArrayList<>(getNodesOfType(Transition.class));
     }
 
     @Override
     public Collection<DummyTransition> getDummyTransitions() {
-        return Hierarchy.getDescendantsOfType(getRoot(), DummyTransition.class);
+        return new ArrayList<>(getNodesOfType(DummyTransition.class));
     }
 
     @Override
     public Collection<SignalTransition> getSignalTransitions(final Signal.Type type) {
-        return Hierarchy.getDescendantsOfType(getRoot(), SignalTransition.class,
+        return NodeHelper.filterByType(getNodesOfType(SignalTransition.class), SignalTransition.class,
                 transition -> (transition.getSignalType() == type) || (type == null));
     }
 
@@ -1,21 +1,88 @@
 package org.workcraft.plugins.stg.observers;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.workcraft.dom.Container;
+import org.workcraft.dom.Node;
+import org.workcraft.observation.HierarchyEvent;
+import org.workcraft.observation.NodesAddedEvent;
+import org.workcraft.observation.NodesDeletedEvent;
 import org.workcraft.observation.PropertyChangedEvent;
 import org.workcraft.observation.StateEvent;
 import org.workcraft.observation.StateSupervisor;
 import org.workcraft.plugins.stg.Signal;
 import org.workcraft.plugins.stg.SignalTransition;
-import org.workcraft.plugins.stg.Stg;
+import org.workcraft.types.ListMap;
 
 public class SignalTypeConsistencySupervisor extends StateSupervisor {
 
-    private final Stg stg;
+    // Signal transitions by their signal names, so that a change of one transition does not scan the whole container
+    private final ListMap<String, SignalTransition> signalTransitions = new ListMap<>();
+    private final Map<SignalTransition, String> transitionToSignalName = new HashMap<>();
 
-    public SignalTypeConsistencySupervisor(Stg stg) {
-        this.stg = stg;
+    @Override
+    public void handleHierarchyEvent(HierarchyEvent e) {
+        if (e instanceof NodesAddedEvent) {
+            for (Node node : e.getAffectedNodes()) {
+                nodeAdded(node);
+            }
+        } else if (e instanceof NodesDeletedEvent) {
+            for (Node node : e.getAffectedNodes()) {
+                nodeRemoved(node);
+            }
+        }
+    }
+
+    private void nodeAdded(Node node) {
+        if (node instanceof SignalTransition) {
+            updateSignalName((SignalTransition) node);
+        }
+        for (Node child : node.getChildren()) {
+            nodeAdded(child);
+        }
+    }
+
+    private void nodeRemoved(Node node) {
+        if (node instanceof SignalTransition) {
+            SignalTransition t = (SignalTransition) node;
+            String signalName = transitionToSignalName.remove(t);
+            if (signalName != null) {
+                signalTransitions.remove(signalName, t);
+            }
+        }
+        for (Node child : node.getChildren()) {
+            nodeRemoved(child);
+        }
+    }
+
+    private void updateSignalName(SignalTransition t) {
+        String signalName = t.getSignalName();
+        String oldSignalName = transitionToSignalName.get(t);
+        if ((oldSignalName == null) || !oldSignalName.equals(signalName)) {
+            if (oldSignalName != null) {
+                signalTransitions.remove(oldSignalName, t);
+                transitionToSignalName.remove(t);
+            }
+            if (signalName != null) {
+                signalTransitions.put(signalName, t);
+                transitionToSignalName.put(t, signalName);
+            }
+        }
+    }
+
+    private Collection<SignalTransition> getSignalTransitions(String signalName, Container container) {
+        Collection<SignalTransition> result = new ArrayList<>();
+        if (signalName != null) {
+            for (SignalTransition t : signalTransitions.get(signalName)) {
+                if (t.getParent() == container) {
+                    result.add(t);
+                }
+            }
+        }
+        return result;
     }
 
     @Override
@@ -27,10 +94,13 @@ public class SignalTypeConsistencySupervisor extends StateSupervisor {
                     propertyName.equals(SignalTransition.PROPERTY_SIGNAL_NAME)) {
 
                 SignalTransition t = (SignalTransition) e.getSender();
+                if (propertyName.equals(SignalTransition.PROPERTY_SIGNAL_NAME)) {
+                    updateSignalName(t);
+                }
                 String signalName = t.getSignalName();
                 Container container = (Container) t.getParent();
                 Signal.Type signalType = t.getSignalType();
-                final Collection<SignalTransition> transitions = stg.getSignalTransitions(signalName, container);
+                final Collection<SignalTransition> transitions = getSignalTransitions(signalName, container);
 
                 if (propertyName.equals(SignalTransition.PROPERTY_SIGNAL_TYPE)) {
                     // If transition type changed than change the type of all other transitions with the same signal name.
@@ -51,4 +121,4 @@ public class SignalTypeConsistencySupervisor extends StateSupervisor {
         }
     }
 
-}
\ No newline at end of file
+}
@@ -40,18 +40,21 @@ public class StgNameManager extends DefaultNameManager {
 
     public void setInstanceNumber(Node node, int number) {
         instancedNameManager.assign(node, number);
+        notifyChange();
     }
 
     private void renameSignalTransition(SignalTransition t, String signalName) {
         signalTransitions.remove(t.getSignalName(), t);
         t.setSignalName(signalName);
         signalTransitions.put(t.getSignalName(), t);
+        notifyChange();
     }
 
     private void renameDummyTransition(DummyTransition t, String name) {
         dummyTransitions.remove(t.getName(), t);
         t.setName(name);
         dummyTransitions.put(t.getName(), t);
+        notifyChange();
     }
 
     private void setSignalTransitionName(SignalTransition st, String name, boolean forceInstance) {
@@ -178,6 +181,7 @@ public class StgNameManager extends DefaultNameManager {
         super.remove(node);
         if (instancedNameManager.getInstance(node) != null) {
             instancedNameManager.remove(node);
+            notifyChange();
         }
     }
 
@@ -229,6 +233,7 @@ public class StgNameManager extends DefaultNameManager {
             if (instancedNameManager.getInstance(st) == null) {
                 instancedNameManager.assign(st);
             }
+            notifyChange();
         }
     }
 
@@ -247,6 +252,7 @@ public class StgNameManager extends DefaultNameManager {
             if (instancedNameManager.getInstance(dt) == null) {
                 instancedNameManager.assign(dt);
             }
+            notifyChange();
         }
     }
 
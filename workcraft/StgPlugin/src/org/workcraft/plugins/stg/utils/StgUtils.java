@@ -20,7 +20,9 @@ import org.workcraft.plugins.petri.PetriModel;
 import org.workcraft.plugins.petri.Place;
 import org.workcraft.plugins.petri.Transition;
 import org.workcraft.plugins.petri.VisualReadArc;
-import org.workcraft.plugins.petri.utils.PetriUtils;
+import org.workcraft.plugins.petri.engine.CompiledNet;
+import org.workcraft.plugins.petri.engine.MarkingPacker;
+import org.workcraft.plugins.petri.engine.MarkingStore;
 import org.workcraft.plugins.stg.*;
 import org.workcraft.plugins.stg.converters.SignalStg;
 import org.workcraft.plugins.stg.interop.StgFormat;
@@ -39,7 +41,6 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.InputStream;
 import java.util.List;
-import java.util.Queue;
 import java.util.*;
 
 public class StgUtils {
@@ -52,6 +53,8 @@ public class StgUtils {
     public static final String MUTEX_FILE_SUFFIX = "-mutex";
     public static final String MODIFIED_FILE_SUFFIX = "-mod";
 
+    private static final int INITIAL_STATE_TOKEN_LIMIT = 255;
+
     private static void replaceNamedTransition(Stg stg, NamedTransition oldTransition, NamedTransition newTransition) {
         for (MathNode pred : stg.getPreset(oldTransition)) {
             connectIfPossible(stg, pred, newTransition);
@@ -283,27 +286,42 @@ public class StgUtils {
 
     public static Map<String, Boolean> getInitialState(StgModel stg, int timeout) {
         Map<String, Boolean> result = new HashMap<>();
-        stg = copyStgPreserveSignals(stg);
         Set<String> undefinedSignalRefs = stg.getSignalReferences();
-        HashSet<HashMap<Place, Integer>> visitedMarkings = new HashSet<>();
-        Queue<HashMap<Place, Integer>> markingQueue = new LinkedList<>();
-        HashMap<Place, Integer> initialMarking = PetriUtils.getMarking(stg);
-        markingQueue.add(initialMarking);
-        Set<Transition> conflictTransitions = getConflictTransitions(stg);
+        // Markings are explored on a compiled copy of the net, so the model itself is never modified
+        CompiledNet net = new CompiledNet(stg);
+        int transitionCount = net.getTransitionCount();
+        boolean[] isConflict = new boolean[transitionCount];
+        for (Transition transition : getConflictTransitions(stg)) {
+            isConflict[net.getTransitionId(transition)] = true;
+        }
+        int[] marking = net.getInitialMarking();
+        int maxTokens = INITIAL_STATE_TOKEN_LIMIT;
+        for (int tokens : marking) {
+            maxTokens = Math.max(maxTokens, tokens);
+        }
+        MarkingPacker packer = new MarkingPacker(net.getPlaceCount(), maxTokens);
+        MarkingStore store = new MarkingStore(packer.getWordCount());
+        long[] packed = new long[packer.getWordCount()];
+        packer.pack(marking, packed, 0);
+        // State ids are assigned in the order of discovery, so the store itself serves as the BFS queue
+        store.add(packed, 0);
+        BitSet visited = new BitSet();
+        int[] enabled = new int[transitionCount];
         long curTime = System.currentTimeMillis();
         long endTime = curTime + timeout;
         int stepCount = 0;
-        while (!markingQueue.isEmpty() && !undefinedSignalRefs.isEmpty() && (curTime < endTime)) {
+        for (int id = 0; (id < store.size()) && !undefinedSignalRefs.isEmpty() && (curTime < endTime); id++) {
             if (stepCount++ > 999) {
                 curTime = System.currentTimeMillis();
                 stepCount = 0;
             }
-            HashMap<Place, Integer> curMarking = markingQueue.remove();
-            visitedMarkings.add(curMarking);
-            PetriUtils.setMarking(stg, curMarking);
+            visited.set(id);
+            store.get(id, packed, 0);
+            packer.unpack(packed, 0, marking);
             // Derive state of signals from enabled transitions
-            Set<Transition> enabledTransitions = PetriUtils.getEnabledTransitions(stg);
-            for (Transition transition : enabledTransitions) {
+            int enabledCount = net.getEnabledTransitions(marking, enabled);
+            for (int i = 0; i < enabledCount; i++) {
+                Transition transition = net.getTransition(enabled[i]);
                 if (transition instanceof SignalTransition) {
                     SignalTransition signalTransition = (SignalTransition) transition;
                     String signalRef = stg.getSignalReference(signalTransition);
@@ -314,46 +332,39 @@ public class StgUtils {
                 }
             }
             // Process concurrently enabled transitions
-            List<Transition> concurrentEnabledTransitions = new ArrayList<>(enabledTransitions);
-            concurrentEnabledTransitions.removeAll(conflictTransitions);
-            for (Transition transition : concurrentEnabledTransitions) {
-                stg.fire(transition);
+            boolean hasConcurrent = false;
+            for (int i = 0; i < enabledCount; i++) {
+                int t = enabled[i];
+                if (!isConflict[t]) {
+                    hasConcurrent = true;
+                    if (net.isEnabled(marking, t)) {
+                        net.fire(marking, t);
+                    }
+                }
             }
-            if (!concurrentEnabledTransitions.isEmpty()) {
-                HashMap<Place, Integer> marking = PetriUtils.getMarking(stg);
-                if (!visitedMarkings.contains(marking)) {
-                    markingQueue.add(marking);
+            if (hasConcurrent && packer.pack(marking, packed, 0)) {
+                int nextId = store.add(packed, 0);
+                if ((nextId >= 0) || !visited.get(-nextId - 1)) {
                     continue;
                 }
             }
             // Process enabled transitions in conflict
-            List<Transition> conflictEnabledTransitions = new ArrayList<>(enabledTransitions);
-            conflictEnabledTransitions.retainAll(conflictTransitions);
-            for (Transition transition : conflictEnabledTransitions) {
-                stg.fire(transition);
-                HashMap<Place, Integer> marking = PetriUtils.getMarking(stg);
-                if (!visitedMarkings.contains(marking)) {
-                    markingQueue.add(marking);
+            store.get(id, packed, 0);
+            packer.unpack(packed, 0, marking);
+            for (int i = 0; i < enabledCount; i++) {
+                int t = enabled[i];
+                if (isConflict[t]) {
+                    net.fire(marking, t);
+                    if (packer.pack(marking, packed, 0)) {
+                        store.add(packed, 0);
+                    }
+                    net.unfire(marking, t);
                 }
-                stg.unFire(transition);
             }
         }
         return result;
     }
 
-    /**
-     * Copy the given STG preserving the signal hierarchy and references. Note that
-     * STG places are copied without their hierarchy and their names are not preserved.
-     *
-     * @param stg an STG to be copied
-     * @return a new STG with the same signal references
-     */
-    private static StgModel copyStgPreserveSignals(StgModel stg) {
-        Stg result = new Stg();
-        copyStgRenameSignals(stg, result, Collections.emptyMap());
-        return result;
-    }
-
     private static Set<Transition> getConflictTransitions(StgModel stg) {
         Set<Transition> result = new HashSet<>();
         for (Transition transition : stg.getTransitions()) {
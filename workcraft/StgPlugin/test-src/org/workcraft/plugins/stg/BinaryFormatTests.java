@@ -0,0 +1,123 @@
+package org.workcraft.plugins.stg;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.workcraft.Framework;
+import org.workcraft.Version;
+import org.workcraft.exceptions.DeserialisationException;
+import org.workcraft.exceptions.SerialisationException;
+import org.workcraft.plugins.CompatibilityManager;
+import org.workcraft.utils.BinaryXmlUtils;
+import org.workcraft.utils.PackageUtils;
+import org.workcraft.utils.WorkUtils;
+import org.workcraft.workspace.ModelEntry;
+import org.workcraft.workspace.WorkspaceEntry;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+class BinaryFormatTests {
+
+    @BeforeAll
+    static void init() {
+        final Framework framework = Framework.getInstance();
+        framework.init();
+    }
+
+    @Test
+    void testVmeBinaryFormat() throws SerialisationException, DeserialisationException, IOException {
+        String workName = PackageUtils.getPackagePath(getClass(), "vme.stg.work");
+        testBinaryFormat(workName);
+    }
+
+    @Test
+    void testBuckBinaryFormat() throws SerialisationException, DeserialisationException, IOException {
+        String workName = PackageUtils.getPackagePath(getClass(), "buck.stg.work");
+        testBinaryFormat(workName);
+    }
+
+    @Test
+    void testChoiceBinaryFormat() throws SerialisationException, DeserialisationException, IOException {
+        String workName = PackageUtils.getPackagePath(getClass(), "choice9.stg.work");
+        testBinaryFormat(workName);
+    }
+
+    private void testBinaryFormat(String workName)
+            throws SerialisationException, DeserialisationException, IOException {
+
+        final Framework framework = Framework.getInstance();
+        final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+        URL srcUrl = classLoader.getResource(workName);
+        WorkspaceEntry we = framework.loadWork(srcUrl.getFile());
+        ModelEntry me = we.getModelEntry();
+
+        byte[] xmlData = save(me, false);
+        byte[] binaryData = save(me, true);
+
+        ModelEntry xmlMe = WorkUtils.loadModel(new ByteArrayInputStream(xmlData));
+        ModelEntry binaryMe = WorkUtils.loadModel(new ByteArrayInputStream(binaryData));
+        Assertions.assertArrayEquals(WorkUtils.mementoModel(xmlMe).toByteArray(),
+                WorkUtils.mementoModel(binaryMe).toByteArray());
+
+        Assertions.assertEquals(me.getStamp().time, binaryMe.getStamp().time);
+        Assertions.assertEquals(me.getDescriptor().getClass(), binaryMe.getDescriptor().getClass());
+        Assertions.assertTrue(binaryData.length < xmlData.length);
+
+        // Legacy replacements that do not match current class names leave binary entries intact
+        CompatibilityManager cm = framework.getCompatibilityManager();
+        ModelEntry processedMe = WorkUtils.loadModel(cm.process(new ByteArrayInputStream(binaryData), null));
+        Assertions.assertArrayEquals(WorkUtils.mementoModel(binaryMe).toByteArray(),
+                WorkUtils.mementoModel(processedMe).toByteArray());
+
+        framework.closeWork(we);
+    }
+
+    @Test
+    void testBinaryLegacyReplacement() throws SerialisationException, DeserialisationException, IOException {
+        final Framework framework = Framework.getInstance();
+        final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+        String workName = PackageUtils.getPackagePath(getClass(), "vme.stg.work");
+        URL srcUrl = classLoader.getResource(workName);
+        WorkspaceEntry we = framework.loadWork(srcUrl.getFile());
+        byte[] binaryData = save(we.getModelEntry(), true);
+        framework.closeWork(we);
+
+        CompatibilityManager cm = new CompatibilityManager();
+        Version version = new Version(3, 1, 0, Version.Status.RELEASE);
+        cm.registerGlobalReplacement(version, Stg.class.getName(),
+                "<node class=\"org.workcraft.plugins.stg.StgPlace\" ref=",
+                "<node class=\"org.workcraft.plugins.stg.RenamedPlace\" ref=");
+
+        Set<String> classNames = new HashSet<>();
+        ZipInputStream zis = new ZipInputStream(cm.process(new ByteArrayInputStream(binaryData), null));
+        ZipEntry ze;
+        while ((ze = zis.getNextEntry()) != null) {
+            if ("model.bin".equals(ze.getName())) {
+                Document document = BinaryXmlUtils.loadDocument(zis);
+                NodeList nodes = document.getElementsByTagName("node");
+                for (int i = 0; i < nodes.getLength(); i++) {
+                    classNames.add(((Element) nodes.item(i)).getAttribute("class"));
+                }
+            }
+        }
+        Assertions.assertTrue(classNames.contains("org.workcraft.plugins.stg.RenamedPlace"));
+        Assertions.assertFalse(classNames.contains(StgPlace.class.getName()));
+    }
+
+    private static byte[] save(ModelEntry me, boolean binary) throws SerialisationException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        WorkUtils.saveModel(me, null, os, binary);
+        return os.toByteArray();
+    }
+
+}
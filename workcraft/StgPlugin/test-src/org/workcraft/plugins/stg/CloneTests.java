@@ -0,0 +1,60 @@
+package org.workcraft.plugins.stg;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.workcraft.Framework;
+import org.workcraft.exceptions.DeserialisationException;
+import org.workcraft.utils.PackageUtils;
+import org.workcraft.utils.WorkUtils;
+import org.workcraft.workspace.ModelEntry;
+import org.workcraft.workspace.WorkspaceEntry;
+
+import java.net.URL;
+
+class CloneTests {
+
+    @BeforeAll
+    static void init() {
+        final Framework framework = Framework.getInstance();
+        framework.init();
+    }
+
+    @Test
+    void testVmeClone() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "vme.stg.work");
+        testClone(workName);
+    }
+
+    @Test
+    void testBuckClone() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "buck.stg.work");
+        testClone(workName);
+    }
+
+    @Test
+    void testChoiceClone() throws DeserialisationException {
+        String workName = PackageUtils.getPackagePath(getClass(), "choice9.stg.work");
+        testClone(workName);
+    }
+
+    private void testClone(String workName) throws DeserialisationException {
+        final Framework framework = Framework.getInstance();
+        final ClassLoader classLoader = ClassLoader.getSystemClassLoader();
+        URL srcUrl = classLoader.getResource(workName);
+        WorkspaceEntry we = framework.loadWork(srcUrl.getFile());
+        ModelEntry me = we.getModelEntry();
+
+        ModelEntry mementoMe = WorkUtils.loadModel(WorkUtils.mementoModel(me));
+        ModelEntry cloneMe = WorkUtils.cloneModel(me);
+
+        Assertions.assertNotSame(me.getModel(), cloneMe.getModel());
+        Assertions.assertNotSame(me.getMathModel(), cloneMe.getMathModel());
+        Assertions.assertSame(cloneMe.getMathModel(), cloneMe.getVisualModel().getMathModel());
+        Assertions.assertArrayEquals(WorkUtils.mementoModel(mementoMe).toByteArray(),
+                WorkUtils.mementoModel(cloneMe).toByteArray());
+
+        framework.closeWork(we);
+    }
+
+}
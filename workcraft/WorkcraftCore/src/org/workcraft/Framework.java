@@ -20,7 +20,7 @@ import org.workcraft.interop.Importer;
 import org.workcraft.plugins.CompatibilityManager;
 import org.workcraft.plugins.PluginManager;
 import org.workcraft.plugins.builtin.settings.EditorCommonSettings;
-import org.workcraft.tasks.ExtendedTaskManager;
+import org.workcraft.tasks.PooledTaskManager;
 import org.workcraft.tasks.TaskManager;
 import org.workcraft.utils.*;
 import org.workcraft.workspace.*;
@@ -38,9 +38,11 @@ public final class Framework {
     private static final String SETTINGS_DIRECTORY_NAME = "workcraft";
     private static final String CONFIG_FILE_NAME = "config.xml";
     private static final String UILAYOUT_FILE_NAME = "uilayout.xml";
+    private static final String CACHE_DIRECTORY_NAME = "cache";
     private static final String SETTINGS_DIRECTORY_PATH = DesktopApi.getConfigPath() + File.separator + SETTINGS_DIRECTORY_NAME;
     private static final String CONFIG_FILE_PATH = SETTINGS_DIRECTORY_PATH + File.separator + CONFIG_FILE_NAME;
     public static final String UILAYOUT_FILE_PATH = SETTINGS_DIRECTORY_PATH + File.separator + UILAYOUT_FILE_NAME;
+    public static final String CACHE_DIRECTORY_PATH = SETTINGS_DIRECTORY_PATH + File.separator + CACHE_DIRECTORY_NAME;
 
     private static final String FRAMEWORK_VARIABLE = "framework";
     private static final String MAIN_WINDOW_VARIABLE = "mainWindow";
@@ -185,7 +187,7 @@ public final class Framework {
 
     private Framework() {
         pluginManager = new PluginManager();
-        taskManager = new ExtendedTaskManager();
+        taskManager = new PooledTaskManager();
         compatibilityManager = new CompatibilityManager();
         config = new Config();
         workspace = new Workspace();
@@ -15,7 +15,8 @@ public abstract class AbstractModel<N extends Node, C extends Connection> implem
 
     private final Container root;
     private final ReferenceManager mgr;
-    private final NodeContextTracker<N, C> nodeContextTracker = new NodeContextTracker<>();
+    private final CompactNodeContextTracker<N, C> nodeContextTracker = new CompactNodeContextTracker<>();
+    private final NodeTypeTracker nodeTypeTracker = new NodeTypeTracker();
     public final boolean generatedRoot;
 
     private String title = "";
@@ -38,6 +39,7 @@ public abstract class AbstractModel<N extends Node, C extends Connection> implem
             this.mgr = createDefaultReferenceManager();
         }
         this.nodeContextTracker.attach(getRoot());
+        this.nodeTypeTracker.attach(getRoot());
         this.mgr.attach(getRoot());
     }
 
@@ -187,6 +189,11 @@ public abstract class AbstractModel<N extends Node, C extends Connection> implem
         return result;
     }
 
+    @Override
+    public <T> Collection<T> getNodesOfType(Class<T> type) {
+        return nodeTypeTracker.getNodes(type);
+    }
+
     @Override
     public N getNodeByReference(String reference) {
         return getNodeByReference(null, reference);
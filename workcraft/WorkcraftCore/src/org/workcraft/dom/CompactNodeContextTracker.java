@@ -0,0 +1,270 @@
+package org.workcraft.dom;
+
+import org.workcraft.observation.*;
+
+import java.util.*;
+
+/**
+ * Memory-lean alternative to {@link NodeContextTracker} with the same query results and insertion order.
+ * The preset, postset and connections of a node are kept together in one record of exact-size arrays,
+ * which are promoted to linked hash sets when they grow above a few elements. Records are only created
+ * for connected nodes, so connections and isolated nodes take no space at all.
+ */
+public class CompactNodeContextTracker<N extends Node, C extends Connection> extends HierarchySupervisor
+        implements NodeContext<N, C> {
+
+    private static final int ARRAY_SIZE_LIMIT = 8;
+    private static final Object[] EMPTY_ARRAY = new Object[0];
+
+    private static final int PRESET = 0;
+    private static final int POSTSET = 1;
+    private static final int CONNECTIONS = 2;
+
+    // Each store is either an Object[] (copied on write) or a LinkedHashSet<Object>
+    private static final class Context {
+        private Object preset = EMPTY_ARRAY;
+        private Object postset = EMPTY_ARRAY;
+        private Object connections = EMPTY_ARRAY;
+
+        Object get(int kind) {
+            switch (kind) {
+            case PRESET: return preset;
+            case POSTSET: return postset;
+            default: return connections;
+            }
+        }
+
+        void set(int kind, Object store) {
+            switch (kind) {
+            case PRESET: preset = store; break;
+            case POSTSET: postset = store; break;
+            default: connections = store; break;
+            }
+        }
+    }
+
+    private static final class StoreView<T> extends AbstractSet<T> {
+        private final Context context;
+        private final int kind;
+
+        StoreView(Context context, int kind) {
+            this.context = context;
+            this.kind = kind;
+        }
+
+        @Override
+        public int size() {
+            return getStoreSize(context.get(kind));
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return isInStore(context.get(kind), o);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Iterator<T> iterator() {
+            Object store = context.get(kind);
+            if (store instanceof Object[]) {
+                return (Iterator<T>) Arrays.asList((Object[]) store).iterator();
+            }
+            return Collections.unmodifiableSet((Set<T>) store).iterator();
+        }
+    }
+
+    private final Map<Node, Context> contexts = new IdentityHashMap<>();
+
+    private static int getStoreSize(Object store) {
+        return (store instanceof Object[]) ? ((Object[]) store).length : ((Set<?>) store).size();
+    }
+
+    private static boolean isInStore(Object store, Object item) {
+        if (store instanceof Object[]) {
+            for (Object o : (Object[]) store) {
+                if (o == item) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return ((Set<?>) store).contains(item);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object addToStore(Object store, Object item) {
+        if (store instanceof Object[]) {
+            Object[] array = (Object[]) store;
+            if (isInStore(array, item)) {
+                return array;
+            }
+            if (array.length < ARRAY_SIZE_LIMIT) {
+                Object[] result = Arrays.copyOf(array, array.length + 1);
+                result[array.length] = item;
+                return result;
+            }
+            Set<Object> result = new LinkedHashSet<>(Arrays.asList(array));
+            result.add(item);
+            return result;
+        }
+        ((Set<Object>) store).add(item);
+        return store;
+    }
+
+    private static Object removeFromStore(Object store, Object item) {
+        if (store instanceof Object[]) {
+            Object[] array = (Object[]) store;
+            for (int i = 0; i < array.length; i++) {
+                if (array[i] == item) {
+                    if (array.length == 1) {
+                        return EMPTY_ARRAY;
+                    }
+                    Object[] result = new Object[array.length - 1];
+                    System.arraycopy(array, 0, result, 0, i);
+                    System.arraycopy(array, i + 1, result, i, array.length - i - 1);
+                    return result;
+                }
+            }
+            return array;
+        }
+        ((Set<?>) store).remove(item);
+        return store;
+    }
+
+    private void add(Node node, int kind, Object item) {
+        Context context = contexts.computeIfAbsent(node, n -> new Context());
+        context.set(kind, addToStore(context.get(kind), item));
+    }
+
+    private void remove(Node node, int kind, Object item) {
+        Context context = contexts.get(node);
+        if (context != null) {
+            context.set(kind, removeFromStore(context.get(kind), item));
+        }
+    }
+
+    private Object[] getItems(Node node, int kind) {
+        Context context = contexts.get(node);
+        if (context == null) {
+            return EMPTY_ARRAY;
+        }
+        Object store = context.get(kind);
+        return (store instanceof Object[]) ? (Object[]) store : ((Set<?>) store).toArray();
+    }
+
+    private void nodeAdded(Node node) {
+        if (node instanceof Connection) {
+            Connection connection = (Connection) node;
+            Node first = connection.getFirst();
+            Node second = connection.getSecond();
+            add(first, POSTSET, second);
+            add(second, PRESET, first);
+            add(first, CONNECTIONS, connection);
+            add(second, CONNECTIONS, connection);
+        }
+        for (Node child : node.getChildren()) {
+            nodeAdded(child);
+        }
+    }
+
+    private void nodeRemoved(Node node) {
+        for (Object succNode : getItems(node, POSTSET)) {
+            remove((Node) succNode, PRESET, node);
+        }
+        for (Object predNode : getItems(node, PRESET)) {
+            remove((Node) predNode, POSTSET, node);
+        }
+        contexts.remove(node);
+
+        if (node instanceof Connection) {
+            Connection connection = (Connection) node;
+            Node first = connection.getFirst();
+            Node second = connection.getSecond();
+            remove(first, POSTSET, second);
+            remove(second, PRESET, first);
+            remove(first, CONNECTIONS, connection);
+            remove(second, CONNECTIONS, connection);
+        }
+
+        Collection<Node> children = node.getChildren();
+        if (children != null) {
+            for (Node child : children) {
+                nodeRemoved(child);
+            }
+        }
+    }
+
+    // Number of per-node records
+    int getRecordCount() {
+        return contexts.size();
+    }
+
+    // Number of stores promoted from arrays to hash sets
+    int getSetCount() {
+        int result = 0;
+        for (Context context : contexts.values()) {
+            for (int kind = PRESET; kind <= CONNECTIONS; kind++) {
+                if (context.get(kind) instanceof Set) {
+                    result++;
+                }
+            }
+        }
+        return result;
+    }
+
+    private <T> Set<T> getView(Node node, int kind) {
+        Context context = contexts.get(node);
+        return (context == null) ? Collections.emptySet() : new StoreView<>(context, kind);
+    }
+
+    @Override
+    public Set<N> getPreset(N node) {
+        return getView(node, PRESET);
+    }
+
+    @Override
+    public Set<N> getPostset(N node) {
+        return getView(node, POSTSET);
+    }
+
+    @Override
+    public Set<C> getConnections(N node) {
+        return getView(node, CONNECTIONS);
+    }
+
+    @Override
+    public boolean hasConnection(N first, N second) {
+        Context context = contexts.get(first);
+        return (context != null) && isInStore(context.postset, second);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public C getConnection(N first, N second) {
+        for (Object item : getItems(first, CONNECTIONS)) {
+            C connection = (C) item;
+            if ((connection.getFirst() == first) && (connection.getSecond() == second)) {
+                return connection;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void handleEvent(HierarchyEvent e) {
+        if (e instanceof NodesReparentingEvent) {
+            for (Node n : e.getAffectedNodes()) {
+                nodeAdded(n);
+            }
+        } else if (e instanceof NodesAddedEvent) {
+            for (Node n : e.getAffectedNodes()) {
+                nodeAdded(n);
+            }
+        } else if (e instanceof NodesDeletedEvent) {
+            for (Node n : e.getAffectedNodes()) {
+                nodeRemoved(n);
+            }
+        }
+    }
+
+}
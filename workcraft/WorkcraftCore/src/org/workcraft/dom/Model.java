@@ -48,6 +48,12 @@ public interface Model<N extends Node, C extends Connection> extends NodeContext
     <T> Set<T> getPreset(N node, Class<T> type, Func<N, Boolean> through);
     <T> Set<T> getPostset(N node, Class<T> type, Func<N, Boolean> through);
 
+    /**
+     * @return a live read-only view of all the nodes of the given type (including its subclasses)
+     * below the model root. The view must be copied before the model hierarchy is modified while iterating it.
+     */
+    <T> Collection<T> getNodesOfType(Class<T> type);
+
     void add(N node);
     void remove(N node);
     void remove(Collection<? extends N> nodes);
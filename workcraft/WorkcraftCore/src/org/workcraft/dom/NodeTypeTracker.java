@@ -0,0 +1,82 @@
+package org.workcraft.dom;
+
+import org.workcraft.observation.*;
+import org.workcraft.utils.Hierarchy;
+
+import java.util.*;
+
+/**
+ * Index of the model nodes by type. The set of nodes of a type (including its subclasses) is collected on the
+ * first request in the same order as {@link Hierarchy#getDescendantsOfType}, and then maintained from hierarchy
+ * events, so repeated requests do not traverse the model. Nodes added or reparented later are appended to the
+ * end, so the order is no longer the hierarchy order after such changes. The root node is not included.
+ * Like the model itself, the index is not thread-safe and must be used from the thread that modifies the model.
+ */
+public class NodeTypeTracker extends HierarchySupervisor {
+
+    private final Map<Class<?>, Set<Node>> typeNodes = new HashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> Collection<T> getNodes(Class<T> type) {
+        Set<Node> nodes = typeNodes.computeIfAbsent(type, t -> {
+            Set<Node> result = new LinkedHashSet<>();
+            collectNodes(getRoot(), t, result);
+            return result;
+        });
+        return (Collection<T>) Collections.unmodifiableSet(nodes);
+    }
+
+    private static void collectNodes(Node node, Class<?> type, Set<Node> result) {
+        Collection<Node> children = node.getChildren();
+        for (Node child : children) {
+            collectNodes(child, type, result);
+        }
+        for (Node child : children) {
+            if (type.isInstance(child)) {
+                result.add(child);
+            }
+        }
+    }
+
+    private void nodeAdded(Node node) {
+        if (node != getRoot()) {
+            for (Map.Entry<Class<?>, Set<Node>> entry : typeNodes.entrySet()) {
+                if (entry.getKey().isInstance(node)) {
+                    entry.getValue().add(node);
+                }
+            }
+        }
+        for (Node child : node.getChildren()) {
+            nodeAdded(child);
+        }
+    }
+
+    private void nodeRemoved(Node node) {
+        for (Map.Entry<Class<?>, Set<Node>> entry : typeNodes.entrySet()) {
+            if (entry.getKey().isInstance(node)) {
+                entry.getValue().remove(node);
+            }
+        }
+        for (Node child : node.getChildren()) {
+            nodeRemoved(child);
+        }
+    }
+
+    @Override
+    public void handleEvent(HierarchyEvent e) {
+        if (typeNodes.isEmpty()) {
+            return;
+        }
+        if ((e instanceof NodesReparentingEvent) || (e instanceof NodesDeletedEvent)) {
+            // Reparented nodes are added back by the new parent if it is in the same model
+            for (Node node : e.getAffectedNodes()) {
+                nodeRemoved(node);
+            }
+        } else if (e instanceof NodesAddedEvent) {
+            for (Node node : e.getAffectedNodes()) {
+                nodeAdded(node);
+            }
+        }
+    }
+
+}
@@ -174,7 +174,7 @@ public abstract class AbstractMathModel extends AbstractModel<MathNode, MathConn
 
     public MultiSet<String> getStatistics() {
         MultiSet<String> result = new MultiSet<>();
-        for (MathNode node: Hierarchy.getDescendantsOfType(getRoot(), MathNode.class)) {
+        for (MathNode node: getNodesOfType(MathNode.class)) {
             String categoryName = node.getClass().getSimpleName();
             result.add(categoryName);
         }
@@ -16,6 +16,20 @@ public class DefaultNameManager implements NameManager {
 
     private final Map<String, Integer> prefixCount = new HashMap<>();
     private final TwoWayMap<String, Node> nodes = new TwoWayMap<>();
+    private Runnable changeListener = null;
+
+    /**
+     * Sets the callback that is run after a node name is assigned or removed, e.g. to drop cached references.
+     */
+    public void setChangeListener(Runnable changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    protected void notifyChange() {
+        if (changeListener != null) {
+            changeListener.run();
+        }
+    }
 
     @Override
     public String getPrefix(Node node) {
@@ -57,6 +71,7 @@ public class DefaultNameManager implements NameManager {
         if (isUnusedName(name)) {
             nodes.removeValue(node);
             nodes.put(name, node);
+            notifyChange();
         } else {
             String message = "Name '" + name + "' is taken by another node.";
             if (force) {
@@ -96,6 +111,7 @@ public class DefaultNameManager implements NameManager {
     public void remove(Node node) {
         if (nodes.getKey(node) != null) {
             nodes.removeValue(node);
+            notifyChange();
         }
     }
 
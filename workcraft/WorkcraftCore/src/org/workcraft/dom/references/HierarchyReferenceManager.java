@@ -13,6 +13,7 @@ import org.workcraft.utils.Hierarchy;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Map;
 
 public class HierarchyReferenceManager extends HierarchySupervisor implements ReferenceManager {
 
@@ -23,6 +24,12 @@ public class HierarchyReferenceManager extends HierarchySupervisor implements Re
     private NamespaceProvider topProvider; // namespace provided by root
     private References refs;
 
+    // References relative to the root are cached both ways until any name or hierarchy change.
+    // Caching is only possible if all name managers report their changes.
+    private Map<Node, String> node2reference = new HashMap<>();
+    private Map<String, Node> reference2node = new HashMap<>();
+    private boolean isReferenceCacheEnabled = true;
+
     public HierarchyReferenceManager() {
         this(null);
     }
@@ -100,6 +107,11 @@ public class HierarchyReferenceManager extends HierarchySupervisor implements Re
         NameManager man = managers.get(provider);
         if (man == null) {
             man = createNameManager();
+            if (man instanceof DefaultNameManager) {
+                ((DefaultNameManager) man).setChangeListener(this::clearReferenceCache);
+            } else {
+                isReferenceCacheEnabled = false;
+            }
             managers.put(provider, man);
         }
         return man;
@@ -121,11 +133,35 @@ public class HierarchyReferenceManager extends HierarchySupervisor implements Re
         }
     }
 
+    private void clearReferenceCache() {
+        // New maps are cheaper than clearing the large ones on each of many consecutive changes
+        if (!node2reference.isEmpty()) {
+            node2reference = new HashMap<>();
+        }
+        if (!reference2node.isEmpty()) {
+            reference2node = new HashMap<>();
+        }
+    }
+
     @Override
     public Node getNodeByReference(NamespaceProvider provider, String reference) {
         if (provider == null) {
             provider = topProvider;
         }
+        if (!isReferenceCacheEnabled || (provider != topProvider)) {
+            return findNodeByReference(provider, reference);
+        }
+        Node result = reference2node.get(reference);
+        if (result == null) {
+            result = findNodeByReference(provider, reference);
+            if (result != null) {
+                reference2node.put(reference, result);
+            }
+        }
+        return result;
+    }
+
+    private Node findNodeByReference(NamespaceProvider provider, String reference) {
         if (reference.isEmpty() || reference.equals(NamespaceHelper.getHierarchySeparator())) {
             return provider;
         }
@@ -134,7 +170,7 @@ public class HierarchyReferenceManager extends HierarchySupervisor implements Re
         NameManager man = getNameManager(provider);
         Node node = man.getNode(head);
         if (node instanceof NamespaceProvider) {
-            return getNodeByReference((NamespaceProvider) node, tail);
+            return findNodeByReference((NamespaceProvider) node, tail);
         }
         return node;
     }
@@ -147,6 +183,20 @@ public class HierarchyReferenceManager extends HierarchySupervisor implements Re
         if (provider == null) {
             provider = topProvider;
         }
+        if (!isReferenceCacheEnabled || (provider != topProvider)) {
+            return findNodeReference(provider, node);
+        }
+        String result = node2reference.get(node);
+        if (result == null) {
+            result = findNodeReference(provider, node);
+            if (result != null) {
+                node2reference.put(node, result);
+            }
+        }
+        return result;
+    }
+
+    private String findNodeReference(NamespaceProvider provider, Node node) {
         NamespaceProvider component = null;
         String result = "";
         do {
@@ -164,21 +214,19 @@ public class HierarchyReferenceManager extends HierarchySupervisor implements Re
 
     @Override
     public void handleEvent(HierarchyEvent e) {
+        // Any change of hierarchy may affect the cached references
+        clearReferenceCache();
+
         if (e instanceof NodesAddedEvent) {
             for (Node node : e.getAffectedNodes()) {
                 if (node.getParent() != null) {
                     // if it is not a root node
-                    NameManager man = getNameManager(node);
-                    man.setDefaultNameIfUnnamed(node);
-                    // additional call to propagate the name data after calling setDefaultNameIfUnnamed
-                    setName(node, man.getName(node));
-                }
-                for (Node childNode : Hierarchy.getDescendantsOfType(node, Node.class)) {
-                    NameManager mgr = getNameManager(childNode);
-                    mgr.setDefaultNameIfUnnamed(childNode);
-                    // additional call to propagate the name data after calling setDefaultNameIfUnnamed
-                    setName(childNode, mgr.getName(childNode));
+                    assignDefaultNameIfUnnamed(node);
                 }
+                NamespaceProvider provider = (node instanceof NamespaceProvider)
+                        ? (NamespaceProvider) node : getNamespaceProvider(node);
+
+                assignDefaultDescendantNamesIfUnnamed(node, provider);
             }
         }
 
@@ -194,6 +242,29 @@ public class HierarchyReferenceManager extends HierarchySupervisor implements Re
         }
     }
 
+    private void assignDefaultNameIfUnnamed(Node node) {
+        NameManager mgr = getNameManager(node);
+        mgr.setDefaultNameIfUnnamed(node);
+        // additional call to propagate the name data after calling setDefaultNameIfUnnamed
+        setName(node, mgr.getName(node));
+    }
+
+    // Descendants are visited in the order of Hierarchy.getDescendantsOfType, as it affects default names,
+    // and their namespace provider is passed down instead of searching ancestors of each of them.
+    private void assignDefaultDescendantNamesIfUnnamed(Node node, NamespaceProvider provider) {
+        Collection<Node> children = node.getChildren();
+        for (Node child : children) {
+            NamespaceProvider childProvider = (child instanceof NamespaceProvider)
+                    ? (NamespaceProvider) child : provider;
+
+            assignDefaultDescendantNamesIfUnnamed(child, childProvider);
+        }
+        for (Node child : children) {
+            node2namespace.putIfAbsent(child, provider);
+            assignDefaultNameIfUnnamed(child);
+        }
+    }
+
     public void setName(Node node, String name) {
         setName(node, name, true);
     }
@@ -0,0 +1,238 @@
+package org.workcraft.formula;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Hash-consing table of Boolean formula nodes. Structurally equal formulas interned in the
+ * same table are represented by the same object, so their equality is reference equality and
+ * their (identity) hash codes are cached by the JVM. Nodes are keyed by operation and the
+ * identity of their (already interned) operands, and referenced weakly, so that formulas
+ * no longer used elsewhere can be garbage collected. Variables and constants are leaves
+ * that represent themselves.
+ */
+public final class UniqueTable {
+
+    private static final int NOT = 1;
+    private static final int AND = 2;
+    private static final int OR = 3;
+    private static final int XOR = 4;
+    private static final int IFF = 5;
+    private static final int IMPLY = 6;
+
+    private static final int INITIAL_CAPACITY = 1 << 10;
+
+    private final ReferenceQueue<BooleanFormula> queue = new ReferenceQueue<>();
+    private Entry[] buckets = new Entry[INITIAL_CAPACITY];
+    private int size = 0;
+
+    private static final class Entry extends WeakReference<BooleanFormula> {
+        private final int hash;
+        private Entry next;
+
+        Entry(BooleanFormula formula, int hash, Entry next, ReferenceQueue<BooleanFormula> queue) {
+            super(formula, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Returns the representative of the formula, interning its subformulas as necessary.
+     * Nodes of the formula are reused as representatives if their operands are already interned.
+     */
+    public synchronized BooleanFormula intern(BooleanFormula formula) {
+        int op = getOperation(formula);
+        if (op == 0) {
+            return formula;
+        }
+        // Fast path for interned formulas, whose operands are interned too
+        BooleanFormula result = find(op, getX(formula), getY(formula));
+        if (result == null) {
+            result = intern(formula, new IdentityHashMap<>());
+        }
+        return result;
+    }
+
+    public synchronized BooleanFormula not(BooleanFormula x) {
+        return getOrCreate(NOT, intern(x), null, null);
+    }
+
+    public synchronized BooleanFormula and(BooleanFormula x, BooleanFormula y) {
+        return getOrCreate(AND, intern(x), intern(y), null);
+    }
+
+    public synchronized BooleanFormula or(BooleanFormula x, BooleanFormula y) {
+        return getOrCreate(OR, intern(x), intern(y), null);
+    }
+
+    public synchronized BooleanFormula xor(BooleanFormula x, BooleanFormula y) {
+        return getOrCreate(XOR, intern(x), intern(y), null);
+    }
+
+    public synchronized BooleanFormula iff(BooleanFormula x, BooleanFormula y) {
+        return getOrCreate(IFF, intern(x), intern(y), null);
+    }
+
+    public synchronized BooleanFormula imply(BooleanFormula x, BooleanFormula y) {
+        return getOrCreate(IMPLY, intern(x), intern(y), null);
+    }
+
+    /**
+     * Returns the interned negation of an interned formula if it exists, or null otherwise.
+     */
+    public synchronized BooleanFormula findNot(BooleanFormula x) {
+        return find(NOT, x, null);
+    }
+
+    public synchronized int size() {
+        expungeStaleEntries();
+        return size;
+    }
+
+    private BooleanFormula intern(BooleanFormula formula, Map<BooleanFormula, BooleanFormula> visited) {
+        int op = getOperation(formula);
+        if (op == 0) {
+            return formula;
+        }
+        BooleanFormula result = visited.get(formula);
+        if (result == null) {
+            BooleanFormula x = getX(formula);
+            BooleanFormula y = getY(formula);
+            result = find(op, x, y);
+            if (result == null) {
+                BooleanFormula internedX = intern(x, visited);
+                BooleanFormula internedY = y == null ? null : intern(y, visited);
+                boolean isReusable = (internedX == x) && (internedY == y);
+                result = getOrCreate(op, internedX, internedY, isReusable ? formula : null);
+            }
+            visited.put(formula, result);
+        }
+        return result;
+    }
+
+    private BooleanFormula find(int op, BooleanFormula x, BooleanFormula y) {
+        int hash = hash(op, x, y);
+        for (Entry entry = buckets[hash & (buckets.length - 1)]; entry != null; entry = entry.next) {
+            if (entry.hash == hash) {
+                BooleanFormula formula = entry.get();
+                if ((formula != null) && (getOperation(formula) == op)
+                        && (getX(formula) == x) && (getY(formula) == y)) {
+                    return formula;
+                }
+            }
+        }
+        return null;
+    }
+
+    private BooleanFormula getOrCreate(int op, BooleanFormula x, BooleanFormula y, BooleanFormula candidate) {
+        BooleanFormula result = find(op, x, y);
+        if (result == null) {
+            expungeStaleEntries();
+            result = candidate != null ? candidate : create(op, x, y);
+            int hash = hash(op, x, y);
+            int index = hash & (buckets.length - 1);
+            buckets[index] = new Entry(result, hash, buckets[index], queue);
+            if (++size > buckets.length / 4 * 3) {
+                resize(buckets.length * 2);
+            }
+        }
+        return result;
+    }
+
+    private static BooleanFormula create(int op, BooleanFormula x, BooleanFormula y) {
+        switch (op) {
+        case NOT: return new Not(x);
+        case AND: return new And(x, y);
+        case OR: return new Or(x, y);
+        case XOR: return new Xor(x, y);
+        case IFF: return new Iff(x, y);
+        case IMPLY: return new Imply(x, y);
+        default: return null;
+        }
+    }
+
+    private void resize(int capacity) {
+        Entry[] newBuckets = new Entry[capacity];
+        for (Entry entry : buckets) {
+            while (entry != null) {
+                Entry next = entry.next;
+                int index = entry.hash & (capacity - 1);
+                entry.next = newBuckets[index];
+                newBuckets[index] = entry;
+                entry = next;
+            }
+        }
+        buckets = newBuckets;
+    }
+
+    private void expungeStaleEntries() {
+        for (Object ref; (ref = queue.poll()) != null; ) {
+            Entry stale = (Entry) ref;
+            int index = stale.hash & (buckets.length - 1);
+            Entry prev = null;
+            for (Entry entry = buckets[index]; entry != null; prev = entry, entry = entry.next) {
+                if (entry == stale) {
+                    if (prev == null) {
+                        buckets[index] = entry.next;
+                    } else {
+                        prev.next = entry.next;
+                    }
+                    size--;
+                    break;
+                }
+            }
+        }
+    }
+
+    private static int hash(int op, BooleanFormula x, BooleanFormula y) {
+        int h = op;
+        h = 31 * h + System.identityHashCode(x);
+        h = 31 * h + System.identityHashCode(y);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Operation code of a node that can be interned, or 0 for leaves and unknown formula types.
+     * Only exact node classes are interned, as subclasses may carry additional state.
+     */
+    private static int getOperation(BooleanFormula formula) {
+        Class<?> type = formula == null ? null : formula.getClass();
+        if (type == Not.class) {
+            return NOT;
+        }
+        if (type == And.class) {
+            return AND;
+        }
+        if (type == Or.class) {
+            return OR;
+        }
+        if (type == Xor.class) {
+            return XOR;
+        }
+        if (type == Iff.class) {
+            return IFF;
+        }
+        if (type == Imply.class) {
+            return IMPLY;
+        }
+        return 0;
+    }
+
+    private static BooleanFormula getX(BooleanFormula formula) {
+        if (formula instanceof Not) {
+            return ((Not) formula).getX();
+        }
+        return ((BinaryBooleanFormula) formula).getX();
+    }
+
+    private static BooleanFormula getY(BooleanFormula formula) {
+        if (formula instanceof Not) {
+            return null;
+        }
+        return ((BinaryBooleanFormula) formula).getY();
+    }
+
+}
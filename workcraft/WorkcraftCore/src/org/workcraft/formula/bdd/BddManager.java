@@ -3,18 +3,92 @@ package org.workcraft.formula.bdd;
 import jdd.bdd.BDD;
 import org.workcraft.formula.*;
 import org.workcraft.formula.visitors.BooleanVisitor;
+import org.workcraft.formula.workers.HashConsingBooleanWorker;
 import org.workcraft.types.Func2;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.*;
 
+/**
+ * Long-lived BDD service for Boolean formulas. Formulas are interned by {@link HashConsingBooleanWorker},
+ * so structurally equal formulas share an entry of the formula-to-node cache, and subformulas shared within
+ * a formula are converted once. Cofactors are computed on BDD nodes rather than by substitution in formulas.
+ *
+ * BDD variables are created in the order of their first appearance in a depth-first traversal of the formula,
+ * unless declared beforehand by {@link #addVariables}, which allows the callers to impose a static variable
+ * ordering (e.g. by fan-in cones of a circuit). As BDD variables cannot be released, the node table is
+ * rebuilt from scratch once too many variables have been created. This only happens at the safe points
+ * where no caller relies on the current variable order, i.e. when the shared manager is obtained and when
+ * a new variable order is declared, and the last declared variable order is restored after the rebuild.
+ *
+ * Formulas and variables are only weakly referenced by the caches, so that the manager does not keep alive
+ * the models they are built from (e.g. circuit contacts used as variables).
+ */
 public class BddManager {
 
-//    private final BDD bdd = new DebugBDD(1000, 100);
-    private final BDD bdd = new BDD(1000, 100);
-    private final Map<BooleanVariable, Integer> varMap = new HashMap<>();
+    private static final int DEFAULT_NODE_COUNT = 10000;
+    private static final int DEFAULT_CACHE_SIZE = 1000;
+    private static final int MAX_VARIABLE_COUNT = 2000;
+    private static final int MAX_FORMULA_CACHE_SIZE = 1000;
+
+    private static final int POSITIVE_UNATE = 1;
+    private static final int NEGATIVE_UNATE = 2;
+
+    private static BddManager instance;
+
+    private final int nodeCount;
+    private final int cacheSize;
+    private BDD bdd;
+    private final Map<BooleanVariable, Integer> varMap = new WeakHashMap<>();
+    private List<WeakReference<BooleanVariable>> declaredVars = new ArrayList<>();
+    private final ReferenceQueue<BooleanFormula> collectedFormulas = new ReferenceQueue<>();
+    private final Map<FormulaKey, Integer> formulaCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<FormulaKey, Integer> eldest) {
+            if (size() > MAX_FORMULA_CACHE_SIZE) {
+                bdd.deref(eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    /**
+     * Weak key of the formula cache; formulas are interned, hence compared by identity.
+     */
+    private static final class FormulaKey extends WeakReference<BooleanFormula> {
+        private final int hash;
+
+        FormulaKey(BooleanFormula formula, ReferenceQueue<BooleanFormula> queue) {
+            super(formula, queue);
+            hash = System.identityHashCode(formula);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof FormulaKey)) {
+                return false;
+            }
+            BooleanFormula formula = get();
+            return (formula != null) && (formula == ((FormulaKey) obj).get());
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 
     private class BddGenerator implements BooleanVisitor<Integer> {
 
+        // Referenced nodes of subformulas, so that shared subformulas are converted once
+        private final Map<BooleanFormula, Integer> visited = new IdentityHashMap<>();
+
         @Override
         public Integer visit(Zero node) {
             return bdd.getZero();
@@ -32,9 +106,12 @@ public class BddManager {
 
         @Override
         public Integer visit(Not node) {
-            int x = node.getX().accept(this);
-            int result = bdd.ref(bdd.not(x));
-            bdd.deref(x);
+            Integer result = visited.get(node);
+            if (result == null) {
+                int x = node.getX().accept(this);
+                result = bdd.ref(bdd.not(x));
+                visited.put(node, result);
+            }
             return result;
         }
 
@@ -64,74 +141,159 @@ public class BddManager {
         }
 
         public Integer visitBinaryOperator(BinaryBooleanFormula node, Func2<Integer, Integer, Integer> func) {
-            int x = node.getX().accept(this);
-            int y = node.getY().accept(this);
-            int result = bdd.ref(func.eval(x, y));
-            bdd.deref(x);
-            bdd.deref(y);
+            Integer result = visited.get(node);
+            if (result == null) {
+                int x = node.getX().accept(this);
+                int y = node.getY().accept(this);
+                result = bdd.ref(func.eval(x, y));
+                visited.put(node, result);
+            }
+            return result;
+        }
+
+        public int generate(BooleanFormula formula) {
+            int result = bdd.ref(formula.accept(this));
+            for (int node : visited.values()) {
+                bdd.deref(node);
+            }
+            visited.clear();
             return result;
         }
     }
 
-    private int addVariable(BooleanVariable var) {
-        return varMap.computeIfAbsent(var, key -> bdd.createVar());
+    public BddManager() {
+        this(DEFAULT_NODE_COUNT, DEFAULT_CACHE_SIZE);
     }
 
-    private int addFormula(BooleanFormula formula) {
-        return formula.accept(new BddGenerator());
+    public BddManager(int nodeCount, int cacheSize) {
+        this.nodeCount = nodeCount;
+        this.cacheSize = cacheSize;
+        bdd = new BDD(nodeCount, cacheSize);
     }
 
-    public boolean isBinate(BooleanFormula formula, BooleanVariable var) {
-        return !isPositiveUnate(formula, var) && !isNegativeUnate(formula, var);
+    /**
+     * Shared manager, whose caches persist between the calls. Obtaining it is a safe point, where its node
+     * table may be rebuilt, so it should be obtained anew for each operation rather than kept in a field.
+     */
+    public static synchronized BddManager getInstance() {
+        if (instance == null) {
+            instance = new BddManager();
+        } else {
+            instance.checkCapacity();
+        }
+        return instance;
     }
 
-    public boolean isPositiveUnate(BooleanFormula formula, BooleanVariable var) {
-        BooleanFormula var0Formula = FormulaUtils.replaceZero(formula, var);
-        BooleanFormula var1Formula = FormulaUtils.replaceOne(formula, var);
-        return implies(var0Formula, var1Formula);
+    /**
+     * Declares variables that do not yet have BDD variables, in the given order. As the BDD variable order
+     * is the order of declaration, this should be called before the formulas over these variables are used.
+     * This is a safe point, where the node table may be rebuilt before the variables are declared.
+     */
+    public synchronized void addVariables(Collection<? extends BooleanVariable> vars) {
+        checkCapacity();
+        declaredVars = new ArrayList<>();
+        for (BooleanVariable var : vars) {
+            addVariable(var);
+            declaredVars.add(new WeakReference<>(var));
+        }
     }
 
-    public boolean isNegativeUnate(BooleanFormula formula, BooleanVariable var) {
-        BooleanFormula var0Formula = FormulaUtils.replaceZero(formula, var);
-        BooleanFormula var1Formula = FormulaUtils.replaceOne(formula, var);
-        return implies(var1Formula, var0Formula);
+    public synchronized boolean isBinate(BooleanFormula formula, BooleanVariable var) {
+        return getUnateness(formula, var) == 0;
     }
 
-    public boolean implies(BooleanFormula leftFormula, BooleanFormula rightFormula) {
-        int leftBdd = addFormula(leftFormula);
-        int rightBdd = addFormula(rightFormula);
-        int notRightBdd = bdd.ref(bdd.not(rightBdd));
+    public synchronized boolean isPositiveUnate(BooleanFormula formula, BooleanVariable var) {
+        return (getUnateness(formula, var) & POSITIVE_UNATE) != 0;
+    }
 
-        Set<BooleanVariable> vars = new HashSet<>();
-        vars.addAll(FormulaUtils.extractOrderedVariables(leftFormula));
-        vars.addAll(FormulaUtils.extractOrderedVariables(rightFormula));
-        int cube = buildCube(vars);
+    public synchronized boolean isNegativeUnate(BooleanFormula formula, BooleanVariable var) {
+        return (getUnateness(formula, var) & NEGATIVE_UNATE) != 0;
+    }
 
-        boolean result = bdd.relProd(leftBdd, notRightBdd, cube) == bdd.getZero();
-        bdd.deref(notRightBdd);
-        bdd.deref(rightBdd);
-        bdd.deref(leftBdd);
-        bdd.deref(cube);
-        return result;
+    public synchronized boolean implies(BooleanFormula leftFormula, BooleanFormula rightFormula) {
+        int leftBdd = getFormula(leftFormula);
+        int rightBdd = getFormula(rightFormula);
+        return bdd.imp(leftBdd, rightBdd) == bdd.getOne();
     }
 
-    private int buildCube(Collection<BooleanVariable> vars) {
-        int cube = bdd.getOne();
-        for (BooleanVariable var : vars) {
-            int oldCube = cube;
-            cube = bdd.ref(bdd.and(oldCube, addVariable(var)));
-            bdd.deref(oldCube);
+    public synchronized boolean equal(BooleanFormula firstFormula, BooleanFormula secondFormula) {
+        int firstBdd = getFormula(firstFormula);
+        int secondBdd = getFormula(secondFormula);
+        return firstBdd == secondBdd;
+    }
+
+    /**
+     * Checks if the formula depends on the variable, i.e. if its cofactors with respect to the variable differ.
+     */
+    public synchronized boolean isSensitive(BooleanFormula formula, BooleanVariable var) {
+        return getUnateness(formula, var) != (POSITIVE_UNATE | NEGATIVE_UNATE);
+    }
+
+    /**
+     * Compares the positive and negative cofactors of the formula with respect to the variable
+     * and returns a combination of POSITIVE_UNATE and NEGATIVE_UNATE flags.
+     */
+    private int getUnateness(BooleanFormula formula, BooleanVariable var) {
+        int formulaBdd = getFormula(formula);
+        int varBdd = addVariable(var);
+        int notVarBdd = bdd.ref(bdd.not(varBdd));
+        int cofactor1 = bdd.ref(bdd.restrict(formulaBdd, varBdd));
+        int cofactor0 = bdd.ref(bdd.restrict(formulaBdd, notVarBdd));
+        int result = 0;
+        if (bdd.imp(cofactor0, cofactor1) == bdd.getOne()) {
+            result |= POSITIVE_UNATE;
         }
-        return cube;
+        if (bdd.imp(cofactor1, cofactor0) == bdd.getOne()) {
+            result |= NEGATIVE_UNATE;
+        }
+        bdd.deref(cofactor0);
+        bdd.deref(cofactor1);
+        bdd.deref(notVarBdd);
+        return result;
     }
 
-    public boolean equal(BooleanFormula firstFormula, BooleanFormula secondFormula) {
-        int firstBdd = addFormula(firstFormula);
-        int secondBdd = addFormula(secondFormula);
-        boolean result = firstBdd == secondBdd;
-        bdd.deref(firstBdd);
-        bdd.deref(secondBdd);
+    private int addVariable(BooleanVariable var) {
+        return varMap.computeIfAbsent(var, key -> bdd.createVar());
+    }
+
+    /**
+     * Returns the node of the formula, which stays referenced while it is in the formula cache.
+     */
+    private int getFormula(BooleanFormula formula) {
+        expungeCollectedFormulas();
+        BooleanFormula internedFormula = HashConsingBooleanWorker.getInstance().intern(formula);
+        Integer result = formulaCache.get(new FormulaKey(internedFormula, null));
+        if (result == null) {
+            result = new BddGenerator().generate(internedFormula);
+            formulaCache.put(new FormulaKey(internedFormula, collectedFormulas), result);
+        }
         return result;
     }
 
+    private void expungeCollectedFormulas() {
+        Reference<? extends BooleanFormula> key;
+        while ((key = collectedFormulas.poll()) != null) {
+            // Keys of the formulas collected before the last rebuild are no longer in the cache
+            Integer node = formulaCache.remove(key);
+            if (node != null) {
+                bdd.deref(node);
+            }
+        }
+    }
+
+    private synchronized void checkCapacity() {
+        if (bdd.numberOfVariables() > MAX_VARIABLE_COUNT) {
+            bdd.cleanup();
+            bdd = new BDD(nodeCount, cacheSize);
+            varMap.clear();
+            formulaCache.clear();
+            for (WeakReference<BooleanVariable> ref : declaredVars) {
+                BooleanVariable var = ref.get();
+                if (var != null) {
+                    addVariable(var);
+                }
+            }
+        }
+    }
+
 }
@@ -0,0 +1,73 @@
+package org.workcraft.formula.visitors;
+
+import org.workcraft.formula.*;
+
+import java.util.Map;
+
+/**
+ * Evaluates a formula for 64 assignments at once, each bit of the variable values being a separate assignment.
+ */
+public class BitwiseEvaluator implements BooleanVisitor<Long> {
+
+    private final Map<? extends BooleanVariable, Long> values;
+
+    public BitwiseEvaluator(Map<? extends BooleanVariable, Long> values) {
+        this.values = values;
+    }
+
+    @Override
+    public Long visit(Zero node) {
+        return 0L;
+    }
+
+    @Override
+    public Long visit(One node) {
+        return -1L;
+    }
+
+    @Override
+    public Long visit(BooleanVariable variable) {
+        Long result = values.get(variable);
+        if (result != null) {
+            return result;
+        }
+        if ("0".equals(variable.getLabel())) {
+            return 0L;
+        }
+        if ("1".equals(variable.getLabel())) {
+            return -1L;
+        }
+        throw new RuntimeException("Unable to evaluate a function containing a free variable: " + variable.getLabel());
+    }
+
+    @Override
+    public Long visit(Not node) {
+        return ~node.getX().accept(this);
+    }
+
+    @Override
+    public Long visit(And node) {
+        return node.getX().accept(this) & node.getY().accept(this);
+    }
+
+    @Override
+    public Long visit(Or node) {
+        return node.getX().accept(this) | node.getY().accept(this);
+    }
+
+    @Override
+    public Long visit(Xor node) {
+        return node.getX().accept(this) ^ node.getY().accept(this);
+    }
+
+    @Override
+    public Long visit(Iff node) {
+        return ~(node.getX().accept(this) ^ node.getY().accept(this));
+    }
+
+    @Override
+    public Long visit(Imply node) {
+        return ~node.getX().accept(this) | node.getY().accept(this);
+    }
+
+}
@@ -0,0 +1,217 @@
+package org.workcraft.formula.workers;
+
+import org.workcraft.formula.*;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Simplifying worker that builds formulas in a {@link UniqueTable}, so that structurally equal
+ * subformulas are the same object. This allows the same simplifications as in
+ * {@link CleverBooleanWorker} to be decided by reference comparison instead of comparing
+ * string representations of the operands.
+ */
+public final class HashConsingBooleanWorker implements BooleanWorker {
+
+    // Absorption is only checked for short disjunctions, so that folding a long disjunction takes linear time
+    private static final int MAX_ABSORPTION_DISJUNCT_COUNT = 16;
+
+    private static HashConsingBooleanWorker instance;
+
+    private final UniqueTable table = new UniqueTable();
+
+    private HashConsingBooleanWorker() {
+    }
+
+    public static HashConsingBooleanWorker getInstance() {
+        if (instance == null) {
+            instance = new HashConsingBooleanWorker();
+        }
+        return instance;
+    }
+
+    public BooleanFormula intern(BooleanFormula x) {
+        return table.intern(x);
+    }
+
+    @Override
+    public BooleanFormula zero() {
+        return Zero.getInstance();
+    }
+
+    @Override
+    public BooleanFormula one() {
+        return One.getInstance();
+    }
+
+    @Override
+    public BooleanFormula not(BooleanFormula x) {
+        x = table.intern(x);
+        if (x instanceof Not) {
+            return ((Not) x).getX();
+        }
+        if (x == Zero.getInstance()) {
+            return One.getInstance();
+        }
+        if (x == One.getInstance()) {
+            return Zero.getInstance();
+        }
+        return table.not(x);
+    }
+
+    @Override
+    public BooleanFormula and(BooleanFormula x, BooleanFormula y) {
+        x = table.intern(x);
+        y = table.intern(y);
+        if (x == y) {
+            return x;
+        }
+        if ((x == Zero.getInstance()) || (y == Zero.getInstance())) {
+            return Zero.getInstance();
+        }
+        if (x == One.getInstance()) {
+            return y;
+        }
+        if (y == One.getInstance()) {
+            return x;
+        }
+        return table.and(x, y);
+    }
+
+    @Override
+    public BooleanFormula or(BooleanFormula x, BooleanFormula y) {
+        x = table.intern(x);
+        y = table.intern(y);
+        if (x == y) {
+            return x;
+        }
+        if ((x == One.getInstance()) || (y == One.getInstance())) {
+            return One.getInstance();
+        }
+        if (x == Zero.getInstance()) {
+            return y;
+        }
+        if (y == Zero.getInstance()) {
+            return x;
+        }
+        Set<BooleanFormula> xDisjuncts = getDisjuncts(x);
+        Set<BooleanFormula> yDisjuncts = getDisjuncts(y);
+        if ((xDisjuncts != null) && (yDisjuncts != null)) {
+            if (xDisjuncts.containsAll(yDisjuncts)) {
+                return x;
+            }
+            if (yDisjuncts.containsAll(xDisjuncts)) {
+                return y;
+            }
+            for (BooleanFormula yDisjunct : yDisjuncts) {
+                if (xDisjuncts.contains(getComplement(yDisjunct))) {
+                    return One.getInstance();
+                }
+            }
+        }
+        return table.or(x, y);
+    }
+
+    @Override
+    public BooleanFormula xor(BooleanFormula x, BooleanFormula y) {
+        x = table.intern(x);
+        y = table.intern(y);
+        if (x == y) {
+            return Zero.getInstance();
+        }
+        if (x == One.getInstance()) {
+            return not(y);
+        }
+        if (x == Zero.getInstance()) {
+            return y;
+        }
+        if (y == One.getInstance()) {
+            return not(x);
+        }
+        if (y == Zero.getInstance()) {
+            return x;
+        }
+        return table.xor(x, y);
+    }
+
+    @Override
+    public BooleanFormula imply(BooleanFormula x, BooleanFormula y) {
+        x = table.intern(x);
+        y = table.intern(y);
+        if (x == y) {
+            return One.getInstance();
+        }
+        if ((x == Zero.getInstance()) || (y == One.getInstance())) {
+            return One.getInstance();
+        }
+        if (x == One.getInstance()) {
+            return y;
+        }
+        if (y == Zero.getInstance()) {
+            return not(x);
+        }
+        return table.imply(x, y);
+    }
+
+    @Override
+    public BooleanFormula iff(BooleanFormula x, BooleanFormula y) {
+        x = table.intern(x);
+        y = table.intern(y);
+        if (x == y) {
+            return One.getInstance();
+        }
+        if (x == One.getInstance()) {
+            return y;
+        }
+        if (x == Zero.getInstance()) {
+            return not(y);
+        }
+        if (y == One.getInstance()) {
+            return x;
+        }
+        if (y == Zero.getInstance()) {
+            return not(x);
+        }
+        return table.iff(x, y);
+    }
+
+    /**
+     * Top-level disjuncts of an interned formula, i.e. operands of its outermost chain of disjunctions,
+     * or null if there are more than MAX_ABSORPTION_DISJUNCT_COUNT of them.
+     */
+    private static Set<BooleanFormula> getDisjuncts(BooleanFormula formula) {
+        Set<BooleanFormula> result = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<BooleanFormula> stack = new ArrayDeque<>();
+        stack.push(formula);
+        // A chain of n disjuncts has n - 1 disjunctions, which are all visited before its last disjunct
+        int orCount = 0;
+        while (!stack.isEmpty()) {
+            BooleanFormula cur = stack.pop();
+            if (cur instanceof Or) {
+                if (++orCount >= MAX_ABSORPTION_DISJUNCT_COUNT) {
+                    return null;
+                }
+                stack.push(((Or) cur).getY());
+                stack.push(((Or) cur).getX());
+            } else {
+                result.add(cur);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Interned complement of an interned formula, or null if it has not been built, in which
+     * case it cannot be an operand of any interned formula either.
+     */
+    private BooleanFormula getComplement(BooleanFormula formula) {
+        if (formula instanceof Not) {
+            return ((Not) formula).getX();
+        }
+        return table.findNot(formula);
+    }
+
+}
@@ -4,102 +4,44 @@ import org.workcraft.utils.LogUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
 
 public class ExternalProcess {
 
-    abstract static class StreamReaderThread extends Thread {
-        private final ReadableByteChannel channel;
-        // Buffer is increased to 1MiB to reduce the number of updates for external processes with heavy output.
-        private final ByteBuffer buffer = ByteBuffer.allocate(1024 * 1024);
+    // Pipe capacity is 64KiB on most systems, so larger buffers would not reduce the number of updates
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_POOLED_BUFFER_COUNT = 16;
 
-        StreamReaderThread(ReadableByteChannel channel) {
-            this.channel = channel;
-        }
-
-        public abstract void handleData(byte[] data);
-
-        @Override
-        public void run() {
-            while (true) {
-                try {
-                    buffer.rewind();
-                    int result = channel.read(buffer);
-                    if (result == -1) {
-                        return;
-                    }
-                    if (result == 0) {
-                        continue;
-                    }
-                    buffer.rewind();
-                    byte[] data = new byte[result];
-                    buffer.get(data);
-                    handleData(data);
-                } catch (IOException e) {
-                    // This exception is mostly caused by the process termination and spams the user with
-                    // information about exceptions that should just be ignored, so removed printing. mech.
-                    return;
-                }
-            }
-        }
-    }
+    // Read buffers are shared between processes, so short-lived processes do not allocate their own
+    private static final BlockingQueue<byte[]> BUFFER_POOL = new ArrayBlockingQueue<>(MAX_POOLED_BUFFER_COUNT);
 
-    class InputReaderThread extends StreamReaderThread {
-        InputReaderThread() {
-            super(inputStream);
-        }
-        @Override
-        public void handleData(byte[] data) {
-            outputData(data);
-        }
-    }
-
-    class ErrorReaderThread extends StreamReaderThread {
-        ErrorReaderThread() {
-            super(errorStream);
-        }
-        @Override
-        public void handleData(byte[] data) {
-            errorData(data);
-        }
-    }
-
-    class WaiterThread extends Thread {
-        private final InputReaderThread inputReaderThread;
-        private final ErrorReaderThread errorReaderThread;
-
-        WaiterThread(InputReaderThread inputReaderThread, ErrorReaderThread errorReaderThread) {
-            this.inputReaderThread = inputReaderThread;
-            this.errorReaderThread = errorReaderThread;
-        }
-
-        @Override
-        public void run() {
-            try {
-                process.waitFor();
-                inputReaderThread.join();
-                errorReaderThread.join();
-                processFinished();
-            } catch (InterruptedException e) {
-            }
-        }
-    }
+    // Output of all processes is read by reusable threads rather than by new threads for each process
+    private static final ExecutorService READER_EXECUTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "External process reader");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final ProcessBuilder processBuilder;
     private Process process = null;
-    private boolean finished = false;
+    private CompletableFuture<Integer> completion = null;
 
-    private ReadableByteChannel inputStream = null;
-    private ReadableByteChannel errorStream = null;
     private WritableByteChannel outputStream = null;
 
-    private final LinkedList<ExternalProcessListener> listeners = new LinkedList<>();
+    private final List<ExternalProcessListener> listeners = new CopyOnWriteArrayList<>();
 
     public ExternalProcess(String[] command) {
         this(command, null);
@@ -122,15 +64,47 @@ public class ExternalProcess {
         }
     }
 
-    private void processFinished() {
+    private int processFinished() {
+        int returnCode = process.exitValue();
         for (ExternalProcessListener l : listeners) {
-            l.processFinished(process.exitValue());
+            l.processFinished(returnCode);
         }
-        finished = true;
+        return returnCode;
+    }
+
+    /**
+     * Passes the stream data to the handler until the end of the stream, and returns the first exception thrown
+     * by the handler or null. The stream is drained to its end even after a handler failure, as otherwise
+     * the process could block on a full pipe and never exit.
+     */
+    private static RuntimeException readStream(InputStream is, Consumer<byte[]> handler) {
+        RuntimeException failure = null;
+        byte[] buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            buffer = new byte[BUFFER_SIZE];
+        }
+        try {
+            int count;
+            while ((count = is.read(buffer)) >= 0) {
+                if ((count > 0) && (failure == null)) {
+                    try {
+                        handler.accept(Arrays.copyOf(buffer, count));
+                    } catch (RuntimeException e) {
+                        failure = e;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // This exception is mostly caused by the process termination and spams the user with
+            // information about exceptions that should just be ignored, so removed printing. mech.
+        } finally {
+            BUFFER_POOL.offer(buffer);
+        }
+        return failure;
     }
 
     public boolean isRunning() {
-        return process != null && !finished;
+        return (completion != null) && !completion.isDone();
     }
 
     public void start() throws IOException {
@@ -139,21 +113,42 @@ public class ExternalProcess {
         }
         process = processBuilder.start();
         outputStream = Channels.newChannel(process.getOutputStream());
-        errorStream = Channels.newChannel(process.getErrorStream());
-        inputStream = Channels.newChannel(process.getInputStream());
-        if (outputStream == null) {
-            throw new RuntimeException("No output stream!");
-        }
-        InputReaderThread inputReaderThread = new InputReaderThread();
-        ErrorReaderThread errorReaderThread = new ErrorReaderThread();
-        WaiterThread waiterTread = new WaiterThread(inputReaderThread, errorReaderThread);
-        inputReaderThread.start();
-        errorReaderThread.start();
-        waiterTread.start();
+        InputStream inputStream = process.getInputStream();
+        InputStream errorStream = process.getErrorStream();
+        CompletableFuture<RuntimeException> inputReading = CompletableFuture.supplyAsync(
+                () -> readStream(inputStream, this::outputData), READER_EXECUTOR);
+
+        CompletableFuture<RuntimeException> errorReading = CompletableFuture.supplyAsync(
+                () -> readStream(errorStream, this::errorData), READER_EXECUTOR);
+
+        // Listeners are notified of the process termination only after all its output is passed to them,
+        // and then a failure of an output handler completes the process exceptionally
+        completion = CompletableFuture.allOf(process.onExit(), inputReading, errorReading)
+                .thenApply(v -> {
+                    int returnCode = processFinished();
+                    RuntimeException failure = inputReading.join();
+                    if (failure == null) {
+                        failure = errorReading.join();
+                    }
+                    if (failure != null) {
+                        throw new CompletionException(failure);
+                    }
+                    return returnCode;
+                });
+    }
+
+    /**
+     * Returns a future that is completed with the process return code after all its output is passed to
+     * the listeners, or null if the process has not been started.
+     */
+    public CompletableFuture<Integer> getCompletion() {
+        return completion;
     }
 
     public void cancel() {
         if (isRunning()) {
+            // Descendants of a wrapper script may hold the output streams open, delaying the completion
+            process.descendants().forEach(ProcessHandle::destroyForcibly);
             process.destroyForcibly();
         }
     }
@@ -0,0 +1,39 @@
+package org.workcraft.interop;
+
+import java.util.UUID;
+
+public final class WorkBinaryFormat implements Format {
+
+    private static WorkBinaryFormat instance = null;
+
+    private WorkBinaryFormat() {
+    }
+
+    public static WorkBinaryFormat getInstance() {
+        if (instance == null) {
+            instance = new WorkBinaryFormat();
+        }
+        return instance;
+    }
+
+    @Override
+    public UUID getUuid() {
+        return UUID.fromString("04900a7e-dce9-4aa0-bcd8-e0cab135541e");
+    }
+
+    @Override
+    public String getName() {
+        return "WorkBinary";
+    }
+
+    @Override
+    public String getExtension() {
+        return ".bin";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Workcraft compact binary model";
+    }
+
+}
@@ -5,9 +5,12 @@ import org.workcraft.Version;
 import org.workcraft.exceptions.DeserialisationException;
 import org.workcraft.exceptions.OperationCancelledException;
 import org.workcraft.plugins.builtin.settings.DebugCommonSettings;
+import org.workcraft.utils.BinaryXmlUtils;
 import org.workcraft.utils.DialogUtils;
 import org.workcraft.utils.LogUtils;
 import org.workcraft.utils.WorkUtils;
+import org.workcraft.utils.XmlUtils;
+import org.xml.sax.SAXException;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
@@ -169,30 +172,51 @@ public class CompatibilityManager {
     public InputStream process(File file) throws DeserialisationException, OperationCancelledException {
         InputStream result = null;
         try {
-            ZipFile zipFile = new ZipFile(file, StandardCharsets.UTF_8);
-            Version compatibilityVersion = WorkUtils.extractCompatibilityVersion(zipFile);
-            Version currentVersion = Info.getVersion();
-            Version currentReleaseVersion = new Version(currentVersion.major, currentVersion.minor,
-                    currentVersion.revision, Version.Status.RELEASE);
-
-            if ((compatibilityVersion != null) && (currentReleaseVersion.compareTo(compatibilityVersion) < 0)) {
-                String message = "Workcraft v" + currentVersion + " may incorrectly read a file " +
-                        "that is declared to be backward-compatible to v" + compatibilityVersion;
-
-                String question = ".\nProceed with loading the file '" + file.getAbsolutePath() + "' anyway?";
-                if (!DialogUtils.showConfirmWarning(message, question, "Open file", true)) {
-                    throw new OperationCancelledException();
+            Version compatibilityVersion;
+            try (ZipFile zipFile = new ZipFile(file, StandardCharsets.UTF_8)) {
+                compatibilityVersion = checkCompatibilityVersion(zipFile);
+            }
+            if (isProcessingRequired(compatibilityVersion)) {
+                try (FileInputStream fis = new FileInputStream(file)) {
+                    result = process(fis, compatibilityVersion);
                 }
+            } else {
+                // No replacements apply to the file, so it is streamed directly rather than rewritten in memory
+                result = new BufferedInputStream(new FileInputStream(file));
             }
-            FileInputStream fis = new FileInputStream(file);
-            result = process(fis, compatibilityVersion);
-            zipFile.close();
         } catch (IOException e) {
             throw new DeserialisationException(e);
         }
         return result;
     }
 
+    /**
+     * Returns the compatibility version of the work file. If the file is declared to be compatible only with
+     * a newer version, then the user is asked whether to proceed with loading it.
+     */
+    public Version checkCompatibilityVersion(ZipFile zipFile) throws IOException, OperationCancelledException {
+        Version compatibilityVersion = WorkUtils.extractCompatibilityVersion(zipFile);
+        Version currentVersion = Info.getVersion();
+        Version currentReleaseVersion = new Version(currentVersion.major, currentVersion.minor,
+                currentVersion.revision, Version.Status.RELEASE);
+
+        if ((compatibilityVersion != null) && (currentReleaseVersion.compareTo(compatibilityVersion) < 0)) {
+            String message = "Workcraft v" + currentVersion + " may incorrectly read a file " +
+                    "that is declared to be backward-compatible to v" + compatibilityVersion;
+
+            String path = new File(zipFile.getName()).getAbsolutePath();
+            String question = ".\nProceed with loading the file '" + path + "' anyway?";
+            if (!DialogUtils.showConfirmWarning(message, question, "Open file", true)) {
+                throw new OperationCancelledException();
+            }
+        }
+        return compatibilityVersion;
+    }
+
+    public boolean isProcessingRequired(Version version) {
+        return !getOrderedApplicableData(version).isEmpty();
+    }
+
     public ByteArrayInputStream process(InputStream is, Version version) throws IOException {
         ByteArrayOutputStream result = new ByteArrayOutputStream();
         ZipInputStream zis = new ZipInputStream(is, StandardCharsets.UTF_8);
@@ -202,24 +226,10 @@ public class CompatibilityManager {
         while ((zei = zis.getNextEntry()) != null) {
             ZipEntry zeo = new ZipEntry(zei.getName());
             zos.putNextEntry(zeo);
-            String modelName = null;
-            String className = null;
-            String line = null;
-            while ((line = reader.readLine()) != null) {
-                line += "\n";
-                if (WorkUtils.isMetaEntry(zei)) {
-                    zos.write(replaceMetaData(version, line).getBytes(StandardCharsets.UTF_8));
-                } else if (modelName == null) {
-                    String processedLine = replaceModelName(version, line);
-                    zos.write(processedLine.getBytes(StandardCharsets.UTF_8));
-                    modelName = WorkUtils.extractModelName(processedLine);
-                } else {
-                    String s = WorkUtils.extractClassName(line);
-                    if (s != null) {
-                        className = s;
-                    }
-                    zos.write(replaceEntry(version, modelName, className, line).getBytes(StandardCharsets.UTF_8));
-                }
+            if (WorkUtils.isBinaryEntry(zei)) {
+                processBinaryEntry(zis, version, zos);
+            } else {
+                processEntry(reader, WorkUtils.isMetaEntry(zei), version, zos);
             }
             zis.closeEntry();
             zos.closeEntry();
@@ -229,4 +239,45 @@ public class CompatibilityManager {
         return new ByteArrayInputStream(result.toByteArray());
     }
 
+    private void processEntry(BufferedReader reader, boolean isMeta, Version version, OutputStream os)
+            throws IOException {
+
+        String modelName = null;
+        String className = null;
+        String line = null;
+        while ((line = reader.readLine()) != null) {
+            line += "\n";
+            if (isMeta) {
+                os.write(replaceMetaData(version, line).getBytes(StandardCharsets.UTF_8));
+            } else if (modelName == null) {
+                String processedLine = replaceModelName(version, line);
+                os.write(processedLine.getBytes(StandardCharsets.UTF_8));
+                modelName = WorkUtils.extractModelName(processedLine);
+            } else {
+                String s = WorkUtils.extractClassName(line);
+                if (s != null) {
+                    className = s;
+                }
+                os.write(replaceEntry(version, modelName, className, line).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private void processBinaryEntry(InputStream is, Version version, OutputStream os) throws IOException {
+        // Binary entry is decoded into XML text, so that the same line-based replacements apply to it
+        // as to XML entries, and the result is encoded back into the binary format
+        ByteArrayOutputStream xmlData = new ByteArrayOutputStream();
+        XmlUtils.writeDocument(BinaryXmlUtils.loadDocument(is), xmlData);
+        InputStream xmlStream = new ByteArrayInputStream(xmlData.toByteArray());
+        BufferedReader reader = new BufferedReader(new InputStreamReader(xmlStream, StandardCharsets.UTF_8));
+        ByteArrayOutputStream processedXmlData = new ByteArrayOutputStream();
+        processEntry(reader, false, version, processedXmlData);
+        try {
+            InputStream processedXmlStream = new ByteArrayInputStream(processedXmlData.toByteArray());
+            BinaryXmlUtils.writeDocument(XmlUtils.loadCompactDocument(processedXmlStream), os);
+        } catch (SAXException e) {
+            throw new IOException(e);
+        }
+    }
+
 }
@@ -3,18 +3,30 @@ package org.workcraft.plugins;
 import org.workcraft.exceptions.PluginInstantiationException;
 import org.workcraft.utils.LogUtils;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.List;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 
+/**
+ * Finds plugin classes in class path entries. Each module lists its plugin classes in an index that is generated
+ * at build time (see compileJava task in build.gradle), so only these classes are loaded at startup. Entries without
+ * the index (e.g. built by an IDE) are scanned for plugin classes instead.
+ */
 public class PluginFinder {
 
+    public static final String INDEX_ENTRY = "META-INF/services/" + Plugin.class.getName();
+
     private static class ClassFileFilter implements FilenameFilter {
         @Override
         public boolean accept(File dir, String name) {
@@ -34,12 +46,60 @@ public class PluginFinder {
     public static List<Class<?>> search(String filePath, String requiredPrefix)
             throws PluginInstantiationException {
 
-        List<Class<?>> result = new ArrayList<>();
         File file = new File(filePath);
-        result.addAll(search(file, file, requiredPrefix));
-        return result;
+        try {
+            List<Class<?>> result = searchIndex(file);
+            if (result != null) {
+                return result;
+            }
+        } catch (IOException e) {
+            throw new PluginInstantiationException(e);
+        }
+        return search(file, file, requiredPrefix);
+    }
+
+    private static List<Class<?>> searchIndex(File file) throws IOException {
+        if (file.isDirectory()) {
+            File indexFile = new File(file, INDEX_ENTRY);
+            if (indexFile.isFile()) {
+                try (InputStream is = new FileInputStream(indexFile)) {
+                    return readIndex(is);
+                }
+            }
+        } else if (file.isFile() && file.getPath().endsWith(".jar")) {
+            try (JarFile jf = new JarFile(file)) {
+                JarEntry entry = jf.getJarEntry(INDEX_ENTRY);
+                if (entry != null) {
+                    try (InputStream is = jf.getInputStream(entry)) {
+                        return readIndex(is);
+                    }
+                }
+            }
+        }
+        return null;
     }
 
+    private static List<Class<?>> readIndex(InputStream is) throws IOException {
+        List<Class<?>> result = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            // Same format as service provider configuration files: one class name per line and # for comments
+            int commentIndex = line.indexOf('#');
+            String className = (commentIndex < 0 ? line : line.substring(0, commentIndex)).trim();
+            if (!className.isEmpty()) {
+                try {
+                    Class<?> cls = getPluginClass(className);
+                    if (cls != null) {
+                        result.add(cls);
+                    }
+                } catch (ClassNotFoundException e) {
+                    LogUtils.logWarning("Skipping unknown plugin class '" + className + "'.");
+                }
+            }
+        }
+        return result;
+    }
 
     private static List<Class<?>> search(File startingFile, File currentFile, String requiredPrefix)
             throws PluginInstantiationException {
@@ -90,17 +150,10 @@ public class PluginFinder {
             if (className.startsWith(requiredPrefix)) {
                 className = className.substring(0, className.length() - ".class".length());
                 try {
-                    Class<?> cls = Class.forName(className);
-                    if (!Modifier.isAbstract(cls.getModifiers()) && Plugin.class.isAssignableFrom(cls)) {
-                        try {
-                            cls.getConstructor();
-                            result.add(cls);
-                        } catch (NoSuchMethodException ex) {
-                            LogUtils.logWarning("Plugin '" + cls.getName() + "' does not have a default constructor. Skipping.");
-                        }
+                    Class<?> cls = getPluginClass(className);
+                    if (cls != null) {
+                        result.add(cls);
                     }
-                } catch (LinkageError e) {
-                    LogUtils.logError("Bad class: " + e.getMessage());
                 } catch (ClassNotFoundException e) {
                     throw new PluginInstantiationException(e);
                 }
@@ -109,4 +162,22 @@ public class PluginFinder {
         return result;
     }
 
+    private static Class<?> getPluginClass(String className) throws ClassNotFoundException {
+        try {
+            Class<?> cls = Class.forName(className);
+            if (!Modifier.isAbstract(cls.getModifiers()) && Plugin.class.isAssignableFrom(cls)) {
+                try {
+                    cls.getConstructor();
+                    return cls;
+                } catch (NoSuchMethodException ex) {
+                    LogUtils.logWarning("Plugin '" + cls.getName()
+                            + "' does not have a default constructor. Skipping.");
+                }
+            }
+        } catch (LinkageError e) {
+            LogUtils.logError("Bad class: " + e.getMessage());
+        }
+        return null;
+    }
+
 }
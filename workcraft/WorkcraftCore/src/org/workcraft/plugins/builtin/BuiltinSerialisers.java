@@ -3,6 +3,8 @@ package org.workcraft.plugins.builtin;
 import org.workcraft.Framework;
 import org.workcraft.plugins.Plugin;
 import org.workcraft.plugins.PluginManager;
+import org.workcraft.plugins.builtin.serialisation.BinaryModelDeserialiser;
+import org.workcraft.plugins.builtin.serialisation.BinaryModelSerialiser;
 import org.workcraft.plugins.builtin.serialisation.XMLModelDeserialiser;
 import org.workcraft.plugins.builtin.serialisation.XMLModelSerialiser;
 import org.workcraft.plugins.builtin.serialisation.xml.*;
@@ -21,6 +23,8 @@ public class BuiltinSerialisers implements Plugin {
         final PluginManager pm = framework.getPluginManager();
         pm.registerModelDeserialiser(() -> new XMLModelDeserialiser(framework.getPluginManager()));
         pm.registerModelSerialiser(() -> new XMLModelSerialiser(framework.getPluginManager()));
+        pm.registerModelDeserialiser(() -> new BinaryModelDeserialiser(framework.getPluginManager()));
+        pm.registerModelSerialiser(() -> new BinaryModelSerialiser(framework.getPluginManager()));
 
         pm.registerXmlSerialiser(AffineTransformSerialiser.class);
         pm.registerXmlSerialiser(BooleanSerialiser.class);
@@ -0,0 +1,40 @@
+package org.workcraft.plugins.builtin.serialisation;
+
+import org.workcraft.dom.Model;
+import org.workcraft.exceptions.DeserialisationException;
+import org.workcraft.interop.WorkBinaryFormat;
+import org.workcraft.plugins.PluginProvider;
+import org.workcraft.serialisation.DeserialisationResult;
+import org.workcraft.serialisation.ModelDeserialiser;
+import org.workcraft.serialisation.ReferenceResolver;
+import org.workcraft.utils.BinaryXmlUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+public class BinaryModelDeserialiser implements ModelDeserialiser {
+
+    private final XMLModelDeserialiser deserialiser;
+
+    public BinaryModelDeserialiser(PluginProvider plugins) {
+        deserialiser = new XMLModelDeserialiser(plugins);
+    }
+
+    @Override
+    public UUID getFormatUUID() {
+        return WorkBinaryFormat.getInstance().getUuid();
+    }
+
+    @Override
+    public DeserialisationResult deserialise(InputStream is, ReferenceResolver extRef,
+            Model underlyingModel) throws DeserialisationException {
+
+        try {
+            return deserialiser.deserialise(BinaryXmlUtils.loadDocument(is), extRef, underlyingModel);
+        } catch (IOException e) {
+            throw new DeserialisationException(e);
+        }
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.workcraft.plugins.builtin.serialisation;
+
+import org.w3c.dom.Document;
+import org.workcraft.dom.Model;
+import org.workcraft.exceptions.SerialisationException;
+import org.workcraft.interop.WorkBinaryFormat;
+import org.workcraft.plugins.PluginProvider;
+import org.workcraft.serialisation.ModelSerialiser;
+import org.workcraft.serialisation.ReferenceProducer;
+import org.workcraft.utils.BinaryXmlUtils;
+import org.workcraft.utils.XmlUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.UUID;
+
+/**
+ * Serialises the model with the XML serialisers registered by the plugins, and writes the resulting document
+ * in the compact binary encoding of {@link BinaryXmlUtils} instead of XML text.
+ */
+public class BinaryModelSerialiser implements ModelSerialiser<ReferenceProducer, ReferenceProducer> {
+
+    private final XMLModelSerialiser serialiser;
+
+    public BinaryModelSerialiser(PluginProvider pp) {
+        serialiser = new XMLModelSerialiser(pp);
+    }
+
+    @Override
+    public UUID getFormatUUID() {
+        return WorkBinaryFormat.getInstance().getUuid();
+    }
+
+    @Override
+    public boolean isApplicableTo(Model model) {
+        return true;
+    }
+
+    @Override
+    public ReferenceProducer serialise(final Model model, OutputStream out, ReferenceProducer refs)
+            throws SerialisationException {
+
+        Document doc = XmlUtils.createDocument();
+        ReferenceProducer internalRefs = serialiser.serialise(model, doc, refs);
+        try {
+            BinaryXmlUtils.writeDocument(doc, out);
+        } catch (IOException e) {
+            throw new SerialisationException(e);
+        }
+        return internalRefs;
+    }
+
+}
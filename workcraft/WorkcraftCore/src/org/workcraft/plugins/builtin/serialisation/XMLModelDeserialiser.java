@@ -32,11 +32,20 @@ public class XMLModelDeserialiser implements ModelDeserialiser {
     public DeserialisationResult deserialise(InputStream is, ReferenceResolver extRef,
             Model underlyingModel) throws DeserialisationException {
 
+        try {
+            return deserialise(XmlUtils.loadDocument(is), extRef, underlyingModel);
+        } catch (SAXException | IOException e) {
+            throw new DeserialisationException(e);
+        }
+    }
+
+    public DeserialisationResult deserialise(Document doc, ReferenceResolver extRef,
+            Model underlyingModel) throws DeserialisationException {
+
         try {
             XMLDeserialisationManager deserialisation = new XMLDeserialisationManager();
             deserialisation.processPlugins(plugins);
 
-            Document doc = XmlUtils.loadDocument(is);
             Element modelElement = doc.getDocumentElement();
 
             // create model
@@ -60,7 +69,7 @@ public class XMLModelDeserialiser implements ModelDeserialiser {
             deserialisation.deserialiseModelProperties(modelElement, model);
 
             return new DeserialisationResult(model, intRef);
-        } catch (SAXException | IOException | SecurityException | IllegalArgumentException | ClassNotFoundException e) {
+        } catch (SecurityException | IllegalArgumentException | ClassNotFoundException e) {
             throw new DeserialisationException(e);
         }
     }
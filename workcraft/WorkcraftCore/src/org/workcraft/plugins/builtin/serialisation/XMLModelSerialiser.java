@@ -37,6 +37,19 @@ public class XMLModelSerialiser implements ModelSerialiser<ReferenceProducer, Re
     public ReferenceProducer serialise(final Model model, OutputStream out, ReferenceProducer refs)
             throws SerialisationException {
 
+        Document doc = XmlUtils.createDocument();
+        ReferenceProducer internalRefs = serialise(model, doc, refs);
+        XmlUtils.writeDocument(doc, out);
+        return internalRefs;
+    }
+
+    /**
+     * Serialises the model into an empty in-memory document, which can be deserialised directly
+     * by {@link XMLModelDeserialiser} without writing and parsing XML text.
+     */
+    public ReferenceProducer serialise(final Model model, Document doc, ReferenceProducer refs)
+            throws SerialisationException {
+
         ReferenceProducer internalRefs = obj -> {
             if (obj instanceof Node) {
                 return model.getNodeReference((Node) obj);
@@ -44,7 +57,6 @@ public class XMLModelSerialiser implements ModelSerialiser<ReferenceProducer, Re
             return null;
         };
 
-        Document doc = XmlUtils.createDocument();
         Element modelElement = doc.createElement("model");
         Element rootElement = doc.createElement("root");
 
@@ -57,7 +69,6 @@ public class XMLModelSerialiser implements ModelSerialiser<ReferenceProducer, Re
 
         doc.appendChild(modelElement);
         modelElement.appendChild(rootElement);
-        XmlUtils.writeDocument(doc, out);
 
         return internalRefs;
     }
@@ -128,6 +128,12 @@ public class EditorCommonSettings extends AbstractCommonSettings {
     // Layout
     private static final String keyOpenNonvisual = prefix + ".openNonvisual";
     private static final String keyLargeModelSize = prefix + ".largeModelSize";
+    // History
+    private static final String keyHistoryMemoryLimit = prefix + ".historyMemoryLimit";
+    // Work files
+    private static final String keyBinaryWorkFormat = prefix + ".binaryWorkFormat";
+    // Backend tools
+    private static final String keyToolConcurrencyLimit = prefix + ".toolConcurrencyLimit";
     // Export
     private static final String keyFlatnameSeparator = prefix + ".flatnameSeparator";
     private static final String keyExportHeaderStyle = prefix + ".exportHeaderStyle";
@@ -160,6 +166,12 @@ public class EditorCommonSettings extends AbstractCommonSettings {
     // Layout
     private static final boolean defaultOpenNonvisual = true;
     private static final int defaultLargeModelSize = 500;
+    // History
+    private static final int defaultHistoryMemoryLimit = 256;
+    // Work files
+    private static final boolean defaultBinaryWorkFormat = false;
+    // Backend tools
+    private static final int defaultToolConcurrencyLimit = 0;
     // Export
     private static final String defaultFlatnameSeparator = "_";
     private static final ExportHeaderStyle defaultExportHeaderStyle = ExportHeaderStyle.DETAILED;
@@ -192,6 +204,12 @@ public class EditorCommonSettings extends AbstractCommonSettings {
     // Layout
     private static boolean openNonvisual = defaultOpenNonvisual;
     private static int largeModelSize = defaultLargeModelSize;
+    // History
+    private static int historyMemoryLimit = defaultHistoryMemoryLimit;
+    // Work files
+    private static boolean binaryWorkFormat = defaultBinaryWorkFormat;
+    // Backend tools
+    private static int toolConcurrencyLimit = defaultToolConcurrencyLimit;
     // Export
     private static String flatnameSeparator = defaultFlatnameSeparator;
     private static ExportHeaderStyle exportHeaderStyle = defaultExportHeaderStyle;
@@ -312,6 +330,27 @@ public class EditorCommonSettings extends AbstractCommonSettings {
                 EditorCommonSettings::setLargeModelSize,
                 EditorCommonSettings::getLargeModelSize));
 
+        properties.add(PropertyHelper.createSeparatorProperty("Undo history"));
+
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                PropertyHelper.BULLET_PREFIX + "Memory limit for undo history (1-9999 MB)",
+                EditorCommonSettings::setHistoryMemoryLimit,
+                EditorCommonSettings::getHistoryMemoryLimit));
+
+        properties.add(PropertyHelper.createSeparatorProperty("Work files"));
+
+        properties.add(new PropertyDeclaration<>(Boolean.class,
+                PropertyHelper.BULLET_PREFIX + "Save models in compact binary format (not readable by older versions)",
+                EditorCommonSettings::setBinaryWorkFormat,
+                EditorCommonSettings::getBinaryWorkFormat));
+
+        properties.add(PropertyHelper.createSeparatorProperty("Backend tools"));
+
+        properties.add(new PropertyDeclaration<>(Integer.class,
+                PropertyHelper.BULLET_PREFIX + "Concurrent runs of each backend tool (0 for processor count)",
+                EditorCommonSettings::setToolConcurrencyLimit,
+                EditorCommonSettings::getToolConcurrencyLimit));
+
         properties.add(PropertyHelper.createSeparatorProperty("Model export"));
 
         properties.add(new PropertyDeclaration<>(String.class,
@@ -357,6 +396,12 @@ public class EditorCommonSettings extends AbstractCommonSettings {
         // Layout
         setOpenNonvisual(config.getBoolean(keyOpenNonvisual, defaultOpenNonvisual));
         setLargeModelSize(config.getInt(keyLargeModelSize, defaultLargeModelSize));
+        // History
+        setHistoryMemoryLimit(config.getInt(keyHistoryMemoryLimit, defaultHistoryMemoryLimit));
+        // Work files
+        setBinaryWorkFormat(config.getBoolean(keyBinaryWorkFormat, defaultBinaryWorkFormat));
+        // Backend tools
+        setToolConcurrencyLimit(config.getInt(keyToolConcurrencyLimit, defaultToolConcurrencyLimit));
         // Export
         setFlatnameSeparator(config.getString(keyFlatnameSeparator, defaultFlatnameSeparator));
         setExportHeaderStyle(config.getEnum(keyExportHeaderStyle, ExportHeaderStyle.class, defaultExportHeaderStyle));
@@ -389,6 +434,12 @@ public class EditorCommonSettings extends AbstractCommonSettings {
         // Layout
         config.setBoolean(keyOpenNonvisual, getOpenNonvisual());
         config.setInt(keyLargeModelSize, getLargeModelSize());
+        // History
+        config.setInt(keyHistoryMemoryLimit, getHistoryMemoryLimit());
+        // Work files
+        config.setBoolean(keyBinaryWorkFormat, getBinaryWorkFormat());
+        // Backend tools
+        config.setInt(keyToolConcurrencyLimit, getToolConcurrencyLimit());
         // Export
         config.set(keyFlatnameSeparator, getFlatnameSeparator());
         config.setEnum(keyExportHeaderStyle, getExportHeaderStyle());
@@ -571,6 +622,39 @@ public class EditorCommonSettings extends AbstractCommonSettings {
         largeModelSize = value;
     }
 
+    public static int getHistoryMemoryLimit() {
+        return historyMemoryLimit;
+    }
+
+    public static void setHistoryMemoryLimit(int value) {
+        if (value < 1) {
+            value = 1;
+        }
+        if (value > 9999) {
+            value = 9999;
+        }
+        historyMemoryLimit = value;
+    }
+
+    public static boolean getBinaryWorkFormat() {
+        return binaryWorkFormat;
+    }
+
+    public static void setBinaryWorkFormat(boolean value) {
+        binaryWorkFormat = value;
+    }
+
+    public static int getToolConcurrencyLimit() {
+        return toolConcurrencyLimit;
+    }
+
+    public static void setToolConcurrencyLimit(int value) {
+        if (value < 0) {
+            value = 0;
+        }
+        toolConcurrencyLimit = value;
+    }
+
     public static String getFlatnameSeparator() {
         return flatnameSeparator;
     }
@@ -1,6 +1,7 @@
 package org.workcraft.tasks;
 
 import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
 
 public abstract class AbstractTaskManager implements TaskManager {
 
@@ -46,8 +47,24 @@ public abstract class AbstractTaskManager implements TaskManager {
 
     @Override
     public final <T> void queue(final Task<T> task, final String description, final ProgressMonitor<? super T> observer) {
-        Thread thread = new Thread(() -> rawExecute(task, description, observer));
+        submit(task, description, observer);
+    }
+
+    @Override
+    public <T> CompletableFuture<Result<? extends T>> submit(Task<T> task, String description,
+            ProgressMonitor<? super T> observer) {
+
+        CompletableFuture<Result<? extends T>> future = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            try {
+                future.complete(rawExecute(task, description, observer));
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+        });
         thread.start();
+        return future;
     }
 
     public abstract <T> Result<? extends T> rawExecute(Task<T> task, String description, ProgressMonitor<? super T> observer);
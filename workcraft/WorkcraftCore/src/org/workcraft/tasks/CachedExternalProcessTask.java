@@ -0,0 +1,74 @@
+package org.workcraft.tasks;
+
+import org.workcraft.utils.LogUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * Runs the external process task unless its result is found in the cache. The result of a finished process is
+ * stored in the cache only if its return code is accepted by the predicate, so that failures are not reused.
+ */
+public class CachedExternalProcessTask implements Task<ExternalProcessOutput> {
+
+    private final ExternalProcessCache cache;
+    private final ExternalProcessTask task;
+    private final List<File> outputFiles;
+    private final IntPredicate cacheableReturnCode;
+
+    public CachedExternalProcessTask(ExternalProcessCache cache, ExternalProcessTask task,
+            List<File> outputFiles, IntPredicate cacheableReturnCode) {
+
+        this.cache = cache;
+        this.task = task;
+        this.outputFiles = new ArrayList<>(outputFiles);
+        this.cacheableReturnCode = cacheableReturnCode;
+    }
+
+    @Override
+    public Result<? extends ExternalProcessOutput> run(ProgressMonitor<? super ExternalProcessOutput> monitor) {
+        String key = null;
+        try {
+            key = cache.getKey(task.getArgs(), task.getDirectory(), outputFiles);
+        } catch (IOException e) {
+            LogUtils.logWarning("Cannot compute cache key of external process: " + e.getMessage());
+        }
+        if (key != null) {
+            ExternalProcessOutput output = cache.load(key, outputFiles);
+            if (output != null) {
+                LogUtils.logInfo("Reusing cached result of: " + String.join(" ", task.getArgs()));
+                replayOutput(output, monitor);
+                return Result.success(output);
+            }
+        }
+
+        Result<? extends ExternalProcessOutput> result = task.run(monitor);
+        ExternalProcessOutput output = result.getPayload();
+        if ((key != null) && result.isSuccess() && (output != null)
+                && cacheableReturnCode.test(output.getReturnCode())) {
+
+            cache.store(key, output, outputFiles);
+        }
+        return result;
+    }
+
+    private void replayOutput(ExternalProcessOutput output, ProgressMonitor<? super ExternalProcessOutput> monitor) {
+        if (output.getStdout().length > 0) {
+            monitor.stdout(output.getStdout());
+            if (task.getPrintStdout()) {
+                LogUtils.logStdout(new String(output.getStdout(), StandardCharsets.UTF_8));
+            }
+        }
+        if (output.getStderr().length > 0) {
+            monitor.stderr(output.getStderr());
+            if (task.getPrintStderr()) {
+                LogUtils.logStderr(new String(output.getStderr(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+}
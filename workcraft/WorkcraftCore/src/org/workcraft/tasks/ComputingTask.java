@@ -0,0 +1,8 @@
+package org.workcraft.tasks;
+
+/**
+ * Task that only computes in Java and never waits for external tools. Queued computing tasks are run on a pool
+ * with a bounded number of threads, see {@link PooledTaskManager}.
+ */
+public interface ComputingTask<T> extends Task<T> {
+}
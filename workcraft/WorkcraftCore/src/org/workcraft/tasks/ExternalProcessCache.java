@@ -0,0 +1,279 @@
+package org.workcraft.tasks;
+
+import org.workcraft.utils.LogUtils;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Persistent on-disk cache of external process results. An entry is keyed by a hash of the tool binary (its path,
+ * size and modification time), the arguments, and the content of the input files referred by the arguments, where
+ * the paths inside the working directory are replaced by a placeholder. An entry stores the return code, stdout,
+ * stderr and the output files of the process. The least recently used entries are evicted when the total size of
+ * the cache exceeds its limit.
+ */
+public class ExternalProcessCache {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final String INFO_FILE_NAME = "info.properties";
+    private static final String STDOUT_FILE_NAME = "stdout";
+    private static final String STDERR_FILE_NAME = "stderr";
+    private static final String OUTPUT_FILE_PREFIX = "output";
+    private static final String RETURN_CODE_KEY = "returnCode";
+    private static final String OUTPUT_COUNT_KEY = "outputCount";
+    private static final String DIRECTORY_PLACEHOLDER = "<directory>";
+    private static final String OUTPUT_PLACEHOLDER = "<output>";
+    private static final String CONTENT_PLACEHOLDER = "<content>";
+    // Leading lines of the export header are ignored in input files, as they may contain a creation timestamp
+    private static final String HEADER_LINE_PREFIX = "# ";
+    private static final int KEY_LENGTH = 64;
+
+    private final File directory;
+    private final long sizeLimit;
+
+    public ExternalProcessCache(File directory, long sizeLimit) {
+        this.directory = directory;
+        this.sizeLimit = sizeLimit;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public long getSizeLimit() {
+        return sizeLimit;
+    }
+
+    public String getKey(List<String> args, File workingDirectory, Collection<File> outputFiles) throws IOException {
+        MessageDigest digest = createDigest();
+        String workingPath = workingDirectory == null ? null : workingDirectory.getAbsolutePath();
+        List<String> outputPaths = new ArrayList<>();
+        for (File outputFile : outputFiles) {
+            outputPaths.add(outputFile.getAbsolutePath());
+        }
+        boolean isTool = true;
+        for (String arg : args) {
+            if (isTool) {
+                File toolFile = new File(arg);
+                update(digest, arg);
+                if (toolFile.isFile()) {
+                    update(digest, Long.toString(toolFile.length()));
+                    update(digest, Long.toString(toolFile.lastModified()));
+                }
+                isTool = false;
+                continue;
+            }
+            // Input file may be passed as a whole argument or as a value of an option, e.g. -F=file
+            int valueIndex = new File(arg).isAbsolute() ? 0 : arg.indexOf('=') + 1;
+            String path = arg.substring(valueIndex);
+            File file = new File(path);
+            if (outputPaths.contains(path)) {
+                update(digest, arg.substring(0, valueIndex) + OUTPUT_PLACEHOLDER + outputPaths.indexOf(path));
+            } else if (file.isAbsolute() && file.isFile()) {
+                update(digest, arg.substring(0, valueIndex) + CONTENT_PLACEHOLDER);
+                updateContent(digest, file);
+            } else if ((workingPath != null) && arg.contains(workingPath)) {
+                update(digest, arg.replace(workingPath, DIRECTORY_PLACEHOLDER));
+            } else {
+                update(digest, arg);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static void updateContent(MessageDigest digest, File file) throws IOException {
+        try (InputStream is = new FileInputStream(file)) {
+            byte[] data = is.readAllBytes();
+            int offset = 0;
+            while (startsWith(data, offset, HEADER_LINE_PREFIX)) {
+                int index = offset;
+                while ((index < data.length) && (data[index] != '\n')) {
+                    index++;
+                }
+                offset = Math.min(index + 1, data.length);
+            }
+            digest.update(data, offset, data.length - offset);
+            digest.update((byte) 0);
+        }
+    }
+
+    private static boolean startsWith(byte[] data, int offset, String prefix) {
+        if (offset + prefix.length() > data.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (data[offset + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+
+    /**
+     * Returns the cached output for the key and restores the cached output files, or returns null if there is
+     * no complete entry for the key.
+     */
+    public ExternalProcessOutput load(String key, List<File> outputFiles) {
+        File entryDirectory = new File(directory, key);
+        File infoFile = new File(entryDirectory, INFO_FILE_NAME);
+        if (!infoFile.isFile()) {
+            return null;
+        }
+        try {
+            Properties info = new Properties();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(infoFile), StandardCharsets.UTF_8))) {
+
+                info.load(reader);
+            }
+            int returnCode = Integer.parseInt(info.getProperty(RETURN_CODE_KEY));
+            if (Integer.parseInt(info.getProperty(OUTPUT_COUNT_KEY)) != outputFiles.size()) {
+                return null;
+            }
+            byte[] stdout = Files.readAllBytes(new File(entryDirectory, STDOUT_FILE_NAME).toPath());
+            byte[] stderr = Files.readAllBytes(new File(entryDirectory, STDERR_FILE_NAME).toPath());
+            for (int i = 0; i < outputFiles.size(); i++) {
+                File cachedFile = new File(entryDirectory, OUTPUT_FILE_PREFIX + i);
+                File outputFile = outputFiles.get(i);
+                if (cachedFile.isFile()) {
+                    Files.copy(cachedFile.toPath(), outputFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                } else {
+                    Files.deleteIfExists(outputFile.toPath());
+                }
+            }
+            // Modification time of the entry directory tracks its last use for eviction
+            entryDirectory.setLastModified(System.currentTimeMillis());
+            return new ExternalProcessOutput(returnCode, stdout, stderr);
+        } catch (IOException | RuntimeException e) {
+            // Entry may be incomplete or evicted concurrently
+            return null;
+        }
+    }
+
+    /**
+     * Stores the output and the output files of the process, and evicts the least recently used entries
+     * if the cache exceeds its size limit.
+     */
+    public synchronized void store(String key, ExternalProcessOutput output, List<File> outputFiles) {
+        File entryDirectory = new File(directory, key);
+        File tmpDirectory = null;
+        try {
+            Files.createDirectories(directory.toPath());
+            tmpDirectory = Files.createTempDirectory(directory.toPath(), key + "-").toFile();
+            writeBytes(new File(tmpDirectory, STDOUT_FILE_NAME), output.getStdout());
+            writeBytes(new File(tmpDirectory, STDERR_FILE_NAME), output.getStderr());
+            for (int i = 0; i < outputFiles.size(); i++) {
+                File outputFile = outputFiles.get(i);
+                if (outputFile.isFile()) {
+                    Files.copy(outputFile.toPath(), new File(tmpDirectory, OUTPUT_FILE_PREFIX + i).toPath());
+                }
+            }
+            // Info file is written last, so an entry without it is incomplete
+            Properties info = new Properties();
+            info.setProperty(RETURN_CODE_KEY, Integer.toString(output.getReturnCode()));
+            info.setProperty(OUTPUT_COUNT_KEY, Integer.toString(outputFiles.size()));
+            try (OutputStream os = new FileOutputStream(new File(tmpDirectory, INFO_FILE_NAME))) {
+                info.store(os, null);
+            }
+            deleteRecursively(entryDirectory);
+            if (!tmpDirectory.renameTo(entryDirectory)) {
+                throw new IOException("Cannot create cache entry '" + entryDirectory.getPath() + "'");
+            }
+            tmpDirectory = null;
+        } catch (IOException e) {
+            LogUtils.logWarning("Cannot cache result of external process: " + e.getMessage());
+        } finally {
+            deleteRecursively(tmpDirectory);
+        }
+        evict(key);
+    }
+
+    private static void writeBytes(File file, byte[] data) throws IOException {
+        try (OutputStream os = new FileOutputStream(file)) {
+            os.write(data);
+        }
+    }
+
+    private void evict(String keptKey) {
+        // The entry of the kept key is not evicted even if it exceeds the size limit on its own
+        File[] entryDirectories = directory.listFiles(file -> file.isDirectory()
+                && (file.getName().length() == KEY_LENGTH) && !file.getName().equals(keptKey));
+
+        if (entryDirectories == null) {
+            return;
+        }
+        Arrays.sort(entryDirectories, Comparator.comparingLong(File::lastModified));
+        long size = getSize(new File(directory, keptKey));
+        long[] entrySizes = new long[entryDirectories.length];
+        for (int i = 0; i < entryDirectories.length; i++) {
+            entrySizes[i] = getSize(entryDirectories[i]);
+            size += entrySizes[i];
+        }
+        for (int i = 0; (i < entryDirectories.length) && (size > sizeLimit); i++) {
+            deleteRecursively(entryDirectories[i]);
+            size -= entrySizes[i];
+        }
+    }
+
+    private static long getSize(File file) {
+        long result = file.length();
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File f : files) {
+                result += getSize(f);
+            }
+        }
+        return result;
+    }
+
+    private static void deleteRecursively(File file) {
+        if (file != null) {
+            File[] files = file.listFiles();
+            if (files != null) {
+                for (File f : files) {
+                    deleteRecursively(f);
+                }
+            }
+            file.delete();
+        }
+    }
+
+}
@@ -1,28 +1,38 @@
 package org.workcraft.tasks;
 
+import org.workcraft.Framework;
 import org.workcraft.interop.ExternalProcess;
 import org.workcraft.interop.ExternalProcessListener;
 import org.workcraft.shared.DataAccumulator;
 import org.workcraft.utils.LogUtils;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class ExternalProcessTask implements Task<ExternalProcessOutput>, ExternalProcessListener {
 
+    // Completion of the process is awaited directly, and cancel requests of the monitor are checked in between
+    private static final long CANCEL_CHECK_INTERVAL_MILLIS = 50;
+
     private List<String> args;
     private final File directory;
     private boolean printStdout;
     private boolean printStderr;
+    private final File stdoutFile;
 
-    private volatile boolean finished;
-    private volatile int returnCode;
-    private boolean userCancelled = false;
     private ProgressMonitor<? super ExternalProcessOutput> monitor;
 
-    private final DataAccumulator stdoutAccum = new DataAccumulator();
+    private OutputStream stdoutStream;
     private final DataAccumulator stderrAccum = new DataAccumulator();
 
     public ExternalProcessTask(List<String> args, File directory) {
@@ -30,42 +40,95 @@ public class ExternalProcessTask implements Task<ExternalProcessOutput>, Externa
     }
 
     public ExternalProcessTask(List<String> args, File directory, boolean printStdout, boolean printStderr) {
+        this(args, directory, printStdout, printStderr, null);
+    }
+
+    /**
+     * If stdoutFile is not null, then the standard output of the process is streamed to that file
+     * instead of being kept in memory, and the stdout of the task output is empty.
+     */
+    public ExternalProcessTask(List<String> args, File directory, boolean printStdout, boolean printStderr,
+            File stdoutFile) {
+
         this.args = args;
         this.directory = directory;
         this.printStdout = printStdout;
         this.printStderr = printStderr;
+        this.stdoutFile = stdoutFile;
+    }
+
+    public List<String> getArgs() {
+        return args;
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    public boolean getPrintStdout() {
+        return printStdout;
+    }
+
+    public boolean getPrintStderr() {
+        return printStderr;
+    }
+
+    /**
+     * Name of the executable, which groups the processes of one backend tool for the concurrency limit.
+     */
+    public String getToolName() {
+        return new File(args.get(0)).getName();
     }
 
     @Override
     public Result<? extends ExternalProcessOutput> run(ProgressMonitor<? super ExternalProcessOutput> monitor) {
+        TaskManager taskManager = Framework.getInstance().getTaskManager();
+        if (taskManager instanceof PooledTaskManager) {
+            return ((PooledTaskManager) taskManager).<ExternalProcessOutput>runInGroup(
+                    getToolName(), this::runProcess, monitor);
+        }
+        return runProcess(monitor);
+    }
+
+    private Result<? extends ExternalProcessOutput> runProcess(ProgressMonitor<? super ExternalProcessOutput> monitor) {
         this.monitor = monitor;
 
         ExternalProcess process = new ExternalProcess(args.toArray(new String[args.size()]), directory);
 
         process.addListener(this);
 
+        stdoutStream = null;
         try {
+            stdoutStream = (stdoutFile == null) ? new DataAccumulator()
+                    : new BufferedOutputStream(new FileOutputStream(stdoutFile));
+
             ExternalProcess.printCommandLine(this.args);
             process.start();
         } catch (IOException e) {
+            closeStdoutFile();
             LogUtils.logError(e.getMessage());
             return Result.exception(e);
         }
 
-        while (true) {
-            if (monitor.isCancelRequested() && process.isRunning()) {
+        boolean userCancelled = false;
+        Integer returnCode = null;
+        CompletableFuture<Integer> completion = process.getCompletion();
+        while (returnCode == null) {
+            if (!userCancelled && monitor.isCancelRequested() && process.isRunning()) {
                 process.cancel();
                 userCancelled = true;
             }
-            if (finished) {
-                break;
-            }
             try {
-                Thread.sleep(20);
+                returnCode = completion.get(CANCEL_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Process is still running
             } catch (InterruptedException e) {
                 process.cancel();
-                userCancelled = true;
-                break;
+                closeStdoutFile();
+                return Result.cancel();
+            } catch (ExecutionException e) {
+                closeStdoutFile();
+                return Result.exception(e.getCause());
             }
         }
 
@@ -73,18 +136,29 @@ public class ExternalProcessTask implements Task<ExternalProcessOutput>, Externa
             return Result.cancel();
         }
 
-        ExternalProcessOutput output = new ExternalProcessOutput(
-                returnCode, stdoutAccum.getData(), stderrAccum.getData());
+        byte[] stdout = (stdoutStream instanceof DataAccumulator)
+                ? ((DataAccumulator) stdoutStream).getData() : new byte[0];
 
+        ExternalProcessOutput output = new ExternalProcessOutput(returnCode, stdout, stderrAccum.getData());
         return Result.success(output);
     }
 
+    private void closeStdoutFile() {
+        if ((stdoutFile != null) && (stdoutStream != null)) {
+            try {
+                stdoutStream.close();
+            } catch (IOException e) {
+                LogUtils.logError(e.getMessage());
+            }
+        }
+    }
+
     @Override
     public void outputData(byte[] data) {
         try {
-            stdoutAccum.write(data);
+            stdoutStream.write(data);
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
         monitor.stdout(data);
         if (printStdout) {
@@ -98,7 +172,7 @@ public class ExternalProcessTask implements Task<ExternalProcessOutput>, Externa
         try {
             stderrAccum.write(data);
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new UncheckedIOException(e);
         }
         monitor.stderr(data);
         if (printStderr) {
@@ -109,13 +183,7 @@ public class ExternalProcessTask implements Task<ExternalProcessOutput>, Externa
 
     @Override
     public void processFinished(int returnCode) {
-        try {
-            stdoutAccum.flush();
-            stderrAccum.flush();
-        } catch (IOException e) {
-        }
-        this.returnCode = returnCode;
-        this.finished = true;
+        closeStdoutFile();
     }
 
 }
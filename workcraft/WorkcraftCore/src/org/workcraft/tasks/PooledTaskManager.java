@@ -0,0 +1,203 @@
+package org.workcraft.tasks;
+
+import org.workcraft.plugins.builtin.settings.EditorCommonSettings;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Task manager that runs queued tasks on reusable threads instead of a new thread per task. Tasks that mostly wait
+ * (e.g. for external tools) run on a pool that grows on demand, while {@link ComputingTask}s are limited to a fixed
+ * number of threads. Pending computing tasks are started in the order of their priority, and the number of
+ * simultaneously running tasks of a group (e.g. the processes of one backend tool) is capped, see {@link #runInGroup}.
+ */
+public class PooledTaskManager extends ExtendedTaskManager {
+
+    public static final int LOW_PRIORITY = -1;
+    public static final int NORMAL_PRIORITY = 0;
+    public static final int HIGH_PRIORITY = 1;
+
+    // Idle threads are released quickly, so they do not delay the exit of the application
+    private static final long KEEP_ALIVE_SECONDS = 1;
+    // Tasks waiting for their group are checked for cancel requests with this interval
+    private static final long CANCEL_CHECK_INTERVAL_MILLIS = 50;
+
+    private final class Job<T> implements Runnable, Comparable<Job<?>> {
+        private final Task<T> task;
+        private final String description;
+        private final ProgressMonitor<? super T> monitor;
+        private final int priority;
+        private final long order;
+        private final CompletableFuture<Result<? extends T>> future = new CompletableFuture<>();
+
+        Job(Task<T> task, String description, ProgressMonitor<? super T> monitor, int priority) {
+            this.task = task;
+            this.description = description;
+            this.monitor = monitor;
+            this.priority = priority;
+            this.order = jobCount.getAndIncrement();
+        }
+
+        @Override
+        public int compareTo(Job<?> other) {
+            // Higher priority first, and jobs of the same priority in the order they were submitted
+            if (priority != other.priority) {
+                return Integer.compare(other.priority, priority);
+            }
+            return Long.compare(order, other.order);
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (future.isCancelled()) {
+                    ProgressMonitorArray<T> monitors = taskObserverList.taskStarting(description);
+                    if (monitor != null) {
+                        monitors.add(monitor);
+                    }
+                    monitors.isFinished(Result.cancel());
+                } else {
+                    ProgressMonitorArray<T> monitors = new ProgressMonitorArray<>();
+                    if (monitor != null) {
+                        monitors.add(monitor);
+                    }
+                    monitors.add(new BasicProgressMonitor<>() {
+                        @Override
+                        public boolean isCancelRequested() {
+                            return future.isCancelled();
+                        }
+                    });
+                    future.complete(rawExecute(task, description, monitors));
+                }
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private final int computingThreadCount;
+    private final ExecutorService waitingExecutor;
+    private final ExecutorService computingExecutor;
+    private final AtomicLong jobCount = new AtomicLong();
+
+    private final Map<String, Integer> groupLimits = new HashMap<>();
+    private final Map<String, Integer> groupCounts = new HashMap<>();
+
+    public PooledTaskManager() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public PooledTaskManager(int computingThreadCount) {
+        this.computingThreadCount = Math.max(1, computingThreadCount);
+        waitingExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), createThreadFactory("waiting"));
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(this.computingThreadCount, this.computingThreadCount,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), createThreadFactory("computing"));
+
+        executor.allowCoreThreadTimeOut(true);
+        computingExecutor = executor;
+    }
+
+    private static ThreadFactory createThreadFactory(String name) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> new Thread(runnable, "Task-" + name + "-" + threadCount.incrementAndGet());
+    }
+
+    public int getComputingThreadCount() {
+        return computingThreadCount;
+    }
+
+    /**
+     * Sets the maximum number of simultaneously running tasks of the group, or resets it to the backend tool limit
+     * of the editor settings if it is not positive. Tasks that are already running are not affected.
+     */
+    public synchronized void setConcurrencyLimit(String group, int limit) {
+        if (limit > 0) {
+            groupLimits.put(group, limit);
+        } else {
+            groupLimits.remove(group);
+        }
+        notifyAll();
+    }
+
+    public synchronized int getConcurrencyLimit(String group) {
+        Integer limit = groupLimits.get(group);
+        if (limit != null) {
+            return limit;
+        }
+        int toolLimit = EditorCommonSettings.getToolConcurrencyLimit();
+        return toolLimit > 0 ? toolLimit : Runtime.getRuntime().availableProcessors();
+    }
+
+    @Override
+    public <T> CompletableFuture<Result<? extends T>> submit(Task<T> task, String description,
+            ProgressMonitor<? super T> monitor) {
+
+        return submit(task, description, monitor, NORMAL_PRIORITY);
+    }
+
+    /**
+     * Queues the task and returns its result as a future. Cancelling the future before the task starts skips it,
+     * and cancelling it later is reported to the task as a cancel request of its progress monitor. Pending
+     * {@link ComputingTask}s of higher priority are started first; other tasks start without delay.
+     */
+    public <T> CompletableFuture<Result<? extends T>> submit(Task<T> task, String description,
+            ProgressMonitor<? super T> monitor, int priority) {
+
+        Job<T> job = new Job<>(task, description, monitor, priority);
+        if (task instanceof ComputingTask) {
+            computingExecutor.execute(job);
+        } else {
+            waitingExecutor.execute(job);
+        }
+        return job.future;
+    }
+
+    /**
+     * Runs the task in the calling thread as soon as fewer than the concurrency limit of tasks of the group are
+     * running. The task is cancelled without running if its monitor requests a cancel while waiting for the group.
+     */
+    public <T> Result<? extends T> runInGroup(String group, Task<T> task, ProgressMonitor<? super T> monitor) {
+        try {
+            if (!enterGroup(group, monitor)) {
+                return Result.cancel();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Result.cancel();
+        }
+        try {
+            return task.run(monitor);
+        } finally {
+            leaveGroup(group);
+        }
+    }
+
+    private synchronized boolean enterGroup(String group, ProgressMonitor<?> monitor) throws InterruptedException {
+        while (groupCounts.getOrDefault(group, 0) >= getConcurrencyLimit(group)) {
+            if ((monitor != null) && monitor.isCancelRequested()) {
+                return false;
+            }
+            wait(CANCEL_CHECK_INTERVAL_MILLIS);
+        }
+        groupCounts.merge(group, 1, Integer::sum);
+        return true;
+    }
+
+    private synchronized void leaveGroup(String group) {
+        groupCounts.merge(group, -1, Integer::sum);
+        notifyAll();
+    }
+
+}
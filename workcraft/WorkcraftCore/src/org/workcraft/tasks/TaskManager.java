@@ -1,5 +1,7 @@
 package org.workcraft.tasks;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface TaskManager {
     void addObserver(TaskMonitor observer);
     void removeObserver(TaskMonitor observer);
@@ -7,4 +9,6 @@ public interface TaskManager {
     <T> Result<? extends T> execute(Task<T> task, String description, ProgressMonitor<? super T> monitor);
     <T> void queue(Task<T> task, String description);
     <T> void queue(Task<T> task, String description, ProgressMonitor<? super T> monitor);
+    <T> CompletableFuture<Result<? extends T>> submit(Task<T> task, String description,
+            ProgressMonitor<? super T> monitor);
 }
@@ -0,0 +1,277 @@
+package org.workcraft.utils;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of XML documents produced by the model serialisers. Element names, attribute names
+ * and values, and text are written as varint indices into a string table that is built on the fly, so every
+ * class name, property name and reference is stored once. The document tree is written depth-first as
+ * element records (name, attribute count, attributes, children) terminated by an end record.
+ */
+public class BinaryXmlUtils {
+
+    private static final byte[] MAGIC = {'W', 'C', 'B', 'X'};
+    private static final int VERSION = 1;
+
+    private static final int END_RECORD = 0;
+    private static final int ELEMENT_RECORD = 1;
+    private static final int TEXT_RECORD = 2;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Checks the stream for the binary document header without consuming it.
+     */
+    public static boolean isBinaryDocument(PushbackInputStream is) throws IOException {
+        byte[] header = new byte[MAGIC.length];
+        int count = 0;
+        int n;
+        while ((count < header.length) && ((n = is.read(header, count, header.length - count)) >= 0)) {
+            count += n;
+        }
+        if (count > 0) {
+            is.unread(header, 0, count);
+        }
+        return Arrays.equals(header, MAGIC);
+    }
+
+    public static int getHeaderLength() {
+        return MAGIC.length;
+    }
+
+    /**
+     * Writes the document to the stream, which is flushed but left open.
+     */
+    public static void writeDocument(Document doc, OutputStream os) throws IOException {
+        Writer writer = new Writer(os);
+        writer.writeBytes(MAGIC);
+        writer.writeVarint(VERSION);
+        writer.writeElement(doc.getDocumentElement());
+        writer.flush();
+    }
+
+    /**
+     * Reads a single document from the stream, which is left open.
+     */
+    public static Document loadDocument(InputStream is) throws IOException {
+        Reader reader = new Reader(is);
+        for (byte b : MAGIC) {
+            if (reader.readByte() != b) {
+                throw new IOException("Not a binary document");
+            }
+        }
+        int version = reader.readVarint();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary document version " + version);
+        }
+        Document document = XmlUtils.createDocument();
+        if (reader.readVarint() != ELEMENT_RECORD) {
+            throw new IOException("Document element is missing");
+        }
+        document.appendChild(reader.readElement(document));
+        return document;
+    }
+
+    private static final class Writer {
+        private final OutputStream os;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final Map<String, Integer> strings = new HashMap<>();
+        private int position = 0;
+
+        Writer(OutputStream os) {
+            this.os = os;
+        }
+
+        void writeElement(Element element) throws IOException {
+            writeVarint(ELEMENT_RECORD);
+            writeString(element.getTagName());
+            NamedNodeMap attributes = element.getAttributes();
+            int attributeCount = attributes.getLength();
+            writeVarint(attributeCount);
+            for (int i = 0; i < attributeCount; i++) {
+                Attr attribute = (Attr) attributes.item(i);
+                writeString(attribute.getName());
+                writeString(attribute.getValue());
+            }
+            NodeList children = element.getChildNodes();
+            for (int i = 0; i < children.getLength(); i++) {
+                Node child = children.item(i);
+                if (child instanceof Element) {
+                    writeElement((Element) child);
+                } else if ((child.getNodeType() == Node.TEXT_NODE) || (child.getNodeType() == Node.CDATA_SECTION_NODE)) {
+                    writeVarint(TEXT_RECORD);
+                    writeString(child.getNodeValue());
+                }
+            }
+            writeVarint(END_RECORD);
+        }
+
+        void writeString(String value) throws IOException {
+            Integer index = strings.get(value);
+            if (index != null) {
+                writeVarint(index + 1);
+            } else {
+                strings.put(value, strings.size());
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                writeVarint(0);
+                writeVarint(bytes.length);
+                writeBytes(bytes);
+            }
+        }
+
+        void writeVarint(int value) throws IOException {
+            if (position + 5 > buffer.length) {
+                flushBuffer();
+            }
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeBytes(byte[] bytes) throws IOException {
+            if (position + bytes.length > buffer.length) {
+                flushBuffer();
+            }
+            if (bytes.length > buffer.length) {
+                os.write(bytes);
+            } else {
+                System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                position += bytes.length;
+            }
+        }
+
+        void flush() throws IOException {
+            flushBuffer();
+            os.flush();
+        }
+
+        private void flushBuffer() throws IOException {
+            os.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+
+    private static final class Reader {
+        private final InputStream is;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private final List<String> strings = new ArrayList<>();
+        private int position = 0;
+        private int limit = 0;
+
+        Reader(InputStream is) {
+            this.is = is;
+        }
+
+        Element readElement(Document document) throws IOException {
+            Element element = document.createElement(readString());
+            int attributeCount = readVarint();
+            for (int i = 0; i < attributeCount; i++) {
+                String name = readString();
+                element.setAttribute(name, readString());
+            }
+            int record;
+            while ((record = readVarint()) != END_RECORD) {
+                if (record == ELEMENT_RECORD) {
+                    element.appendChild(readElement(document));
+                } else if (record == TEXT_RECORD) {
+                    element.appendChild(document.createTextNode(readString()));
+                } else {
+                    throw new IOException("Unknown record type " + record);
+                }
+            }
+            return element;
+        }
+
+        String readString() throws IOException {
+            int index = readVarint();
+            if (index > 0) {
+                if (index > strings.size()) {
+                    throw new IOException("String index " + index + " is out of range");
+                }
+                return strings.get(index - 1);
+            }
+            int length = readVarint();
+            String result;
+            if (length <= buffer.length) {
+                if (limit - position < length) {
+                    compact();
+                    while (limit < length) {
+                        fill();
+                    }
+                }
+                result = new String(buffer, position, length, StandardCharsets.UTF_8);
+                position += length;
+            } else {
+                byte[] bytes = new byte[length];
+                int count = Math.min(length, limit - position);
+                System.arraycopy(buffer, position, bytes, 0, count);
+                position += count;
+                while (count < length) {
+                    int n = is.read(bytes, count, length - count);
+                    if (n < 0) {
+                        throw new EOFException();
+                    }
+                    count += n;
+                }
+                result = new String(bytes, StandardCharsets.UTF_8);
+            }
+            strings.add(result);
+            return result;
+        }
+
+        int readVarint() throws IOException {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = readByte();
+                result |= (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return result;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        byte readByte() throws IOException {
+            if (position == limit) {
+                position = 0;
+                limit = 0;
+                fill();
+            }
+            return buffer[position++];
+        }
+
+        private void compact() {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+        }
+
+        private void fill() throws IOException {
+            int n = is.read(buffer, limit, buffer.length - limit);
+            if (n < 0) {
+                throw new EOFException();
+            }
+            limit += n;
+        }
+    }
+
+}
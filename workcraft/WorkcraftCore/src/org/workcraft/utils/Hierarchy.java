@@ -133,23 +133,33 @@ public class Hierarchy {
     }
 
     public static <T> Collection<T> getDescendantsOfType(Node node, Class<T> type) {
-        ArrayList<T> result = new ArrayList<>();
-        for (Node n : node.getChildren()) {
-            result.addAll(getDescendantsOfType(n, type));
-        }
-        result.addAll(getChildrenOfType(node, type));
-        return result;
+        return getDescendantsOfType(node, type, null);
     }
 
     public static <T> Collection<T> getDescendantsOfType(Node node, Class<T> type, Func<T, Boolean> filter) {
         ArrayList<T> result = new ArrayList<>();
-        for (Node n : node.getChildren()) {
-            result.addAll(getDescendantsOfType(n, type, filter));
-        }
-        result.addAll(getChildrenOfType(node, type, filter));
+        collectDescendantsOfType(node, type, filter, result);
         return result;
     }
 
+    // Descendants of each child go before the matching children, and all levels share a single result list
+    private static <T> void collectDescendantsOfType(Node node, Class<T> type, Func<T, Boolean> filter,
+            Collection<T> result) {
+
+        Collection<Node> children = node.getChildren();
+        for (Node child : children) {
+            collectDescendantsOfType(child, type, filter, result);
+        }
+        for (Node child : children) {
+            if (type.isInstance(child)) {
+                T typedChild = type.cast(child);
+                if ((filter == null) || filter.eval(typedChild)) {
+                    result.add(typedChild);
+                }
+            }
+        }
+    }
+
     public static boolean isHierarchical(ModelEntry me) {
         MathModel mm = me.getMathModel();
         Collection<PageNode> pageNodes = Hierarchy.getChildrenOfType(mm.getRoot(), PageNode.class);
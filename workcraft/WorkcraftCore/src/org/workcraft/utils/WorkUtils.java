@@ -19,9 +19,12 @@ import org.workcraft.exceptions.SerialisationException;
 import org.workcraft.gui.properties.PropertyDescriptor;
 import org.workcraft.plugins.CompatibilityManager;
 import org.workcraft.plugins.PluginManager;
+import org.workcraft.plugins.builtin.serialisation.BinaryModelSerialiser;
 import org.workcraft.plugins.builtin.serialisation.XMLModelDeserialiser;
 import org.workcraft.plugins.builtin.serialisation.XMLModelSerialiser;
+import org.workcraft.plugins.builtin.settings.EditorCommonSettings;
 import org.workcraft.serialisation.DeserialisationResult;
+import org.workcraft.serialisation.ModelSerialiser;
 import org.workcraft.serialisation.ReferenceProducer;
 import org.workcraft.serialisation.References;
 import org.workcraft.serialisation.XMLCommonAttributes;
@@ -34,7 +37,10 @@ import java.lang.reflect.InvocationTargetException;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -49,6 +55,9 @@ public final class WorkUtils {
     private static final String STATE_WORK_ENTRY = "state.xml";
     private static final String MATH_MODEL_WORK_ENTRY = "model.xml";
     private static final String VISUAL_MODEL_WORK_ENTRY = "visualModel.xml";
+    private static final String MATH_MODEL_BINARY_WORK_ENTRY = "model.bin";
+    private static final String VISUAL_MODEL_BINARY_WORK_ENTRY = "visualModel.bin";
+    private static final String BINARY_WORK_ENTRY_SUFFIX = ".bin";
     private static final String RESOURCES_WORK_ENTRY = "resources/";
 
     private static final String META_WORK_ELEMENT = "workcraft-meta";
@@ -86,7 +95,67 @@ public final class WorkUtils {
 
 
     public static ModelEntry cloneModel(ModelEntry me) {
-        return loadModel(mementoModel(me));
+        try {
+            return cloneModelInMemory(me);
+        } catch (SerialisationException | DeserialisationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Clones the model by passing its serialised XML documents directly to the deserialiser, which
+     * preserves all the semantics of the serialisers and deserialisers registered by the plugins,
+     * but skips writing and parsing XML text and compressing it into a zip archive.
+     */
+    private static ModelEntry cloneModelInMemory(ModelEntry me) throws SerialisationException, DeserialisationException {
+        final PluginManager pm = Framework.getInstance().getPluginManager();
+        Model mathModel = me.getMathModel();
+        mathModel.beforeSerialisation();
+        Document mathDocument = XmlUtils.createDocument();
+        ReferenceProducer mathRefs = new XMLModelSerialiser(pm).serialise(mathModel, mathDocument, null);
+
+        VisualModel visualModel = me.getVisualModel();
+        Document visualDocument = null;
+        String levelRef = null;
+        List<String> selectionRefs = new ArrayList<>();
+        if (visualModel != null) {
+            visualModel.beforeSerialisation();
+            visualDocument = XmlUtils.createDocument();
+            ReferenceProducer visualRefs = new XMLModelSerialiser(pm).serialise(visualModel, visualDocument, mathRefs);
+            levelRef = visualRefs.getReference(visualModel.getCurrentLevel());
+            for (Node node : visualModel.getSelection()) {
+                selectionRefs.add(visualRefs.getReference(node));
+            }
+        }
+
+        DeserialisationResult mathResult = new XMLModelDeserialiser(pm).deserialise(mathDocument, null, null);
+        Model model = mathResult.model;
+        model.afterDeserialisation();
+        if (visualDocument != null) {
+            DeserialisationResult visualResult = new XMLModelDeserialiser(pm)
+                    .deserialise(visualDocument, mathResult.references, mathResult.model);
+
+            model = visualResult.model;
+            model.afterDeserialisation();
+            if (model instanceof VisualModel) {
+                VisualModel visualModelCopy = (VisualModel) model;
+                Object currentLevel = visualResult.references.getObject(levelRef);
+                if (currentLevel instanceof Container) {
+                    visualModelCopy.setCurrentLevel((Container) currentLevel);
+                }
+                Set<VisualNode> nodes = new HashSet<>();
+                for (String ref : selectionRefs) {
+                    Object node = visualResult.references.getObject(ref);
+                    if (node instanceof VisualNode) {
+                        nodes.add((VisualNode) node);
+                    }
+                }
+                visualModelCopy.addToSelection(nodes);
+            }
+        }
+        ModelEntry result = new ModelEntry(me.getDescriptor(), model);
+        result.setStamp(me.getStamp());
+        return result;
     }
 
     public static Resource mementoModel(ModelEntry me) {
@@ -114,57 +183,133 @@ public final class WorkUtils {
             return cloneModel(we.getModelEntry());
         }
         if (FileUtils.checkFileReadability(file, false) && FileFilters.isWorkFile(file)) {
-            try {
-                CompatibilityManager cm = framework.getCompatibilityManager();
-                InputStream is = cm.process(file);
-                ModelEntry me = loadModel(is);
+            CompatibilityManager cm = framework.getCompatibilityManager();
+            try (ZipFile zipFile = new ZipFile(file, StandardCharsets.UTF_8)) {
+                Version compatibilityVersion = cm.checkCompatibilityVersion(zipFile);
+                ModelEntry me;
+                if (cm.isProcessingRequired(compatibilityVersion)) {
+                    try (InputStream is = new FileInputStream(file)) {
+                        me = loadModel(cm.process(is, compatibilityVersion));
+                    }
+                } else {
+                    me = loadModel(zipFile);
+                }
                 String base = FileUtils.getBasePath(file);
                 adjustPropertyFilePaths(me.getVisualModel(), base, true);
                 return me;
             } catch (OperationCancelledException e) {
                 // Operation cancelled by the user
+            } catch (IOException e) {
+                throw new DeserialisationException(e);
             }
         }
         return null;
     }
 
+    /**
+     * Reads the meta entry first and then parses and deserialises one model entry at a time using random access
+     * to the zip file, so that at most one model document is held in memory.
+     */
+    private static ModelEntry loadModel(ZipFile zipFile) throws DeserialisationException {
+        Document metaDocument = loadDocument(zipFile, META_WORK_ENTRY);
+        if (metaDocument == null) {
+            throw new DeserialisationException("Meta entry is missing");
+        }
+        String mathEntryName = getMetaEntryName(metaDocument, META_MATH_MODEL_WORK_ELEMENT);
+        DeserialisationResult mathResult = deserialiseModel(loadDocument(zipFile, mathEntryName), null);
+        if (mathResult == null) {
+            throw new DeserialisationException("Math model is missing");
+        }
+        String visualEntryName = getMetaEntryName(metaDocument, META_VISUAL_MODEL_WORK_ELEMENT);
+        DeserialisationResult visualResult = deserialiseModel(loadDocument(zipFile, visualEntryName), mathResult);
+        Document stateDocument = (visualResult == null) ? null : loadDocument(zipFile, STATE_WORK_ENTRY);
+        return createModelEntry(metaDocument, mathResult, visualResult, stateDocument);
+    }
+
+    /**
+     * Reads the zip stream once. The meta data naming the model entries is stored after them, so the model entries
+     * with the default names are deserialised as soon as they are read, and their documents are released before
+     * the next entry is parsed. Other entries are kept as documents until the meta data is known.
+     * Resource entries are skipped.
+     */
     public static ModelEntry loadModel(InputStream is) throws DeserialisationException {
+        Map<String, Document> documents = new HashMap<>();
+        String mathEntryName = null;
+        DeserialisationResult mathResult = null;
+        String visualEntryName = null;
+        DeserialisationResult visualResult = null;
+        ZipInputStream zis = new ZipInputStream(is, StandardCharsets.UTF_8);
+        String name = null;
         try {
-            // Buffer the whole stream in a byte array
-            byte[] bytes = DataAccumulator.loadStream(is);
-
-            // Load meta data
-            Document metaDocument = loadMetaDoc(bytes);
+            ZipEntry ze;
+            while ((ze = zis.getNextEntry()) != null) {
+                name = ze.getName();
+                if (!ze.isDirectory() && !name.startsWith(RESOURCES_WORK_ENTRY)) {
+                    Document document = loadDocument(zis);
+                    if ((mathResult == null) && isDefaultMathEntryName(name)) {
+                        mathResult = deserialiseModel(document, null);
+                        mathEntryName = name;
+                    } else if ((mathResult != null) && (visualResult == null) && isDefaultVisualEntryName(name)) {
+                        visualResult = deserialiseModel(document, mathResult);
+                        visualEntryName = name;
+                    } else {
+                        documents.put(name, document);
+                    }
+                }
+                zis.closeEntry();
+            }
+        } catch (SAXException | IOException e) {
+            throw new DeserialisationException(name == null ? "Cannot read work file" : "Cannot load entry " + name, e);
+        }
 
-            // Load math model
-            DeserialisationResult mathResult = deserialiseMathModel(bytes, metaDocument);
+        Document metaDocument = documents.get(META_WORK_ENTRY);
+        if (metaDocument == null) {
+            throw new DeserialisationException("Meta entry is missing");
+        }
+        String metaMathEntryName = getMetaEntryName(metaDocument, META_MATH_MODEL_WORK_ELEMENT);
+        if ((mathResult == null) || !mathEntryName.equals(metaMathEntryName)) {
+            if (visualResult != null) {
+                throw new DeserialisationException("Model entries do not match meta data");
+            }
+            mathResult = deserialiseModel(documents.remove(metaMathEntryName), null);
             if (mathResult == null) {
                 throw new DeserialisationException("Math model is missing");
             }
-            Model model = mathResult.model;
-            model.afterDeserialisation();
+        }
+        String metaVisualEntryName = getMetaEntryName(metaDocument, META_VISUAL_MODEL_WORK_ELEMENT);
+        if ((visualResult == null) || !visualEntryName.equals(metaVisualEntryName)) {
+            visualResult = deserialiseModel(documents.remove(metaVisualEntryName), mathResult);
+        }
+        Document stateDocument = (visualResult == null) ? null : documents.get(STATE_WORK_ENTRY);
+        return createModelEntry(metaDocument, mathResult, visualResult, stateDocument);
+    }
 
-            // Load visual model (if present)
-            DeserialisationResult visualResult = deserialiseVisualModel(bytes, metaDocument, mathResult);
-            if (visualResult != null) {
-                model = visualResult.model;
-                model.afterDeserialisation();
-                // Load current level and selection
-                if (model instanceof VisualModel) {
-                    References visualRefs = visualResult.references;
-                    loadSelectionState(bytes, (VisualModel) model, visualRefs);
-                }
-            }
-            // Create model entry
-            ModelDescriptor descriptor = loadMetaDescriptor(metaDocument);
-            ModelEntry me = new ModelEntry(descriptor, model);
+    private static boolean isDefaultMathEntryName(String name) {
+        return MATH_MODEL_WORK_ENTRY.equals(name) || MATH_MODEL_BINARY_WORK_ENTRY.equals(name);
+    }
 
-            // Load time stamp
-            me.setStamp(loadMetaStamp(metaDocument));
-            return me;
-        } catch (IOException e) {
-            throw new DeserialisationException(e);
+    private static boolean isDefaultVisualEntryName(String name) {
+        return VISUAL_MODEL_WORK_ENTRY.equals(name) || VISUAL_MODEL_BINARY_WORK_ENTRY.equals(name);
+    }
+
+    private static ModelEntry createModelEntry(Document metaDocument, DeserialisationResult mathResult,
+            DeserialisationResult visualResult, Document stateDocument) throws DeserialisationException {
+
+        Model model = mathResult.model;
+        if (visualResult != null) {
+            model = visualResult.model;
+            // Load current level and selection
+            if ((model instanceof VisualModel) && (stateDocument != null)) {
+                loadSelectionState(stateDocument, (VisualModel) model, visualResult.references);
+            }
         }
+        // Create model entry
+        ModelDescriptor descriptor = loadMetaDescriptor(metaDocument);
+        ModelEntry me = new ModelEntry(descriptor, model);
+
+        // Load time stamp
+        me.setStamp(loadMetaStamp(metaDocument));
+        return me;
     }
 
     public static ModelEntry loadModel(InputStream is1, InputStream is2) throws DeserialisationException {
@@ -190,34 +335,28 @@ public final class WorkUtils {
         return cloneModel(me1);
     }
 
-    private static DeserialisationResult deserialiseMathModel(byte[] bytes, Document document)
-            throws IOException, DeserialisationException {
-
-        Element element = XmlUtils.getChildElement(META_MATH_MODEL_WORK_ELEMENT, document.getDocumentElement());
-        if (element != null) {
-            try (InputStream mathData = getZipEntry(element.getAttribute(META_MODEL_ENTRY_NAME_WORK_ATTRIBUTE), bytes)) {
-                PluginManager pm = Framework.getInstance().getPluginManager();
-                XMLModelDeserialiser mathDeserialiser = new XMLModelDeserialiser(pm);
-                return mathDeserialiser.deserialise(mathData, null, null);
-            }
-        }
-        return null;
+    private static String getMetaEntryName(Document metaDocument, String elementName) {
+        Element element = XmlUtils.getChildElement(elementName, metaDocument.getDocumentElement());
+        return (element == null) ? null : element.getAttribute(META_MODEL_ENTRY_NAME_WORK_ATTRIBUTE);
     }
 
-    private static DeserialisationResult deserialiseVisualModel(byte[] bytes, Document document, DeserialisationResult mathResult)
-            throws IOException, DeserialisationException {
+    /**
+     * Deserialises the math model if mathResult is null, and the visual model of the math model otherwise.
+     * Returns null if there is no document.
+     */
+    private static DeserialisationResult deserialiseModel(Document document, DeserialisationResult mathResult)
+            throws DeserialisationException {
 
-        Element element = XmlUtils.getChildElement(META_VISUAL_MODEL_WORK_ELEMENT, document.getDocumentElement());
-        if (element  != null) {
-            try (InputStream visualData = getZipEntry(element.getAttribute(META_MODEL_ENTRY_NAME_WORK_ATTRIBUTE), bytes)) {
-                if (visualData != null) {
-                    PluginManager pm = Framework.getInstance().getPluginManager();
-                    XMLModelDeserialiser visualDeserialiser = new XMLModelDeserialiser(pm);
-                    return visualDeserialiser.deserialise(visualData, mathResult.references, mathResult.model);
-                }
-            }
+        if (document == null) {
+            return null;
         }
-        return null;
+        PluginManager pm = Framework.getInstance().getPluginManager();
+        XMLModelDeserialiser deserialiser = new XMLModelDeserialiser(pm);
+        DeserialisationResult result = (mathResult == null) ? deserialiser.deserialise(document, null, null)
+                : deserialiser.deserialise(document, mathResult.references, mathResult.model);
+
+        result.model.afterDeserialisation();
+        return result;
     }
 
     private static ModelDescriptor loadMetaDescriptor(Document document) throws DeserialisationException {
@@ -240,57 +379,48 @@ public final class WorkUtils {
         return null;
     }
 
-    private static Document loadMetaDoc(byte[] bytes) throws DeserialisationException {
-        try (InputStream metaData = getZipEntry(META_WORK_ENTRY, bytes)) {
-            if (metaData == null) {
-                throw new DeserialisationException("Meta entry is missing");
-            }
-            return XmlUtils.loadDocument(metaData);
+    private static Document loadDocument(ZipFile zipFile, String name) throws DeserialisationException {
+        ZipEntry ze = (name == null) ? null : zipFile.getEntry(name);
+        if (ze == null) {
+            return null;
+        }
+        try (InputStream is = zipFile.getInputStream(ze)) {
+            return loadDocument(is);
         } catch (SAXException | IOException e) {
-            throw new DeserialisationException("Cannot load meta entry", e);
+            throw new DeserialisationException("Cannot load entry " + name, e);
         }
     }
 
-    private static void loadSelectionState(byte[] bytes, VisualModel model, References references)
-            throws DeserialisationException {
-
-        try (InputStream stateData = getZipEntry(STATE_WORK_ENTRY, bytes)) {
-            if (stateData != null) {
-                Document stateDoc = XmlUtils.loadDocument(stateData);
-                Element stateElement = stateDoc.getDocumentElement();
-                // Load current level
-                Element levelElement = XmlUtils.getChildElement(STATE_LEVEL_WORK_ELEMENT, stateElement);
-                Object currentLevel = references.getObject(levelElement.getAttribute(XMLCommonAttributes.REF_ATTRIBUTE));
-                if (currentLevel instanceof Container) {
-                    model.setCurrentLevel((Container) currentLevel);
-                }
-                // Load selection
-                Element selectionElement = XmlUtils.getChildElement(STATE_SELECTION_WORK_ELEMENT, stateElement);
-                Set<VisualNode> nodes = new HashSet<>();
-                for (Element nodeElement : XmlUtils.getChildElements(XMLCommonAttributes.NODE_ATTRIBUTE, selectionElement)) {
-                    Object node = references.getObject(nodeElement.getAttribute(XMLCommonAttributes.REF_ATTRIBUTE));
-                    if (node instanceof VisualNode) {
-                        nodes.add((VisualNode) node);
-                    }
-                }
-                model.addToSelection(nodes);
-            }
-        } catch (IOException | SAXException e) {
-            throw new DeserialisationException("Cannot load selection state", e);
+    /**
+     * Parses an entry into a compact DOM document. Entries in the binary format are detected by their header
+     * and decoded directly.
+     */
+    private static Document loadDocument(InputStream is) throws IOException, SAXException {
+        PushbackInputStream pis = new PushbackInputStream(is, BinaryXmlUtils.getHeaderLength());
+        if (BinaryXmlUtils.isBinaryDocument(pis)) {
+            return BinaryXmlUtils.loadDocument(pis);
         }
+        return XmlUtils.loadCompactDocument(pis);
     }
 
-    private static InputStream getZipEntry(String name, byte[] bytes) throws IOException {
-        ZipInputStream zis = new ZipInputStream(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8);
-        ZipEntry ze;
-        while ((ze = zis.getNextEntry()) != null) {
-            if (ze.getName().equals(name)) {
-                return zis;
+    private static void loadSelectionState(Document stateDoc, VisualModel model, References references) {
+        Element stateElement = stateDoc.getDocumentElement();
+        // Load current level
+        Element levelElement = XmlUtils.getChildElement(STATE_LEVEL_WORK_ELEMENT, stateElement);
+        Object currentLevel = references.getObject(levelElement.getAttribute(XMLCommonAttributes.REF_ATTRIBUTE));
+        if (currentLevel instanceof Container) {
+            model.setCurrentLevel((Container) currentLevel);
+        }
+        // Load selection
+        Element selectionElement = XmlUtils.getChildElement(STATE_SELECTION_WORK_ELEMENT, stateElement);
+        Set<VisualNode> nodes = new HashSet<>();
+        for (Element nodeElement : XmlUtils.getChildElements(XMLCommonAttributes.NODE_ATTRIBUTE, selectionElement)) {
+            Object node = references.getObject(nodeElement.getAttribute(XMLCommonAttributes.REF_ATTRIBUTE));
+            if (node instanceof VisualNode) {
+                nodes.add((VisualNode) node);
             }
-            zis.closeEntry();
         }
-        zis.close();
-        return null;
+        model.addToSelection(nodes);
     }
 
     public static Collection<Resource> loadResources(File file) throws DeserialisationException {
@@ -339,13 +469,23 @@ public final class WorkUtils {
     public static void saveModel(ModelEntry me, Collection<Resource> resources, OutputStream os)
             throws SerialisationException {
 
+        saveModel(me, resources, os, EditorCommonSettings.getBinaryWorkFormat());
+    }
+
+    public static void saveModel(ModelEntry me, Collection<Resource> resources, OutputStream os, boolean binary)
+            throws SerialisationException {
+
         try (ZipOutputStream zos = new ZipOutputStream(os)) {
             final PluginManager pm = Framework.getInstance().getPluginManager();
-            XMLModelSerialiser serialiser = new XMLModelSerialiser(pm);
+            ModelSerialiser<ReferenceProducer, ReferenceProducer> serialiser = binary
+                    ? new BinaryModelSerialiser(pm) : new XMLModelSerialiser(pm);
+
+            String mathEntryName = binary ? MATH_MODEL_BINARY_WORK_ENTRY : MATH_MODEL_WORK_ENTRY;
+            String visualEntryName = binary ? VISUAL_MODEL_BINARY_WORK_ENTRY : VISUAL_MODEL_WORK_ENTRY;
             // Save math model
             Model mathModel = me.getMathModel();
             if (mathModel != null) {
-                zos.putNextEntry(new ZipEntry(MATH_MODEL_WORK_ENTRY));
+                zos.putNextEntry(new ZipEntry(mathEntryName));
                 mathModel.beforeSerialisation();
                 ReferenceProducer refResolver = serialiser.serialise(mathModel, zos, null);
                 zos.closeEntry();
@@ -353,7 +493,7 @@ public final class WorkUtils {
                 // Save visual model
                 VisualModel visualModel = me.getVisualModel();
                 if (visualModel != null) {
-                    zos.putNextEntry(new ZipEntry(VISUAL_MODEL_WORK_ENTRY));
+                    zos.putNextEntry(new ZipEntry(visualEntryName));
                     visualModel.beforeSerialisation();
                     ReferenceProducer visualRefs = serialiser.serialise(visualModel, zos, refResolver);
                     zos.closeEntry();
@@ -367,7 +507,7 @@ public final class WorkUtils {
             // Save meta data
             zos.putNextEntry(new ZipEntry(META_WORK_ENTRY));
             String uuid = serialiser.getFormatUUID().toString();
-            saveMeta(me, zos, uuid);
+            saveMeta(me, zos, uuid, mathEntryName, visualEntryName);
             zos.closeEntry();
 
             // Save resources
@@ -405,7 +545,9 @@ public final class WorkUtils {
         XmlUtils.writeDocument(stateDocument, os);
     }
 
-    private static void saveMeta(ModelEntry modelEntry, OutputStream os, String uuid) {
+    private static void saveMeta(ModelEntry modelEntry, OutputStream os, String uuid,
+            String mathEntryName, String visualEntryName) {
+
         Document metaDocument = XmlUtils.createDocument();
         Element metaRoot = metaDocument.createElement(META_WORK_ELEMENT);
         metaDocument.appendChild(metaRoot);
@@ -419,10 +561,10 @@ public final class WorkUtils {
 
         metaRoot.appendChild(getDescriptorElement(metaDocument, modelEntry.getDescriptor()));
 
-        metaRoot.appendChild(getMathElement(metaDocument, uuid));
+        metaRoot.appendChild(getMathElement(metaDocument, mathEntryName, uuid));
 
         if (modelEntry.getVisualModel() != null) {
-            metaRoot.appendChild(getVisualElement(metaDocument, uuid));
+            metaRoot.appendChild(getVisualElement(metaDocument, visualEntryName, uuid));
         }
         XmlUtils.writeDocument(metaDocument, os);
     }
@@ -450,16 +592,16 @@ public final class WorkUtils {
         return metaDescriptor;
     }
 
-    private static Element getMathElement(Document metaDocument, String uuid) {
+    private static Element getMathElement(Document metaDocument, String entryName, String uuid) {
         Element mathElement = metaDocument.createElement(META_MATH_MODEL_WORK_ELEMENT);
-        mathElement.setAttribute(META_MODEL_ENTRY_NAME_WORK_ATTRIBUTE, MATH_MODEL_WORK_ENTRY);
+        mathElement.setAttribute(META_MODEL_ENTRY_NAME_WORK_ATTRIBUTE, entryName);
         mathElement.setAttribute(META_MODEL_FORMAT_UUID_WORK_ATTRIBUTE, uuid);
         return mathElement;
     }
 
-    private static Element getVisualElement(Document metaDocument, String uuid) {
+    private static Element getVisualElement(Document metaDocument, String entryName, String uuid) {
         Element visualElement = metaDocument.createElement(META_VISUAL_MODEL_WORK_ELEMENT);
-        visualElement.setAttribute(META_MODEL_ENTRY_NAME_WORK_ATTRIBUTE, VISUAL_MODEL_WORK_ENTRY);
+        visualElement.setAttribute(META_MODEL_ENTRY_NAME_WORK_ATTRIBUTE, entryName);
         visualElement.setAttribute(META_MODEL_FORMAT_UUID_WORK_ATTRIBUTE, uuid);
         return visualElement;
     }
@@ -580,18 +722,26 @@ public final class WorkUtils {
         return (ze != null) && META_WORK_ENTRY.equals(ze.getName());
     }
 
+    public static boolean isBinaryEntry(ZipEntry ze) {
+        return (ze != null) && ze.getName().endsWith(BINARY_WORK_ENTRY_SUFFIX);
+    }
+
     public static ModelDescriptor extractModelDescriptor(File file) throws DeserialisationException {
         Framework framework = Framework.getInstance();
         WorkspaceEntry we = framework.getWorkspace().getWork(file);
         if (we != null) {
             return we.getModelEntry().getDescriptor();
         }
-        try {
-            FileInputStream fis = new FileInputStream(file);
-            byte[] bytes = DataAccumulator.loadStream(fis);
-            Document metaDocument = loadMetaDoc(bytes);
-            return loadMetaDescriptor(metaDocument);
-        } catch (IOException e) {
+        // Only the meta entry is read, using random access to the zip file
+        try (ZipFile zipFile = new ZipFile(file, StandardCharsets.UTF_8)) {
+            ZipEntry metaZipEntry = zipFile.getEntry(META_WORK_ENTRY);
+            if (metaZipEntry == null) {
+                throw new DeserialisationException("Meta entry is missing");
+            }
+            try (InputStream metaData = zipFile.getInputStream(metaZipEntry)) {
+                return loadMetaDescriptor(XmlUtils.loadCompactDocument(metaData));
+            }
+        } catch (SAXException | IOException e) {
             throw new DeserialisationException(e);
         }
     }
@@ -4,12 +4,15 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
+import org.xml.sax.helpers.DefaultHandler;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
@@ -18,7 +21,9 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -113,6 +118,74 @@ public class XmlUtils {
         return createDocumentBuilder().parse(is);
     }
 
+    /**
+     * Streams the document through a SAX parser and builds its DOM tree without whitespace between elements
+     * (i.e. indentation), which otherwise takes most of the text nodes. The input stream is left open, so that
+     * the documents can be read from consecutive entries of a zip stream.
+     */
+    public static Document loadCompactDocument(InputStream is) throws IOException, SAXException {
+        Document document = createDocument();
+        InputStream nonClosingStream = new FilterInputStream(is) {
+            @Override
+            public void close() {
+            }
+        };
+        try {
+            SAXParserFactory.newInstance().newSAXParser().parse(nonClosingStream, new CompactDocumentHandler(document));
+        } catch (ParserConfigurationException e) {
+            throw new RuntimeException(e);
+        }
+        return document;
+    }
+
+    private static class CompactDocumentHandler extends DefaultHandler {
+        private final Document document;
+        private final Deque<Element> elements = new ArrayDeque<>();
+        private final StringBuilder text = new StringBuilder();
+        private boolean hasChildElements = false;
+
+        CompactDocumentHandler(Document document) {
+            this.document = document;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            appendText(false);
+            Element element = document.createElement(qName);
+            for (int i = 0; i < attributes.getLength(); i++) {
+                element.setAttribute(attributes.getQName(i), attributes.getValue(i));
+            }
+            Element parent = elements.peek();
+            if (parent == null) {
+                document.appendChild(element);
+            } else {
+                parent.appendChild(element);
+            }
+            elements.push(element);
+            hasChildElements = false;
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            // Whitespace is only preserved as the content of a leaf element
+            appendText(!hasChildElements);
+            elements.pop();
+            hasChildElements = true;
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            text.append(ch, start, length);
+        }
+
+        private void appendText(boolean keepWhitespace) {
+            if ((text.length() > 0) && (keepWhitespace || !text.toString().isBlank())) {
+                elements.peek().appendChild(document.createTextNode(text.toString()));
+            }
+            text.setLength(0);
+        }
+    }
+
     public static void writeDocument(Document doc, OutputStream os) {
         try {
             TransformerFactory tFactory = TransformerFactory.newInstance();
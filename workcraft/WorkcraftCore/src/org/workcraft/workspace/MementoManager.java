@@ -1,55 +1,181 @@
 package org.workcraft.workspace;
 
-import java.util.Stack;
+import org.workcraft.plugins.builtin.settings.EditorCommonSettings;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Undo and redo history as a log of changes between model states. A change that only moves nodes is kept
+ * as a transform delta and is undone or redone in place. A state is saved as a compressed memento only
+ * if it follows another kind of change, or if too many deltas have passed since the last memento. Any other
+ * state that is needed in full is derived from the last memento before it by applying the deltas in between.
+ * The oldest states are dropped when the history exceeds the memory limit set in the editor settings.
+ */
 public class MementoManager {
-    private final Stack<Resource> undoStack = new Stack<>();
-    private final Stack<Resource> redoStack = new Stack<>();
 
-    public void pushUndo(Resource memento) {
-        this.undoStack.push(memento);
-    }
+    private static final long BYTES_PER_MEGABYTE = 1024 * 1024;
+    static final int MEMENTO_INTERVAL = 50;
+
+    /**
+     * Model state in the history. The delta is the change between this state and the next state towards
+     * the current one, in the order they were made; it is null if the change is not a transform delta.
+     */
+    static final class Entry {
+        private final Resource memento;
+        private TransformDelta delta;
+
+        Entry(Resource memento, TransformDelta delta) {
+            this.memento = memento;
+            this.delta = delta;
+        }
 
-    public Resource pullUndo() {
-        return undoStack.pop();
+        Resource getMemento() {
+            return memento;
+        }
+
+        TransformDelta getDelta() {
+            return delta;
+        }
+
+        void setDelta(TransformDelta delta) {
+            this.delta = delta;
+        }
+
+        long getSize() {
+            long result = 0;
+            if (memento != null) {
+                result += memento.getData().length;
+            }
+            if (delta != null) {
+                result += delta.getSize();
+            }
+            return result;
+        }
     }
 
+    private final Deque<Entry> undoStack = new ArrayDeque<>();
+    private final Deque<Entry> redoStack = new ArrayDeque<>();
+    private long size = 0;
+
     public boolean canUndo() {
-        return !undoStack.empty();
+        return !undoStack.isEmpty();
     }
 
-    public void pushRedo(Resource memento) {
-        this.redoStack.push(memento);
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
     }
 
-    public Resource pullRedo() {
-        return redoStack.pop();
+    public long getSize() {
+        return size;
     }
 
-    public boolean canRedo() {
-        return !redoStack.empty();
+    public void clearRedo() {
+        for (Entry entry : redoStack) {
+            size -= entry.getSize();
+        }
+        redoStack.clear();
     }
 
-    public Resource undo(Resource memento) {
-        Resource result = null;
-        if (canUndo()) {
-            result = pullUndo();
-            pushRedo(memento);
+    void pushUndo(Entry entry) {
+        undoStack.addLast(entry);
+        size += entry.getSize();
+        trim();
+    }
+
+    Entry pullUndo() {
+        Entry entry = undoStack.pollLast();
+        if (entry != null) {
+            size -= entry.getSize();
         }
-        return result;
+        return entry;
+    }
+
+    void pushRedo(Entry entry) {
+        redoStack.addLast(entry);
+        size += entry.getSize();
+        trim();
     }
 
-    public Resource redo(Resource memento) {
-        Resource result = null;
-        if (canRedo()) {
-            result = pullRedo();
-            pushUndo(memento);
+    Entry pullRedo() {
+        Entry entry = redoStack.pollLast();
+        if (entry != null) {
+            size -= entry.getSize();
         }
-        return result;
+        return entry;
     }
 
-    public void clearRedo() {
-        redoStack.clear();
+    /**
+     * Appends the given change to the one from the top undo state to the current state.
+     */
+    void appendUndoDelta(TransformDelta delta) {
+        Entry top = undoStack.peekLast();
+        if (top != null) {
+            size -= top.getSize();
+            top.delta = TransformDelta.compose(top.delta, delta);
+            size += top.getSize();
+            if (top.delta == null) {
+                trim();
+            }
+        }
+    }
+
+    /**
+     * Returns the states from the last memento up to the top undo state, or an empty list if there is no memento.
+     */
+    List<Entry> getUndoChain() {
+        List<Entry> result = new ArrayList<>();
+        Iterator<Entry> iterator = undoStack.descendingIterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            result.add(entry);
+            if (entry.memento != null) {
+                Collections.reverse(result);
+                return result;
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * Checks if the state following the top undo state has to be saved as a memento.
+     */
+    boolean needsMemento() {
+        Entry top = undoStack.peekLast();
+        if ((top == null) || (top.delta == null)) {
+            return true;
+        }
+        List<Entry> chain = getUndoChain();
+        return chain.isEmpty() || (chain.size() >= MEMENTO_INTERVAL);
+    }
+
+    private void trim() {
+        long limit = EditorCommonSettings.getHistoryMemoryLimit() * BYTES_PER_MEGABYTE;
+        while ((size > limit) && (undoStack.size() > 1)) {
+            size -= undoStack.pollFirst().getSize();
+        }
+        // An undo state that is left by an opaque change can only be restored from a memento before it
+        int unreachableCount = 0;
+        int index = 0;
+        for (Entry entry : undoStack) {
+            if (entry.memento != null) {
+                break;
+            }
+            index++;
+            if (entry.delta == null) {
+                unreachableCount = index;
+            }
+        }
+        for (int i = 0; i < unreachableCount; i++) {
+            size -= undoStack.pollFirst().getSize();
+        }
+        while ((size > limit) && (redoStack.size() > 1)) {
+            size -= redoStack.pollFirst().getSize();
+        }
     }
 
 }
@@ -0,0 +1,145 @@
+package org.workcraft.workspace;
+
+import org.workcraft.dom.math.MathModel;
+import org.workcraft.dom.visual.VisualModel;
+import org.workcraft.dom.visual.VisualTransformableNode;
+import org.workcraft.observation.HierarchyEvent;
+import org.workcraft.observation.StateEvent;
+import org.workcraft.observation.StateSupervisor;
+import org.workcraft.observation.TransformChangedEvent;
+import org.workcraft.observation.TransformChangingEvent;
+
+import java.awt.geom.AffineTransform;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Records the changes of a model from its hierarchy and state events. Changes that only move, rotate
+ * or flip visual nodes are turned into a transform delta. Any other change (e.g. adding nodes or setting
+ * a property) is opaque, as the events do not carry enough information to revert it.
+ */
+final class ModelChangeRecorder {
+
+    private final class Supervisor extends StateSupervisor {
+        private final boolean visual;
+        private boolean attached = true;
+
+        Supervisor(boolean visual) {
+            this.visual = visual;
+        }
+
+        @Override
+        public void handleEvent(StateEvent e) {
+            if (attached) {
+                if (visual) {
+                    handleVisualEvent(e);
+                } else {
+                    opaque = true;
+                }
+            }
+        }
+
+        @Override
+        public void handleHierarchyEvent(HierarchyEvent e) {
+            if (attached) {
+                opaque = true;
+            }
+        }
+    }
+
+    private VisualModel model = null;
+    private Supervisor visualSupervisor = null;
+    private Supervisor mathSupervisor = null;
+    private final Map<VisualTransformableNode, AffineTransform> oldTransforms = new IdentityHashMap<>();
+    private boolean opaque = true;
+    private boolean strict = false;
+    private int nodeEventCount = 0;
+    private int modelEventCount = 0;
+
+    /**
+     * Starts recording the model of the given entry. The replacement of a model is an opaque change.
+     */
+    void attach(ModelEntry me) {
+        detach();
+        if (me.isVisual()) {
+            model = me.getVisualModel();
+            visualSupervisor = new Supervisor(true);
+            visualSupervisor.attach(model.getRoot());
+            MathModel mathModel = model.getMathModel();
+            if (mathModel != null) {
+                mathSupervisor = new Supervisor(false);
+                mathSupervisor.attach(mathModel.getRoot());
+            }
+        }
+        opaque = true;
+    }
+
+    private void detach() {
+        // Nodes keep their state observers after a supervisor is detached, hence the extra flag
+        if (visualSupervisor != null) {
+            visualSupervisor.attached = false;
+            visualSupervisor.detach();
+            visualSupervisor = null;
+        }
+        if (mathSupervisor != null) {
+            mathSupervisor.attached = false;
+            mathSupervisor.detach();
+            mathSupervisor = null;
+        }
+        model = null;
+    }
+
+    /**
+     * Starts a new change. If strict, the change is opaque unless some node events are recorded, which guards
+     * against modifications that send no events at all.
+     */
+    void start(boolean strict) {
+        oldTransforms.clear();
+        opaque = false;
+        this.strict = strict;
+        nodeEventCount = 0;
+        modelEventCount = 0;
+    }
+
+    /**
+     * Counts a model modification notification. Every node state event yields one, so any extra
+     * notification comes from a change outside the nodes (e.g. of the model title).
+     */
+    void modelModified() {
+        modelEventCount++;
+    }
+
+    /**
+     * Returns the change recorded since the last start or take, or null if it is opaque, and starts a new one.
+     */
+    TransformDelta take() {
+        TransformDelta result = null;
+        if ((model != null) && !opaque && (modelEventCount <= nodeEventCount)) {
+            if (!oldTransforms.isEmpty()) {
+                result = TransformDelta.create(model.getRoot(), oldTransforms);
+            } else if (!strict) {
+                result = TransformDelta.empty();
+            }
+        }
+        start(false);
+        return result;
+    }
+
+    private void handleVisualEvent(StateEvent e) {
+        nodeEventCount++;
+        Object sender = e.getSender();
+        if (e instanceof TransformChangingEvent) {
+            if (sender instanceof VisualTransformableNode) {
+                VisualTransformableNode node = (VisualTransformableNode) sender;
+                if (!oldTransforms.containsKey(node)) {
+                    oldTransforms.put(node, new AffineTransform(node.getTransform()));
+                }
+            } else {
+                opaque = true;
+            }
+        } else if (!(e instanceof TransformChangedEvent) || !oldTransforms.containsKey(sender)) {
+            opaque = true;
+        }
+    }
+
+}
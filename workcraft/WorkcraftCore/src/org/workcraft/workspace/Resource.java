@@ -25,6 +25,11 @@ public class Resource {
         this.data = os.toByteArray();
     }
 
+    Resource(String name, byte[] data) {
+        this.name = name;
+        this.data = data;
+    }
+
     public String getName() {
         return name;
     }
@@ -36,4 +41,8 @@ public class Resource {
     public byte[] toByteArray() {
         return Arrays.copyOf(data, data.length);
     }
+
+    byte[] getData() {
+        return data;
+    }
 }
@@ -0,0 +1,181 @@
+package org.workcraft.workspace;
+
+import org.workcraft.dom.Node;
+import org.workcraft.dom.visual.VisualModel;
+import org.workcraft.dom.visual.VisualTransformableNode;
+
+import java.awt.geom.AffineTransform;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Change of node transforms between two model states. Nodes are addressed by their child index path
+ * from the model root, as visual references are not preserved when a model is reloaded from a memento.
+ * The paths stay valid because a delta never spans a change of the model hierarchy.
+ */
+final class TransformDelta {
+
+    // Rough footprint of a node record: two transforms, the path and the object headers
+    private static final int RECORD_SIZE = 160;
+
+    private static final class Record {
+        private final int[] path;
+        private final Class<?> type;
+        private final AffineTransform oldTransform;
+        private final AffineTransform newTransform;
+
+        Record(int[] path, Class<?> type, AffineTransform oldTransform, AffineTransform newTransform) {
+            this.path = path;
+            this.type = type;
+            this.oldTransform = oldTransform;
+            this.newTransform = newTransform;
+        }
+    }
+
+    private final List<Record> records;
+
+    private TransformDelta(List<Record> records) {
+        this.records = records;
+    }
+
+    static TransformDelta empty() {
+        return new TransformDelta(new ArrayList<>());
+    }
+
+    /**
+     * Builds a delta from the transforms that the nodes had before the change; the new transforms are
+     * the current ones. Returns null if a node transform did not change, as its events were then
+     * caused by some other state change (e.g. collapsing a group) that a transform delta cannot undo.
+     */
+    static TransformDelta create(Node root, Map<VisualTransformableNode, AffineTransform> oldTransforms) {
+        Map<Node, Map<Node, Integer>> indexCache = new HashMap<>();
+        List<Record> records = new ArrayList<>();
+        for (Map.Entry<VisualTransformableNode, AffineTransform> entry : oldTransforms.entrySet()) {
+            VisualTransformableNode node = entry.getKey();
+            AffineTransform oldTransform = entry.getValue();
+            AffineTransform newTransform = new AffineTransform(node.getTransform());
+            if (newTransform.equals(oldTransform)) {
+                return null;
+            }
+            int[] path = getPath(root, node, indexCache);
+            if (path == null) {
+                return null;
+            }
+            records.add(new Record(path, node.getClass(), oldTransform, newTransform));
+        }
+        return new TransformDelta(records);
+    }
+
+    boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    long getSize() {
+        long result = RECORD_SIZE;
+        for (Record record : records) {
+            result += RECORD_SIZE + 4L * record.path.length;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the delta of the first change followed by the second one, or null if either is not a delta.
+     */
+    static TransformDelta compose(TransformDelta first, TransformDelta second) {
+        if ((first == null) || (second == null)) {
+            return null;
+        }
+        if (second.isEmpty()) {
+            return first;
+        }
+        if (first.isEmpty()) {
+            return second;
+        }
+        Map<String, Record> result = new LinkedHashMap<>();
+        for (Record record : first.records) {
+            result.put(Arrays.toString(record.path), record);
+        }
+        for (Record record : second.records) {
+            String key = Arrays.toString(record.path);
+            Record prev = result.get(key);
+            if (prev == null) {
+                result.put(key, record);
+            } else {
+                result.put(key, new Record(record.path, record.type, prev.oldTransform, record.newTransform));
+            }
+        }
+        return new TransformDelta(new ArrayList<>(result.values()));
+    }
+
+    TransformDelta inverse() {
+        List<Record> result = new ArrayList<>(records.size());
+        for (Record record : records) {
+            result.add(new Record(record.path, record.type, record.newTransform, record.oldTransform));
+        }
+        return new TransformDelta(result);
+    }
+
+    /**
+     * Sets the nodes of the model to their transforms after the change.
+     */
+    void apply(VisualModel model) {
+        Map<Node, List<Node>> childrenCache = new HashMap<>();
+        for (Record record : records) {
+            getNode(model.getRoot(), record, childrenCache).setTransform(record.newTransform);
+        }
+    }
+
+    /**
+     * Sets the nodes of the model back to their transforms before the change.
+     */
+    void revert(VisualModel model) {
+        inverse().apply(model);
+    }
+
+    private static int[] getPath(Node root, Node node, Map<Node, Map<Node, Integer>> indexCache) {
+        List<Integer> indices = new ArrayList<>();
+        while (node != root) {
+            Node parent = node.getParent();
+            if (parent == null) {
+                return null;
+            }
+            Map<Node, Integer> parentIndex = indexCache.computeIfAbsent(parent, TransformDelta::indexChildren);
+            indices.add(parentIndex.get(node));
+            node = parent;
+        }
+        int[] result = new int[indices.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = indices.get(result.length - 1 - i);
+        }
+        return result;
+    }
+
+    private static Map<Node, Integer> indexChildren(Node parent) {
+        Map<Node, Integer> result = new IdentityHashMap<>();
+        for (Node child : parent.getChildren()) {
+            result.put(child, result.size());
+        }
+        return result;
+    }
+
+    private static VisualTransformableNode getNode(Node root, Record record, Map<Node, List<Node>> childrenCache) {
+        Node node = root;
+        for (int index : record.path) {
+            List<Node> children = childrenCache.computeIfAbsent(node, n -> new ArrayList<>(n.getChildren()));
+            if (index >= children.size()) {
+                throw new IllegalStateException("Undo history does not match the model hierarchy");
+            }
+            node = children.get(index);
+        }
+        if ((node.getClass() != record.type) || !(node instanceof VisualTransformableNode)) {
+            throw new IllegalStateException("Undo history does not match the model hierarchy");
+        }
+        return (VisualTransformableNode) node;
+    }
+
+}
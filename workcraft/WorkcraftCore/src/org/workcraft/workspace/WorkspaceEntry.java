@@ -33,8 +33,9 @@ public class WorkspaceEntry implements ObservableState {
     private boolean canCopy = true;
 
     private final MementoManager history = new MementoManager();
-    private Resource capturedMemento = null;
-    private Resource savedMemento = null;
+    private final ModelChangeRecorder recorder = new ModelChangeRecorder();
+    private MementoManager.Entry capturedEntry = null;
+    private MementoManager.Entry savedEntry = null;
 
     private VisualNode templateNode = null;
     private VisualNode defaultNode = null;
@@ -47,7 +48,7 @@ public class WorkspaceEntry implements ObservableState {
         if (this.changed != changed) {
             this.changed = changed;
             if (!changed) {
-                savedMemento = null;
+                savedEntry = null;
             }
             Framework framework = Framework.getInstance();
             Workspace workspace = framework.getWorkspace();
@@ -91,6 +92,7 @@ public class WorkspaceEntry implements ObservableState {
         @Override
         public void notify(StateEvent e) {
             if (e instanceof ModelModifiedEvent) {
+                recorder.modelModified();
                 setChanged(true);
             }
             observableState.sendNotification(e);
@@ -115,6 +117,7 @@ public class WorkspaceEntry implements ObservableState {
         if (this.modelEntry.isVisual()) {
             this.modelEntry.getVisualModel().addObserver(modelObserver);
         }
+        recorder.attach(this.modelEntry);
     }
 
     public String getModelTitle() {
@@ -245,70 +248,142 @@ public class WorkspaceEntry implements ObservableState {
     }
 
     public void captureMemento() {
-        capturedMemento = WorkUtils.mementoModel(modelEntry);
+        uncaptureMemento();
+        syncHistory();
+        capturedEntry = createEntry();
         if (!changed) {
-            savedMemento = capturedMemento;
+            savedEntry = capturedEntry;
         }
+        recorder.start(true);
     }
 
     public void uncaptureMemento() {
-        capturedMemento = null;
+        if (capturedEntry != null) {
+            syncHistory();
+            TransformDelta delta = capturedEntry.getDelta();
+            capturedEntry = null;
+            history.appendUndoDelta(delta);
+        }
     }
 
     public void cancelMemento() {
-        if (capturedMemento != null) {
-            setModelEntry(WorkUtils.loadModel(capturedMemento));
-            setChanged(savedMemento != capturedMemento);
-            capturedMemento = null;
+        if (capturedEntry != null) {
+            syncHistory();
+            List<MementoManager.Entry> chain = new ArrayList<>();
+            if (capturedEntry.getMemento() == null) {
+                chain.addAll(history.getUndoChain());
+            }
+            chain.add(capturedEntry);
+            TransformDelta delta = capturedEntry.getDelta();
+            if (delta != null) {
+                delta.revert(modelEntry.getVisualModel());
+            } else {
+                setModelEntry(restoreModel(chain));
+            }
+            recorder.start(false);
+            setChanged(savedEntry != capturedEntry);
+            capturedEntry = null;
         }
     }
 
     public void saveMemento() {
-        Resource currentMemento = capturedMemento;
-        capturedMemento = null;
-        if (currentMemento == null) {
-            currentMemento = WorkUtils.mementoModel(modelEntry);
+        MementoManager.Entry currentEntry = capturedEntry;
+        capturedEntry = null;
+        if (currentEntry == null) {
+            syncHistory();
+            currentEntry = createEntry();
+            recorder.start(true);
         }
         if (!changed) {
-            savedMemento = currentMemento;
+            savedEntry = currentEntry;
         }
-        history.pushUndo(currentMemento);
+        // Changes made since the memento was captured are already recorded for its entry
+        history.pushUndo(currentEntry);
         history.clearRedo();
         updateActionState();
     }
 
     public void undo() {
+        uncaptureMemento();
+        syncHistory();
         if (history.canUndo()) {
-            Resource undoMemento = history.pullUndo();
-            if (undoMemento != null) {
-                Resource currentMemento = WorkUtils.mementoModel(modelEntry);
-                if (!changed) {
-                    savedMemento = currentMemento;
-                }
-                history.pushRedo(currentMemento);
-                setModelEntry(WorkUtils.loadModel(undoMemento));
-                setChanged(undoMemento != savedMemento);
+            List<MementoManager.Entry> chain = history.getUndoChain();
+            MementoManager.Entry undoEntry = history.pullUndo();
+            TransformDelta delta = undoEntry.getDelta();
+            // The current state is needed in full only if it cannot be restored by redoing the delta
+            Resource currentMemento = delta == null ? WorkUtils.mementoModel(modelEntry) : null;
+            MementoManager.Entry currentEntry = new MementoManager.Entry(currentMemento, delta);
+            if (!changed) {
+                savedEntry = currentEntry;
+            }
+            history.pushRedo(currentEntry);
+            if (delta != null) {
+                delta.revert(modelEntry.getVisualModel());
+            } else {
+                setModelEntry(restoreModel(chain));
             }
+            recorder.start(false);
+            setChanged(undoEntry != savedEntry);
         }
         updateActionState();
     }
 
     public void redo() {
+        uncaptureMemento();
         if (history.canRedo()) {
-            Resource redoMemento = history.pullRedo();
-            if (redoMemento != null) {
-                Resource currentMemento = WorkUtils.mementoModel(modelEntry);
+            TransformDelta change = recorder.take();
+            history.appendUndoDelta(change);
+            MementoManager.Entry redoEntry = history.pullRedo();
+            TransformDelta undoChange = change == null ? null : change.inverse();
+            TransformDelta delta = TransformDelta.compose(undoChange, redoEntry.getDelta());
+            if ((delta == null) && (redoEntry.getMemento() == null)) {
+                // The model was changed since undo in a way that cannot be reverted before redoing the delta
+                history.clearRedo();
+            } else {
+                MementoManager.Entry currentEntry = createEntry(delta);
                 if (!changed) {
-                    savedMemento = currentMemento;
+                    savedEntry = currentEntry;
+                }
+                history.pushUndo(currentEntry);
+                if (delta != null) {
+                    delta.apply(modelEntry.getVisualModel());
+                } else {
+                    setModelEntry(WorkUtils.loadModel(redoEntry.getMemento()));
                 }
-                history.pushUndo(currentMemento);
-                setModelEntry(WorkUtils.loadModel(redoMemento));
-                setChanged(redoMemento != savedMemento);
+                recorder.start(false);
+                setChanged(redoEntry != savedEntry);
             }
         }
         updateActionState();
     }
 
+    private void syncHistory() {
+        TransformDelta delta = recorder.take();
+        if (capturedEntry != null) {
+            capturedEntry.setDelta(TransformDelta.compose(capturedEntry.getDelta(), delta));
+        } else {
+            history.appendUndoDelta(delta);
+        }
+    }
+
+    private MementoManager.Entry createEntry() {
+        return createEntry(TransformDelta.empty());
+    }
+
+    private MementoManager.Entry createEntry(TransformDelta delta) {
+        Resource memento = history.needsMemento() ? WorkUtils.mementoModel(modelEntry) : null;
+        return new MementoManager.Entry(memento, delta);
+    }
+
+    private static ModelEntry restoreModel(List<MementoManager.Entry> chain) {
+        // The last state is derived from the memento of the first one by applying the deltas in between
+        ModelEntry result = WorkUtils.loadModel(chain.get(0).getMemento());
+        for (int i = 0; i < chain.size() - 1; i++) {
+            chain.get(i).getDelta().apply(result.getVisualModel());
+        }
+        return result;
+    }
+
     public void insert(ModelEntry me) {
         try {
             Resource currentMemento = WorkUtils.mementoModel(modelEntry);
@@ -0,0 +1,123 @@
+package org.workcraft.dom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.dom.math.MathConnection;
+import org.workcraft.dom.math.MathGroup;
+import org.workcraft.dom.math.MathNode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+class CompactNodeContextTrackerTests {
+
+    static class MockNode extends MathNode {
+    }
+
+    @Test
+    void testSameAsNodeContextTracker() {
+        Random random = new Random(1);
+        MathGroup root = new MathGroup();
+        NodeContextTracker<Node, Connection> expected = new NodeContextTracker<>();
+        CompactNodeContextTracker<Node, Connection> actual = new CompactNodeContextTracker<>();
+        expected.attach(root);
+        actual.attach(root);
+
+        List<MathGroup> groups = new ArrayList<>();
+        groups.add(root);
+        List<MathNode> nodes = new ArrayList<>();
+        List<MathConnection> connections = new ArrayList<>();
+        for (int step = 0; step < 3000; step++) {
+            int action = random.nextInt(10);
+            MathGroup group = groups.get(random.nextInt(groups.size()));
+            if ((action < 3) || (nodes.size() < 2)) {
+                MockNode node = new MockNode();
+                group.add(node);
+                nodes.add(node);
+            } else if (action < 7) {
+                // Hub nodes get enough arcs to be promoted from arrays to sets
+                MathNode first = nodes.get(random.nextInt(action == 6 ? 2 : nodes.size()));
+                MathNode second = nodes.get(random.nextInt(nodes.size()));
+                MathConnection connection = new MathConnection(first, second);
+                root.add(connection);
+                connections.add(connection);
+            } else if ((action == 7) && !connections.isEmpty()) {
+                MathConnection connection = connections.remove(random.nextInt(connections.size()));
+                root.remove(connection);
+            } else if ((action == 8) && (nodes.size() > 2)) {
+                MathNode node = nodes.remove(2 + random.nextInt(nodes.size() - 2));
+                connections.removeIf(c -> (c.getFirst() == node) || (c.getSecond() == node));
+                ((Container) node.getParent()).remove(node);
+            } else if (action == 9) {
+                MathGroup subgroup = new MathGroup();
+                group.add(subgroup);
+                groups.add(subgroup);
+            }
+            if (step % 100 == 0) {
+                assertSameContext(expected, actual, nodes);
+            }
+        }
+        assertSameContext(expected, actual, nodes);
+    }
+
+    @Test
+    void testFootprint() {
+        final int nodeCount = 1000;
+        MathGroup root = createNet(nodeCount);
+        CompactNodeContextTracker<Node, Connection> tracker = new CompactNodeContextTracker<>();
+        tracker.attach(root);
+        // Only connected nodes have records, and none of them has enough arcs for hash sets
+        Assertions.assertEquals(2 * nodeCount, tracker.getRecordCount());
+        Assertions.assertEquals(0, tracker.getSetCount());
+
+        final int hubArcCount = 20;
+        MockNode hub = new MockNode();
+        root.add(hub);
+        for (int i = 0; i < hubArcCount; i++) {
+            MockNode node = new MockNode();
+            root.add(node);
+            root.add(new MathConnection(hub, node));
+        }
+        // Hub postset and connections are promoted to hash sets, while the small presets stay arrays
+        Assertions.assertEquals(2 * nodeCount + 1 + hubArcCount, tracker.getRecordCount());
+        Assertions.assertEquals(2, tracker.getSetCount());
+        Assertions.assertEquals(hubArcCount, tracker.getPostset(hub).size());
+    }
+
+    private static MathGroup createNet(int nodeCount) {
+        MathGroup root = new MathGroup();
+        MockNode prev = null;
+        for (int i = 0; i < nodeCount; i++) {
+            MockNode place = new MockNode();
+            MockNode transition = new MockNode();
+            root.add(place);
+            root.add(transition);
+            root.add(new MathConnection(place, transition));
+            if (prev != null) {
+                root.add(new MathConnection(transition, prev));
+            }
+            prev = place;
+        }
+        return root;
+    }
+
+    private static void assertSameContext(NodeContext<Node, Connection> expected,
+            NodeContext<Node, Connection> actual, List<MathNode> nodes) {
+
+        for (MathNode node : nodes) {
+            Assertions.assertEquals(new ArrayList<>(expected.getPreset(node)),
+                    new ArrayList<>(actual.getPreset(node)));
+            Assertions.assertEquals(new ArrayList<>(expected.getPostset(node)),
+                    new ArrayList<>(actual.getPostset(node)));
+            Assertions.assertEquals(new ArrayList<>(expected.getConnections(node)),
+                    new ArrayList<>(actual.getConnections(node)));
+
+            for (Node other : expected.getPostset(node)) {
+                Assertions.assertTrue(actual.hasConnection(node, other));
+                Assertions.assertSame(expected.getConnection(node, other), actual.getConnection(node, other));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.workcraft.dom;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.dom.math.MathConnection;
+import org.workcraft.dom.math.MathGroup;
+import org.workcraft.dom.math.MathNode;
+import org.workcraft.utils.Hierarchy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+class NodeTypeTrackerTests {
+
+    static class MockNode extends MathNode {
+    }
+
+    static class SpecialMockNode extends MockNode {
+    }
+
+    @Test
+    void testOrder() {
+        MathGroup root = new MathGroup();
+        MathGroup group = new MathGroup();
+        MockNode n1 = new MockNode();
+        MockNode n2 = new SpecialMockNode();
+        MockNode n3 = new MockNode();
+        MockNode n4 = new SpecialMockNode();
+        root.add(n1);
+        root.add(group);
+        group.add(n2);
+        group.add(n3);
+        root.add(n4);
+
+        NodeTypeTracker ntt = new NodeTypeTracker();
+        ntt.attach(root);
+        assertSameOrder(Hierarchy.getDescendantsOfType(root, MockNode.class), ntt.getNodes(MockNode.class));
+        assertSameOrder(Arrays.asList(n2, n4), ntt.getNodes(SpecialMockNode.class));
+        assertSameOrder(Hierarchy.getDescendantsOfType(root, MathNode.class), ntt.getNodes(MathNode.class));
+        Assertions.assertFalse(ntt.getNodes(MathNode.class).contains(root));
+    }
+
+    @Test
+    void testAddRemove() {
+        MathGroup root = new MathGroup();
+        NodeTypeTracker ntt = new NodeTypeTracker();
+        ntt.attach(root);
+        Collection<MockNode> nodes = ntt.getNodes(MockNode.class);
+        Collection<MathConnection> connections = ntt.getNodes(MathConnection.class);
+        Assertions.assertTrue(nodes.isEmpty());
+
+        MockNode n1 = new MockNode();
+        MockNode n2 = new SpecialMockNode();
+        root.add(n1);
+        root.add(n2);
+        MathConnection connection = new MathConnection(n1, n2);
+        root.add(connection);
+        assertSameOrder(Arrays.asList(n1, n2), nodes);
+        assertSameOrder(Collections.singletonList(connection), connections);
+
+        // Nodes of a group added with its content
+        MathGroup group = new MathGroup();
+        MockNode n3 = new MockNode();
+        group.add(n3);
+        root.add(group);
+        assertSameOrder(Arrays.asList(n1, n2, n3), nodes);
+
+        // Nodes added to a group which is already in the model
+        MockNode n4 = new SpecialMockNode();
+        group.add(n4);
+        assertSameOrder(Arrays.asList(n1, n2, n3, n4), nodes);
+        // Nodes of a newly requested type are collected in the hierarchy order
+        assertSameOrder(Hierarchy.getDescendantsOfType(root, SpecialMockNode.class),
+                ntt.getNodes(SpecialMockNode.class));
+
+        root.remove(group);
+        root.remove(connection);
+        assertSameOrder(Arrays.asList(n1, n2), nodes);
+        Assertions.assertTrue(connections.isEmpty());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> nodes.remove(n1));
+    }
+
+    @Test
+    void testReparent() {
+        MathGroup root = new MathGroup();
+        MathGroup group = new MathGroup();
+        MockNode n1 = new MockNode();
+        MockNode n2 = new MockNode();
+        root.add(group);
+        root.add(n1);
+        root.add(n2);
+        NodeTypeTracker ntt = new NodeTypeTracker();
+        ntt.attach(root);
+        Collection<MockNode> nodes = ntt.getNodes(MockNode.class);
+
+        // Nodes moved within the model are kept, and re-inserted at the end
+        root.reparent(Collections.singletonList(n1), group);
+        assertSameOrder(Arrays.asList(n2, n1), nodes);
+
+        // Nodes moved to another model are removed
+        MathGroup otherRoot = new MathGroup();
+        root.reparent(Collections.singletonList(n2), otherRoot);
+        assertSameOrder(Collections.singletonList(n1), nodes);
+    }
+
+    private static void assertSameOrder(Collection<?> expected, Collection<?> actual) {
+        Assertions.assertEquals(new ArrayList<>(expected), new ArrayList<>(actual));
+    }
+
+}
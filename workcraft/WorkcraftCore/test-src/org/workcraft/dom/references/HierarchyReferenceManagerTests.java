@@ -0,0 +1,115 @@
+package org.workcraft.dom.references;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.dom.Node;
+import org.workcraft.dom.math.MathGroup;
+import org.workcraft.dom.math.MathNode;
+import org.workcraft.dom.math.PageNode;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+class HierarchyReferenceManagerTests {
+
+    static class MockNode extends MathNode {
+    }
+
+    @Test
+    void testDefaultNames() {
+        MathGroup root = new MathGroup();
+        HierarchyReferenceManager refManager = new HierarchyReferenceManager();
+        refManager.attach(root);
+
+        PageNode page = new PageNode();
+        PageNode subpage = new PageNode();
+        MockNode n1 = new MockNode();
+        MockNode n2 = new MockNode();
+        MockNode n3 = new MockNode();
+        page.add(n1);
+        page.add(subpage);
+        page.add(n2);
+        subpage.add(n3);
+        root.add(page);
+
+        assertReference(refManager, "pg0.", page);
+        assertReference(refManager, "pg0.node0", n1);
+        assertReference(refManager, "pg0.pg0.", subpage);
+        assertReference(refManager, "pg0.node1", n2);
+        assertReference(refManager, "pg0.pg0.node0", n3);
+        Assertions.assertEquals("node0", refManager.getNodeReference(subpage, n3));
+        Assertions.assertEquals(n3, refManager.getNodeByReference(subpage, "node0"));
+    }
+
+    @Test
+    void testRename() {
+        MathGroup root = new MathGroup();
+        HierarchyReferenceManager refManager = new HierarchyReferenceManager();
+        refManager.attach(root);
+
+        PageNode page = new PageNode();
+        MockNode node = new MockNode();
+        root.add(page);
+        page.add(node);
+        assertReference(refManager, "pg0.node0", node);
+
+        refManager.setName(page, "p");
+        Assertions.assertNull(refManager.getNodeByReference(null, "pg0.node0"));
+        assertReference(refManager, "p.node0", node);
+
+        refManager.setName(node, "n");
+        Assertions.assertNull(refManager.getNodeByReference(null, "p.node0"));
+        assertReference(refManager, "p.n", node);
+    }
+
+    @Test
+    void testReparent() {
+        MathGroup root = new MathGroup();
+        HierarchyReferenceManager refManager = new HierarchyReferenceManager();
+        refManager.attach(root);
+
+        PageNode page = new PageNode();
+        MockNode node = new MockNode();
+        root.add(page);
+        root.add(node);
+        assertReference(refManager, "node0", node);
+
+        Collection<Node> nodes = Collections.singleton(node);
+        refManager.setNamespaceProvider(nodes, page);
+        root.reparent(nodes, page);
+        Assertions.assertNull(refManager.getNodeByReference(null, "node0"));
+        assertReference(refManager, "pg0.node0", node);
+    }
+
+    @Test
+    void testDelete() {
+        MathGroup root = new MathGroup();
+        HierarchyReferenceManager refManager = new HierarchyReferenceManager();
+        refManager.attach(root);
+
+        PageNode page = new PageNode();
+        MockNode n1 = new MockNode();
+        MockNode n2 = new MockNode();
+        root.add(page);
+        page.add(Arrays.asList(n1, n2));
+        assertReference(refManager, "pg0.node0", n1);
+        assertReference(refManager, "pg0.node1", n2);
+
+        page.remove(n1);
+        Assertions.assertNull(refManager.getNodeByReference(null, "pg0.node0"));
+        assertReference(refManager, "pg0.node1", n2);
+
+        root.remove(page);
+        Assertions.assertNull(refManager.getNodeByReference(null, "pg0.node1"));
+    }
+
+    private void assertReference(HierarchyReferenceManager refManager, String reference, Node node) {
+        // Repeat queries to check both the computed and the cached results
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(reference, refManager.getNodeReference(null, node));
+            Assertions.assertEquals(node, refManager.getNodeByReference(null, reference));
+        }
+    }
+
+}
@@ -4,6 +4,10 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.workcraft.formula.bdd.BddManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 class BddTests {
 
     private static final BddManager BDD_MANAGER = new BddManager();
@@ -60,4 +64,55 @@ class BddTests {
                 new And(new Or(aVar, new Not(bVar)), new Or(new Not(aVar), bVar))));
     }
 
+    @Test
+    void testSensitivity() {
+        BooleanVariable aVar = new FreeVariable("a");
+        BooleanVariable bVar = new FreeVariable("b");
+        BooleanVariable cVar = new FreeVariable("c");
+
+        BooleanFormula formula = new Or(new And(aVar, bVar), new And(aVar, new Not(bVar)));
+        Assertions.assertTrue(BDD_MANAGER.isSensitive(formula, aVar));
+        Assertions.assertFalse(BDD_MANAGER.isSensitive(formula, bVar));
+        Assertions.assertFalse(BDD_MANAGER.isSensitive(formula, cVar));
+        checkUnateness(formula, bVar, true, true);
+    }
+
+    @Test
+    void testSharedManager() {
+        BddManager bddManager = BddManager.getInstance();
+        Assertions.assertSame(bddManager, BddManager.getInstance());
+
+        BooleanVariable aVar = new FreeVariable("a");
+        BooleanVariable bVar = new FreeVariable("b");
+        BooleanVariable cVar = new FreeVariable("c");
+        bddManager.addVariables(Arrays.asList(cVar, bVar, aVar));
+
+        BooleanFormula majFormula = FormulaUtils.createMaj(aVar, bVar, cVar);
+        BooleanFormula sameMajFormula = FormulaUtils.createMaj(aVar, bVar, cVar);
+        Assertions.assertTrue(bddManager.equal(majFormula, sameMajFormula));
+        Assertions.assertTrue(bddManager.implies(new And(aVar, bVar), majFormula));
+        Assertions.assertFalse(bddManager.implies(majFormula, new And(aVar, bVar)));
+        Assertions.assertTrue(bddManager.isPositiveUnate(majFormula, cVar));
+        Assertions.assertFalse(bddManager.isBinate(majFormula, aVar));
+    }
+
+    @Test
+    void testRebuild() {
+        BddManager bddManager = new BddManager();
+        List<BooleanVariable> vars = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            vars.add(new FreeVariable("v" + i));
+        }
+        bddManager.addVariables(vars);
+        BooleanVariable aVar = vars.get(0);
+        BooleanVariable bVar = vars.get(1);
+        Assertions.assertTrue(bddManager.implies(new And(aVar, bVar), new Or(aVar, bVar)));
+
+        // Declaring a new order is a safe point where the table of too many variables is rebuilt
+        bddManager.addVariables(Arrays.asList(bVar, aVar));
+        Assertions.assertTrue(bddManager.implies(new And(aVar, bVar), new Or(aVar, bVar)));
+        Assertions.assertFalse(bddManager.implies(new Or(aVar, bVar), new And(aVar, bVar)));
+        Assertions.assertTrue(bddManager.isPositiveUnate(new Or(aVar, bVar), aVar));
+    }
+
 }
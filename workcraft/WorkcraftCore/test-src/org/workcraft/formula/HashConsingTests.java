@@ -0,0 +1,146 @@
+package org.workcraft.formula;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.formula.visitors.StringGenerator;
+import org.workcraft.formula.workers.BooleanWorker;
+import org.workcraft.formula.workers.CleverBooleanWorker;
+import org.workcraft.formula.workers.DumbBooleanWorker;
+import org.workcraft.formula.workers.HashConsingBooleanWorker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+class HashConsingTests {
+
+    private static final HashConsingBooleanWorker WORKER = HashConsingBooleanWorker.getInstance();
+
+    @Test
+    void testSharing() {
+        BooleanVariable aVar = new FreeVariable("a");
+        BooleanVariable bVar = new FreeVariable("b");
+        BooleanVariable cVar = new FreeVariable("c");
+
+        BooleanFormula formula1 = WORKER.or(WORKER.and(aVar, bVar), WORKER.not(cVar));
+        BooleanFormula formula2 = WORKER.or(WORKER.and(aVar, bVar), WORKER.not(cVar));
+        Assertions.assertSame(formula1, formula2);
+        Assertions.assertNotSame(WORKER.and(aVar, bVar), WORKER.and(bVar, aVar));
+
+        BooleanFormula formula3 = WORKER.and(new FreeVariable("a"), bVar);
+        Assertions.assertNotSame(WORKER.and(aVar, bVar), formula3);
+    }
+
+    @Test
+    void testLongDisjunction() {
+        List<BooleanVariable> vars = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            vars.add(new FreeVariable("v" + i));
+        }
+        BooleanFormula formula = foldDisjunction(vars);
+        Assertions.assertSame(formula, foldDisjunction(vars));
+        Assertions.assertSame(vars.get(vars.size() - 1), ((Or) formula).getY());
+        // Absorption is still checked for short disjunctions
+        BooleanFormula shortFormula = foldDisjunction(vars.subList(0, 10));
+        Assertions.assertSame(shortFormula, WORKER.or(shortFormula, vars.get(5)));
+        Assertions.assertSame(One.getInstance(), WORKER.or(shortFormula, WORKER.not(vars.get(5))));
+    }
+
+    @Test
+    void testIntern() {
+        BooleanVariable aVar = new FreeVariable("a");
+        BooleanVariable bVar = new FreeVariable("b");
+        DumbBooleanWorker dumbWorker = DumbBooleanWorker.getInstance();
+
+        BooleanFormula dumbFormula = dumbWorker.or(dumbWorker.and(aVar, dumbWorker.not(bVar)), dumbWorker.not(bVar));
+        BooleanFormula formula = WORKER.intern(dumbFormula);
+        Assertions.assertEquals(StringGenerator.toString(dumbFormula), StringGenerator.toString(formula));
+        Assertions.assertSame(formula, WORKER.intern(dumbFormula));
+
+        Or or = (Or) formula;
+        Assertions.assertSame(((And) or.getX()).getY(), or.getY());
+        Assertions.assertSame(WORKER.not(bVar), or.getY());
+    }
+
+    @Test
+    void testSimplification() {
+        BooleanVariable aVar = new FreeVariable("a");
+        BooleanVariable bVar = new FreeVariable("b");
+        BooleanFormula zero = Zero.getInstance();
+        BooleanFormula one = One.getInstance();
+
+        Assertions.assertSame(aVar, WORKER.not(WORKER.not(aVar)));
+        Assertions.assertSame(aVar, WORKER.and(aVar, aVar));
+        Assertions.assertSame(aVar, WORKER.or(aVar, zero));
+        Assertions.assertSame(zero, WORKER.and(aVar, zero));
+        Assertions.assertSame(one, WORKER.or(aVar, one));
+        Assertions.assertSame(zero, WORKER.xor(aVar, aVar));
+        Assertions.assertSame(one, WORKER.iff(aVar, aVar));
+        Assertions.assertSame(one, WORKER.imply(aVar, aVar));
+
+        BooleanFormula aOrB = WORKER.or(aVar, bVar);
+        Assertions.assertSame(aOrB, WORKER.or(aOrB, bVar));
+        Assertions.assertSame(aOrB, WORKER.or(aVar, aOrB));
+        Assertions.assertSame(one, WORKER.or(aOrB, WORKER.not(bVar)));
+        Assertions.assertSame(one, WORKER.or(WORKER.not(aVar), aOrB));
+
+        BooleanFormula aAndB = WORKER.and(aVar, bVar);
+        BooleanFormula formula = WORKER.or(aAndB, WORKER.and(WORKER.not(aVar), bVar));
+        Assertions.assertTrue(formula instanceof Or);
+    }
+
+    @Test
+    void testSameAsCleverWorker() {
+        List<BooleanVariable> vars = Arrays.asList(new FreeVariable("a"), new FreeVariable("b"), new FreeVariable("c"));
+        CleverBooleanWorker cleverWorker = CleverBooleanWorker.getInstance();
+        for (int seed = 0; seed < 500; seed++) {
+            // Both workers build the same random formula, and the results must have the same truth table
+            BooleanFormula cleverFormula = createRandomFormula(cleverWorker, vars, new Random(seed), 4);
+            BooleanFormula formula = createRandomFormula(WORKER, vars, new Random(seed), 4);
+            for (int assignment = 0; assignment < (1 << vars.size()); assignment++) {
+                List<BooleanFormula> values = new ArrayList<>();
+                for (int i = 0; i < vars.size(); i++) {
+                    values.add(((assignment >> i) & 1) == 0 ? Zero.getInstance() : One.getInstance());
+                }
+                BooleanFormula expected = FormulaUtils.replace(cleverFormula, vars, values, cleverWorker);
+                BooleanFormula actual = FormulaUtils.replace(formula, vars, values, cleverWorker);
+                Assertions.assertSame(expected, actual, StringGenerator.toString(cleverFormula));
+            }
+        }
+    }
+
+    private static BooleanFormula createRandomFormula(BooleanWorker worker, List<BooleanVariable> vars,
+            Random random, int depth) {
+
+        if ((depth == 0) || (random.nextInt(4) == 0)) {
+            int index = random.nextInt(vars.size() + 2);
+            if (index < vars.size()) {
+                return vars.get(index);
+            }
+            return (index == vars.size()) ? worker.zero() : worker.one();
+        }
+        int operation = random.nextInt(6);
+        BooleanFormula x = createRandomFormula(worker, vars, random, depth - 1);
+        if (operation == 0) {
+            return worker.not(x);
+        }
+        BooleanFormula y = createRandomFormula(worker, vars, random, depth - 1);
+        switch (operation) {
+        case 1: return worker.and(x, y);
+        case 2: return worker.or(x, y);
+        case 3: return worker.xor(x, y);
+        case 4: return worker.imply(x, y);
+        default: return worker.iff(x, y);
+        }
+    }
+
+    private static BooleanFormula foldDisjunction(List<BooleanVariable> vars) {
+        BooleanFormula result = Zero.getInstance();
+        for (BooleanVariable var : vars) {
+            result = WORKER.or(result, var);
+        }
+        return result;
+    }
+
+}
@@ -98,6 +98,18 @@ class CommonSettingsTest {
         Assertions.assertEquals(Config.toString(EditorCommonSettings.getLargeModelSize()),
                 framework.getConfigVar(prefix + ".largeModelSize", false));
 
+        // History
+        Assertions.assertEquals(Config.toString(EditorCommonSettings.getHistoryMemoryLimit()),
+                framework.getConfigVar(prefix + ".historyMemoryLimit", false));
+
+        // Work files
+        Assertions.assertEquals(Config.toString(EditorCommonSettings.getBinaryWorkFormat()),
+                framework.getConfigVar(prefix + ".binaryWorkFormat", false));
+
+        // Backend tools
+        Assertions.assertEquals(Config.toString(EditorCommonSettings.getToolConcurrencyLimit()),
+                framework.getConfigVar(prefix + ".toolConcurrencyLimit", false));
+
         // Export
         Assertions.assertEquals(Config.toString(EditorCommonSettings.getFlatnameSeparator()),
                 framework.getConfigVar(prefix + ".flatnameSeparator", false));
@@ -0,0 +1,83 @@
+package org.workcraft.plugins;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.exceptions.PluginInstantiationException;
+import org.workcraft.plugins.builtin.BuiltinCommands;
+import org.workcraft.plugins.builtin.BuiltinSettings;
+import org.workcraft.utils.FileUtils;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+class PluginFinderTests {
+
+    private static final String INDEX_TEXT = "# Plugin index\n"
+            + BuiltinCommands.class.getName() + "\n"
+            + "  " + BuiltinSettings.class.getName() + "  # trailing comment\n"
+            + PluginManager.class.getName() + "\n"
+            + "org.workcraft.plugins.UnknownPlugin\n"
+            + "\n";
+
+    @Test
+    void testIndexedDirectory() throws PluginInstantiationException, IOException {
+        File directory = FileUtils.createTempDirectory();
+        FileUtils.deleteOnExitRecursively(directory);
+        File indexFile = new File(directory, PluginFinder.INDEX_ENTRY);
+        indexFile.getParentFile().mkdirs();
+        FileUtils.writeAllText(indexFile, INDEX_TEXT);
+
+        List<Class<?>> classes = PluginFinder.search(directory.getPath(), "org.workcraft.plugins");
+        Assertions.assertEquals(Arrays.asList(BuiltinCommands.class, BuiltinSettings.class), classes);
+    }
+
+    @Test
+    void testIndexedJar() throws PluginInstantiationException, IOException {
+        File jarFile = FileUtils.createTempFile("plugins", ".jar");
+        jarFile.deleteOnExit();
+        try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jarFile))) {
+            jos.putNextEntry(new ZipEntry(PluginFinder.INDEX_ENTRY));
+            jos.write(INDEX_TEXT.getBytes(StandardCharsets.UTF_8));
+            jos.closeEntry();
+        }
+
+        List<Class<?>> classes = PluginFinder.search(jarFile.getPath(), "org.workcraft.plugins");
+        Assertions.assertEquals(Arrays.asList(BuiltinCommands.class, BuiltinSettings.class), classes);
+    }
+
+    @Test
+    void testEmptyIndex() throws PluginInstantiationException, IOException {
+        File directory = FileUtils.createTempDirectory();
+        FileUtils.deleteOnExitRecursively(directory);
+        File indexFile = new File(directory, PluginFinder.INDEX_ENTRY);
+        indexFile.getParentFile().mkdirs();
+        FileUtils.writeAllText(indexFile, "");
+        // Class files are not scanned if the index exists
+        File classFile = new File(directory, BuiltinCommands.class.getName().replace('.', '/') + ".class");
+        classFile.getParentFile().mkdirs();
+        FileUtils.writeAllText(classFile, "");
+
+        List<Class<?>> classes = PluginFinder.search(directory.getPath(), "org.workcraft.plugins");
+        Assertions.assertEquals(Collections.emptyList(), classes);
+    }
+
+    @Test
+    void testUnindexedDirectory() throws PluginInstantiationException, IOException {
+        File directory = FileUtils.createTempDirectory();
+        FileUtils.deleteOnExitRecursively(directory);
+        File classFile = new File(directory, BuiltinCommands.class.getName().replace('.', '/') + ".class");
+        classFile.getParentFile().mkdirs();
+        FileUtils.writeAllText(classFile, "");
+        // Without the index, class files are scanned and the found classes are loaded by name
+        List<Class<?>> classes = PluginFinder.search(directory.getPath(), "org.workcraft.plugins");
+        Assertions.assertEquals(Collections.singletonList(BuiltinCommands.class), classes);
+    }
+
+}
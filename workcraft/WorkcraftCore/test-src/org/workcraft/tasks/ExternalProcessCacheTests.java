@@ -0,0 +1,129 @@
+package org.workcraft.tasks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.workcraft.utils.DesktopApi;
+import org.workcraft.utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+class ExternalProcessCacheTests {
+
+    // Stub of a verification tool: counts its runs, copies the input without comments to the output file,
+    // and reports a violation
+    private static final String STUB_TOOL_SCRIPT = "#!/bin/sh\n"
+            + "echo run >> \"$(dirname \"$0\")/counter\"\n"
+            + "grep -v '^#' \"$2\" > \"$3\"\n"
+            + "echo \"checked $2\"\n"
+            + "exit 1\n";
+
+    private File stubTool;
+    private File counterFile;
+
+    @BeforeEach
+    void init() throws IOException {
+        Assumptions.assumeFalse(DesktopApi.getOs().isWindows());
+        File directory = FileUtils.createTempDirectory();
+        FileUtils.deleteOnExitRecursively(directory);
+        stubTool = new File(directory, "mpsat");
+        FileUtils.writeAllText(stubTool, STUB_TOOL_SCRIPT);
+        Assumptions.assumeTrue(stubTool.setExecutable(true));
+        counterFile = new File(directory, "counter");
+    }
+
+    @Test
+    void testReuse() throws IOException {
+        ExternalProcessCache cache = createCache(1024 * 1024);
+        ExternalProcessOutput output1 = run(cache, "# Header 1\n.model a\n", "-v1");
+        ExternalProcessOutput output2 = run(cache, "# Header 2\n# Timestamp\n.model a\n", "-v1");
+        Assertions.assertEquals(1, getRunCount());
+        Assertions.assertEquals(1, output2.getReturnCode());
+        Assertions.assertEquals(output1.getStdoutString(), output2.getStdoutString());
+
+        run(cache, ".model b\n", "-v1");
+        Assertions.assertEquals(2, getRunCount());
+        run(cache, ".model a\n", "-v2");
+        Assertions.assertEquals(3, getRunCount());
+        run(cache, ".model a\n", "-v2");
+        Assertions.assertEquals(3, getRunCount());
+    }
+
+    @Test
+    void testOutputFileRestored() throws IOException {
+        ExternalProcessCache cache = createCache(1024 * 1024);
+        run(cache, ".model a\n", "-v1");
+        File directory = FileUtils.createTempDirectory();
+        FileUtils.deleteOnExitRecursively(directory);
+        File outputFile = new File(directory, "solutions.xml");
+        FileUtils.writeAllText(outputFile, "stale");
+        ExternalProcessOutput output = runInDirectory(cache, directory, ".model a\n", "-v1", code -> true);
+        Assertions.assertEquals(1, getRunCount());
+        Assertions.assertEquals(1, output.getReturnCode());
+        Assertions.assertEquals(".model a\n", FileUtils.readAllText(outputFile));
+    }
+
+    @Test
+    void testUncacheableReturnCode() throws IOException {
+        ExternalProcessCache cache = createCache(1024 * 1024);
+        File directory = FileUtils.createTempDirectory();
+        FileUtils.deleteOnExitRecursively(directory);
+        runInDirectory(cache, directory, ".model a\n", "-v1", code -> code == 0);
+        runInDirectory(cache, directory, ".model a\n", "-v1", code -> code == 0);
+        Assertions.assertEquals(2, getRunCount());
+    }
+
+    @Test
+    void testEviction() throws IOException {
+        // Size limit is exceeded by any two entries, so only the most recently used entry is kept
+        ExternalProcessCache cache = createCache(1);
+        run(cache, ".model a\n", "-v1");
+        run(cache, ".model b\n", "-v1");
+        run(cache, ".model b\n", "-v1");
+        Assertions.assertEquals(2, getRunCount());
+        run(cache, ".model a\n", "-v1");
+        Assertions.assertEquals(3, getRunCount());
+    }
+
+    private ExternalProcessCache createCache(long sizeLimit) {
+        File directory = FileUtils.createTempDirectory();
+        FileUtils.deleteOnExitRecursively(directory);
+        return new ExternalProcessCache(directory, sizeLimit);
+    }
+
+    private ExternalProcessOutput run(ExternalProcessCache cache, String input, String option) throws IOException {
+        File directory = FileUtils.createTempDirectory();
+        FileUtils.deleteOnExitRecursively(directory);
+        return runInDirectory(cache, directory, input, option, code -> true);
+    }
+
+    private ExternalProcessOutput runInDirectory(ExternalProcessCache cache, File directory, String input,
+            String option, IntPredicate cacheableReturnCode) throws IOException {
+
+        File inputFile = new File(directory, "net.g");
+        FileUtils.writeAllText(inputFile, input);
+        File outputFile = new File(directory, "solutions.xml");
+        List<String> args = Arrays.asList(stubTool.getAbsolutePath(), option,
+                inputFile.getAbsolutePath(), outputFile.getAbsolutePath());
+
+        ExternalProcessTask processTask = new ExternalProcessTask(args, directory);
+        Task<ExternalProcessOutput> task = new CachedExternalProcessTask(cache, processTask,
+                Collections.singletonList(outputFile), cacheableReturnCode);
+
+        Result<? extends ExternalProcessOutput> result = task.run(new BasicProgressMonitor<>());
+        Assertions.assertTrue(result.isSuccess());
+        Assertions.assertEquals(input.replaceAll("(?m)^#.*\n", ""), FileUtils.readAllText(outputFile));
+        return result.getPayload();
+    }
+
+    private int getRunCount() throws IOException {
+        return counterFile.exists() ? FileUtils.readAllText(counterFile).split("\n").length : 0;
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.workcraft.tasks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+class ExternalProcessTaskTests {
+
+    /**
+     * Stand-in for a backend tool: writes the given number of bytes to stdout and stderr,
+     * optionally sleeps, and exits with the given return code.
+     */
+    public static class StandInTool {
+        public static void main(String[] args) throws InterruptedException {
+            writeBytes(System.out, Integer.parseInt(args[0]), 'o');
+            writeBytes(System.err, Integer.parseInt(args[1]), 'e');
+            if (args.length > 3) {
+                Thread.sleep(Long.parseLong(args[3]));
+            }
+            System.exit(Integer.parseInt(args[2]));
+        }
+
+        private static void writeBytes(PrintStream stream, int count, char c) {
+            byte[] data = new byte[count];
+            Arrays.fill(data, (byte) c);
+            stream.write(data, 0, count);
+            stream.flush();
+        }
+    }
+
+    private static List<String> getStandInCommand(String... args) {
+        List<String> result = new ArrayList<>();
+        result.add(new File(System.getProperty("java.home"), "bin/java").getPath());
+        result.add("-cp");
+        result.add(System.getProperty("java.class.path"));
+        result.add(StandInTool.class.getName());
+        result.addAll(Arrays.asList(args));
+        return result;
+    }
+
+    @Test
+    void testOutput() {
+        ExternalProcessTask task = new ExternalProcessTask(getStandInCommand("300000", "1000", "3"), null);
+        Result<? extends ExternalProcessOutput> result = task.run(new BasicProgressMonitor<>());
+        Assertions.assertTrue(result.isSuccess());
+        ExternalProcessOutput output = result.getPayload();
+        Assertions.assertEquals(3, output.getReturnCode());
+        Assertions.assertEquals(300000, output.getStdout().length);
+        Assertions.assertEquals(1000, output.getStderr().length);
+        Assertions.assertEquals('o', output.getStdout()[299999]);
+        Assertions.assertEquals('e', output.getStderr()[999]);
+    }
+
+    @Test
+    void testStdoutFile() throws IOException {
+        File stdoutFile = FileUtils.createTempFile("stdout", ".txt");
+        stdoutFile.deleteOnExit();
+        ExternalProcessTask task = new ExternalProcessTask(getStandInCommand("200000", "10", "0"), null,
+                false, false, stdoutFile);
+
+        Result<? extends ExternalProcessOutput> result = task.run(new BasicProgressMonitor<>());
+        Assertions.assertTrue(result.isSuccess());
+        Assertions.assertEquals(0, result.getPayload().getStdout().length);
+        Assertions.assertEquals(10, result.getPayload().getStderr().length);
+        Assertions.assertEquals(200000, Files.size(stdoutFile.toPath()));
+    }
+
+    @Test
+    void testCancel() {
+        ExternalProcessTask task = new ExternalProcessTask(getStandInCommand("0", "0", "0", "60000"), null);
+        long startTime = System.currentTimeMillis();
+        Result<? extends ExternalProcessOutput> result = task.run(new BasicProgressMonitor<>() {
+            @Override
+            public boolean isCancelRequested() {
+                return System.currentTimeMillis() - startTime > 500;
+            }
+        });
+        Assertions.assertTrue(result.isCancel());
+        Assertions.assertTrue(System.currentTimeMillis() - startTime < 30000);
+    }
+
+    @Test
+    void testOutputHandlerFailure() {
+        // Output exceeds the pipe buffer, so the process only exits if its output is drained after the failure
+        ExternalProcessTask task = new ExternalProcessTask(getStandInCommand("300000", "0", "0"), null) {
+            @Override
+            public void outputData(byte[] data) {
+                throw new UncheckedIOException(new IOException("No space left on device"));
+            }
+        };
+        Result<? extends ExternalProcessOutput> result = task.run(new BasicProgressMonitor<>());
+        Assertions.assertTrue(result.isFailure());
+        Assertions.assertTrue(result.getCause() instanceof UncheckedIOException);
+    }
+
+}
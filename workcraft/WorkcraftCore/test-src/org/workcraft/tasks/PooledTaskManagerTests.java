@@ -0,0 +1,183 @@
+package org.workcraft.tasks;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PooledTaskManagerTests {
+
+    @Test
+    void testResult() throws ExecutionException, InterruptedException {
+        PooledTaskManager taskManager = new PooledTaskManager(2);
+        BasicProgressMonitor<Integer> monitor = new BasicProgressMonitor<>();
+        CompletableFuture<Result<? extends Integer>> future = taskManager.submit(
+                m -> Result.success(42), "Answer", monitor);
+
+        Assertions.assertEquals(Integer.valueOf(42), future.get().getPayload());
+        Assertions.assertEquals(Integer.valueOf(42), monitor.waitResult().getPayload());
+    }
+
+    @Test
+    void testConcurrencyLimit() {
+        PooledTaskManager taskManager = new PooledTaskManager(4);
+        taskManager.setConcurrencyLimit("tool", 2);
+        Assertions.assertEquals(2, taskManager.getConcurrencyLimit("tool"));
+
+        AtomicInteger runningCount = new AtomicInteger();
+        AtomicInteger maxRunningCount = new AtomicInteger();
+        // Each task waits for another one, so pairs of tasks are forced to run at the same time
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        Task<Object> task = monitor -> {
+            maxRunningCount.accumulateAndGet(runningCount.incrementAndGet(), Math::max);
+            try {
+                barrier.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+                return Result.exception(e);
+            } finally {
+                runningCount.decrementAndGet();
+            }
+            return Result.success();
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Result<?>>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> taskManager.runInGroup("tool", task, null), executor));
+        }
+        for (CompletableFuture<Result<?>> future : futures) {
+            Assertions.assertTrue(future.join().isSuccess());
+        }
+        executor.shutdown();
+        Assertions.assertTrue(maxRunningCount.get() <= 2);
+    }
+
+    @Test
+    void testCancelWaitingForGroup() {
+        PooledTaskManager taskManager = new PooledTaskManager(1);
+        taskManager.setConcurrencyLimit("tool", 1);
+        CountDownLatch startLatch = new CountDownLatch(1);
+        CountDownLatch finishLatch = new CountDownLatch(1);
+        CompletableFuture<?> blockingFuture = CompletableFuture.runAsync(() -> taskManager.runInGroup("tool", m -> {
+            startLatch.countDown();
+            await(finishLatch);
+            return Result.success();
+        }, null));
+
+        await(startLatch);
+        AtomicInteger runCount = new AtomicInteger();
+        BasicProgressMonitor<Object> monitor = new BasicProgressMonitor<>() {
+            @Override
+            public boolean isCancelRequested() {
+                return true;
+            }
+        };
+        Result<?> result = taskManager.runInGroup("tool", m -> {
+            runCount.incrementAndGet();
+            return Result.success();
+        }, monitor);
+
+        finishLatch.countDown();
+        blockingFuture.join();
+        Assertions.assertTrue(result.isCancel());
+        Assertions.assertEquals(0, runCount.get());
+    }
+
+    @Test
+    void testCancel() {
+        PooledTaskManager taskManager = new PooledTaskManager(1);
+        Map<String, Result<?>> observedResults = new ConcurrentHashMap<>();
+        taskManager.addObserver(new TaskMonitor() {
+            @Override
+            public <T> ProgressMonitor<T> taskStarting(String description) {
+                return new BasicProgressMonitor<>() {
+                    @Override
+                    public void isFinished(Result<? extends T> result) {
+                        super.isFinished(result);
+                        observedResults.put(description, result);
+                    }
+                };
+            }
+        });
+
+        CountDownLatch latch = new CountDownLatch(1);
+        // Occupy the only computing thread, so the following task is pending until the latch is released
+        CompletableFuture<?> blockingFuture = taskManager.submit((ComputingTask<Object>) monitor -> {
+            await(latch);
+            return monitor.isCancelRequested() ? Result.cancel() : Result.success();
+        }, "Blocking", null);
+
+        AtomicInteger runCount = new AtomicInteger();
+        BasicProgressMonitor<Object> monitor = new BasicProgressMonitor<>();
+        CompletableFuture<?> pendingFuture = taskManager.submit((ComputingTask<Object>) m -> {
+            runCount.incrementAndGet();
+            return Result.success();
+        }, "Pending", monitor);
+
+        blockingFuture.cancel(false);
+        pendingFuture.cancel(false);
+        latch.countDown();
+        Assertions.assertTrue(monitor.waitResult().isCancel());
+        Assertions.assertEquals(0, runCount.get());
+        // Task observers are notified about the skipped task too
+        Assertions.assertTrue(observedResults.get("Pending").isCancel());
+    }
+
+    @Test
+    void testPriority() {
+        PooledTaskManager taskManager = new PooledTaskManager(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        // Occupy the only computing thread, so the following tasks are pending until the latch is released
+        CompletableFuture<?> blockingFuture = taskManager.submit((ComputingTask<Object>) monitor -> {
+            await(latch);
+            return Result.success();
+        }, "Blocking", null);
+
+        List<String> startedTasks = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<?>> futures = new ArrayList<>();
+        futures.add(submitNamed(taskManager, "low1", PooledTaskManager.LOW_PRIORITY, startedTasks));
+        futures.add(submitNamed(taskManager, "normal1", PooledTaskManager.NORMAL_PRIORITY, startedTasks));
+        futures.add(submitNamed(taskManager, "high1", PooledTaskManager.HIGH_PRIORITY, startedTasks));
+        futures.add(submitNamed(taskManager, "normal2", PooledTaskManager.NORMAL_PRIORITY, startedTasks));
+        futures.add(submitNamed(taskManager, "high2", PooledTaskManager.HIGH_PRIORITY, startedTasks));
+
+        latch.countDown();
+        blockingFuture.join();
+        for (CompletableFuture<?> future : futures) {
+            future.join();
+        }
+        Assertions.assertEquals(Arrays.asList("high1", "high2", "normal1", "normal2", "low1"), startedTasks);
+    }
+
+    private static CompletableFuture<?> submitNamed(PooledTaskManager taskManager, String name, int priority,
+            List<String> startedTasks) {
+
+        return taskManager.submit((ComputingTask<Object>) monitor -> {
+            startedTasks.add(name);
+            return Result.success();
+        }, name, null, priority);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+package org.workcraft.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+
+class BinaryXmlUtilsTests {
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<model class=\"Test\">\n"
+            + "  <node class=\"Place\" ref=\"p0\">\n"
+            + "    <property name=\"tokens\" value=\"1\"/>\n"
+            + "  </node>\n"
+            + "  <node class=\"Place\" ref=\"p1\">\n"
+            + "    <property name=\"tokens\" value=\"0\"/>\n"
+            + "  </node>\n"
+            + "  <text> </text>\n"
+            + "  <label value=\"λ &amp; &lt;→&gt;\"/>\n"
+            + "</model>\n";
+
+    @Test
+    void testRoundTrip() throws IOException, SAXException {
+        Document document = XmlUtils.loadCompactDocument(new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)));
+        Document copy = roundTrip(document);
+        Assertions.assertTrue(document.getDocumentElement().isEqualNode(copy.getDocumentElement()));
+        Element labelElement = XmlUtils.getChildElement("label", copy.getDocumentElement());
+        Assertions.assertEquals("λ & <→>", labelElement.getAttribute("value"));
+    }
+
+    @Test
+    void testLongStrings() throws IOException {
+        Document document = XmlUtils.createDocument();
+        Element root = document.createElement("root");
+        document.appendChild(root);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            Element element = document.createElement("item");
+            element.setAttribute("value", sb.toString());
+            element.setAttribute("ref", "ref" + (i % 100));
+            root.appendChild(element);
+            sb.append((char) ('a' + i % 26));
+            if (i % 1000 == 0) {
+                sb.append('→');
+            }
+        }
+        root.appendChild(document.createTextNode(sb.toString()));
+        Document copy = roundTrip(document);
+        Assertions.assertTrue(document.getDocumentElement().isEqualNode(copy.getDocumentElement()));
+    }
+
+    @Test
+    void testDetection() throws IOException {
+        Document document = XmlUtils.createDocument();
+        document.appendChild(document.createElement("root"));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        BinaryXmlUtils.writeDocument(document, os);
+        PushbackInputStream binaryStream = createStream(os.toByteArray());
+        Assertions.assertTrue(BinaryXmlUtils.isBinaryDocument(binaryStream));
+        Assertions.assertEquals("root", BinaryXmlUtils.loadDocument(binaryStream).getDocumentElement().getTagName());
+
+        PushbackInputStream xmlStream = createStream(XML.getBytes(StandardCharsets.UTF_8));
+        Assertions.assertFalse(BinaryXmlUtils.isBinaryDocument(xmlStream));
+        Assertions.assertEquals('<', xmlStream.read());
+        Assertions.assertFalse(BinaryXmlUtils.isBinaryDocument(createStream(new byte[] {'W', 'C'})));
+        Assertions.assertThrows(IOException.class, () -> BinaryXmlUtils.loadDocument(createStream(new byte[0])));
+    }
+
+    private static Document roundTrip(Document document) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        BinaryXmlUtils.writeDocument(document, os);
+        InputStream is = new ByteArrayInputStream(os.toByteArray());
+        return BinaryXmlUtils.loadDocument(is);
+    }
+
+    private static PushbackInputStream createStream(byte[] data) {
+        return new PushbackInputStream(new ByteArrayInputStream(data), BinaryXmlUtils.getHeaderLength());
+    }
+
+}
@@ -0,0 +1,48 @@
+package org.workcraft.utils;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+class XmlUtilsTests {
+
+    private static final String XML = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<model class=\"Test\">\n"
+            + "  <node ref=\"a\">\n"
+            + "    <property name=\"x\" value=\"1\"/>\n"
+            + "  </node>\n"
+            + "  <text> </text>\n"
+            + "  <mixed>one<b/>two</mixed>\n"
+            + "</model>\n";
+
+    @Test
+    void testCompactDocument() throws IOException, SAXException {
+        InputStream is = new ByteArrayInputStream(XML.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public void close() {
+                Assertions.fail("Stream must not be closed");
+            }
+        };
+        Document document = XmlUtils.loadCompactDocument(is);
+        Element modelElement = document.getDocumentElement();
+        Assertions.assertEquals("Test", modelElement.getAttribute("class"));
+        Assertions.assertEquals(3, modelElement.getChildNodes().getLength());
+
+        Element nodeElement = XmlUtils.getChildElement("node", modelElement);
+        Assertions.assertEquals("a", nodeElement.getAttribute("ref"));
+        Assertions.assertEquals(1, nodeElement.getChildNodes().getLength());
+        Element propertyElement = XmlUtils.getChildElement("property", nodeElement);
+        Assertions.assertEquals("1", propertyElement.getAttribute("value"));
+
+        Assertions.assertEquals(" ", XmlUtils.getChildElement("text", modelElement).getTextContent());
+        Assertions.assertEquals("onetwo", XmlUtils.getChildElement("mixed", modelElement).getTextContent());
+    }
+
+}
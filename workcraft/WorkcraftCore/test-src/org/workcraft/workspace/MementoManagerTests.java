@@ -0,0 +1,154 @@
+package org.workcraft.workspace;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.workcraft.dom.visual.MockVisualModel;
+import org.workcraft.dom.visual.VisualGroup;
+import org.workcraft.dom.visual.VisualModel;
+import org.workcraft.plugins.builtin.settings.EditorCommonSettings;
+
+import java.awt.geom.Point2D;
+
+class MementoManagerTests {
+
+    private static final class Layout {
+        private final VisualModel model = new MockVisualModel();
+        private final VisualGroup outer = new VisualGroup();
+        private final VisualGroup inner = new VisualGroup();
+        private final VisualGroup other = new VisualGroup();
+
+        Layout() {
+            model.getRoot().add(outer);
+            outer.add(inner);
+            model.getRoot().add(other);
+        }
+    }
+
+    @Test
+    void testTransformDelta() {
+        Layout layout = new Layout();
+        ModelChangeRecorder recorder = new ModelChangeRecorder();
+        recorder.attach(new ModelEntry(null, layout.model));
+        recorder.start(true);
+        layout.inner.setX(1.0);
+        layout.other.setPosition(new Point2D.Double(2.0, 3.0));
+        layout.inner.setX(4.0);
+        TransformDelta delta = recorder.take();
+        Assertions.assertNotNull(delta);
+
+        delta.revert(layout.model);
+        Assertions.assertEquals(new Point2D.Double(0.0, 0.0), layout.inner.getPosition());
+        Assertions.assertEquals(new Point2D.Double(0.0, 0.0), layout.other.getPosition());
+        delta.apply(layout.model);
+        Assertions.assertEquals(new Point2D.Double(4.0, 0.0), layout.inner.getPosition());
+        Assertions.assertEquals(new Point2D.Double(2.0, 3.0), layout.other.getPosition());
+
+        // Nodes are found by their position in the hierarchy, e.g. in a model reloaded from a memento
+        Layout copy = new Layout();
+        delta.apply(copy.model);
+        Assertions.assertEquals(new Point2D.Double(4.0, 0.0), copy.inner.getPosition());
+        Assertions.assertEquals(new Point2D.Double(2.0, 3.0), copy.other.getPosition());
+    }
+
+    @Test
+    void testOpaqueChange() {
+        Layout layout = new Layout();
+        ModelChangeRecorder recorder = new ModelChangeRecorder();
+        recorder.attach(new ModelEntry(null, layout.model));
+        Assertions.assertNull(recorder.take());
+
+        recorder.start(true);
+        Assertions.assertNull(recorder.take());
+        Assertions.assertTrue(recorder.take().isEmpty());
+
+        layout.outer.add(new VisualGroup());
+        Assertions.assertNull(recorder.take());
+
+        // Collapsing a group sends transform events without changing the transform
+        layout.outer.setIsCollapsed(true);
+        Assertions.assertNull(recorder.take());
+
+        layout.model.setTitle("title");
+        recorder.modelModified();
+        Assertions.assertNull(recorder.take());
+    }
+
+    @Test
+    void testCompose() {
+        Layout layout = new Layout();
+        ModelChangeRecorder recorder = new ModelChangeRecorder();
+        recorder.attach(new ModelEntry(null, layout.model));
+        recorder.start(true);
+        layout.inner.setX(1.0);
+        TransformDelta first = recorder.take();
+        layout.inner.setX(2.0);
+        layout.other.setY(3.0);
+        TransformDelta second = recorder.take();
+
+        TransformDelta delta = TransformDelta.compose(first, second);
+        delta.revert(layout.model);
+        Assertions.assertEquals(new Point2D.Double(0.0, 0.0), layout.inner.getPosition());
+        Assertions.assertEquals(new Point2D.Double(0.0, 0.0), layout.other.getPosition());
+        delta.inverse().revert(layout.model);
+        Assertions.assertEquals(new Point2D.Double(2.0, 0.0), layout.inner.getPosition());
+        Assertions.assertEquals(new Point2D.Double(0.0, 3.0), layout.other.getPosition());
+
+        Assertions.assertNull(TransformDelta.compose(delta, null));
+        Assertions.assertNull(TransformDelta.compose(null, delta));
+    }
+
+    @Test
+    void testMementoInterval() {
+        MementoManager history = new MementoManager();
+        Assertions.assertTrue(history.needsMemento());
+        history.pushUndo(new MementoManager.Entry(createResource(100), TransformDelta.empty()));
+        for (int i = 1; i < MementoManager.MEMENTO_INTERVAL; i++) {
+            Assertions.assertFalse(history.needsMemento());
+            history.pushUndo(new MementoManager.Entry(null, TransformDelta.empty()));
+        }
+        Assertions.assertTrue(history.needsMemento());
+        Assertions.assertEquals(MementoManager.MEMENTO_INTERVAL, history.getUndoChain().size());
+
+        history.pushUndo(new MementoManager.Entry(createResource(100), TransformDelta.empty()));
+        Assertions.assertFalse(history.needsMemento());
+        Assertions.assertEquals(1, history.getUndoChain().size());
+        history.appendUndoDelta(null);
+        Assertions.assertTrue(history.needsMemento());
+    }
+
+    @Test
+    void testMemoryLimit() {
+        int limit = EditorCommonSettings.getHistoryMemoryLimit();
+        EditorCommonSettings.setHistoryMemoryLimit(1);
+        try {
+            MementoManager history = new MementoManager();
+            for (int i = 0; i < 10; i++) {
+                history.pushUndo(new MementoManager.Entry(createResource(300000), null));
+            }
+            Assertions.assertTrue(history.getSize() <= 1024 * 1024);
+            Assertions.assertEquals(3, countUndo(history));
+
+            // A state left by an opaque change is dropped together with the memento it is derived from
+            history.pushUndo(new MementoManager.Entry(createResource(600000), TransformDelta.empty()));
+            history.pushUndo(new MementoManager.Entry(null, null));
+            history.pushUndo(new MementoManager.Entry(createResource(600000), TransformDelta.empty()));
+            Assertions.assertEquals(1, countUndo(history));
+        } finally {
+            EditorCommonSettings.setHistoryMemoryLimit(limit);
+        }
+    }
+
+    private static int countUndo(MementoManager history) {
+        int result = 0;
+        while (history.canUndo()) {
+            history.pullUndo();
+            result++;
+        }
+        return result;
+    }
+
+    private static Resource createResource(int size) {
+        return new Resource("memento", new byte[size]);
+    }
+
+}